@@ -0,0 +1,77 @@
+/*
+ * Copyright 2022 Tigris Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tigrisdata.db.client;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.protobuf.ByteString;
+import com.tigrisdata.db.api.v1.grpc.Api;
+import com.tigrisdata.db.client.config.TigrisConfiguration;
+import java.util.ArrayList;
+import java.util.List;
+
+/** Fixtures shared by the benchmarks */
+final class BenchmarkData {
+
+  static final String DATABASE_NAME = "benchmark_db";
+  static final String COLLECTION_NAME = "users";
+
+  private BenchmarkData() {}
+
+  /** @return object mapper configured the way the client configures it by default */
+  static ObjectMapper objectMapper() {
+    return TigrisConfiguration.newBuilder("localhost:8081").build().getObjectMapper();
+  }
+
+  static BenchmarkUser user(long id) {
+    return new BenchmarkUser(
+        id, "user-" + id, "user-" + id + "@example.com", id * 1.5, id % 2 == 0);
+  }
+
+  static List<BenchmarkUser> users(int count) {
+    List<BenchmarkUser> users = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      users.add(user(i));
+    }
+    return users;
+  }
+
+  static ByteString encoded(BenchmarkUser user, ObjectMapper objectMapper) {
+    try {
+      return ByteString.copyFrom(objectMapper.writeValueAsBytes(user));
+    } catch (JsonProcessingException ex) {
+      throw new IllegalStateException(ex);
+    }
+  }
+
+  static ByteString key(long id) {
+    return ByteString.copyFromUtf8("{\"id\":" + id + "}");
+  }
+
+  static Api.ReadResponse readResponse(long id, ObjectMapper objectMapper) {
+    return Api.ReadResponse.newBuilder().setData(encoded(user(id), objectMapper)).build();
+  }
+
+  static Api.SearchResponse searchResponse(int hits, ObjectMapper objectMapper) {
+    Api.SearchResponse.Builder builder = Api.SearchResponse.newBuilder();
+    for (int i = 0; i < hits; i++) {
+      builder.addHits(Api.SearchHit.newBuilder().setData(encoded(user(i), objectMapper)));
+    }
+    builder.setMeta(
+        Api.SearchMetadata.newBuilder()
+            .setFound(hits)
+            .setPage(Api.Page.newBuilder().setCurrent(1).setSize(hits)));
+    return builder.build();
+  }
+}
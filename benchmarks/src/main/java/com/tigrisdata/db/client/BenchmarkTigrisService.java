@@ -0,0 +1,62 @@
+/*
+ * Copyright 2022 Tigris Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tigrisdata.db.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tigrisdata.db.api.v1.grpc.Api;
+import com.tigrisdata.db.api.v1.grpc.TigrisGrpc;
+import io.grpc.stub.StreamObserver;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Stateless Tigris service answering with pre-built responses, so the benchmarks measure the client
+ * and the transport rather than a server
+ */
+class BenchmarkTigrisService extends TigrisGrpc.TigrisImplBase {
+
+  private final List<Api.ReadResponse> readResponses;
+
+  /**
+   * @param documents number of documents returned by unbounded reads
+   * @param objectMapper serializer of the returned documents
+   */
+  BenchmarkTigrisService(int documents, ObjectMapper objectMapper) {
+    this.readResponses = new ArrayList<>(documents);
+    for (int i = 0; i < documents; i++) {
+      readResponses.add(BenchmarkData.readResponse(i, objectMapper));
+    }
+  }
+
+  @Override
+  public void insert(
+      Api.InsertRequest request, StreamObserver<Api.InsertResponse> responseObserver) {
+    Api.InsertResponse.Builder builder = Api.InsertResponse.newBuilder().setStatus("inserted");
+    for (int i = 0; i < request.getDocumentsCount(); i++) {
+      builder.addKeys(BenchmarkData.key(i));
+    }
+    responseObserver.onNext(builder.build());
+    responseObserver.onCompleted();
+  }
+
+  @Override
+  public void read(Api.ReadRequest request, StreamObserver<Api.ReadResponse> responseObserver) {
+    long limit = request.getOptions().getLimit();
+    int count = limit > 0 ? (int) Math.min(limit, readResponses.size()) : readResponses.size();
+    for (int i = 0; i < count; i++) {
+      responseObserver.onNext(readResponses.get(i));
+    }
+    responseObserver.onCompleted();
+  }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2022 Tigris Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tigrisdata.db.client;
+
+import com.tigrisdata.db.annotation.TigrisCollection;
+import com.tigrisdata.db.annotation.TigrisField;
+import com.tigrisdata.db.annotation.TigrisPrimaryKey;
+import com.tigrisdata.db.type.TigrisCollectionType;
+
+/** Collection model used by the benchmarks */
+@TigrisCollection("users")
+public class BenchmarkUser implements TigrisCollectionType {
+  @TigrisPrimaryKey(order = 1)
+  @TigrisField(description = "user id")
+  private long id;
+
+  @TigrisField(description = "full name")
+  private String name;
+
+  @TigrisField(description = "email address")
+  private String email;
+
+  @TigrisField(description = "account balance")
+  private double balance;
+
+  @TigrisField(description = "whether the account is active")
+  private boolean active;
+
+  public BenchmarkUser() {}
+
+  public BenchmarkUser(long id, String name, String email, double balance, boolean active) {
+    this.id = id;
+    this.name = name;
+    this.email = email;
+    this.balance = balance;
+    this.active = active;
+  }
+
+  public long getId() {
+    return id;
+  }
+
+  public void setId(long id) {
+    this.id = id;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public void setName(String name) {
+    this.name = name;
+  }
+
+  public String getEmail() {
+    return email;
+  }
+
+  public void setEmail(String email) {
+    this.email = email;
+  }
+
+  public double getBalance() {
+    return balance;
+  }
+
+  public void setBalance(double balance) {
+    this.balance = balance;
+  }
+
+  public boolean isActive() {
+    return active;
+  }
+
+  public void setActive(boolean active) {
+    this.active = active;
+  }
+}
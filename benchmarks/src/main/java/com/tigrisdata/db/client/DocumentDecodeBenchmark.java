@@ -0,0 +1,76 @@
+/*
+ * Copyright 2022 Tigris Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tigrisdata.db.client;
+
+import com.tigrisdata.db.api.v1.grpc.Api;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/** Decoding of streamed read responses into documents */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DocumentDecodeBenchmark {
+
+  private Api.ReadResponse readResponse;
+  private DocumentCodec<BenchmarkUser> documentCodec;
+
+  @Setup
+  public void setup() {
+    readResponse = BenchmarkData.readResponse(42, BenchmarkData.objectMapper());
+    documentCodec = DocumentCodec.of(BenchmarkUser.class, BenchmarkData.objectMapper());
+  }
+
+  @Benchmark
+  public void readManyResponseObserverAdapter(Blackhole blackhole) {
+    StandardTigrisAsyncCollection.ReadManyResponseObserverAdapter<BenchmarkUser> adapter =
+        new StandardTigrisAsyncCollection.ReadManyResponseObserverAdapter<>(
+            new BlackholeReader(blackhole), documentCodec, Constants.READ_FAILED);
+    adapter.onNext(readResponse);
+  }
+
+  private static class BlackholeReader implements TigrisAsyncReader<BenchmarkUser> {
+    private final Blackhole blackhole;
+
+    private BlackholeReader(Blackhole blackhole) {
+      this.blackhole = blackhole;
+    }
+
+    @Override
+    public void onNext(BenchmarkUser document) {
+      blackhole.consume(document);
+    }
+
+    @Override
+    public void onError(Throwable t) {
+      throw new IllegalStateException(t);
+    }
+
+    @Override
+    public void onCompleted() {}
+  }
+}
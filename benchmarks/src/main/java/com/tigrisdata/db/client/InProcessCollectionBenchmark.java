@@ -0,0 +1,110 @@
+/*
+ * Copyright 2022 Tigris Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tigrisdata.db.client;
+
+import com.tigrisdata.db.client.auth.TigrisAuthorizationToken;
+import com.tigrisdata.db.client.config.TigrisConfiguration;
+import com.tigrisdata.db.client.error.TigrisException;
+import io.grpc.Server;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * End-to-end {@link StandardTigrisCollection} calls against an in-process gRPC server, covering
+ * request building, interceptors, the transport and response decoding
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class InProcessCollectionBenchmark {
+
+  @Param({"100"})
+  public int readDocuments;
+
+  private Server server;
+  private StandardTigrisClient client;
+  private TigrisCollection<BenchmarkUser> collection;
+  private BenchmarkUser user;
+  private List<BenchmarkUser> users;
+
+  @Setup(Level.Trial)
+  public void setup() throws IOException {
+    String serverName = InProcessServerBuilder.generateName();
+    server =
+        InProcessServerBuilder.forName(serverName)
+            .directExecutor()
+            .addService(new BenchmarkTigrisService(readDocuments, BenchmarkData.objectMapper()))
+            .build()
+            .start();
+    client =
+        new StandardTigrisClient(
+            new TigrisAuthorizationToken("benchmark.token"),
+            TigrisConfiguration.newBuilder(serverName).build(),
+            InProcessChannelBuilder.forName(serverName).directExecutor());
+    collection = client.getDatabase(BenchmarkData.DATABASE_NAME).getCollection(BenchmarkUser.class);
+    user = BenchmarkData.user(1);
+    users = BenchmarkData.users(100);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws InterruptedException {
+    client.close();
+    server.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+  }
+
+  @Benchmark
+  public InsertResponse<BenchmarkUser> insertOne() throws TigrisException {
+    return collection.insert(user);
+  }
+
+  @Benchmark
+  public InsertResponse<BenchmarkUser> insertMany() throws TigrisException {
+    return collection.insert(users);
+  }
+
+  @Benchmark
+  public Optional<BenchmarkUser> readOne() throws TigrisException {
+    return collection.readOne(Filters.eq("id", 1L));
+  }
+
+  @Benchmark
+  public void readAll(Blackhole blackhole) throws TigrisException {
+    Iterator<BenchmarkUser> iterator = collection.read(Filters.nothing());
+    while (iterator.hasNext()) {
+      blackhole.consume(iterator.next());
+    }
+  }
+}
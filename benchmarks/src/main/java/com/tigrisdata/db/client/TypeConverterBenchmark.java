@@ -0,0 +1,91 @@
+/*
+ * Copyright 2022 Tigris Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tigrisdata.db.client;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tigrisdata.db.api.v1.grpc.Api;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Request building: document encoding and filter serialization */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TypeConverterBenchmark {
+
+  @State(Scope.Benchmark)
+  public static class InsertState {
+    @Param({"1", "100"})
+    public int documents;
+
+    private DocumentCodec<BenchmarkUser> documentCodec;
+    private List<BenchmarkUser> users;
+
+    @Setup
+    public void setup() {
+      documentCodec = DocumentCodec.of(BenchmarkUser.class, BenchmarkData.objectMapper());
+      users = BenchmarkData.users(documents);
+    }
+  }
+
+  @State(Scope.Benchmark)
+  public static class ReadState {
+    private ObjectMapper objectMapper;
+    private TigrisFilter filter;
+
+    @Setup
+    public void setup() {
+      objectMapper = BenchmarkData.objectMapper();
+      filter =
+          Filters.and(
+              Filters.eq("active", true),
+              Filters.or(Filters.eq("name", "user-1"), Filters.eq("id", 42L)));
+    }
+  }
+
+  @Benchmark
+  public Api.InsertRequest toInsertRequest(InsertState state) throws JsonProcessingException {
+    return TypeConverter.toInsertRequest(
+        BenchmarkData.DATABASE_NAME,
+        BenchmarkData.COLLECTION_NAME,
+        state.users,
+        new InsertRequestOptions(),
+        state.documentCodec);
+  }
+
+  @Benchmark
+  public Api.ReadRequest toReadRequest(ReadState state) {
+    return TypeConverter.toReadRequest(
+        BenchmarkData.DATABASE_NAME,
+        BenchmarkData.COLLECTION_NAME,
+        state.filter,
+        ReadFields.all(),
+        new ReadRequestOptions(),
+        state.objectMapper);
+  }
+}
@@ -39,6 +39,15 @@ abstract class AbstractTigrisClient {
     if (authorizationToken.isPresent()) {
       channelBuilder.intercept(new AuthHeaderInterceptor(authorizationToken.get()));
     }
+    // the last interceptor runs first: retries replay through the headers interceptors, are
+    // bounded by the deadline applied before them and measured as a single call
+    channelBuilder.intercept(new RetryInterceptor(configuration.getRetry()));
+    if (configuration.getNetwork().getDeadline() != null) {
+      channelBuilder.intercept(new DeadlineInterceptor(configuration.getNetwork().getDeadline()));
+    }
+    if (configuration.getMetricsRecorder().isPresent()) {
+      channelBuilder.intercept(new MetricsInterceptor(configuration.getMetricsRecorder().get()));
+    }
     if (configuration.getNetwork().isUsePlainText()) {
       log.warn(
           "Client is configured to use plaintext communication. It is advised to not use plaintext communication");
@@ -54,11 +63,19 @@ abstract class AbstractTigrisClient {
       TigrisConfiguration configuration,
       ManagedChannelBuilder<? extends ManagedChannelBuilder> managedChannelBuilder,
       ModelToJsonSchema modelToJsonSchema) {
-    this.channel =
-        managedChannelBuilder
-            .intercept(new AuthHeaderInterceptor(authorizationToken))
-            .intercept(MetadataUtils.newAttachHeadersInterceptor(getDefaultHeaders(configuration)))
-            .build();
+    managedChannelBuilder
+        .intercept(new AuthHeaderInterceptor(authorizationToken))
+        .intercept(MetadataUtils.newAttachHeadersInterceptor(getDefaultHeaders(configuration)))
+        .intercept(new RetryInterceptor(configuration.getRetry()));
+    if (configuration.getNetwork().getDeadline() != null) {
+      managedChannelBuilder.intercept(
+          new DeadlineInterceptor(configuration.getNetwork().getDeadline()));
+    }
+    if (configuration.getMetricsRecorder().isPresent()) {
+      managedChannelBuilder.intercept(
+          new MetricsInterceptor(configuration.getMetricsRecorder().get()));
+    }
+    this.channel = managedChannelBuilder.build();
     this.objectMapper = configuration.getObjectMapper();
     this.modelToJsonSchema = modelToJsonSchema;
   }
@@ -19,6 +19,7 @@ import static com.tigrisdata.db.client.Constants.INSERT_OR_REPLACE_FAILED;
 import static com.tigrisdata.db.client.Constants.JSON_SER_DE_ERROR;
 import static com.tigrisdata.db.client.Constants.READ_FAILED;
 import static com.tigrisdata.db.client.Constants.UPDATE_FAILED;
+import static com.tigrisdata.db.client.TypeConverter.readOneDefaultReadRequestOptions;
 import static com.tigrisdata.db.client.TypeConverter.toDeleteRequest;
 import static com.tigrisdata.db.client.TypeConverter.toReadRequest;
 import static com.tigrisdata.db.client.TypeConverter.toReplaceRequest;
@@ -26,13 +27,17 @@ import static com.tigrisdata.db.client.TypeConverter.toUpdateRequest;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.protobuf.ByteString;
 import com.tigrisdata.db.api.v1.grpc.Api;
 import com.tigrisdata.db.api.v1.grpc.TigrisGrpc;
 import com.tigrisdata.db.client.error.TigrisException;
 import com.tigrisdata.db.type.TigrisCollectionType;
 import io.grpc.StatusRuntimeException;
+import java.io.IOException;
+import java.time.Duration;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Optional;
 import java.util.function.Function;
 
 abstract class AbstractTigrisCollection<T extends TigrisCollectionType> {
@@ -42,17 +47,135 @@ abstract class AbstractTigrisCollection<T extends TigrisCollectionType> {
   protected final Class<T> collectionTypeClass;
   protected final TigrisGrpc.TigrisBlockingStub blockingStub;
   protected final ObjectMapper objectMapper;
+  protected final DocumentCodec<T> documentCodec;
+  // null unless read caching is enabled
+  protected final ReadCache<T> readCache;
 
   public AbstractTigrisCollection(
       String databaseName,
       Class<T> collectionTypeClass,
       TigrisGrpc.TigrisBlockingStub blockingStub,
       ObjectMapper objectMapper) {
+    this(databaseName, collectionTypeClass, blockingStub, objectMapper, Optional.empty());
+  }
+
+  public AbstractTigrisCollection(
+      String databaseName,
+      Class<T> collectionTypeClass,
+      TigrisGrpc.TigrisBlockingStub blockingStub,
+      ObjectMapper objectMapper,
+      Optional<ReadCacheOptions> readCacheOptions) {
     this.databaseName = databaseName;
     this.collectionTypeClass = collectionTypeClass;
     this.collectionName = Utilities.getCollectionName(collectionTypeClass);
     this.blockingStub = blockingStub;
     this.objectMapper = objectMapper;
+    this.documentCodec = DocumentCodec.of(collectionTypeClass, objectMapper);
+    this.readCache =
+        readCacheOptions
+            .map(options -> new ReadCache<>(collectionTypeClass, options, objectMapper))
+            .orElse(null);
+  }
+
+  /**
+   * Returns the read cache key of a filter
+   *
+   * @param filter read filter
+   * @param tx transaction session, or null for non-transactional reads
+   * @return cache key, or null if the read can't be served from the cache
+   */
+  protected String cacheKeyOf(TigrisFilter filter, TransactionSession tx) {
+    // a transaction reads its own snapshot
+    return readCache != null && tx == null ? readCache.keyOf(filter) : null;
+  }
+
+  /**
+   * Reads a single document, from the read cache if present. The read is a point lookup, so it is
+   * bounded by the configured default deadline unless it carries its own.
+   *
+   * @param filter filters the document to read
+   * @param deadline deadline of the read, or null for the default deadline
+   * @param tx transaction session, or null for non-transactional reads
+   * @return the document if found
+   * @throws TigrisException in case of an error
+   */
+  protected Optional<T> readOneInternal(
+      TigrisFilter filter, Duration deadline, TransactionSession tx) throws TigrisException {
+    String cacheKey = cacheKeyOf(filter, tx);
+    try {
+      ByteString document = cacheKey != null ? readCache.get(cacheKey) : null;
+      if (document == null) {
+        long stamp = cacheKey != null ? readCache.stamp() : 0L;
+        Api.ReadRequest readRequest =
+            toReadRequest(
+                databaseName,
+                collectionName,
+                filter,
+                ReadFields.all(),
+                readOneDefaultReadRequestOptions(),
+                objectMapper);
+        // only the first document is taken, closing the read cancels the rest of the stream
+        CancellableReadIterator<Api.ReadResponse> readResponseIterator =
+            new CancellableReadIterator<>(
+                () -> DeadlineInterceptor.bounded(stubFor(tx, deadline)).read(readRequest));
+        try {
+          if (!readResponseIterator.hasNext()) {
+            return Optional.empty();
+          }
+          document = readResponseIterator.next().getData();
+        } finally {
+          readResponseIterator.close();
+        }
+        if (cacheKey != null) {
+          readCache.put(cacheKey, document, stamp);
+        }
+      }
+      return Optional.of(documentCodec.decode(document));
+    } catch (IOException ioException) {
+      throw new TigrisException(JSON_SER_DE_ERROR, ioException);
+    } catch (StatusRuntimeException statusRuntimeException) {
+      throw new TigrisException(
+          READ_FAILED,
+          TypeConverter.extractTigrisError(statusRuntimeException),
+          statusRuntimeException);
+    }
+  }
+
+  /**
+   * Invalidates the cached copies of documents once they were written
+   *
+   * @param documents inserted or replaced documents
+   */
+  protected void invalidateCached(List<T> documents) {
+    if (readCache != null) {
+      readCache.invalidate(documents);
+    }
+  }
+
+  /**
+   * Invalidates the cached documents an update or delete may have changed
+   *
+   * @param filter filter of the write
+   */
+  protected void invalidateCached(TigrisFilter filter) {
+    if (readCache != null) {
+      readCache.invalidate(filter);
+    }
+  }
+
+  /**
+   * Runs the cache invalidation of a write, or defers it until the transaction of the write
+   * commits, as the write is not visible to other readers until then
+   *
+   * @param tx transaction session of the write, or null
+   * @param invalidation invalidates the written documents
+   */
+  protected void afterWrite(TransactionSession tx, Runnable invalidation) {
+    if (tx == null) {
+      invalidation.run();
+    } else {
+      ((StandardTransactionSession) tx).onCommit(readCache, invalidation);
+    }
   }
 
   protected Iterator<T> readInternal(
@@ -62,28 +185,7 @@ abstract class AbstractTigrisCollection<T extends TigrisCollectionType> {
       TransactionSession tx)
       throws TigrisException {
     try {
-      Api.ReadRequest readRequest =
-          toReadRequest(
-              databaseName, collectionName, filter, fields, readRequestOptions, objectMapper);
-      Iterator<Api.ReadResponse> readResponseIterator;
-      if (tx != null) {
-        readResponseIterator =
-            TypeConverter.transactionAwareStub(
-                    blockingStub, ((StandardTransactionSession) tx).getTransactionCtx())
-                .read(readRequest);
-      } else {
-        readResponseIterator = blockingStub.read(readRequest);
-      }
-      Function<Api.ReadResponse, T> converter =
-          readResponse -> {
-            try {
-              return objectMapper.readValue(
-                  readResponse.getData().toStringUtf8(), collectionTypeClass);
-            } catch (JsonProcessingException e) {
-              throw new IllegalArgumentException("Failed to convert response to  the user type", e);
-            }
-          };
-      return Utilities.transformIterator(readResponseIterator, converter);
+      return this.openRead(filter, fields, readRequestOptions, tx);
     } catch (StatusRuntimeException statusRuntimeException) {
       throw new TigrisException(
           READ_FAILED,
@@ -92,22 +194,88 @@ abstract class AbstractTigrisCollection<T extends TigrisCollectionType> {
     }
   }
 
+  /**
+   * Starts a read. Unlike {@link #readInternal}, a failure to start the read surfaces as the same
+   * {@link StatusRuntimeException} the returned iterator fails with. Documents are decoded as they
+   * are taken, the read is never prefetched.
+   *
+   * @param filter filters documents to read
+   * @param fields fields to read
+   * @param readRequestOptions read options
+   * @param tx transaction session, or null for non-transactional reads
+   * @return iterator of the documents read
+   */
+  protected Iterator<T> openRead(
+      TigrisFilter filter,
+      ReadFields fields,
+      ReadRequestOptions readRequestOptions,
+      TransactionSession tx) {
+    return this.openRead(filter, fields, readRequestOptions, tx, decoderOf(documentCodec));
+  }
+
+  /**
+   * Starts a read decoding documents with the given decoder
+   *
+   * @param filter filters documents to read
+   * @param fields fields to read
+   * @param readRequestOptions read options
+   * @param tx transaction session, or null for non-transactional reads
+   * @param decoder decodes the serialized documents
+   * @param <P> type the documents are decoded into
+   * @return iterator of the documents read
+   * @see #openRead(TigrisFilter, ReadFields, ReadRequestOptions, TransactionSession)
+   */
+  protected <P> Iterator<P> openRead(
+      TigrisFilter filter,
+      ReadFields fields,
+      ReadRequestOptions readRequestOptions,
+      TransactionSession tx,
+      Function<ByteString, P> decoder) {
+    Api.ReadRequest readRequest =
+        toReadRequest(
+            databaseName, collectionName, filter, fields, readRequestOptions, objectMapper);
+    TigrisGrpc.TigrisBlockingStub stub = stubFor(tx, readRequestOptions.getDeadline());
+    Iterator<Api.ReadResponse> readResponseIterator = stub.read(readRequest);
+    return Utilities.transformIterator(
+        readResponseIterator, readResponse -> decoder.apply(readResponse.getData()));
+  }
+
+  /**
+   * Returns the decoder of documents read into a type other than the collection type. {@code
+   * byte[]} returns the raw JSON of the documents without any binding.
+   *
+   * @param type projection class or record, {@link com.fasterxml.jackson.databind.JsonNode} for a
+   *     tree or {@code byte[]}
+   * @param <P> projection type
+   * @return decoder of the serialized documents
+   */
+  @SuppressWarnings("unchecked")
+  protected <P> Function<ByteString, P> decoderFor(Class<P> type) {
+    if (type == byte[].class) {
+      return data -> (P) data.toByteArray();
+    }
+    return decoderOf(DocumentCodec.of(type, objectMapper));
+  }
+
+  private static <P> Function<ByteString, P> decoderOf(DocumentCodec<P> codec) {
+    return data -> {
+      try {
+        return codec.decode(data);
+      } catch (IOException e) {
+        throw new IllegalArgumentException("Failed to convert response to  the user type", e);
+      }
+    };
+  }
+
   protected InsertResponse<T> insertInternal(
       List<T> documents, InsertRequestOptions insertRequestOptions, TransactionSession tx)
       throws TigrisException {
     try {
       Api.InsertRequest insertRequest =
           TypeConverter.toInsertRequest(
-              databaseName, collectionName, documents, insertRequestOptions, objectMapper);
-      Api.InsertResponse response;
-      if (tx != null) {
-        response =
-            TypeConverter.transactionAwareStub(
-                    blockingStub, ((StandardTransactionSession) tx).getTransactionCtx())
-                .insert(insertRequest);
-      } else {
-        response = blockingStub.insert(insertRequest);
-      }
+              databaseName, collectionName, documents, insertRequestOptions, documentCodec);
+      TigrisGrpc.TigrisBlockingStub stub = stubFor(tx, insertRequestOptions.getDeadline());
+      Api.InsertResponse response = stub.insert(insertRequest);
       return new InsertResponse<>(
           response.getStatus(),
           response.getMetadata().getCreatedAt(),
@@ -121,6 +289,8 @@ abstract class AbstractTigrisCollection<T extends TigrisCollectionType> {
           INSERT_FAILED,
           TypeConverter.extractTigrisError(statusRuntimeException),
           statusRuntimeException);
+    } finally {
+      afterWrite(tx, () -> invalidateCached(documents));
     }
   }
 
@@ -140,15 +310,8 @@ abstract class AbstractTigrisCollection<T extends TigrisCollectionType> {
               updateRequestOptions,
               objectMapper);
 
-      Api.UpdateResponse updateResponse;
-      if (tx != null) {
-        updateResponse =
-            TypeConverter.transactionAwareStub(
-                    blockingStub, ((StandardTransactionSession) tx).getTransactionCtx())
-                .update(updateRequest);
-      } else {
-        updateResponse = blockingStub.update(updateRequest);
-      }
+      TigrisGrpc.TigrisBlockingStub stub = stubFor(tx, updateRequestOptions.getDeadline());
+      Api.UpdateResponse updateResponse = stub.update(updateRequest);
       return new UpdateResponse(
           updateResponse.getStatus(),
           updateResponse.getMetadata().getCreatedAt(),
@@ -159,6 +322,8 @@ abstract class AbstractTigrisCollection<T extends TigrisCollectionType> {
           UPDATE_FAILED,
           TypeConverter.extractTigrisError(statusRuntimeException),
           statusRuntimeException);
+    } finally {
+      afterWrite(tx, () -> invalidateCached(filter));
     }
   }
 
@@ -169,15 +334,8 @@ abstract class AbstractTigrisCollection<T extends TigrisCollectionType> {
       Api.DeleteRequest deleteRequest =
           toDeleteRequest(databaseName, collectionName, filter, deleteRequestOptions, objectMapper);
 
-      Api.DeleteResponse response;
-      if (tx != null) {
-        response =
-            TypeConverter.transactionAwareStub(
-                    blockingStub, ((StandardTransactionSession) tx).getTransactionCtx())
-                .delete(deleteRequest);
-      } else {
-        response = blockingStub.delete(deleteRequest);
-      }
+      TigrisGrpc.TigrisBlockingStub stub = stubFor(tx, deleteRequestOptions.getDeadline());
+      Api.DeleteResponse response = stub.delete(deleteRequest);
       return new DeleteResponse(
           response.getStatus(),
           response.getMetadata().getCreatedAt(),
@@ -187,6 +345,8 @@ abstract class AbstractTigrisCollection<T extends TigrisCollectionType> {
           DELETE_FAILED,
           TypeConverter.extractTigrisError(statusRuntimeException),
           statusRuntimeException);
+    } finally {
+      afterWrite(tx, () -> invalidateCached(filter));
     }
   }
 
@@ -198,17 +358,14 @@ abstract class AbstractTigrisCollection<T extends TigrisCollectionType> {
     try {
       Api.ReplaceRequest replaceRequest =
           toReplaceRequest(
-              databaseName, collectionName, documents, insertOrReplaceRequestOptions, objectMapper);
-
-      Api.ReplaceResponse response;
-      if (tx != null) {
-        response =
-            TypeConverter.transactionAwareStub(
-                    blockingStub, ((StandardTransactionSession) tx).getTransactionCtx())
-                .replace(replaceRequest);
-      } else {
-        response = blockingStub.replace(replaceRequest);
-      }
+              databaseName,
+              collectionName,
+              documents,
+              insertOrReplaceRequestOptions,
+              documentCodec);
+
+      TigrisGrpc.TigrisBlockingStub stub = stubFor(tx, insertOrReplaceRequestOptions.getDeadline());
+      Api.ReplaceResponse response = stub.replace(replaceRequest);
       return new InsertOrReplaceResponse<>(
           response.getStatus(),
           response.getMetadata().getCreatedAt(),
@@ -222,6 +379,22 @@ abstract class AbstractTigrisCollection<T extends TigrisCollectionType> {
           INSERT_OR_REPLACE_FAILED,
           TypeConverter.extractTigrisError(statusRuntimeException),
           statusRuntimeException);
+    } finally {
+      afterWrite(tx, () -> invalidateCached(documents));
     }
   }
+
+  /**
+   * Returns the stub to issue an operation with, reusing the transaction-scoped stub of the
+   * session when the operation is part of a transaction
+   *
+   * @param tx transaction session, or null for non-transactional operations
+   * @param deadline deadline of the operation, or null
+   * @return stub to use for the operation
+   */
+  private TigrisGrpc.TigrisBlockingStub stubFor(TransactionSession tx, Duration deadline) {
+    TigrisGrpc.TigrisBlockingStub stub =
+        tx != null ? ((StandardTransactionSession) tx).getBlockingStub() : blockingStub;
+    return Utilities.withDeadline(stub, deadline);
+  }
 }
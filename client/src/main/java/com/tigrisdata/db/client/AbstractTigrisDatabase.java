@@ -33,8 +33,8 @@ abstract class AbstractTigrisDatabase {
       throws TigrisException {
     try {
       Api.CreateOrUpdateCollectionResponse response =
-          TypeConverter.transactionAwareStub(
-                  blockingStub, ((StandardTransactionSession) session).getTransactionCtx())
+          ((StandardTransactionSession) session)
+              .getBlockingStub()
               .createOrUpdateCollection(toCreateCollectionRequest(db, schema, collectionOptions));
       return new CreateOrUpdateCollectionsResponse(response.getStatus(), response.getMessage());
     } catch (StatusRuntimeException statusRuntimeException) {
@@ -0,0 +1,165 @@
+/*
+ * Copyright 2022 Tigris Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tigrisdata.db.client;
+
+import com.tigrisdata.db.client.error.TigrisException;
+import com.tigrisdata.db.type.TigrisCollectionType;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Non-blocking transaction aware collection operations. None of these block the calling thread,
+ * results are delivered through the returned futures or the reader callback. Errors, including
+ * document serialization failures, complete the future exceptionally with a {@link
+ * TigrisException}.
+ *
+ * @param <T> type of collection
+ */
+public interface AsyncTransactionalCollectionOperation<T extends TigrisCollectionType> {
+
+  /**
+   * Transaction aware async read
+   *
+   * @param tx transaction session
+   * @param filter filter to narrow down read
+   * @param fields optionally specify fields you want to be returned from server
+   * @param readRequestOptions read options
+   * @param reader reader callback
+   */
+  void read(
+      TransactionSession tx,
+      TigrisFilter filter,
+      ReadFields fields,
+      ReadRequestOptions readRequestOptions,
+      TigrisAsyncReader<T> reader);
+
+  /**
+   * Transaction aware async read
+   *
+   * @param tx transaction session
+   * @param filter filter to narrow down read
+   * @param reader reader callback
+   */
+  void read(TransactionSession tx, TigrisFilter filter, TigrisAsyncReader<T> reader);
+
+  /**
+   * Transaction aware: Reads a single document asynchronously. This method is generally
+   * recommended for point lookup, if used for non-point lookup any arbitrary matching document will
+   * be returned.
+   *
+   * @param tx transaction session
+   * @param filter filter to read one document
+   * @return a future to the document
+   */
+  CompletableFuture<Optional<T>> readOneAsync(TransactionSession tx, TigrisFilter filter);
+
+  /**
+   * Transaction aware async insertion
+   *
+   * @param tx transaction session
+   * @param documents list of documents to insert
+   * @param insertRequestOptions insert option
+   * @return a future to the {@link InsertResponse}
+   */
+  CompletableFuture<InsertResponse<T>> insertAsync(
+      TransactionSession tx, List<T> documents, InsertRequestOptions insertRequestOptions);
+
+  /**
+   * Transaction aware async insertion
+   *
+   * @param tx transaction session
+   * @param documents list of documents to insert
+   * @return a future to the {@link InsertResponse}
+   */
+  CompletableFuture<InsertResponse<T>> insertAsync(TransactionSession tx, List<T> documents);
+
+  /**
+   * Transaction aware: inserts a single document to the collection asynchronously
+   *
+   * @param tx transaction session
+   * @param document document to insert
+   * @return a future to the {@link InsertResponse}
+   */
+  CompletableFuture<InsertResponse<T>> insertAsync(TransactionSession tx, T document);
+
+  /**
+   * Transaction aware: Inserts the documents if they don't exist already, replaces them otherwise.
+   *
+   * @param tx transaction session
+   * @param documents list of documents to replace
+   * @param insertOrReplaceRequestOptions option
+   * @return a future to the {@link InsertOrReplaceResponse}
+   */
+  CompletableFuture<InsertOrReplaceResponse<T>> insertOrReplaceAsync(
+      TransactionSession tx,
+      List<T> documents,
+      InsertOrReplaceRequestOptions insertOrReplaceRequestOptions);
+
+  /**
+   * Transaction aware: Inserts the documents if they don't exist already, replaces them otherwise.
+   *
+   * @param tx transaction session
+   * @param documents list of documents to replace
+   * @return a future to the {@link InsertOrReplaceResponse}
+   */
+  CompletableFuture<InsertOrReplaceResponse<T>> insertOrReplaceAsync(
+      TransactionSession tx, List<T> documents);
+
+  /**
+   * Transaction aware async update
+   *
+   * @param tx transaction session
+   * @param filter filters documents to update
+   * @param updateFields specifies what and how to update the fields from filtered documents
+   * @param updateRequestOptions options
+   * @return a future to the {@link UpdateResponse}
+   */
+  CompletableFuture<UpdateResponse> updateAsync(
+      TransactionSession tx,
+      TigrisFilter filter,
+      UpdateFields updateFields,
+      UpdateRequestOptions updateRequestOptions);
+
+  /**
+   * Transaction aware async update
+   *
+   * @param tx transaction session
+   * @param filter filters documents to update
+   * @param updateFields specifies what and how to update the fields from filtered documents
+   * @return a future to the {@link UpdateResponse}
+   */
+  CompletableFuture<UpdateResponse> updateAsync(
+      TransactionSession tx, TigrisFilter filter, UpdateFields updateFields);
+
+  /**
+   * Transaction aware: Deletes the matching documents in the collection asynchronously.
+   *
+   * @param tx transaction session
+   * @param filter filter to narrow down the documents to delete
+   * @param deleteRequestOptions delete option
+   * @return a future to the {@link DeleteResponse}
+   */
+  CompletableFuture<DeleteResponse> deleteAsync(
+      TransactionSession tx, TigrisFilter filter, DeleteRequestOptions deleteRequestOptions);
+
+  /**
+   * Transaction aware: Deletes the matching documents in the collection asynchronously.
+   *
+   * @param tx transaction session
+   * @param filter filter to narrow down the documents to delete
+   * @return a future to the {@link DeleteResponse}
+   */
+  CompletableFuture<DeleteResponse> deleteAsync(TransactionSession tx, TigrisFilter filter);
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright 2022 Tigris Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tigrisdata.db.client;
+
+import io.grpc.Context;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Iterator over a blocking read started in its own cancellable {@link Context}, closing it cancels
+ * the call. The call is also released as soon as it is exhausted or fails.
+ *
+ * @param <T> type of the documents
+ */
+final class CancellableReadIterator<T> implements CloseableIterator<T> {
+
+  private final Context.CancellableContext context;
+  private final Iterator<T> source;
+  private boolean closed;
+
+  /**
+   * Starts a read in a new cancellable context
+   *
+   * @param read starts the blocking read, the call binds to the context current when started
+   */
+  CancellableReadIterator(Supplier<Iterator<T>> read) {
+    this.context = Context.current().withCancellation();
+    Context previous = context.attach();
+    try {
+      this.source = read.get();
+    } catch (RuntimeException ex) {
+      context.cancel(ex);
+      throw ex;
+    } finally {
+      context.detach(previous);
+    }
+  }
+
+  @Override
+  public boolean hasNext() {
+    if (closed) {
+      return false;
+    }
+    boolean hasNext;
+    try {
+      hasNext = source.hasNext();
+    } catch (RuntimeException ex) {
+      close();
+      throw ex;
+    }
+    if (!hasNext) {
+      close();
+    }
+    return hasNext;
+  }
+
+  @Override
+  public T next() {
+    if (!hasNext()) {
+      throw new NoSuchElementException();
+    }
+    // documents are decoded as they are taken
+    return source.next();
+  }
+
+  @Override
+  public void close() {
+    if (!closed) {
+      closed = true;
+      context.cancel(null);
+      if (source instanceof CloseableIterator) {
+        ((CloseableIterator<T>) source).close();
+      }
+    }
+  }
+
+  /**
+   * Returns a sequential stream of the documents, closing the stream closes this iterator
+   *
+   * @param limit max number of documents the read returns, 0 if unknown
+   * @return stream of the documents
+   */
+  Stream<T> stream(long limit) {
+    // the limit bounds the estimate, the read may return fewer documents so the size is not exact
+    Spliterator<T> spliterator =
+        new Spliterators.AbstractSpliterator<T>(
+            limit > 0 ? limit : Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL) {
+          @Override
+          public boolean tryAdvance(Consumer<? super T> action) {
+            if (!hasNext()) {
+              return false;
+            }
+            action.accept(next());
+            return true;
+          }
+        };
+    return StreamSupport.stream(spliterator, false).onClose(this::close);
+  }
+}
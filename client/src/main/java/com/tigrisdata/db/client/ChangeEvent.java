@@ -0,0 +1,81 @@
+/*
+ * Copyright 2022 Tigris Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tigrisdata.db.client;
+
+import com.tigrisdata.db.type.TigrisCollectionType;
+import java.io.IOException;
+
+/**
+ * Change of a document of a collection, delivered by {@link StreamDispatcher}. The document is
+ * bound to the collection type on first access.
+ *
+ * @param <T> type of the collection
+ */
+public class ChangeEvent<T extends TigrisCollectionType> {
+
+  private final StreamEvent event;
+  private final Class<T> collectionTypeClass;
+  private volatile T document;
+
+  ChangeEvent(StreamEvent event, Class<T> collectionTypeClass) {
+    this.event = event;
+    this.collectionTypeClass = collectionTypeClass;
+  }
+
+  /** @return name of the collection */
+  public String getCollection() {
+    return event.getCollection();
+  }
+
+  /** @return operation that changed the document */
+  public String getOp() {
+    return event.getOp();
+  }
+
+  /** @return id of the transaction the change is part of */
+  public byte[] getTxId() {
+    return event.getTxId();
+  }
+
+  /** @return key of the changed document */
+  public byte[] getKey() {
+    return event.getKey();
+  }
+
+  /** @return true if this is the last change of its transaction */
+  public boolean isLast() {
+    return event.isLast();
+  }
+
+  /**
+   * @return the changed document, or null if the event carries no data
+   * @throws IOException if the event data can't be bound to the collection type
+   */
+  public T getDocument() throws IOException {
+    if (document == null) {
+      document = event.getData(collectionTypeClass);
+    }
+    return document;
+  }
+
+  /** @return the underlying stream event */
+  public StreamEvent getStreamEvent() {
+    return event;
+  }
+
+  @Override
+  public String toString() {
+    return "ChangeEvent{" + "event=" + event + ", collectionType=" + collectionTypeClass + '}';
+  }
+}
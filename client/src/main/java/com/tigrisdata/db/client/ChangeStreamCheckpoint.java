@@ -0,0 +1,96 @@
+/*
+ * Copyright 2022 Tigris Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tigrisdata.db.client;
+
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Objects;
+
+/**
+ * Last event a {@link ChangeStreamConsumer} handed to its handler, identified by its transaction id
+ * and key. The events RPC cannot be resumed from it.
+ */
+public final class ChangeStreamCheckpoint {
+
+  private final byte[] txId;
+  private final byte[] key;
+
+  public ChangeStreamCheckpoint(byte[] txId, byte[] key) {
+    Objects.requireNonNull(txId, "txId must not be null");
+    Objects.requireNonNull(key, "key must not be null");
+    this.txId = txId.clone();
+    this.key = key.clone();
+  }
+
+  /**
+   * @param event event to take the position of
+   * @return checkpoint positioned at the given event
+   */
+  public static ChangeStreamCheckpoint of(StreamEvent event) {
+    return new ChangeStreamCheckpoint(event.getTxId(), event.getKey());
+  }
+
+  public byte[] getTxId() {
+    return txId.clone();
+  }
+
+  public byte[] getKey() {
+    return key.clone();
+  }
+
+  /**
+   * @param event stream event
+   * @return true if the event belongs to the transaction of this checkpoint
+   */
+  boolean isSameTransaction(StreamEvent event) {
+    return Arrays.equals(txId, event.getTxId());
+  }
+
+  /**
+   * @param event stream event
+   * @return true if the event is the one this checkpoint is positioned at
+   */
+  boolean isAt(StreamEvent event) {
+    return isSameTransaction(event) && Arrays.equals(key, event.getKey());
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) return true;
+    if (o == null || getClass() != o.getClass()) return false;
+
+    ChangeStreamCheckpoint that = (ChangeStreamCheckpoint) o;
+
+    if (!Arrays.equals(txId, that.txId)) return false;
+    return Arrays.equals(key, that.key);
+  }
+
+  @Override
+  public int hashCode() {
+    int result = Arrays.hashCode(txId);
+    result = 31 * result + Arrays.hashCode(key);
+    return result;
+  }
+
+  @Override
+  public String toString() {
+    Base64.Encoder encoder = Base64.getEncoder();
+    return "ChangeStreamCheckpoint{"
+        + "txId="
+        + encoder.encodeToString(txId)
+        + ", key="
+        + encoder.encodeToString(key)
+        + '}';
+  }
+}
@@ -0,0 +1,364 @@
+/*
+ * Copyright 2022 Tigris Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tigrisdata.db.client;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.grpc.Context;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Long running consumer of the database event stream. It reads {@link TigrisDatabase#stream()} on a
+ * dedicated thread and hands the events to the handler in batches. A batch ends at the last event
+ * of a transaction or when it reaches the maximum batch size.
+ *
+ * <p>After the handler returns, the last event of the batch is recorded as the checkpoint and saved
+ * to the {@link CheckpointStore}. A failing handler is retried with the same batch, so every event
+ * of a stream is handled at least once. When the stream fails or ends, the consumer reconnects with
+ * exponential backoff.
+ *
+ * <p>The checkpoint is not a resume position. The events RPC has none, so the new stream starts at
+ * the server's current position and the events committed while the consumer was disconnected are
+ * not delivered. The consumer reports every such gap to the reconnect handler, see {@link
+ * Builder#withReconnectHandler(Consumer)}, which has to resync whatever state it derives from the
+ * events. The checkpoint only serves to skip the events of the checkpointed transaction that the
+ * server sends again, up to and including the checkpointed event.
+ *
+ * <p>Usage:
+ *
+ * <pre>{@code
+ * ChangeStreamConsumer consumer =
+ *     ChangeStreamConsumer.newBuilder(db, events -> events.forEach(cache::invalidate))
+ *         .withReconnectHandler(checkpoint -> cache.invalidateAll())
+ *         .build();
+ * consumer.start();
+ * }</pre>
+ */
+public class ChangeStreamConsumer implements AutoCloseable {
+
+  private static final Logger log = LoggerFactory.getLogger(ChangeStreamConsumer.class);
+
+  private final TigrisDatabase database;
+  private final Consumer<List<StreamEvent>> handler;
+  private final Consumer<Optional<ChangeStreamCheckpoint>> reconnectHandler;
+  private final Optional<CheckpointStore> checkpointStore;
+  private final int maxBatchSize;
+  private final Duration initialBackoff;
+  private final Duration maxBackoff;
+  private final Thread thread;
+
+  private volatile boolean running;
+  private volatile ChangeStreamCheckpoint checkpoint;
+  // context of the event stream currently open, cancelling it cancels the stream
+  private volatile Context.CancellableContext streamContext;
+
+  public static Builder newBuilder(TigrisDatabase database, Consumer<List<StreamEvent>> handler) {
+    return new Builder(database, handler);
+  }
+
+  private ChangeStreamConsumer(Builder builder) {
+    this.database = builder.database;
+    this.handler = builder.handler;
+    this.reconnectHandler = builder.reconnectHandler;
+    this.checkpointStore = builder.checkpointStore;
+    this.maxBatchSize = builder.maxBatchSize;
+    this.initialBackoff = builder.initialBackoff;
+    this.maxBackoff = builder.maxBackoff;
+    this.thread =
+        new ThreadFactoryBuilder()
+            .setNameFormat("tigris-change-stream-" + database.name() + "-%d")
+            .setDaemon(true)
+            .build()
+            .newThread(this::run);
+  }
+
+  /**
+   * Loads the checkpoint from the store and starts consuming events
+   *
+   * @throws IOException if the checkpoint could not be loaded
+   * @throws IllegalStateException if the consumer was already started
+   */
+  public synchronized void start() throws IOException {
+    if (running || thread.getState() != Thread.State.NEW) {
+      throw new IllegalStateException("Consumer was already started");
+    }
+    if (checkpointStore.isPresent()) {
+      checkpoint = checkpointStore.get().load().orElse(null);
+    }
+    running = true;
+    thread.start();
+  }
+
+  /**
+   * Stops consuming events. The stream is cancelled and the consumer thread interrupted, this waits
+   * for a handler call in progress to return.
+   */
+  @Override
+  public void close() {
+    running = false;
+    Context.CancellableContext context = streamContext;
+    if (context != null) {
+      context.cancel(null);
+    }
+    thread.interrupt();
+    if (Thread.currentThread() != thread) {
+      try {
+        thread.join();
+      } catch (InterruptedException ex) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+
+  /** @return the last handled event, or empty if none was handled yet */
+  public Optional<ChangeStreamCheckpoint> getCheckpoint() {
+    return Optional.ofNullable(checkpoint);
+  }
+
+  /** @return true while the consumer is running */
+  public boolean isRunning() {
+    return running && thread.isAlive();
+  }
+
+  private void run() {
+    int attempt = 0;
+    // a checkpoint loaded on start means a previous consumer stopped, its gap is reported as well
+    boolean reconnecting = checkpoint != null;
+    while (running) {
+      List<StreamEvent> batch = new ArrayList<>();
+      Context.CancellableContext context = Context.current().withCancellation();
+      streamContext = context;
+      try {
+        // the blocking call binds to the context it is started in
+        Iterator<StreamEvent> events = context.call(database::stream);
+        if (reconnecting) {
+          // the new stream is open, state resynced from here on misses no event
+          reportReconnect();
+        }
+        ChangeStreamCheckpoint skipUntil = checkpoint;
+        while (running && events.hasNext()) {
+          StreamEvent event = events.next();
+          attempt = 0;
+          if (skipUntil != null) {
+            // skip what the server sends again of the transaction we stopped in
+            if (skipUntil.isSameTransaction(event)) {
+              if (skipUntil.isAt(event)) {
+                skipUntil = null;
+              }
+              continue;
+            }
+            skipUntil = null;
+          }
+          batch.add(event);
+          if (batch.size() >= maxBatchSize || event.isLast()) {
+            deliver(batch);
+            batch = new ArrayList<>();
+          }
+        }
+        log.debug("event stream of {} ended", database.name());
+      } catch (Exception ex) {
+        if (!running) {
+          break;
+        }
+        log.warn("event stream of {} failed", database.name(), ex);
+      } finally {
+        // releases a stream the loop left on close, or after a handler failure
+        context.cancel(null);
+      }
+      // the events received before the stream ended are still valid
+      if (!batch.isEmpty()) {
+        deliver(batch);
+      }
+      reconnecting = true;
+      if (running && !sleep(backoffMillis(++attempt))) {
+        break;
+      }
+    }
+  }
+
+  /**
+   * Hands the batch to the handler, retrying until it succeeds, and checkpoints its last event
+   *
+   * @param batch events to deliver
+   */
+  private void deliver(List<StreamEvent> batch) {
+    List<StreamEvent> events = Collections.unmodifiableList(batch);
+    int attempt = 0;
+    while (running) {
+      try {
+        handler.accept(events);
+        break;
+      } catch (RuntimeException ex) {
+        log.warn("change stream handler failed, retrying the batch", ex);
+        if (!sleep(backoffMillis(++attempt))) {
+          return;
+        }
+      }
+    }
+    if (!running) {
+      return;
+    }
+    checkpoint = ChangeStreamCheckpoint.of(batch.get(batch.size() - 1));
+    if (checkpointStore.isPresent()) {
+      try {
+        checkpointStore.get().save(checkpoint);
+      } catch (IOException ex) {
+        // the next successful save catches up, the checkpoint in memory is still current
+        log.warn("failed to save change stream checkpoint", ex);
+      }
+    }
+  }
+
+  /** Calls the reconnect handler, retrying until it succeeds */
+  private void reportReconnect() {
+    int attempt = 0;
+    while (running) {
+      try {
+        reconnectHandler.accept(Optional.ofNullable(checkpoint));
+        return;
+      } catch (RuntimeException ex) {
+        log.warn("change stream reconnect handler failed, retrying", ex);
+        if (!sleep(backoffMillis(++attempt))) {
+          return;
+        }
+      }
+    }
+  }
+
+  /**
+   * Computes the delay before the given attempt
+   *
+   * @param attempt 1 based attempt
+   * @return delay in milliseconds
+   */
+  long backoffMillis(int attempt) {
+    long backoffMillis = initialBackoff.toMillis() << Math.min(attempt - 1, 30);
+    backoffMillis = Math.min(backoffMillis, maxBackoff.toMillis());
+    // equal jitter, keeps reconnects spread without retrying immediately
+    long halfBackoffMillis = backoffMillis / 2;
+    return halfBackoffMillis
+        + (long) (halfBackoffMillis * ThreadLocalRandom.current().nextDouble());
+  }
+
+  private boolean sleep(long millis) {
+    try {
+      Thread.sleep(millis);
+      return running;
+    } catch (InterruptedException ex) {
+      return false;
+    }
+  }
+
+  /** Builder class for {@link ChangeStreamConsumer} */
+  public static class Builder {
+
+    public static final int DEFAULT_MAX_BATCH_SIZE = 100;
+    public static final Duration DEFAULT_INITIAL_BACKOFF = Duration.ofMillis(100);
+    public static final Duration DEFAULT_MAX_BACKOFF = Duration.ofSeconds(30);
+
+    private final TigrisDatabase database;
+    private final Consumer<List<StreamEvent>> handler;
+    private Consumer<Optional<ChangeStreamCheckpoint>> reconnectHandler;
+    private Optional<CheckpointStore> checkpointStore;
+    private int maxBatchSize;
+    private Duration initialBackoff;
+    private Duration maxBackoff;
+
+    private Builder(TigrisDatabase database, Consumer<List<StreamEvent>> handler) {
+      this.database = Objects.requireNonNull(database, "database must not be null");
+      this.handler = Objects.requireNonNull(handler, "handler must not be null");
+      this.reconnectHandler = checkpoint -> {};
+      this.checkpointStore = Optional.empty();
+      this.maxBatchSize = DEFAULT_MAX_BATCH_SIZE;
+      this.initialBackoff = DEFAULT_INITIAL_BACKOFF;
+      this.maxBackoff = DEFAULT_MAX_BACKOFF;
+    }
+
+    /**
+     * @param reconnectHandler called on the consumer thread whenever a new stream was opened after
+     *     events may have been missed: after every reconnect, and on start if a checkpoint was
+     *     loaded. It gets the last handled event, or empty if none was handled yet, and has to
+     *     resync the state derived from the events, for example by invalidating a whole cache. It
+     *     is called before any event of the new stream and retried with backoff while it throws.
+     * @return ongoing builder
+     */
+    public Builder withReconnectHandler(
+        Consumer<Optional<ChangeStreamCheckpoint>> reconnectHandler) {
+      this.reconnectHandler =
+          Objects.requireNonNull(reconnectHandler, "reconnectHandler must not be null");
+      return this;
+    }
+
+    /**
+     * @param checkpointStore store to load the checkpoint from on start and save it to after each
+     *     batch. The checkpoint de-duplicates the events of the checkpointed transaction that the
+     *     server sends again, a restarted consumer does not catch up on the events it missed.
+     * @return ongoing builder
+     */
+    public Builder withCheckpointStore(CheckpointStore checkpointStore) {
+      this.checkpointStore = Optional.of(checkpointStore);
+      return this;
+    }
+
+    /**
+     * @param maxBatchSize maximum number of events per handler call
+     * @return ongoing builder
+     */
+    public Builder withMaxBatchSize(int maxBatchSize) {
+      this.maxBatchSize = maxBatchSize;
+      return this;
+    }
+
+    /**
+     * @param initialBackoff delay before the first reconnect or handler retry
+     * @return ongoing builder
+     */
+    public Builder withInitialBackoff(Duration initialBackoff) {
+      this.initialBackoff = initialBackoff;
+      return this;
+    }
+
+    /**
+     * @param maxBackoff upper bound of the delay between reconnects or handler retries
+     * @return ongoing builder
+     */
+    public Builder withMaxBackoff(Duration maxBackoff) {
+      this.maxBackoff = maxBackoff;
+      return this;
+    }
+
+    public ChangeStreamConsumer build() {
+      if (maxBatchSize < 1) {
+        throw new IllegalArgumentException("maxBatchSize must be at least 1");
+      }
+      if (initialBackoff == null || initialBackoff.isNegative() || initialBackoff.isZero()) {
+        throw new IllegalArgumentException("initialBackoff must be positive");
+      }
+      if (maxBackoff == null || maxBackoff.compareTo(initialBackoff) < 0) {
+        throw new IllegalArgumentException("maxBackoff must not be less than initialBackoff");
+      }
+      return new ChangeStreamConsumer(this);
+    }
+  }
+}
@@ -0,0 +1,41 @@
+/*
+ * Copyright 2022 Tigris Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tigrisdata.db.client;
+
+import java.io.IOException;
+import java.util.Optional;
+
+/**
+ * Persists the checkpoint of a {@link ChangeStreamConsumer}, so a restarted consumer skips the
+ * events of the checkpointed transaction that it already handled. The events missed while no
+ * consumer was running are not delivered again.
+ *
+ * @see FileCheckpointStore
+ */
+public interface CheckpointStore {
+
+  /**
+   * @return the last saved checkpoint, or empty if none was saved yet
+   * @throws IOException if the checkpoint could not be read
+   */
+  Optional<ChangeStreamCheckpoint> load() throws IOException;
+
+  /**
+   * Saves the checkpoint, replacing the previous one
+   *
+   * @param checkpoint checkpoint to save
+   * @throws IOException if the checkpoint could not be written
+   */
+  void save(ChangeStreamCheckpoint checkpoint) throws IOException;
+}
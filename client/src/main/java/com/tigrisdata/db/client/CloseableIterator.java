@@ -0,0 +1,28 @@
+/*
+ * Copyright 2022 Tigris Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tigrisdata.db.client;
+
+import java.util.Iterator;
+
+/**
+ * An {@link Iterator} over a server stream. Closing it before it is exhausted cancels the stream.
+ *
+ * @param <T> type of the elements
+ */
+public interface CloseableIterator<T> extends Iterator<T>, AutoCloseable {
+
+  /** Cancels the underlying stream if it is still open, after which there are no more elements */
+  @Override
+  void close();
+}
@@ -15,6 +15,8 @@ package com.tigrisdata.db.client;
 
 enum ComparisonOperator {
   EQUALS("$eq"),
+  GREATER_THAN_OR_EQUAL("$gte"),
+  LESS_THAN("$lt"),
   NONE("");
 
   private final String operator;
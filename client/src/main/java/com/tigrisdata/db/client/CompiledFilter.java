@@ -0,0 +1,133 @@
+/*
+ * Copyright 2022 Tigris Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tigrisdata.db.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.protobuf.ByteString;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A filter template compiled once and bound to new values for every request. Build the template
+ * with {@link Filters#param(int)} in place of the values, e.g. {@code
+ * Filters.compile(Filters.eq("id", Filters.param(0)))}, and keep the compiled filter around.
+ * Binding skips building and serializing the filter again, only the values are serialized.
+ */
+public final class CompiledFilter {
+
+  private final JsonTemplate template;
+  // fields the template matches by equality, with their values or parameters, null if the
+  // template has other conditions too
+  private final Map<String, Object> equalities;
+
+  CompiledFilter(TigrisFilter filter) {
+    this.template = new JsonTemplate(filter::toJSON);
+    Map<String, Object> equalities = new LinkedHashMap<>();
+    this.equalities = collectEqualities(filter, equalities) ? equalities : null;
+  }
+
+  /**
+   * Binds values to the parameters of the template
+   *
+   * @param values one value per parameter, by parameter index
+   * @return the filter with the values bound
+   */
+  public TigrisFilter bind(Object... values) {
+    return new BoundFilter(template, equalities, values.clone());
+  }
+
+  private static boolean collectEqualities(TigrisFilter filter, Map<String, Object> equalities) {
+    if (filter instanceof SelectorFilter) {
+      SelectorFilter<?> selectorFilter = (SelectorFilter<?>) filter;
+      return selectorFilter.getComparisonOperator() == ComparisonOperator.EQUALS
+          && equalities.put(selectorFilter.getKey(), selectorFilter.getVal()) == null;
+    }
+    if (filter instanceof LogicalFilter) {
+      LogicalFilter logicalFilter = (LogicalFilter) filter;
+      if (logicalFilter.getLogicalFilterOperator() != LogicalFilterOperator.AND) {
+        return false;
+      }
+      for (TigrisFilter child : logicalFilter.getTigrisFilters()) {
+        if (!collectEqualities(child, equalities)) {
+          return false;
+        }
+      }
+      return true;
+    }
+    return false;
+  }
+
+  /** Filter with its values bound, serialized straight into the request bytes */
+  static final class BoundFilter implements TigrisFilter {
+    private final JsonTemplate template;
+    private final Map<String, Object> equalities;
+    private final Object[] values;
+
+    private BoundFilter(JsonTemplate template, Map<String, Object> equalities, Object[] values) {
+      this.template = template;
+      this.equalities = equalities;
+      this.values = values;
+    }
+
+    /**
+     * Returns the fields the filter matches by equality, with the bound values in place of the
+     * parameters
+     *
+     * @return field values, or null if the filter has other conditions or a parameter is not bound
+     */
+    Map<String, Object> equalityValues() {
+      if (equalities == null) {
+        return null;
+      }
+      Map<String, Object> result = new LinkedHashMap<>();
+      for (Map.Entry<String, Object> equality : equalities.entrySet()) {
+        Object value = equality.getValue();
+        if (value instanceof Param) {
+          int index = ((Param) value).getIndex();
+          if (index >= values.length) {
+            return null;
+          }
+          value = values[index];
+        }
+        result.put(equality.getKey(), value);
+      }
+      return result;
+    }
+
+    ByteString toByteString(ObjectMapper objectMapper) {
+      return template.render(objectMapper, values);
+    }
+
+    @Override
+    public String toJSON(ObjectMapper objectMapper) {
+      return toByteString(objectMapper).toStringUtf8();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) return true;
+      if (o == null || getClass() != o.getClass()) return false;
+
+      BoundFilter that = (BoundFilter) o;
+
+      return template == that.template && Arrays.equals(values, that.values);
+    }
+
+    @Override
+    public int hashCode() {
+      return 31 * System.identityHashCode(template) + Arrays.hashCode(values);
+    }
+  }
+}
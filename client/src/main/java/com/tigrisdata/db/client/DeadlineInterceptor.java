@@ -0,0 +1,64 @@
+/*
+ * Copyright 2022 Tigris Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tigrisdata.db.client;
+
+import io.grpc.CallOptions;
+import io.grpc.Channel;
+import io.grpc.ClientCall;
+import io.grpc.ClientInterceptor;
+import io.grpc.MethodDescriptor;
+import io.grpc.stub.AbstractStub;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Applies the configured default deadline to unary calls that don't carry a deadline already.
+ * Streaming calls (reads, search and events) can legitimately outlive the default deadline, so they
+ * are only bounded when the caller specifies a deadline for the operation, or when the call is
+ * marked {@link #bounded(AbstractStub) bounded}, as the single document reads of point lookups are.
+ */
+class DeadlineInterceptor implements ClientInterceptor {
+  /** Marks a streaming call that is bounded by the default deadline like a unary call */
+  static final CallOptions.Key<Boolean> BOUNDED =
+      CallOptions.Key.createWithDefault("tigris-bounded", false);
+
+  private final long deadlineMillis;
+
+  public DeadlineInterceptor(Duration deadline) {
+    this.deadlineMillis = deadline.toMillis();
+  }
+
+  @Override
+  public <ReqT, RespT> ClientCall<ReqT, RespT> interceptCall(
+      MethodDescriptor<ReqT, RespT> methodDescriptor, CallOptions callOptions, Channel channel) {
+    if (callOptions.getDeadline() == null
+        && (methodDescriptor.getType() == MethodDescriptor.MethodType.UNARY
+            || callOptions.getOption(BOUNDED))) {
+      return channel.newCall(
+          methodDescriptor, callOptions.withDeadlineAfter(deadlineMillis, TimeUnit.MILLISECONDS));
+    }
+    return channel.newCall(methodDescriptor, callOptions);
+  }
+
+  /**
+   * Marks the calls of a stub as bounded by the default deadline, unless they carry a deadline
+   *
+   * @param stub stub issuing the calls
+   * @param <S> stub type
+   * @return stub whose calls are bounded by the default deadline
+   */
+  static <S extends AbstractStub<S>> S bounded(S stub) {
+    return stub.withOption(BOUNDED, true);
+  }
+}
@@ -13,11 +13,13 @@
  */
 package com.tigrisdata.db.client;
 
+import java.time.Duration;
 import java.util.Objects;
 
 /** Represents options related to Delete operations */
 public class DeleteRequestOptions {
   private WriteOptions writeOptions;
+  private Duration deadline;
 
   public DeleteRequestOptions() {
     this.writeOptions = WriteOptions.DEFAULT_INSTANCE;
@@ -35,6 +37,23 @@ public class DeleteRequestOptions {
     this.writeOptions = writeOptions;
   }
 
+  /**
+   * @return deadline of this operation, null means the client's default deadline from {@link
+   *     com.tigrisdata.db.client.config.TigrisConfiguration.NetworkConfig} applies
+   */
+  public Duration getDeadline() {
+    return deadline;
+  }
+
+  /**
+   * Overrides the client's default deadline for this operation
+   *
+   * @param deadline deadline of this operation
+   */
+  public void setDeadline(Duration deadline) {
+    this.deadline = deadline;
+  }
+
   @Override
   public boolean equals(Object o) {
     if (this == o) return true;
@@ -42,11 +61,14 @@ public class DeleteRequestOptions {
 
     DeleteRequestOptions that = (DeleteRequestOptions) o;
 
-    return Objects.equals(writeOptions, that.writeOptions);
+    if (!Objects.equals(writeOptions, that.writeOptions)) return false;
+    return Objects.equals(deadline, that.deadline);
   }
 
   @Override
   public int hashCode() {
-    return writeOptions != null ? writeOptions.hashCode() : 0;
+    int result = writeOptions != null ? writeOptions.hashCode() : 0;
+    result = 31 * result + (deadline != null ? deadline.hashCode() : 0);
+    return result;
   }
 }
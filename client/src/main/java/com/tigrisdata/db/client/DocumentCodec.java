@@ -0,0 +1,123 @@
+/*
+ * Copyright 2022 Tigris Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tigrisdata.db.client;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.protobuf.ByteString;
+import com.google.protobuf.UnsafeByteOperations;
+import java.io.IOException;
+
+/**
+ * Encodes and decodes documents of a single type using pre-built {@link ObjectReader} and {@link
+ * ObjectWriter}. Instances are cached per {@link ObjectMapper} and type, so every collection
+ * created for the same type shares the same reader and writer.
+ *
+ * @param <T> document type
+ */
+final class DocumentCodec<T> {
+
+  private static final int MAX_CACHED_CODECS = 1024;
+  private static final Cache<Key, DocumentCodec<?>> CODECS =
+      CacheBuilder.newBuilder().maximumSize(MAX_CACHED_CODECS).build();
+
+  private final Class<T> type;
+  private final ObjectMapper objectMapper;
+  private final ObjectReader reader;
+  private final ObjectWriter writer;
+
+  private DocumentCodec(Class<T> type, ObjectMapper objectMapper) {
+    this.type = type;
+    this.objectMapper = objectMapper;
+    this.reader = objectMapper.readerFor(type);
+    this.writer = objectMapper.writerFor(type);
+  }
+
+  /**
+   * Returns the shared codec for the given type and object mapper
+   *
+   * @param type document type
+   * @param objectMapper JSON serializer/deserializer
+   * @param <T> document type
+   * @return codec
+   */
+  static <T> DocumentCodec<T> of(Class<T> type, ObjectMapper objectMapper) {
+    return (DocumentCodec<T>)
+        CODECS
+            .asMap()
+            .computeIfAbsent(
+                new Key(type, objectMapper), key -> new DocumentCodec<>(type, objectMapper));
+  }
+
+  /**
+   * Decodes a document straight from the protobuf {@link ByteString}. Jackson reads the bytes
+   * through {@link ByteString#newInput()}, so no intermediate UTF-16 {@link String} is allocated.
+   *
+   * @param data serialized JSON document
+   * @return decoded document
+   * @throws IOException in case of malformed content
+   */
+  T decode(ByteString data) throws IOException {
+    return reader.readValue(data.newInput());
+  }
+
+  /**
+   * Encodes a document straight into a {@link ByteString}. Jackson writes UTF-8 bytes using its
+   * recycled buffers and the resulting array is wrapped without copying, skipping the intermediate
+   * {@link String} and its re-encoding.
+   *
+   * @param document document to encode
+   * @return encoded document
+   * @throws JsonProcessingException in case of serialization failure
+   */
+  ByteString encode(T document) throws JsonProcessingException {
+    // the typed writer serializes the declared type only, subclasses need the runtime lookup
+    byte[] bytes =
+        document != null && document.getClass() == type
+            ? writer.writeValueAsBytes(document)
+            : objectMapper.writeValueAsBytes(document);
+    // the array is owned by this method and never mutated afterwards, so it is safe to wrap
+    return UnsafeByteOperations.unsafeWrap(bytes);
+  }
+
+  /** Cache key comparing the object mapper by identity */
+  private static final class Key {
+    private final Class<?> type;
+    private final ObjectMapper objectMapper;
+
+    private Key(Class<?> type, ObjectMapper objectMapper) {
+      this.type = type;
+      this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) return true;
+      if (o == null || getClass() != o.getClass()) return false;
+
+      Key that = (Key) o;
+
+      return type == that.type && objectMapper == that.objectMapper;
+    }
+
+    @Override
+    public int hashCode() {
+      return 31 * type.hashCode() + System.identityHashCode(objectMapper);
+    }
+  }
+}
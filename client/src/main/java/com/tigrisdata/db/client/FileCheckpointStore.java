@@ -0,0 +1,91 @@
+/*
+ * Copyright 2022 Tigris Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tigrisdata.db.client;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Base64;
+import java.util.Optional;
+import java.util.Properties;
+
+/**
+ * {@link CheckpointStore} keeping the checkpoint in a local properties file. The file is replaced
+ * atomically, a crash while saving leaves the previous checkpoint in place.
+ */
+public class FileCheckpointStore implements CheckpointStore {
+
+  private static final String TX_ID_PROPERTY = "txId";
+  private static final String KEY_PROPERTY = "key";
+
+  private final Path file;
+
+  /** @param file file to keep the checkpoint in, its parent directory must exist */
+  public FileCheckpointStore(Path file) {
+    this.file = file;
+  }
+
+  @Override
+  public Optional<ChangeStreamCheckpoint> load() throws IOException {
+    if (!Files.exists(file)) {
+      return Optional.empty();
+    }
+    Properties properties = new Properties();
+    try (InputStream inputStream = Files.newInputStream(file)) {
+      properties.load(inputStream);
+    }
+    String txId = properties.getProperty(TX_ID_PROPERTY);
+    String key = properties.getProperty(KEY_PROPERTY);
+    if (txId == null || key == null) {
+      throw new IOException("Malformed checkpoint file " + file);
+    }
+    Base64.Decoder decoder = Base64.getDecoder();
+    return Optional.of(new ChangeStreamCheckpoint(decoder.decode(txId), decoder.decode(key)));
+  }
+
+  @Override
+  public void save(ChangeStreamCheckpoint checkpoint) throws IOException {
+    Base64.Encoder encoder = Base64.getEncoder();
+    Properties properties = new Properties();
+    properties.setProperty(TX_ID_PROPERTY, encoder.encodeToString(checkpoint.getTxId()));
+    properties.setProperty(KEY_PROPERTY, encoder.encodeToString(checkpoint.getKey()));
+
+    Path directory = file.toAbsolutePath().getParent();
+    Path temporaryFile = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+    try {
+      try (OutputStream outputStream = Files.newOutputStream(temporaryFile)) {
+        properties.store(outputStream, null);
+      }
+      try {
+        Files.move(
+            temporaryFile,
+            file,
+            StandardCopyOption.ATOMIC_MOVE,
+            StandardCopyOption.REPLACE_EXISTING);
+      } catch (AtomicMoveNotSupportedException ex) {
+        Files.move(temporaryFile, file, StandardCopyOption.REPLACE_EXISTING);
+      }
+    } finally {
+      Files.deleteIfExists(temporaryFile);
+    }
+  }
+
+  public Path getFile() {
+    return file;
+  }
+}
@@ -75,6 +75,18 @@ public final class Filters {
     return new SelectorFilter<>(ComparisonOperator.EQUALS, key, value);
   }
 
+  /**
+   * Creates equals filter for given key and a bind parameter, to be used in a {@link
+   * #compile(TigrisFilter) compiled} filter
+   *
+   * @param key field key
+   * @param param bind parameter
+   * @return constructed {@link SelectorFilter} of type {@link Param}
+   */
+  public static SelectorFilter<Param> eq(String key, Param param) {
+    return new SelectorFilter<>(ComparisonOperator.EQUALS, key, param);
+  }
+
   /**
    * Creates a composite logical OR filter from input filters
    *
@@ -103,4 +115,24 @@ public final class Filters {
   public static SelectorFilter<String> nothing() {
     return new SelectorFilter<>(ComparisonOperator.NONE, "", "");
   }
+
+  /**
+   * Creates a bind parameter, a placeholder for a value bound when the filter is used
+   *
+   * @param index position of the value in {@link CompiledFilter#bind(Object...)}
+   * @return bind parameter
+   */
+  public static Param param(int index) {
+    return new Param(index);
+  }
+
+  /**
+   * Compiles a filter template once so it can be bound to new values for every request
+   *
+   * @param template filter with {@link #param(int)} in place of values
+   * @return compiled filter
+   */
+  public static CompiledFilter compile(TigrisFilter template) {
+    return new CompiledFilter(template);
+  }
 }
@@ -13,10 +13,12 @@
  */
 package com.tigrisdata.db.client;
 
+import java.time.Duration;
 import java.util.Objects;
 /** Represents options related to InsertOrReplace operations */
 public class InsertOrReplaceRequestOptions {
   private WriteOptions writeOptions;
+  private Duration deadline;
 
   public InsertOrReplaceRequestOptions() {
     this.writeOptions = WriteOptions.DEFAULT_INSTANCE;
@@ -34,6 +36,23 @@ public class InsertOrReplaceRequestOptions {
     this.writeOptions = writeOptions;
   }
 
+  /**
+   * @return deadline of this operation, null means the client's default deadline from {@link
+   *     com.tigrisdata.db.client.config.TigrisConfiguration.NetworkConfig} applies
+   */
+  public Duration getDeadline() {
+    return deadline;
+  }
+
+  /**
+   * Overrides the client's default deadline for this operation
+   *
+   * @param deadline deadline of this operation
+   */
+  public void setDeadline(Duration deadline) {
+    this.deadline = deadline;
+  }
+
   @Override
   public boolean equals(Object o) {
     if (this == o) return true;
@@ -41,11 +60,14 @@ public class InsertOrReplaceRequestOptions {
 
     InsertOrReplaceRequestOptions that = (InsertOrReplaceRequestOptions) o;
 
-    return Objects.equals(writeOptions, that.writeOptions);
+    if (!Objects.equals(writeOptions, that.writeOptions)) return false;
+    return Objects.equals(deadline, that.deadline);
   }
 
   @Override
   public int hashCode() {
-    return writeOptions != null ? writeOptions.hashCode() : 0;
+    int result = writeOptions != null ? writeOptions.hashCode() : 0;
+    result = 31 * result + (deadline != null ? deadline.hashCode() : 0);
+    return result;
   }
 }
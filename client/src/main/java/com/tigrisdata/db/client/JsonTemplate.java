@@ -0,0 +1,156 @@
+/*
+ * Copyright 2022 Tigris Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tigrisdata.db.client;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.protobuf.ByteString;
+import com.google.protobuf.UnsafeByteOperations;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * JSON of a filter or update template, precompiled into the byte segments around its {@link
+ * Param}s. Rendering copies the segments and splices in the serialized values, the template itself
+ * is only serialized once per {@link ObjectMapper}.
+ */
+final class JsonTemplate {
+
+  private final Function<ObjectMapper, String> renderer;
+  // compiled for the last object mapper used, clients use a single one
+  private volatile Compiled compiled;
+
+  /** @param renderer renders the template JSON, with its parameters */
+  JsonTemplate(Function<ObjectMapper, String> renderer) {
+    this.renderer = renderer;
+  }
+
+  /**
+   * Renders the template with its parameters bound
+   *
+   * @param objectMapper mapper to serialize values with
+   * @param values parameter values, by parameter index
+   * @return the JSON
+   */
+  ByteString render(ObjectMapper objectMapper, Object[] values) {
+    Compiled compiled = compiledFor(objectMapper);
+    if (values.length != compiled.paramCount) {
+      throw new IllegalArgumentException(
+          "Expected " + compiled.paramCount + " parameter values, got " + values.length);
+    }
+    byte[][] serializedValues = new byte[compiled.paramCount][];
+    int length = 0;
+    for (byte[] segment : compiled.segments) {
+      length += segment.length;
+    }
+    for (int param : compiled.params) {
+      if (serializedValues[param] == null) {
+        serializedValues[param] = serialize(objectMapper, values[param]);
+      }
+      length += serializedValues[param].length;
+    }
+    byte[] json = new byte[length];
+    int offset = 0;
+    for (int i = 0; i < compiled.segments.length; i++) {
+      byte[] segment = compiled.segments[i];
+      System.arraycopy(segment, 0, json, offset, segment.length);
+      offset += segment.length;
+      if (i < compiled.params.length) {
+        byte[] value = serializedValues[compiled.params[i]];
+        System.arraycopy(value, 0, json, offset, value.length);
+        offset += value.length;
+      }
+    }
+    // the array is owned by this method and never mutated afterwards, so it is safe to wrap
+    return UnsafeByteOperations.unsafeWrap(json);
+  }
+
+  private Compiled compiledFor(ObjectMapper objectMapper) {
+    Compiled current = compiled;
+    if (current == null || current.objectMapper != objectMapper) {
+      current = compile(objectMapper);
+      compiled = current;
+    }
+    return current;
+  }
+
+  private Compiled compile(ObjectMapper objectMapper) {
+    BitSet found = new BitSet();
+    String json = Param.renderWithPlaceholders(renderer, objectMapper, found);
+    // parameters are bound by index, so unused indexes below the highest still take a value
+    int paramCount = found.length();
+    String[] placeholders = new String[paramCount];
+    for (int i = 0; i < paramCount; i++) {
+      placeholders[i] =
+          new String(serialize(objectMapper, Param.placeholder(i)), StandardCharsets.UTF_8);
+    }
+    List<byte[]> segments = new ArrayList<>();
+    List<Integer> params = new ArrayList<>();
+    int from = 0;
+    while (true) {
+      // next placeholder of any parameter
+      int at = -1;
+      int param = -1;
+      for (int i = 0; i < paramCount; i++) {
+        int index = json.indexOf(placeholders[i], from);
+        if (index >= 0 && (at < 0 || index < at)) {
+          at = index;
+          param = i;
+        }
+      }
+      if (at < 0) {
+        break;
+      }
+      segments.add(json.substring(from, at).getBytes(StandardCharsets.UTF_8));
+      params.add(param);
+      from = at + placeholders[param].length();
+    }
+    segments.add(json.substring(from).getBytes(StandardCharsets.UTF_8));
+    return new Compiled(
+        objectMapper,
+        paramCount,
+        segments.toArray(new byte[0][]),
+        params.stream().mapToInt(Integer::intValue).toArray());
+  }
+
+  private static byte[] serialize(ObjectMapper objectMapper, Object value) {
+    // common key types skip the generic serializer
+    if (value instanceof Integer || value instanceof Long || value instanceof Boolean) {
+      return value.toString().getBytes(StandardCharsets.US_ASCII);
+    }
+    try {
+      return objectMapper.writeValueAsBytes(value);
+    } catch (JsonProcessingException ex) {
+      throw new IllegalArgumentException("Failed to serialize parameter value " + value, ex);
+    }
+  }
+
+  private static final class Compiled {
+    private final ObjectMapper objectMapper;
+    private final int paramCount;
+    // params[i] is spliced between segments[i] and segments[i + 1]
+    private final byte[][] segments;
+    private final int[] params;
+
+    private Compiled(ObjectMapper objectMapper, int paramCount, byte[][] segments, int[] params) {
+      this.objectMapper = objectMapper;
+      this.paramCount = paramCount;
+      this.segments = segments;
+      this.params = params;
+    }
+  }
+}
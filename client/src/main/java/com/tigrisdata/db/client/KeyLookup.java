@@ -0,0 +1,157 @@
+/*
+ * Copyright 2022 Tigris Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tigrisdata.db.client;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tigrisdata.db.annotation.TigrisPrimaryKey;
+import com.tigrisdata.db.type.TigrisCollectionType;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Turns a collection of primary keys into bounded OR-filters and matches the documents read back
+ * to the requested keys. Keys and document fields are compared by their JSON rendering, so a key
+ * given as an {@code int} matches a {@code long} primary key field.
+ *
+ * @param <T> type of the collection
+ */
+final class KeyLookup<T extends TigrisCollectionType> {
+
+  static final int DEFAULT_MAX_KEYS_PER_REQUEST = 100;
+
+  private final Field primaryKeyField;
+  private final ObjectMapper objectMapper;
+  // requested key by its JSON rendering, in request order
+  private final Map<String, Object> keys = new LinkedHashMap<>();
+
+  /**
+   * @param collectionTypeClass collection type, must have exactly one primary key field
+   * @param keys primary key values to read
+   * @param objectMapper mapper used to render keys
+   * @throws IllegalArgumentException if the collection doesn't have a single primary key field or
+   *     a key can't be rendered
+   */
+  KeyLookup(Class<T> collectionTypeClass, Collection<?> keys, ObjectMapper objectMapper) {
+    this.primaryKeyField = primaryKeyField(collectionTypeClass);
+    this.objectMapper = objectMapper;
+    for (Object key : keys) {
+      if (key == null) {
+        throw new IllegalArgumentException("Primary keys can't be null");
+      }
+      this.keys.putIfAbsent(render(key), key);
+    }
+  }
+
+  /** @return true if there are no keys to read */
+  boolean isEmpty() {
+    return keys.isEmpty();
+  }
+
+  /**
+   * Splits the keys into filters matching at most maxKeysPerFilter keys each
+   *
+   * @param maxKeysPerFilter max number of keys per filter
+   * @return filters covering all the keys
+   */
+  List<TigrisFilter> filters(int maxKeysPerFilter) {
+    if (maxKeysPerFilter < 1) {
+      throw new IllegalArgumentException("maxKeysPerRequest must be at least 1");
+    }
+    List<TigrisFilter> filters = new ArrayList<>();
+    List<TigrisFilter> chunk = new ArrayList<>(Math.min(maxKeysPerFilter, keys.size()));
+    for (Object key : keys.values()) {
+      chunk.add(new SelectorFilter<>(ComparisonOperator.EQUALS, primaryKeyField.getName(), key));
+      if (chunk.size() == maxKeysPerFilter) {
+        filters.add(toFilter(chunk));
+        chunk.clear();
+      }
+    }
+    if (!chunk.isEmpty()) {
+      filters.add(toFilter(chunk));
+    }
+    return filters;
+  }
+
+  /**
+   * Matches documents read with {@link #filters(int)} back to the requested keys
+   *
+   * @param documents documents read, in any order
+   * @return documents in request order and the keys not found
+   */
+  ReadByKeysResponse<T> toResponse(Collection<T> documents) {
+    Map<String, T> documentsByRenderedKey = new HashMap<>();
+    for (T document : documents) {
+      try {
+        Object key = primaryKeyField.get(document);
+        if (key != null) {
+          documentsByRenderedKey.putIfAbsent(render(key), document);
+        }
+      } catch (IllegalAccessException ex) {
+        throw new IllegalStateException(ex);
+      }
+    }
+    List<T> found = new ArrayList<>(keys.size());
+    Map<Object, T> foundByKey = new HashMap<>();
+    List<Object> missing = new ArrayList<>();
+    for (Map.Entry<String, Object> key : keys.entrySet()) {
+      T document = documentsByRenderedKey.get(key.getKey());
+      if (document == null) {
+        missing.add(key.getValue());
+      } else {
+        found.add(document);
+        foundByKey.put(key.getValue(), document);
+      }
+    }
+    return new ReadByKeysResponse<>(found, foundByKey, missing);
+  }
+
+  private String render(Object key) {
+    try {
+      return objectMapper.writeValueAsString(key);
+    } catch (JsonProcessingException ex) {
+      throw new IllegalArgumentException("Failed to serialize primary key " + key, ex);
+    }
+  }
+
+  private static TigrisFilter toFilter(List<TigrisFilter> chunk) {
+    return chunk.size() == 1 ? chunk.get(0) : Filters.or(chunk.toArray(new TigrisFilter[0]));
+  }
+
+  private static Field primaryKeyField(Class<?> collectionTypeClass) {
+    Field primaryKeyField = null;
+    for (Class<?> type = collectionTypeClass; type != null; type = type.getSuperclass()) {
+      for (Field field : type.getDeclaredFields()) {
+        if (field.isAnnotationPresent(TigrisPrimaryKey.class)) {
+          if (primaryKeyField != null) {
+            throw new IllegalArgumentException(
+                "Reading by keys is not supported for composite primary keys");
+          }
+          primaryKeyField = field;
+        }
+      }
+    }
+    if (primaryKeyField == null) {
+      throw new IllegalArgumentException(
+          collectionTypeClass.getName() + " has no field annotated with @TigrisPrimaryKey");
+    }
+    primaryKeyField.setAccessible(true);
+    return primaryKeyField;
+  }
+}
@@ -32,6 +32,14 @@ class LogicalFilter implements TigrisFilter {
     this.tigrisFilters = tigrisFilters;
   }
 
+  LogicalFilterOperator getLogicalFilterOperator() {
+    return logicalFilterOperator;
+  }
+
+  TigrisFilter[] getTigrisFilters() {
+    return tigrisFilters;
+  }
+
   @Override
   public String toJSON(ObjectMapper objectMapper) {
     return "{\""
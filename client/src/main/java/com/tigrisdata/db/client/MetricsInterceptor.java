@@ -0,0 +1,167 @@
+/*
+ * Copyright 2022 Tigris Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tigrisdata.db.client;
+
+import com.google.protobuf.Descriptors;
+import com.google.protobuf.Message;
+import com.tigrisdata.db.api.v1.grpc.Api;
+import com.tigrisdata.db.client.metrics.CallMetrics;
+import com.tigrisdata.db.client.metrics.TigrisMetricsRecorder;
+import io.grpc.CallOptions;
+import io.grpc.Channel;
+import io.grpc.ClientCall;
+import io.grpc.ClientInterceptor;
+import io.grpc.ForwardingClientCall;
+import io.grpc.ForwardingClientCallListener;
+import io.grpc.Metadata;
+import io.grpc.MethodDescriptor;
+import io.grpc.Status;
+import java.time.Duration;
+import java.util.Optional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Measures every call and reports it to the configured {@link TigrisMetricsRecorder}. Installed
+ * ahead of the retry interceptor, so a retried call is reported once with its overall latency.
+ */
+class MetricsInterceptor implements ClientInterceptor {
+
+  private static final Logger log = LoggerFactory.getLogger(MetricsInterceptor.class);
+
+  private final TigrisMetricsRecorder recorder;
+
+  MetricsInterceptor(TigrisMetricsRecorder recorder) {
+    this.recorder = recorder;
+  }
+
+  @Override
+  public <ReqT, RespT> ClientCall<ReqT, RespT> interceptCall(
+      MethodDescriptor<ReqT, RespT> methodDescriptor, CallOptions callOptions, Channel channel) {
+    return new MeasuredClientCall<>(
+        methodDescriptor.getBareMethodName(), channel.newCall(methodDescriptor, callOptions));
+  }
+
+  /**
+   * @param message request or response message
+   * @return documents carried by the message
+   */
+  static int documentsIn(Object message) {
+    if (message instanceof Api.ReadResponse) {
+      return 1;
+    } else if (message instanceof Api.SearchResponse) {
+      return ((Api.SearchResponse) message).getHitsCount();
+    } else if (message instanceof Api.InsertRequest) {
+      return ((Api.InsertRequest) message).getDocumentsCount();
+    } else if (message instanceof Api.ReplaceRequest) {
+      return ((Api.ReplaceRequest) message).getDocumentsCount();
+    }
+    return 0;
+  }
+
+  private static String stringField(Message message, String fieldName) {
+    Descriptors.FieldDescriptor field = message.getDescriptorForType().findFieldByName(fieldName);
+    if (field == null || field.getJavaType() != Descriptors.FieldDescriptor.JavaType.STRING) {
+      return "";
+    }
+    return (String) message.getField(field);
+  }
+
+  private static long serializedSize(Object message) {
+    return message instanceof Message ? ((Message) message).getSerializedSize() : 0;
+  }
+
+  private class MeasuredClientCall<ReqT, RespT>
+      extends ForwardingClientCall.SimpleForwardingClientCall<ReqT, RespT> {
+    private final String method;
+    private long startNanos;
+    // written by the caller, read once the call closed
+    private volatile String database = "";
+    private volatile String collection = "";
+    private volatile int messagesSent;
+    private volatile long bytesSent;
+    private volatile int documentsSent;
+
+    private MeasuredClientCall(String method, ClientCall<ReqT, RespT> delegate) {
+      super(delegate);
+      this.method = method;
+    }
+
+    @Override
+    public void start(Listener<RespT> responseListener, Metadata headers) {
+      startNanos = System.nanoTime();
+      try {
+        recorder.callStarted(method);
+      } catch (RuntimeException ex) {
+        log.warn("metrics recorder failed", ex);
+      }
+      super.start(new MeasuredListener(responseListener), headers);
+    }
+
+    @Override
+    public void sendMessage(ReqT message) {
+      if (messagesSent == 0 && message instanceof Message) {
+        database = stringField((Message) message, "db");
+        collection = stringField((Message) message, "collection");
+      }
+      messagesSent++;
+      bytesSent += serializedSize(message);
+      documentsSent += documentsIn(message);
+      super.sendMessage(message);
+    }
+
+    private class MeasuredListener
+        extends ForwardingClientCallListener.SimpleForwardingClientCallListener<RespT> {
+      private int messagesReceived;
+      private long bytesReceived;
+      private int documentsReceived;
+
+      private MeasuredListener(Listener<RespT> delegate) {
+        super(delegate);
+      }
+
+      @Override
+      public void onMessage(RespT message) {
+        messagesReceived++;
+        bytesReceived += serializedSize(message);
+        documentsReceived += documentsIn(message);
+        super.onMessage(message);
+      }
+
+      @Override
+      public void onClose(Status status, Metadata trailers) {
+        try {
+          recorder.callCompleted(
+              new CallMetrics(
+                  method,
+                  database,
+                  collection,
+                  status.getCode(),
+                  status.isOk()
+                      ? Optional.empty()
+                      : TypeConverter.extractTigrisError(status.asRuntimeException(trailers)),
+                  Duration.ofNanos(System.nanoTime() - startNanos),
+                  messagesSent,
+                  messagesReceived,
+                  bytesSent,
+                  bytesReceived,
+                  documentsSent + documentsReceived));
+        } catch (RuntimeException ex) {
+          log.warn("metrics recorder failed", ex);
+        }
+        super.onClose(status, trailers);
+      }
+    }
+  }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2022 Tigris Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tigrisdata.db.client;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonSerializable;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+import java.io.IOException;
+import java.util.BitSet;
+import java.util.function.Function;
+
+/**
+ * Bind parameter of a filter or update template, see {@link Filters#param(int)}. A template is
+ * serialized once with a placeholder for every parameter, binding only serializes the values.
+ *
+ * <p>Serializing a parameter outside of template compilation fails, so an unbound template is
+ * never sent to the server.
+ */
+public final class Param implements JsonSerializable {
+
+  private static final String PLACEHOLDER_PREFIX = "\u0000tigris-param-";
+  // indexes of the parameters serialized by the template being compiled, null when not compiling
+  private static final ThreadLocal<BitSet> COMPILING = new ThreadLocal<>();
+
+  private final int index;
+
+  Param(int index) {
+    if (index < 0) {
+      throw new IllegalArgumentException("Parameter index can't be negative");
+    }
+    this.index = index;
+  }
+
+  /** @return position of the value bound to this parameter */
+  public int getIndex() {
+    return index;
+  }
+
+  /**
+   * @param index parameter index
+   * @return the string parameters serialize to while compiling
+   */
+  static String placeholder(int index) {
+    return PLACEHOLDER_PREFIX + index + "\u0000";
+  }
+
+  /**
+   * Renders a template with placeholders in place of its parameters
+   *
+   * @param renderer renders the template JSON
+   * @param objectMapper mapper to render with
+   * @param params collects the indexes of the parameters found in the template
+   * @return the template JSON
+   */
+  static String renderWithPlaceholders(
+      Function<ObjectMapper, String> renderer, ObjectMapper objectMapper, BitSet params) {
+    COMPILING.set(params);
+    try {
+      return renderer.apply(objectMapper);
+    } finally {
+      COMPILING.remove();
+    }
+  }
+
+  @Override
+  public void serialize(JsonGenerator gen, SerializerProvider serializers) throws IOException {
+    BitSet params = COMPILING.get();
+    if (params == null) {
+      throw JsonMappingException.from(gen, "Parameter " + index + " is not bound");
+    }
+    params.set(index);
+    gen.writeString(placeholder(index));
+  }
+
+  @Override
+  public void serializeWithType(
+      JsonGenerator gen, SerializerProvider serializers, TypeSerializer typeSer)
+      throws IOException {
+    serialize(gen, serializers);
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) return true;
+    if (o == null || getClass() != o.getClass()) return false;
+    return index == ((Param) o).index;
+  }
+
+  @Override
+  public int hashCode() {
+    return index;
+  }
+}
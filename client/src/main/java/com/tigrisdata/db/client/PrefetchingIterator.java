@@ -0,0 +1,157 @@
+/*
+ * Copyright 2022 Tigris Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tigrisdata.db.client;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.grpc.Context;
+import io.grpc.Status;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Iterator that reads and decodes the source on a background thread, buffering up to a fixed
+ * number of decoded elements so network waits and decoding overlap with the consumer. Errors of
+ * the source or the decoder are rethrown to the consumer in order. The source read is started in
+ * its own cancellable {@link Context}, cancelled as soon as the producer stops, so a failure of the
+ * decoder doesn't leave the call streaming.
+ *
+ * <p>The producer blocks while the buffer is full, an iterator that is not consumed to the end must
+ * be closed to release its thread.
+ *
+ * @param <F> type of the source elements
+ * @param <T> type of the decoded elements
+ */
+final class PrefetchingIterator<F, T> implements CloseableIterator<T> {
+
+  // shared across reads, idle threads are reclaimed
+  private static final ExecutorService PREFETCH_EXECUTOR =
+      Executors.newCachedThreadPool(
+          new ThreadFactoryBuilder().setNameFormat("tigris-prefetch-%d").setDaemon(true).build());
+  private static final Object END = new Object();
+
+  private final Context.CancellableContext context;
+  // decoded elements, then END or a Failure
+  private final BlockingQueue<Object> buffer;
+  private final Future<?> producer;
+  private Object next;
+  private boolean done;
+
+  /**
+   * @param read starts the source read, the source is only used by the producer thread from now on
+   * @param decoder decodes source elements
+   * @param depth max number of decoded elements buffered ahead of the consumer
+   */
+  PrefetchingIterator(Supplier<Iterator<F>> read, Function<F, T> decoder, int depth) {
+    this.buffer = new ArrayBlockingQueue<>(depth);
+    this.context = Context.current().withCancellation();
+    Iterator<F> source;
+    Context previous = context.attach();
+    try {
+      source = read.get();
+    } catch (RuntimeException ex) {
+      context.cancel(ex);
+      throw ex;
+    } finally {
+      context.detach(previous);
+    }
+    this.producer = PREFETCH_EXECUTOR.submit(() -> produce(source, decoder));
+  }
+
+  private void produce(Iterator<F> source, Function<F, T> decoder) {
+    try {
+      try {
+        while (source.hasNext()) {
+          buffer.put(decoder.apply(source.next()));
+        }
+        buffer.put(END);
+      } catch (RuntimeException ex) {
+        // the failure may wait for room in the buffer, the call must not stream meanwhile
+        context.cancel(ex);
+        buffer.put(new Failure(ex));
+      }
+    } catch (InterruptedException ex) {
+      // closed by the consumer
+      Thread.currentThread().interrupt();
+    } finally {
+      context.cancel(null);
+    }
+  }
+
+  @Override
+  public boolean hasNext() {
+    if (next == null && !done) {
+      Object taken = take();
+      if (taken == END) {
+        done = true;
+      } else if (taken instanceof Failure) {
+        done = true;
+        throw ((Failure) taken).exception;
+      } else {
+        next = taken;
+      }
+    }
+    return next != null;
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public T next() {
+    if (!hasNext()) {
+      throw new NoSuchElementException();
+    }
+    T element = (T) next;
+    next = null;
+    return element;
+  }
+
+  @Override
+  public void close() {
+    if (!done) {
+      done = true;
+      next = null;
+      producer.cancel(true);
+      context.cancel(null);
+      buffer.clear();
+    }
+  }
+
+  private Object take() {
+    try {
+      return buffer.take();
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      close();
+      // same as an interrupted blocking gRPC iterator
+      throw Status.CANCELLED
+          .withDescription("Thread interrupted")
+          .withCause(ex)
+          .asRuntimeException();
+    }
+  }
+
+  private static final class Failure {
+    private final RuntimeException exception;
+
+    private Failure(RuntimeException exception) {
+      this.exception = exception;
+    }
+  }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2022 Tigris Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tigrisdata.db.client;
+
+import com.tigrisdata.db.type.TigrisCollectionType;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+/** Represents the result of reading documents by a collection of primary keys */
+public class ReadByKeysResponse<T extends TigrisCollectionType> {
+  private final List<T> documents;
+  private final Map<Object, T> documentsByKey;
+  private final List<Object> missingKeys;
+
+  ReadByKeysResponse(List<T> documents, Map<Object, T> documentsByKey, List<Object> missingKeys) {
+    this.documents = Collections.unmodifiableList(documents);
+    this.documentsByKey = Collections.unmodifiableMap(documentsByKey);
+    this.missingKeys = Collections.unmodifiableList(missingKeys);
+  }
+
+  /**
+   * @return documents found, in the order their keys were requested. A key requested more than
+   *     once yields a single document.
+   */
+  public List<T> getDocuments() {
+    return documents;
+  }
+
+  /**
+   * Returns the document of a requested key
+   *
+   * @param key one of the requested keys
+   * @return the document, or empty if the key was not requested or no document has it
+   */
+  public Optional<T> get(Object key) {
+    return Optional.ofNullable(documentsByKey.get(key));
+  }
+
+  /** @return requested keys that no document matched, in the order they were requested */
+  public List<Object> getMissingKeys() {
+    return missingKeys;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) return true;
+    if (o == null || getClass() != o.getClass()) return false;
+    ReadByKeysResponse<?> that = (ReadByKeysResponse<?>) o;
+    return Objects.equals(documents, that.documents)
+        && Objects.equals(missingKeys, that.missingKeys);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(documents, missingKeys);
+  }
+}
@@ -0,0 +1,412 @@
+/*
+ * Copyright 2022 Tigris Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tigrisdata.db.client;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.protobuf.ByteString;
+import com.tigrisdata.db.annotation.TigrisPrimaryKey;
+import java.lang.reflect.Field;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Cache of the serialized documents of a collection, keyed by primary key. Documents are cached as
+ * bytes and decoded on every hit, so callers never share a mutable instance.
+ *
+ * <p>Eviction follows W-TinyLFU: new documents enter a small LRU window, and a document evicted
+ * from the window only displaces the least recently used document of the main space if it was
+ * accessed more often, as estimated by a count-min sketch. The main space is a segmented LRU,
+ * documents hit while on probation are promoted to the protected segment.
+ *
+ * <p>Every invalidation bumps a stamp. A read takes the stamp before going to the server and its
+ * document is only cached if no invalidation happened meanwhile, so a read racing a write does not
+ * cache the document the write replaced. While a transaction with writes to the collection is open,
+ * reads are not cached at all, see {@link #hold()}.
+ *
+ * @param <T> type of the collection
+ */
+final class ReadCache<T> {
+
+  private final ObjectMapper objectMapper;
+  private final Set<String> primaryKeyFields;
+  private final long expireAfterWriteNanos;
+  private final int windowMaxSize;
+  private final int mainMaxSize;
+  private final int protectedMaxSize;
+  private final FrequencySketch sketch;
+
+  // all guarded by this, entries are in LRU order
+  private final LinkedHashMap<String, Entry> window = new LinkedHashMap<>();
+  private final LinkedHashMap<String, Entry> probation = new LinkedHashMap<>();
+  private final LinkedHashMap<String, Entry> protectedSegment = new LinkedHashMap<>();
+  private volatile long stamp;
+  // guarded by this, number of open transactions with writes to the collection
+  private int holds;
+
+  ReadCache(Class<T> collectionTypeClass, ReadCacheOptions options, ObjectMapper objectMapper) {
+    this.objectMapper = objectMapper;
+    this.primaryKeyFields = primaryKeyFields(collectionTypeClass);
+    this.expireAfterWriteNanos = options.getExpireAfterWrite().toNanos();
+    this.windowMaxSize = Math.max(1, options.getMaxSize() / 100);
+    this.mainMaxSize = options.getMaxSize() - windowMaxSize;
+    this.protectedMaxSize = mainMaxSize * 4 / 5;
+    this.sketch = new FrequencySketch(options.getMaxSize());
+  }
+
+  /**
+   * Returns the cache key of a filter that selects a single document by its whole primary key
+   *
+   * @param filter read filter
+   * @return cache key, or null if the filter is not a primary key lookup
+   */
+  String keyOf(TigrisFilter filter) {
+    if (primaryKeyFields.isEmpty()) {
+      return null;
+    }
+    Map<String, Object> values = new TreeMap<>();
+    if (!collectKeyValues(filter, values) || !values.keySet().equals(primaryKeyFields)) {
+      return null;
+    }
+    return toKey(values);
+  }
+
+  /** @return stamp to pass to {@link #put} for a read about to be issued */
+  long stamp() {
+    return stamp;
+  }
+
+  synchronized ByteString get(String key) {
+    int hash = spread(key.hashCode());
+    sketch.increment(hash);
+    Entry entry = window.get(key);
+    LinkedHashMap<String, Entry> segment = window;
+    if (entry == null) {
+      entry = probation.get(key);
+      segment = probation;
+    }
+    if (entry == null) {
+      entry = protectedSegment.get(key);
+      segment = protectedSegment;
+    }
+    if (entry == null) {
+      return null;
+    }
+    if (System.nanoTime() - entry.expiresAtNanos >= 0) {
+      segment.remove(key);
+      return null;
+    }
+    segment.remove(key);
+    if (segment == probation) {
+      protectedSegment.put(key, entry);
+      if (protectedSegment.size() > protectedMaxSize) {
+        Map.Entry<String, Entry> demoted = removeEldest(protectedSegment);
+        probation.put(demoted.getKey(), demoted.getValue());
+      }
+    } else {
+      segment.put(key, entry);
+    }
+    return entry.document;
+  }
+
+  /**
+   * Caches the document read for a key, unless an invalidation happened since the stamp was taken
+   *
+   * @param key cache key
+   * @param document serialized document
+   * @param readStamp stamp taken before the read was issued
+   */
+  synchronized void put(String key, ByteString document, long readStamp) {
+    if (readStamp != stamp || holds > 0) {
+      return;
+    }
+    remove(key);
+    window.put(key, new Entry(document, System.nanoTime() + expireAfterWriteNanos));
+    while (window.size() > windowMaxSize) {
+      admit(removeEldest(window));
+    }
+  }
+
+  /**
+   * Stops caching reads until the matching {@link #release()}. Taken by a transaction that writes
+   * to the collection, a document read before it commits may be replaced by the commit.
+   */
+  synchronized void hold() {
+    holds++;
+  }
+
+  /** Resumes caching reads once no transaction holds the cache anymore */
+  synchronized void release() {
+    holds--;
+  }
+
+  synchronized void invalidate(String key) {
+    stamp++;
+    remove(key);
+  }
+
+  synchronized void invalidateAll() {
+    stamp++;
+    window.clear();
+    probation.clear();
+    protectedSegment.clear();
+  }
+
+  /**
+   * Invalidates the documents matched by the filter of a write
+   *
+   * @param filter filter of an update or delete
+   */
+  void invalidate(TigrisFilter filter) {
+    String key = keyOf(filter);
+    if (key == null) {
+      invalidateAll();
+    } else {
+      invalidate(key);
+    }
+  }
+
+  /**
+   * Invalidates the given documents
+   *
+   * @param documents inserted or replaced documents
+   */
+  void invalidate(List<T> documents) {
+    for (T document : documents) {
+      String key = keyOf(objectMapper.<JsonNode>valueToTree(document));
+      if (key == null) {
+        invalidateAll();
+        return;
+      }
+      invalidate(key);
+    }
+  }
+
+  /**
+   * Invalidates the document changed by an event of the collection. Events without the document,
+   * such as deletes, invalidate the whole cache as their key can't be mapped back to the fields.
+   *
+   * @param event change stream event of the collection
+   */
+  void invalidate(StreamEvent event) {
+    JsonNode data;
+    try {
+      data = event.getData();
+    } catch (IllegalArgumentException ex) {
+      data = null;
+    }
+    String key = data != null && data.isObject() ? keyOf(data) : null;
+    if (key == null) {
+      invalidateAll();
+    } else {
+      invalidate(key);
+    }
+  }
+
+  synchronized int size() {
+    return window.size() + probation.size() + protectedSegment.size();
+  }
+
+  private String keyOf(JsonNode document) {
+    if (primaryKeyFields.isEmpty()) {
+      return null;
+    }
+    Map<String, Object> values = new TreeMap<>();
+    for (String field : primaryKeyFields) {
+      JsonNode value = document.get(field);
+      if (value == null || value.isNull()) {
+        return null;
+      }
+      values.put(field, value);
+    }
+    return toKey(values);
+  }
+
+  private boolean collectKeyValues(TigrisFilter filter, Map<String, Object> values) {
+    if (filter instanceof SelectorFilter) {
+      SelectorFilter<?> selectorFilter = (SelectorFilter<?>) filter;
+      return selectorFilter.getComparisonOperator() == ComparisonOperator.EQUALS
+          && primaryKeyFields.contains(selectorFilter.getKey())
+          && values.put(selectorFilter.getKey(), selectorFilter.getVal()) == null;
+    }
+    if (filter instanceof LogicalFilter) {
+      LogicalFilter logicalFilter = (LogicalFilter) filter;
+      if (logicalFilter.getLogicalFilterOperator() != LogicalFilterOperator.AND) {
+        return false;
+      }
+      for (TigrisFilter child : logicalFilter.getTigrisFilters()) {
+        if (!collectKeyValues(child, values)) {
+          return false;
+        }
+      }
+      return true;
+    }
+    if (filter instanceof CompiledFilter.BoundFilter) {
+      Map<String, Object> equalityValues = ((CompiledFilter.BoundFilter) filter).equalityValues();
+      if (equalityValues == null) {
+        return false;
+      }
+      for (Map.Entry<String, Object> equality : equalityValues.entrySet()) {
+        if (!primaryKeyFields.contains(equality.getKey())
+            || values.put(equality.getKey(), equality.getValue()) != null) {
+          return false;
+        }
+      }
+      return true;
+    }
+    return false;
+  }
+
+  private String toKey(Map<String, Object> values) {
+    // filter values and document fields render the same JSON for the same key
+    try {
+      return objectMapper.writeValueAsString(values);
+    } catch (JsonProcessingException ex) {
+      return null;
+    }
+  }
+
+  private void remove(String key) {
+    if (window.remove(key) == null && probation.remove(key) == null) {
+      protectedSegment.remove(key);
+    }
+  }
+
+  private void admit(Map.Entry<String, Entry> candidate) {
+    if (mainMaxSize == 0) {
+      return;
+    }
+    if (probation.size() + protectedSegment.size() < mainMaxSize) {
+      probation.put(candidate.getKey(), candidate.getValue());
+      return;
+    }
+    LinkedHashMap<String, Entry> victimSegment = probation.isEmpty() ? protectedSegment : probation;
+    String victim = victimSegment.keySet().iterator().next();
+    if (sketch.frequency(spread(candidate.getKey().hashCode()))
+        > sketch.frequency(spread(victim.hashCode()))) {
+      victimSegment.remove(victim);
+      probation.put(candidate.getKey(), candidate.getValue());
+    }
+  }
+
+  private static Map.Entry<String, Entry> removeEldest(LinkedHashMap<String, Entry> segment) {
+    Iterator<Map.Entry<String, Entry>> iterator = segment.entrySet().iterator();
+    Map.Entry<String, Entry> eldest = iterator.next();
+    iterator.remove();
+    return eldest;
+  }
+
+  private static Set<String> primaryKeyFields(Class<?> collectionTypeClass) {
+    Set<String> fields = new TreeSet<>();
+    for (Class<?> type = collectionTypeClass; type != null; type = type.getSuperclass()) {
+      for (Field field : type.getDeclaredFields()) {
+        if (field.isAnnotationPresent(TigrisPrimaryKey.class)) {
+          fields.add(field.getName());
+        }
+      }
+    }
+    return Collections.unmodifiableSet(fields);
+  }
+
+  private static int spread(int x) {
+    x = ((x >>> 16) ^ x) * 0x45d9f3b;
+    x = ((x >>> 16) ^ x) * 0x45d9f3b;
+    return (x >>> 16) ^ x;
+  }
+
+  private static final class Entry {
+    private final ByteString document;
+    private final long expiresAtNanos;
+
+    private Entry(ByteString document, long expiresAtNanos) {
+      this.document = document;
+      this.expiresAtNanos = expiresAtNanos;
+    }
+  }
+
+  /**
+   * Count-min sketch of 4-bit counters, 16 per {@code long}. Counters are halved once the number
+   * of increments reaches ten times the cache size, so the frequencies follow recent accesses.
+   */
+  static final class FrequencySketch {
+    private static final long[] SEEDS = {
+      0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L
+    };
+    private static final long RESET_MASK = 0x7777777777777777L;
+
+    private final long[] table;
+    private final int tableMask;
+    private final int sampleSize;
+    private int size;
+
+    FrequencySketch(int maxSize) {
+      int length = Integer.highestOneBit(Math.max(16, Math.min(maxSize, 1 << 30)) - 1) << 1;
+      this.table = new long[length];
+      this.tableMask = length - 1;
+      this.sampleSize = (int) Math.min(10L * maxSize, Integer.MAX_VALUE);
+    }
+
+    int frequency(int hash) {
+      int start = (hash & 3) << 2;
+      int frequency = Integer.MAX_VALUE;
+      for (int i = 0; i < SEEDS.length; i++) {
+        int offset = (start + i) << 2;
+        int count = (int) ((table[indexOf(hash, i)] >>> offset) & 0xfL);
+        frequency = Math.min(frequency, count);
+      }
+      return frequency;
+    }
+
+    void increment(int hash) {
+      int start = (hash & 3) << 2;
+      boolean added = false;
+      for (int i = 0; i < SEEDS.length; i++) {
+        added |= incrementAt(indexOf(hash, i), start + i);
+      }
+      if (added && ++size == sampleSize) {
+        reset();
+      }
+    }
+
+    private boolean incrementAt(int index, int counter) {
+      int offset = counter << 2;
+      long mask = 0xfL << offset;
+      if ((table[index] & mask) != mask) {
+        table[index] += 1L << offset;
+        return true;
+      }
+      return false;
+    }
+
+    private void reset() {
+      for (int i = 0; i < table.length; i++) {
+        table[i] = (table[i] >>> 1) & RESET_MASK;
+      }
+      size /= 2;
+    }
+
+    private int indexOf(int hash, int i) {
+      long h = (hash + SEEDS[i]) * SEEDS[i];
+      h += h >>> 32;
+      return (int) h & tableMask;
+    }
+  }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2022 Tigris Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tigrisdata.db.client;
+
+import java.time.Duration;
+
+/**
+ * Options for caching the point lookups of a collection. {@code readOne} calls outside a
+ * transaction whose filter is an equality on every {@code @TigrisPrimaryKey} field are answered
+ * from a local cache of at most {@code maxSize} documents, each kept for at most {@code
+ * expireAfterWrite}. Eviction is frequency based, in the style of W-TinyLFU, so a scan of cold
+ * keys does not flush the hot working set. Writes through the same collection invalidate the
+ * documents they touch, writes from elsewhere are seen once the entry expires, or earlier when the
+ * collection is registered with {@link StreamDispatcher#addCacheInvalidation}. Writes in a
+ * transaction invalidate once it commits, and no lookup is cached while it is open.
+ *
+ * <p>Every {@code getCollection(type, ReadCacheOptions)} call creates a new cache private to the
+ * returned collection. Writes through any other collection instance, including one returned by
+ * {@code getCollection(type)}, do not invalidate it, so share the cached collection instance.
+ */
+public class ReadCacheOptions {
+
+  private final int maxSize;
+  private final Duration expireAfterWrite;
+
+  public static Builder newBuilder() {
+    return new Builder();
+  }
+
+  private ReadCacheOptions(Builder builder) {
+    this.maxSize = builder.maxSize;
+    this.expireAfterWrite = builder.expireAfterWrite;
+  }
+
+  public int getMaxSize() {
+    return maxSize;
+  }
+
+  public Duration getExpireAfterWrite() {
+    return expireAfterWrite;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) return true;
+    if (o == null || getClass() != o.getClass()) return false;
+
+    ReadCacheOptions that = (ReadCacheOptions) o;
+
+    if (maxSize != that.maxSize) return false;
+    return expireAfterWrite.equals(that.expireAfterWrite);
+  }
+
+  @Override
+  public int hashCode() {
+    int result = maxSize;
+    result = 31 * result + expireAfterWrite.hashCode();
+    return result;
+  }
+
+  /** Builder class for {@link ReadCacheOptions} */
+  public static class Builder {
+
+    public static final int DEFAULT_MAX_SIZE = 10_000;
+    public static final Duration DEFAULT_EXPIRE_AFTER_WRITE = Duration.ofMinutes(1);
+
+    private int maxSize;
+    private Duration expireAfterWrite;
+
+    private Builder() {
+      this.maxSize = DEFAULT_MAX_SIZE;
+      this.expireAfterWrite = DEFAULT_EXPIRE_AFTER_WRITE;
+    }
+
+    /**
+     * @param maxSize maximum number of cached documents
+     * @return ongoing builder
+     */
+    public Builder withMaxSize(int maxSize) {
+      this.maxSize = maxSize;
+      return this;
+    }
+
+    /**
+     * @param expireAfterWrite maximum time a document is served from the cache
+     * @return ongoing builder
+     */
+    public Builder withExpireAfterWrite(Duration expireAfterWrite) {
+      this.expireAfterWrite = expireAfterWrite;
+      return this;
+    }
+
+    public ReadCacheOptions build() {
+      if (maxSize < 1) {
+        throw new IllegalArgumentException("maxSize must be at least 1");
+      }
+      if (expireAfterWrite == null || expireAfterWrite.isNegative() || expireAfterWrite.isZero()) {
+        throw new IllegalArgumentException("expireAfterWrite must be positive");
+      }
+      return new ReadCacheOptions(this);
+    }
+  }
+}
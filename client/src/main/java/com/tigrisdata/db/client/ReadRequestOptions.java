@@ -13,6 +13,7 @@
  */
 package com.tigrisdata.db.client;
 
+import java.time.Duration;
 import java.util.Objects;
 
 /** Represents options related to Read operations */
@@ -21,6 +22,8 @@ public class ReadRequestOptions {
   private ReadOptions readOptions;
   private long skip;
   private long limit;
+  private Duration deadline;
+  private int prefetchDepth;
 
   public ReadRequestOptions() {}
 
@@ -58,6 +61,41 @@ public class ReadRequestOptions {
     this.limit = limit;
   }
 
+  /** @return deadline of this read, null means no deadline is applied to the read stream */
+  public Duration getDeadline() {
+    return deadline;
+  }
+
+  /**
+   * Sets the deadline of this read. The deadline covers the whole read stream, including the time
+   * taken to consume it.
+   *
+   * @param deadline deadline of this read
+   */
+  public void setDeadline(Duration deadline) {
+    this.deadline = deadline;
+  }
+
+  /** @return number of documents decoded ahead of the consumer, 0 means no prefetching */
+  public int getPrefetchDepth() {
+    return prefetchDepth;
+  }
+
+  /**
+   * Sets the number of documents a blocking read decodes ahead of the consumer. A positive depth
+   * reads and decodes documents on a background thread while the caller processes the previous
+   * ones. Only reads returned as a {@link CloseableIterator} or a {@link java.util.stream.Stream}
+   * are prefetched, as they must be closed when not consumed to the end; other reads ignore it.
+   *
+   * @param prefetchDepth number of documents to buffer, 0 disables prefetching
+   */
+  public void setPrefetchDepth(int prefetchDepth) {
+    if (prefetchDepth < 0) {
+      throw new IllegalArgumentException("prefetchDepth can't be negative");
+    }
+    this.prefetchDepth = prefetchDepth;
+  }
+
   @Override
   public boolean equals(Object o) {
     if (this == o) return true;
@@ -67,7 +105,9 @@ public class ReadRequestOptions {
 
     if (skip != that.skip) return false;
     if (limit != that.limit) return false;
-    return Objects.equals(readOptions, that.readOptions);
+    if (prefetchDepth != that.prefetchDepth) return false;
+    if (!Objects.equals(readOptions, that.readOptions)) return false;
+    return Objects.equals(deadline, that.deadline);
   }
 
   @Override
@@ -75,6 +115,8 @@ public class ReadRequestOptions {
     int result = readOptions != null ? readOptions.hashCode() : 0;
     result = 31 * result + (int) (skip ^ (skip >>> 32));
     result = 31 * result + (int) (limit ^ (limit >>> 32));
+    result = 31 * result + (deadline != null ? deadline.hashCode() : 0);
+    result = 31 * result + prefetchDepth;
     return result;
   }
 }
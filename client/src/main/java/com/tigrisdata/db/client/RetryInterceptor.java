@@ -0,0 +1,390 @@
+/*
+ * Copyright 2022 Tigris Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tigrisdata.db.client;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.rpc.RetryInfo;
+import com.tigrisdata.db.api.v1.grpc.TigrisGrpc;
+import com.tigrisdata.db.client.config.TigrisConfiguration;
+import io.grpc.CallOptions;
+import io.grpc.Channel;
+import io.grpc.ClientCall;
+import io.grpc.ClientInterceptor;
+import io.grpc.Deadline;
+import io.grpc.Metadata;
+import io.grpc.MethodDescriptor;
+import io.grpc.Status;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Retries idempotent calls that fail with a transient status before any response reached the
+ * caller. The delay is taken from the server's {@link RetryInfo} when present, falling back to
+ * exponential backoff, and is randomized with jitter. A call is never retried sooner than the
+ * server asked, if that is longer than the max backoff the failure is passed on instead. Retries
+ * are bounded by the attempt limit, the call's deadline and a shared retry budget. Calls running
+ * within a transaction are never retried, a transient failure there aborts the whole transaction.
+ */
+class RetryInterceptor implements ClientInterceptor {
+
+  private static final Set<String> IDEMPOTENT_METHODS =
+      new HashSet<>(
+          Arrays.asList(
+              TigrisGrpc.getReadMethod().getFullMethodName(),
+              TigrisGrpc.getSearchMethod().getFullMethodName(),
+              TigrisGrpc.getReplaceMethod().getFullMethodName(),
+              TigrisGrpc.getDescribeCollectionMethod().getFullMethodName(),
+              TigrisGrpc.getDescribeDatabaseMethod().getFullMethodName(),
+              TigrisGrpc.getListCollectionsMethod().getFullMethodName(),
+              TigrisGrpc.getListDatabasesMethod().getFullMethodName(),
+              TigrisGrpc.getGetInfoMethod().getFullMethodName()));
+  private static final Set<Status.Code> RETRYABLE_CODES =
+      new HashSet<>(Arrays.asList(Status.Code.UNAVAILABLE, Status.Code.ABORTED));
+  private static final Metadata.Key<String> TRANSACTION_ID_KEY =
+      Metadata.Key.of(Constants.TRANSACTION_HEADER_ID_KEY, Metadata.ASCII_STRING_MARSHALLER);
+  private static final double JITTER = 0.2;
+  // shared by all the clients, retries are rare and only schedule the next attempt
+  private static final ScheduledExecutorService SCHEDULER =
+      Executors.newSingleThreadScheduledExecutor(
+          new ThreadFactoryBuilder().setNameFormat("tigris-retry-%d").setDaemon(true).build());
+  private static final Logger log = LoggerFactory.getLogger(RetryInterceptor.class);
+
+  private final TigrisConfiguration.RetryConfig config;
+  private final RetryBudget budget;
+
+  public RetryInterceptor(TigrisConfiguration.RetryConfig config) {
+    this.config = config;
+    this.budget = new RetryBudget(config.getBudgetMaxTokens(), config.getBudgetTokenRatio());
+  }
+
+  @Override
+  public <ReqT, RespT> ClientCall<ReqT, RespT> interceptCall(
+      MethodDescriptor<ReqT, RespT> methodDescriptor, CallOptions callOptions, Channel channel) {
+    if (config.getMaxAttempts() <= 1
+        || !methodDescriptor.getType().clientSendsOneMessage()
+        || !IDEMPOTENT_METHODS.contains(methodDescriptor.getFullMethodName())) {
+      return channel.newCall(methodDescriptor, callOptions);
+    }
+    return new RetryingClientCall<>(methodDescriptor, callOptions, channel);
+  }
+
+  /**
+   * Computes the delay before the given retry attempt
+   *
+   * @param retryAttempt 1 based retry attempt
+   * @param retryInfo server provided retry info
+   * @return delay in milliseconds, or -1 if the server asks to wait longer than the max backoff
+   */
+  long delayMillis(int retryAttempt, Optional<RetryInfo> retryInfo) {
+    long maxBackoffMillis = config.getMaxBackoff().toMillis();
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    if (retryInfo.isPresent() && retryInfo.get().hasRetryDelay()) {
+      com.google.protobuf.Duration retryDelay = retryInfo.get().getRetryDelay();
+      long serverDelayMillis =
+          TimeUnit.SECONDS.toMillis(retryDelay.getSeconds())
+              + TimeUnit.NANOSECONDS.toMillis(retryDelay.getNanos());
+      if (serverDelayMillis > maxBackoffMillis) {
+        // never retry sooner than asked, the caller gets the failure instead of a longer wait
+        return -1;
+      }
+      // spread the retries after the server delay
+      long jitterMillis = (long) (serverDelayMillis * JITTER * random.nextDouble());
+      return Math.min(serverDelayMillis + jitterMillis, maxBackoffMillis);
+    }
+    long backoffMillis = config.getInitialBackoff().toMillis() << Math.min(retryAttempt - 1, 30);
+    backoffMillis = Math.min(backoffMillis, maxBackoffMillis);
+    // full jitter
+    return (long) (backoffMillis * random.nextDouble());
+  }
+
+  RetryBudget getBudget() {
+    return budget;
+  }
+
+  /**
+   * Token bucket limiting retries. Failures take a token, successes give back a fraction of one.
+   * Retries are allowed only while the bucket is more than half full.
+   */
+  static class RetryBudget {
+    private static final int SCALE = 1000;
+
+    private final int maxTokens;
+    private final int threshold;
+    private final int tokenRatio;
+    private final AtomicInteger tokens;
+
+    RetryBudget(int maxTokens, double tokenRatio) {
+      this.maxTokens = maxTokens * SCALE;
+      this.threshold = this.maxTokens / 2;
+      this.tokenRatio = (int) (tokenRatio * SCALE);
+      this.tokens = new AtomicInteger(this.maxTokens);
+    }
+
+    /** @return true if retry is permitted after this failure */
+    boolean onFailure() {
+      while (true) {
+        int current = tokens.get();
+        int updated = Math.max(current - SCALE, 0);
+        if (tokens.compareAndSet(current, updated)) {
+          return updated > threshold;
+        }
+      }
+    }
+
+    void onSuccess() {
+      while (true) {
+        int current = tokens.get();
+        if (current == maxTokens) {
+          return;
+        }
+        if (tokens.compareAndSet(current, Math.min(current + tokenRatio, maxTokens))) {
+          return;
+        }
+      }
+    }
+  }
+
+  /**
+   * Replays the request on a new underlying call until it succeeds, fails with a non retryable
+   * status or a response was passed on to the caller.
+   */
+  private class RetryingClientCall<ReqT, RespT> extends ClientCall<ReqT, RespT> {
+    private final MethodDescriptor<ReqT, RespT> methodDescriptor;
+    private final CallOptions callOptions;
+    private final Channel channel;
+    private final Object lock = new Object();
+
+    private Listener<RespT> listener;
+    private Metadata headers;
+    private ReqT message;
+    private int requested;
+    private boolean halfClosed;
+    private boolean cancelled;
+    private boolean committed;
+    private boolean inTransaction;
+    private int attempt;
+    private ClientCall<ReqT, RespT> current;
+    private ScheduledFuture<?> scheduledRetry;
+
+    RetryingClientCall(
+        MethodDescriptor<ReqT, RespT> methodDescriptor, CallOptions callOptions, Channel channel) {
+      this.methodDescriptor = methodDescriptor;
+      this.callOptions = callOptions;
+      this.channel = channel;
+    }
+
+    @Override
+    public void start(Listener<RespT> responseListener, Metadata headers) {
+      synchronized (lock) {
+        this.listener = responseListener;
+        this.headers = headers;
+        this.inTransaction = headers.containsKey(TRANSACTION_ID_KEY);
+        if (!cancelled) {
+          startAttempt();
+          return;
+        }
+      }
+      responseListener.onClose(Status.CANCELLED, new Metadata());
+    }
+
+    @Override
+    public void request(int numMessages) {
+      synchronized (lock) {
+        requested += numMessages;
+        if (current != null) {
+          current.request(numMessages);
+        }
+      }
+    }
+
+    @Override
+    public void cancel(String message, Throwable cause) {
+      ClientCall<ReqT, RespT> toCancel = null;
+      boolean retryCancelled = false;
+      synchronized (lock) {
+        if (cancelled) {
+          return;
+        }
+        cancelled = true;
+        if (scheduledRetry == null) {
+          toCancel = current;
+        } else {
+          // if the retry is already running it notices the cancellation and closes the call
+          retryCancelled = scheduledRetry.cancel(false);
+        }
+      }
+      if (toCancel != null) {
+        toCancel.cancel(message, cause);
+      } else if (retryCancelled) {
+        listener.onClose(
+            Status.CANCELLED.withDescription(message).withCause(cause), new Metadata());
+      }
+    }
+
+    @Override
+    public void halfClose() {
+      synchronized (lock) {
+        halfClosed = true;
+        if (current != null) {
+          current.halfClose();
+        }
+      }
+    }
+
+    @Override
+    public void sendMessage(ReqT message) {
+      synchronized (lock) {
+        this.message = message;
+        if (current != null) {
+          current.sendMessage(message);
+        }
+      }
+    }
+
+    @Override
+    public boolean isReady() {
+      synchronized (lock) {
+        return current != null && current.isReady();
+      }
+    }
+
+    // must be called holding the lock
+    private void startAttempt() {
+      attempt++;
+      scheduledRetry = null;
+      ClientCall<ReqT, RespT> call = channel.newCall(methodDescriptor, callOptions);
+      current = call;
+      // interceptors down the chain may add headers, each attempt starts from the original ones
+      Metadata attemptHeaders = new Metadata();
+      attemptHeaders.merge(headers);
+      call.start(new AttemptListener(), attemptHeaders);
+      if (requested > 0) {
+        call.request(requested);
+      }
+      if (message != null) {
+        call.sendMessage(message);
+      }
+      if (halfClosed) {
+        call.halfClose();
+      }
+    }
+
+    /** @return true if the retry was scheduled */
+    private boolean maybeScheduleRetry(Status status, Metadata trailers) {
+      synchronized (lock) {
+        if (cancelled
+            || committed
+            || inTransaction
+            || !RETRYABLE_CODES.contains(status.getCode())) {
+          return false;
+        }
+        boolean permitted = budget.onFailure();
+        if (attempt >= config.getMaxAttempts()) {
+          return false;
+        }
+        if (!permitted) {
+          log.debug(
+              "retry budget exhausted, not retrying {}", methodDescriptor.getFullMethodName());
+          return false;
+        }
+        long delayMillis =
+            delayMillis(
+                attempt, TypeConverter.extractRetryInfo(status.asRuntimeException(trailers)));
+        if (delayMillis < 0) {
+          log.debug(
+              "server retry delay exceeds the max backoff, not retrying {}",
+              methodDescriptor.getFullMethodName());
+          return false;
+        }
+        Deadline deadline = callOptions.getDeadline();
+        if (deadline != null && deadline.timeRemaining(TimeUnit.MILLISECONDS) <= delayMillis) {
+          return false;
+        }
+        log.debug(
+            "retrying {} in {}ms, attempt {} failed with {}",
+            methodDescriptor.getFullMethodName(),
+            delayMillis,
+            attempt,
+            status.getCode());
+        scheduledRetry =
+            SCHEDULER.schedule(
+                () -> {
+                  synchronized (lock) {
+                    if (!cancelled) {
+                      startAttempt();
+                      return;
+                    }
+                  }
+                  listener.onClose(Status.CANCELLED, new Metadata());
+                },
+                delayMillis,
+                TimeUnit.MILLISECONDS);
+        return true;
+      }
+    }
+
+    private class AttemptListener extends Listener<RespT> {
+      private Metadata responseHeaders;
+
+      @Override
+      public void onHeaders(Metadata headers) {
+        // held back until the attempt is committed, a failing attempt may still be retried
+        responseHeaders = headers;
+      }
+
+      @Override
+      public void onMessage(RespT message) {
+        commit();
+        listener.onMessage(message);
+      }
+
+      @Override
+      public void onReady() {
+        listener.onReady();
+      }
+
+      @Override
+      public void onClose(Status status, Metadata trailers) {
+        if (status.isOk()) {
+          budget.onSuccess();
+        } else if (maybeScheduleRetry(status, trailers)) {
+          return;
+        }
+        commit();
+        listener.onClose(status, trailers);
+      }
+
+      private void commit() {
+        boolean deliverHeaders;
+        synchronized (lock) {
+          deliverHeaders = !committed && responseHeaders != null;
+          committed = true;
+        }
+        if (deliverHeaders) {
+          listener.onHeaders(responseHeaders);
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,155 @@
+/*
+ * Copyright 2022 Tigris Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tigrisdata.db.client;
+
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
+import java.util.function.LongFunction;
+
+/**
+ * Spliterator over a scan split into partitions. A partition is either a single read, such as a
+ * range of keys, or a series of skip/limit windows. Windows are assigned to partitions round-robin,
+ * partition {@code p} of {@code n} reads windows {@code p, p + n, p + 2n, ...} and ends at the
+ * first window that is not full. Splitting hands over partitions that were not started yet, so each
+ * thread of a parallel stream drains its own read streams.
+ *
+ * <p>Windows are independent reads, the scan relies on the server returning the documents of a
+ * filter in the same order on every read. The reads open across all the splits are tracked, so
+ * {@link #close()} can cancel them when the stream is closed before it is drained.
+ *
+ * @param <T> type of the documents
+ */
+final class ScanSpliterator<T> implements Spliterator<T> {
+
+  private final WindowReader<T> windowReader;
+  // shared by all the splits of the scan
+  private final Set<CloseableIterator<T>> openWindows;
+  // partitions read a single window when it is Long.MAX_VALUE
+  private final long windowSize;
+  // partitions [nextPartition, endPartition) are not started yet
+  private int nextPartition;
+  private final int endPartition;
+
+  private int partition;
+  private long windowIndex;
+  private CloseableIterator<T> window;
+  private long readFromWindow;
+
+  /**
+   * @param windowReader starts the read of the window at the given skip
+   * @param partitions number of partitions
+   * @param windowSize number of documents per window
+   */
+  ScanSpliterator(
+      LongFunction<CloseableIterator<T>> windowReader, int partitions, long windowSize) {
+    this(
+        (partition, window) -> windowReader.apply((window * partitions + partition) * windowSize),
+        ConcurrentHashMap.newKeySet(),
+        windowSize,
+        0,
+        partitions);
+  }
+
+  /**
+   * @param partitionReader starts the read of the partition with the given index
+   * @param partitions number of partitions
+   */
+  ScanSpliterator(IntFunction<CloseableIterator<T>> partitionReader, int partitions) {
+    this(
+        (partition, window) -> partitionReader.apply(partition),
+        ConcurrentHashMap.newKeySet(),
+        Long.MAX_VALUE,
+        0,
+        partitions);
+  }
+
+  private ScanSpliterator(
+      WindowReader<T> windowReader,
+      Set<CloseableIterator<T>> openWindows,
+      long windowSize,
+      int nextPartition,
+      int endPartition) {
+    this.windowReader = windowReader;
+    this.openWindows = openWindows;
+    this.windowSize = windowSize;
+    this.nextPartition = nextPartition;
+    this.endPartition = endPartition;
+  }
+
+  @Override
+  public boolean tryAdvance(Consumer<? super T> action) {
+    while (true) {
+      if (window != null && window.hasNext()) {
+        readFromWindow++;
+        action.accept(window.next());
+        return true;
+      }
+      if (window != null) {
+        openWindows.remove(window);
+        window.close();
+      }
+      if (window != null && readFromWindow == windowSize) {
+        // a full window, the partition may have more
+        windowIndex++;
+      } else if (nextPartition < endPartition) {
+        partition = nextPartition++;
+        windowIndex = 0;
+      } else {
+        window = null;
+        return false;
+      }
+      window = windowReader.read(partition, windowIndex);
+      openWindows.add(window);
+      readFromWindow = 0;
+    }
+  }
+
+  @Override
+  public Spliterator<T> trySplit() {
+    if (endPartition - nextPartition < 2) {
+      return null;
+    }
+    int mid = (nextPartition + endPartition) >>> 1;
+    Spliterator<T> prefix =
+        new ScanSpliterator<>(windowReader, openWindows, windowSize, nextPartition, mid);
+    nextPartition = mid;
+    return prefix;
+  }
+
+  @Override
+  public long estimateSize() {
+    return Long.MAX_VALUE;
+  }
+
+  @Override
+  public int characteristics() {
+    return NONNULL;
+  }
+
+  /** Cancels the windows still open in any split of the scan */
+  void close() {
+    for (CloseableIterator<T> openWindow : openWindows) {
+      openWindows.remove(openWindow);
+      openWindow.close();
+    }
+  }
+
+  /** Starts the read of a window of a partition */
+  private interface WindowReader<T> {
+    CloseableIterator<T> read(int partition, long window);
+  }
+}
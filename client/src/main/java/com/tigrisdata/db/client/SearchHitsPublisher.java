@@ -0,0 +1,230 @@
+/*
+ * Copyright 2022 Tigris Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tigrisdata.db.client;
+
+import com.tigrisdata.db.client.search.Hit;
+import com.tigrisdata.db.client.search.SearchMeta;
+import com.tigrisdata.db.client.search.SearchResult;
+import com.tigrisdata.db.type.TigrisCollectionType;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.IntFunction;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+/**
+ * Cold {@link Publisher} of all the hits of a search, across pages. Pages are fetched ahead of the
+ * subscriber, the next page is requested while the current one is consumed, with at most {@code
+ * maxInFlightPages} pages fetched but not yet fully emitted. Hits are emitted in page order. The
+ * search ends at the first empty page, at the last page reported by the server, or once {@link
+ * SearchMeta#getFound()} hits were emitted. Cancelling the subscription cancels the pages still
+ * being fetched.
+ *
+ * @param <T> type of the collection
+ */
+class SearchHitsPublisher<T extends TigrisCollectionType> implements Publisher<Hit<T>> {
+
+  private final IntFunction<CompletableFuture<SearchResult<T>>> pageFetcher;
+  private final int firstPage;
+  private final int maxInFlightPages;
+
+  /**
+   * @param pageFetcher fetches the given page number
+   * @param firstPage page to start at
+   * @param maxInFlightPages maximum number of pages fetched ahead of the subscriber
+   */
+  SearchHitsPublisher(
+      IntFunction<CompletableFuture<SearchResult<T>>> pageFetcher,
+      int firstPage,
+      int maxInFlightPages) {
+    if (maxInFlightPages < 1) {
+      throw new IllegalArgumentException("maxInFlightPages must be at least 1");
+    }
+    this.pageFetcher = pageFetcher;
+    this.firstPage = Math.max(firstPage, 1);
+    this.maxInFlightPages = maxInFlightPages;
+  }
+
+  @Override
+  public void subscribe(Subscriber<? super Hit<T>> subscriber) {
+    if (subscriber == null) {
+      throw new NullPointerException("subscriber must not be null");
+    }
+    subscriber.onSubscribe(new PageSubscription(subscriber));
+  }
+
+  /**
+   * State of one subscription. Signals to the subscriber are serialized through {@code wip}, only
+   * the thread that moved it away from zero runs the drain loop. Completed pages are handed over
+   * through {@code completedPages}.
+   */
+  private class PageSubscription implements Subscription {
+    private final Subscriber<? super Hit<T>> subscriber;
+    private final AtomicInteger wip = new AtomicInteger();
+    private final AtomicLong requested = new AtomicLong();
+    private final Map<Integer, SearchResult<T>> completedPages = new ConcurrentHashMap<>();
+    private final Map<Integer, CompletableFuture<SearchResult<T>>> pagesInFlight =
+        new ConcurrentHashMap<>();
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+    private volatile boolean cancelled;
+
+    // only accessed by the drain loop
+    private int nextPageToFetch = firstPage;
+    private int nextPageToEmit = firstPage;
+    private int lastPage = Integer.MAX_VALUE;
+    private long found = Long.MAX_VALUE;
+    private long emitted;
+    private boolean exhausted;
+    private boolean done;
+    private Iterator<Hit<T>> currentHits;
+
+    private PageSubscription(Subscriber<? super Hit<T>> subscriber) {
+      this.subscriber = subscriber;
+    }
+
+    @Override
+    public void request(long n) {
+      if (n <= 0) {
+        failure.compareAndSet(
+            null, new IllegalArgumentException("non-positive subscription request: " + n));
+      } else {
+        long current;
+        do {
+          current = requested.get();
+        } while (!requested.compareAndSet(
+            current, current + n < 0 ? Long.MAX_VALUE : current + n));
+      }
+      drain();
+    }
+
+    @Override
+    public void cancel() {
+      cancelled = true;
+      pagesInFlight.values().forEach(future -> future.cancel(false));
+    }
+
+    private void fetch(int page) {
+      CompletableFuture<SearchResult<T>> future;
+      try {
+        future = pageFetcher.apply(page);
+      } catch (RuntimeException ex) {
+        future = Utilities.failedFuture(ex);
+      }
+      pagesInFlight.put(page, future);
+      // a fetch racing with cancel() may not have been seen by it
+      if (cancelled) {
+        future.cancel(false);
+      }
+      future.whenComplete(
+          (result, throwable) -> {
+            pagesInFlight.remove(page);
+            if (throwable != null) {
+              failure.compareAndSet(null, throwable);
+            } else {
+              completedPages.put(page, result);
+            }
+            drain();
+          });
+    }
+
+    private void drain() {
+      if (wip.getAndIncrement() != 0) {
+        return;
+      }
+      int missed = 1;
+      do {
+        if (!done) {
+          drainOnce();
+        }
+        missed = wip.addAndGet(-missed);
+      } while (missed != 0);
+    }
+
+    private void drainOnce() {
+      long demand = requested.get();
+      long sent = 0;
+      while (!cancelled && failure.get() == null && emitted < found) {
+        if (currentHits != null && currentHits.hasNext()) {
+          if (sent == demand) {
+            break;
+          }
+          subscriber.onNext(currentHits.next());
+          sent++;
+          emitted++;
+          continue;
+        }
+        SearchResult<T> page = completedPages.remove(nextPageToEmit);
+        if (page == null) {
+          break;
+        }
+        nextPageToEmit++;
+        onPage(page);
+      }
+      if (sent != 0 && demand != Long.MAX_VALUE) {
+        requested.addAndGet(-sent);
+      }
+
+      if (cancelled) {
+        done = true;
+        return;
+      }
+      Throwable throwable = failure.get();
+      if (throwable != null) {
+        done = true;
+        subscriber.onError(throwable);
+        return;
+      }
+      boolean currentDrained = currentHits == null || !currentHits.hasNext();
+      // pages still in flight past the end are ignored
+      boolean noMorePages = exhausted || nextPageToEmit > lastPage;
+      if (emitted >= found || (currentDrained && noMorePages)) {
+        done = true;
+        subscriber.onComplete();
+        return;
+      }
+      // keep the window of pages ahead of the subscriber full, once it signalled demand
+      if (requested.get() > 0 || emitted > 0) {
+        while (!exhausted
+            && nextPageToFetch <= lastPage
+            && nextPageToFetch - nextPageToEmit < maxInFlightPages) {
+          fetch(nextPageToFetch++);
+        }
+      }
+    }
+
+    private void onPage(SearchResult<T> page) {
+      SearchMeta meta = page.getMeta();
+      if (meta != null) {
+        if (meta.getTotalPages() > 0) {
+          lastPage = meta.getTotalPages();
+        }
+        if (meta.getFound() > 0) {
+          // found counts the hits from the first page on
+          long skipped = meta.getPage() != null ? (firstPage - 1L) * meta.getPage().getSize() : 0;
+          found = meta.getFound() - skipped;
+        }
+      }
+      if (page.getHits().isEmpty()) {
+        exhausted = true;
+      }
+      currentHits = page.getHits().iterator();
+    }
+  }
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright 2022 Tigris Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tigrisdata.db.client;
+
+import com.tigrisdata.db.client.search.Hit;
+import com.tigrisdata.db.type.TigrisCollectionType;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+/**
+ * Blocking {@link Iterator} over all the hits of a search, across pages. Following pages are
+ * fetched in the background while the current one is consumed. Closing the iterator stops fetching
+ * further pages.
+ *
+ * <p>A failed search is reported by {@link #hasNext()} throwing an {@link IllegalStateException}
+ * caused by the {@link com.tigrisdata.db.client.error.TigrisException}.
+ *
+ * @param <T> type of the collection
+ */
+public final class SearchIterator<T extends TigrisCollectionType>
+    implements Iterator<Hit<T>>, AutoCloseable {
+
+  private static final Object COMPLETED = new Object();
+
+  // holds at most batchSize hits, no more are requested from the publisher
+  private final BlockingQueue<Object> queue = new LinkedBlockingQueue<>();
+  private final int replenishThreshold;
+  private volatile Subscription subscription;
+
+  private Object next;
+  private int consumedSinceRequest;
+  private boolean finished;
+
+  /**
+   * @param publisher publisher of the hits
+   * @param batchSize number of hits buffered ahead of the consumer
+   * @throws IllegalArgumentException if {@code batchSize} is not positive
+   */
+  SearchIterator(Publisher<Hit<T>> publisher, int batchSize) {
+    if (batchSize < 1) {
+      throw new IllegalArgumentException("batchSize must be at least 1");
+    }
+    this.replenishThreshold = Math.max(1, batchSize / 2);
+    publisher.subscribe(
+        new Subscriber<Hit<T>>() {
+          @Override
+          public void onSubscribe(Subscription s) {
+            subscription = s;
+            s.request(batchSize);
+          }
+
+          @Override
+          public void onNext(Hit<T> hit) {
+            queue.add(hit);
+          }
+
+          @Override
+          public void onError(Throwable throwable) {
+            queue.add(new Failure(throwable));
+          }
+
+          @Override
+          public void onComplete() {
+            queue.add(COMPLETED);
+          }
+        });
+  }
+
+  @Override
+  public boolean hasNext() {
+    if (next == null && !finished) {
+      Object element;
+      try {
+        element = queue.take();
+      } catch (InterruptedException ex) {
+        Thread.currentThread().interrupt();
+        close();
+        throw new IllegalStateException("Interrupted while waiting for search results", ex);
+      }
+      if (element == COMPLETED) {
+        finished = true;
+      } else if (element instanceof Failure) {
+        finished = true;
+        throw new IllegalStateException(Constants.SEARCH_FAILED, ((Failure) element).throwable);
+      } else {
+        next = element;
+      }
+    }
+    return next != null;
+  }
+
+  @Override
+  public Hit<T> next() {
+    if (!hasNext()) {
+      throw new NoSuchElementException();
+    }
+    @SuppressWarnings("unchecked")
+    Hit<T> hit = (Hit<T>) next;
+    next = null;
+    if (++consumedSinceRequest >= replenishThreshold) {
+      subscription.request(consumedSinceRequest);
+      consumedSinceRequest = 0;
+    }
+    return hit;
+  }
+
+  /** Stops fetching further pages */
+  @Override
+  public void close() {
+    finished = true;
+    next = null;
+    subscription.cancel();
+    queue.clear();
+  }
+
+  private static final class Failure {
+    private final Throwable throwable;
+
+    private Failure(Throwable throwable) {
+      this.throwable = throwable;
+    }
+  }
+}
@@ -16,6 +16,7 @@ package com.tigrisdata.db.client;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Objects;
@@ -32,6 +33,18 @@ class SelectorFilter<T> implements TigrisFilter {
     this.val = val;
   }
 
+  ComparisonOperator getComparisonOperator() {
+    return comparisonOperator;
+  }
+
+  String getKey() {
+    return key;
+  }
+
+  T getVal() {
+    return val;
+  }
+
   @Override
   public String toJSON(ObjectMapper objectMapper) {
     if (comparisonOperator == ComparisonOperator.NONE) {
@@ -39,7 +52,11 @@ class SelectorFilter<T> implements TigrisFilter {
       return "{}";
     }
     Map<String, Object> map = new LinkedHashMap<>();
-    map.put(key, val);
+    if (comparisonOperator == ComparisonOperator.EQUALS) {
+      map.put(key, val);
+    } else {
+      map.put(key, Collections.singletonMap(comparisonOperator.getOperator(), val));
+    }
     try {
       return objectMapper.writeValueAsString(map);
     } catch (JsonProcessingException e) {
@@ -0,0 +1,148 @@
+/*
+ * Copyright 2022 Tigris Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tigrisdata.db.client;
+
+import io.grpc.Context;
+import io.grpc.Status;
+import io.grpc.stub.StreamObserver;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Coalesces identical concurrent streaming calls: a call made while an identical one is in flight
+ * joins it instead of reaching the server, and every response is fanned out to all the callers.
+ * A call can be joined until its first response arrives, later callers start a new call so each
+ * one sees the complete stream.
+ *
+ * <p>A caller whose observer throws is dropped from the call and gets an {@code onError} with a
+ * {@link Status#CANCELLED} status, as gRPC does for a single caller. Once no caller is left, the
+ * call is cancelled.
+ *
+ * @param <K> type of the request identifying identical calls
+ * @param <V> type of the responses
+ */
+final class SingleFlight<K, V> {
+
+  private final ConcurrentHashMap<K, Flight> inFlight = new ConcurrentHashMap<>();
+
+  /**
+   * Joins the in-flight call of an identical request, or starts one
+   *
+   * @param key request identifying the call
+   * @param observer observer of this caller
+   * @param call issues the call to the given observer, in the context that cancels it
+   */
+  void call(K key, StreamObserver<V> observer, Consumer<StreamObserver<V>> call) {
+    while (true) {
+      Flight flight = inFlight.get(key);
+      if (flight != null && flight.join(observer)) {
+        return;
+      }
+      Flight started = new Flight(key);
+      started.join(observer);
+      boolean owner =
+          flight == null
+              ? inFlight.putIfAbsent(key, started) == null
+              : inFlight.replace(key, flight, started);
+      if (owner) {
+        started.context.run(() -> call.accept(started));
+        return;
+      }
+      started.context.cancel(null);
+    }
+  }
+
+  /** @return number of distinct calls in flight that can still be joined */
+  int inFlight() {
+    return inFlight.size();
+  }
+
+  private final class Flight implements StreamObserver<V> {
+    private final K key;
+    private final Context.CancellableContext context = Context.current().withCancellation();
+    // joined until the first signal, then only callers that failed are removed
+    private final List<StreamObserver<V>> observers = new CopyOnWriteArrayList<>();
+    private boolean closed;
+
+    private Flight(K key) {
+      this.key = key;
+    }
+
+    private synchronized boolean join(StreamObserver<V> observer) {
+      if (closed) {
+        return false;
+      }
+      observers.add(observer);
+      return true;
+    }
+
+    private List<StreamObserver<V>> close() {
+      synchronized (this) {
+        closed = true;
+      }
+      inFlight.remove(key, this);
+      return observers;
+    }
+
+    @Override
+    public void onNext(V value) {
+      for (StreamObserver<V> observer : close()) {
+        try {
+          observer.onNext(value);
+        } catch (RuntimeException ex) {
+          // a failing caller must not starve the others
+          observers.remove(observer);
+          try {
+            observer.onError(
+                Status.CANCELLED
+                    .withDescription("Observer failed to handle a response")
+                    .withCause(ex)
+                    .asRuntimeException());
+          } catch (RuntimeException ignore) {
+            // the caller is gone either way
+          }
+          if (observers.isEmpty()) {
+            context.cancel(ex);
+          }
+        }
+      }
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+      for (StreamObserver<V> observer : close()) {
+        try {
+          observer.onError(throwable);
+        } catch (RuntimeException ignore) {
+          // a failing caller must not starve the others
+        }
+      }
+      context.cancel(null);
+    }
+
+    @Override
+    public void onCompleted() {
+      for (StreamObserver<V> observer : close()) {
+        try {
+          observer.onCompleted();
+        } catch (RuntimeException ignore) {
+          // a failing caller must not starve the others
+        }
+      }
+      context.cancel(null);
+    }
+  }
+}
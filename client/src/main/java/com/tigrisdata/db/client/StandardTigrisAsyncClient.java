@@ -16,6 +16,7 @@ package com.tigrisdata.db.client;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.tigrisdata.db.api.v1.grpc.Api;
 import com.tigrisdata.db.api.v1.grpc.TigrisGrpc;
 import static com.tigrisdata.db.client.Constants.CREATE_DB_FAILED;
@@ -38,12 +39,16 @@ import io.grpc.StatusRuntimeException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.function.BiConsumer;
 
 /** Async client for Tigris */
@@ -53,19 +58,46 @@ public class StandardTigrisAsyncClient extends AbstractTigrisClient implements T
   private final TigrisGrpc.TigrisFutureStub futureStub;
   private final TigrisGrpc.TigrisBlockingStub blockingStub;
   private final Executor executor;
+  // executor created from the configuration, shut down on close
+  private final Optional<ExecutorService> ownedExecutor;
+  private final WriteBatcher.Registry writeBatchers = new WriteBatcher.Registry();
   private static final Logger log = LoggerFactory.getLogger(StandardTigrisAsyncClient.class);
+  private static final Duration CLOSE_GRACE_PERIOD = Duration.ofSeconds(5);
+  private static final long TERMINATION_CHECK_INTERVAL_MILLIS = 50;
+  // shared by all the clients, it only checks on the channels being closed
+  private static final ScheduledExecutorService SHUTDOWN_SCHEDULER =
+      Executors.newSingleThreadScheduledExecutor(
+          new ThreadFactoryBuilder()
+              .setNameFormat("tigris-client-shutdown-%d")
+              .setDaemon(true)
+              .build());
 
   private StandardTigrisAsyncClient(TigrisConfiguration clientConfiguration) {
-    this(clientConfiguration, Executors.newCachedThreadPool());
+    this(
+        clientConfiguration,
+        Optional.of(Utilities.newCallbackExecutor(clientConfiguration.getExecutor())));
   }
 
   StandardTigrisAsyncClient(TigrisConfiguration clientConfiguration, Executor executor) {
+    this(clientConfiguration, executor, Optional.empty());
+  }
+
+  private StandardTigrisAsyncClient(
+      TigrisConfiguration clientConfiguration, Optional<ExecutorService> ownedExecutor) {
+    this(clientConfiguration, ownedExecutor.get(), ownedExecutor);
+  }
+
+  private StandardTigrisAsyncClient(
+      TigrisConfiguration clientConfiguration,
+      Executor executor,
+      Optional<ExecutorService> ownedExecutor) {
     // TODO: authorization token injection
     super(clientConfiguration, Optional.empty(), new StandardModelToTigrisJsonSchema());
     this.stub = TigrisGrpc.newStub(channel);
     this.futureStub = TigrisGrpc.newFutureStub(channel);
     this.blockingStub = TigrisGrpc.newBlockingStub(channel);
     this.executor = executor;
+    this.ownedExecutor = ownedExecutor;
   }
 
   @VisibleForTesting
@@ -81,7 +113,9 @@ public class StandardTigrisAsyncClient extends AbstractTigrisClient implements T
     this.stub = TigrisGrpc.newStub(channel);
     this.futureStub = TigrisGrpc.newFutureStub(channel);
     this.blockingStub = TigrisGrpc.newBlockingStub(channel);
-    this.executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+    ExecutorService callbackExecutor = Utilities.newCallbackExecutor(configuration.getExecutor());
+    this.executor = callbackExecutor;
+    this.ownedExecutor = Optional.of(callbackExecutor);
   }
 
   /**
@@ -98,7 +132,8 @@ public class StandardTigrisAsyncClient extends AbstractTigrisClient implements T
    * Creates a new instance of @{@link StandardTigrisAsyncClient} with the given inputs
    *
    * @param tigrisConfiguration configuration
-   * @param executor executor that executes the future translation
+   * @param executor executor that executes the future translation. It is not shut down when the
+   *     client is closed.
    * @return a new instance of @{@link StandardTigrisAsyncClient}
    */
   public static StandardTigrisAsyncClient getInstance(
@@ -116,7 +151,8 @@ public class StandardTigrisAsyncClient extends AbstractTigrisClient implements T
         channel,
         executor,
         objectMapper,
-        modelToJsonSchema);
+        modelToJsonSchema,
+        writeBatchers);
   }
 
   @Override
@@ -139,7 +175,8 @@ public class StandardTigrisAsyncClient extends AbstractTigrisClient implements T
                     channel,
                     executor,
                     objectMapper,
-                    modelToJsonSchema));
+                    modelToJsonSchema,
+                    writeBatchers));
           }
           return tigrisAsyncDatabases;
         },
@@ -163,7 +200,8 @@ public class StandardTigrisAsyncClient extends AbstractTigrisClient implements T
                 channel,
                 executor,
                 objectMapper,
-                modelToJsonSchema),
+                modelToJsonSchema,
+                writeBatchers),
         executor,
         CREATE_DB_FAILED,
         Optional.of(
@@ -175,7 +213,8 @@ public class StandardTigrisAsyncClient extends AbstractTigrisClient implements T
                 executor,
                 channel,
                 objectMapper,
-                modelToJsonSchema)));
+                modelToJsonSchema,
+                writeBatchers)));
   }
 
   @Override
@@ -200,7 +239,53 @@ public class StandardTigrisAsyncClient extends AbstractTigrisClient implements T
 
   @Override
   public void close() {
+    close(CLOSE_GRACE_PERIOD);
+  }
+
+  @VisibleForTesting
+  void close(Duration gracePeriod) {
+    // batches still lingering are sent while the channel accepts new calls
+    writeBatchers.flush();
     channel.shutdown();
+    // calls still in flight complete their futures on the callback executor, so it is shut down
+    // only once the channel has terminated
+    SHUTDOWN_SCHEDULER.schedule(
+        new TerminationCheck(System.nanoTime() + gracePeriod.toNanos(), gracePeriod.toNanos()),
+        TERMINATION_CHECK_INTERVAL_MILLIS,
+        TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Checks on the channel being shut down until it terminates. Calls still in flight after the
+   * grace period are cancelled, and the callback executor is shut down once the channel terminated
+   * or after another grace period at the latest.
+   */
+  private class TerminationCheck implements Runnable {
+    private final long gracePeriodNanos;
+    private long deadlineNanos;
+    private boolean forced;
+
+    private TerminationCheck(long deadlineNanos, long gracePeriodNanos) {
+      this.deadlineNanos = deadlineNanos;
+      this.gracePeriodNanos = gracePeriodNanos;
+    }
+
+    @Override
+    public void run() {
+      if (!channel.isTerminated() && System.nanoTime() - deadlineNanos < 0) {
+        SHUTDOWN_SCHEDULER.schedule(this, TERMINATION_CHECK_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+        return;
+      }
+      if (!channel.isTerminated() && !forced) {
+        log.warn("calls still in flight after the close grace period, cancelling them");
+        channel.shutdownNow();
+        forced = true;
+        deadlineNanos = System.nanoTime() + gracePeriodNanos;
+        SHUTDOWN_SCHEDULER.schedule(this, TERMINATION_CHECK_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+        return;
+      }
+      ownedExecutor.ifPresent(ExecutorService::shutdown);
+    }
   }
 
   @VisibleForTesting
@@ -223,6 +308,7 @@ public class StandardTigrisAsyncClient extends AbstractTigrisClient implements T
     private final ManagedChannel channel;
     private final ObjectMapper objectMapper;
     private final ModelToJsonSchema modelToJsonSchema;
+    private final WriteBatcher.Registry writeBatchers;
 
     public CreateDatabaseExceptionHandler(
         String dbName,
@@ -232,7 +318,8 @@ public class StandardTigrisAsyncClient extends AbstractTigrisClient implements T
         Executor executor,
         ManagedChannel channel,
         ObjectMapper objectMapper,
-        ModelToJsonSchema modelToJsonSchema) {
+        ModelToJsonSchema modelToJsonSchema,
+        WriteBatcher.Registry writeBatchers) {
       this.dbName = dbName;
       this.stub = stub;
       this.futureStub = futureStub;
@@ -241,6 +328,7 @@ public class StandardTigrisAsyncClient extends AbstractTigrisClient implements T
       this.channel = channel;
       this.objectMapper = objectMapper;
       this.modelToJsonSchema = modelToJsonSchema;
+      this.writeBatchers = writeBatchers;
     }
 
     @Override
@@ -260,7 +348,8 @@ public class StandardTigrisAsyncClient extends AbstractTigrisClient implements T
                   channel,
                   executor,
                   objectMapper,
-                  modelToJsonSchema));
+                  modelToJsonSchema,
+                  writeBatchers));
           return;
         }
       }
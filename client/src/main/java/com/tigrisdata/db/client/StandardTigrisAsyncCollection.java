@@ -15,7 +15,10 @@ package com.tigrisdata.db.client;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.protobuf.ByteString;
 import com.tigrisdata.db.api.v1.grpc.Api;
 import com.tigrisdata.db.api.v1.grpc.Api.SearchResponse;
 import com.tigrisdata.db.api.v1.grpc.TigrisGrpc;
@@ -36,23 +39,34 @@ import static com.tigrisdata.db.client.TypeConverter.toInsertRequest;
 import static com.tigrisdata.db.client.TypeConverter.toReadRequest;
 import static com.tigrisdata.db.client.TypeConverter.toReplaceRequest;
 import static com.tigrisdata.db.client.TypeConverter.toSearchRequest;
+import static com.tigrisdata.db.client.TypeConverter.toSearchResult;
 import static com.tigrisdata.db.client.TypeConverter.toUpdateRequest;
 import com.tigrisdata.db.client.error.TigrisException;
+import com.tigrisdata.db.client.search.Hit;
 import com.tigrisdata.db.client.search.SearchRequest;
 import com.tigrisdata.db.client.search.SearchRequestOptions;
 import com.tigrisdata.db.client.search.SearchResult;
 import com.tigrisdata.db.type.TigrisCollectionType;
+import io.grpc.Context;
 import io.grpc.ManagedChannel;
 import io.grpc.StatusRuntimeException;
 import io.grpc.stub.StreamObserver;
 
+import java.io.IOException;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import org.reactivestreams.Publisher;
 
 /**
  * An async implementation of Tigris Collection
@@ -62,9 +76,18 @@ import java.util.concurrent.Executor;
 class StandardTigrisAsyncCollection<T extends TigrisCollectionType>
     extends AbstractTigrisCollection<T> implements TigrisAsyncCollection<T> {
 
+  // the page after the current one is fetched while the current one is consumed
+  private static final int DEFAULT_MAX_IN_FLIGHT_SEARCH_PAGES = 2;
+
   private final Executor executor;
   private final TigrisGrpc.TigrisStub stub;
   private final TigrisGrpc.TigrisFutureStub futureStub;
+  private final SingleFlight<ReadFlightKey, Api.ReadResponse> readFlights = new SingleFlight<>();
+  // bumped by every completed local write, reads never join a flight of an older generation
+  private final AtomicLong writeGeneration = new AtomicLong();
+  // null unless write batching is enabled
+  private final WriteBatcher insertBatcher;
+  private final WriteBatcher insertOrReplaceBatcher;
 
   StandardTigrisAsyncCollection(
       String databaseName,
@@ -72,10 +95,47 @@ class StandardTigrisAsyncCollection<T extends TigrisCollectionType>
       ManagedChannel channel,
       Executor executor,
       ObjectMapper objectMapper) {
-    super(databaseName, collectionTypeClass, TigrisGrpc.newBlockingStub(channel), objectMapper);
+    this(
+        databaseName,
+        collectionTypeClass,
+        channel,
+        executor,
+        objectMapper,
+        Optional.empty(),
+        Optional.empty(),
+        new WriteBatcher.Registry());
+  }
+
+  StandardTigrisAsyncCollection(
+      String databaseName,
+      Class<T> collectionTypeClass,
+      ManagedChannel channel,
+      Executor executor,
+      ObjectMapper objectMapper,
+      Optional<WriteBatchingOptions> writeBatchingOptions,
+      Optional<ReadCacheOptions> readCacheOptions,
+      WriteBatcher.Registry writeBatchers) {
+    super(
+        databaseName,
+        collectionTypeClass,
+        TigrisGrpc.newBlockingStub(channel),
+        objectMapper,
+        readCacheOptions);
     this.executor = executor;
     this.stub = TigrisGrpc.newStub(channel);
     this.futureStub = TigrisGrpc.newFutureStub(channel);
+    if (writeBatchingOptions.isPresent()) {
+      this.insertBatcher =
+          new WriteBatcher(writeBatchingOptions.get(), this::sendInsertBatch, INSERT_FAILED);
+      this.insertOrReplaceBatcher =
+          new WriteBatcher(
+              writeBatchingOptions.get(), this::sendInsertOrReplaceBatch, INSERT_OR_REPLACE_FAILED);
+      writeBatchers.register(insertBatcher);
+      writeBatchers.register(insertOrReplaceBatcher);
+    } else {
+      this.insertBatcher = null;
+      this.insertOrReplaceBatcher = null;
+    }
   }
 
   @Override
@@ -84,13 +144,7 @@ class StandardTigrisAsyncCollection<T extends TigrisCollectionType>
       ReadFields fields,
       ReadRequestOptions readRequestOptions,
       TigrisAsyncReader<T> reader) {
-    Api.ReadRequest readRequest =
-        toReadRequest(
-            databaseName, collectionName, filter, fields, readRequestOptions, objectMapper);
-    stub.read(
-        readRequest,
-        new ReadManyResponseObserverAdapter<>(
-            reader, collectionTypeClass, objectMapper, READ_FAILED));
+    this.readAsyncInternal(filter, fields, readRequestOptions, reader, null);
   }
 
   @Override
@@ -114,21 +168,81 @@ class StandardTigrisAsyncCollection<T extends TigrisCollectionType>
   }
 
   @Override
-  public CompletableFuture<Optional<T>> readOne(TigrisFilter filter) {
+  public Publisher<T> readPublisher(
+      TigrisFilter filter, ReadFields fields, ReadRequestOptions readRequestOptions) {
     Api.ReadRequest readRequest =
         toReadRequest(
-            databaseName,
-            collectionName,
-            filter,
-            ReadFields.all(),
-            readOneDefaultReadRequestOptions(),
-            objectMapper);
-    CompletableFuture<Optional<T>> completableFuture = new CompletableFuture<>();
-    stub.read(
-        readRequest,
-        new ReadSingleResponseObserverAdapter<>(
-            completableFuture, collectionTypeClass, objectMapper, READ_FAILED));
-    return completableFuture;
+            databaseName, collectionName, filter, fields, readRequestOptions, objectMapper);
+    return new StreamingCallPublisher<Api.ReadRequest, Api.ReadResponse, T>(
+        // the deadline starts with the subscription
+        observer ->
+            Utilities.withDeadline(stub, readRequestOptions.getDeadline())
+                .read(readRequest, observer),
+        response -> documentCodec.decode(response.getData()),
+        READ_FAILED,
+        JSON_SER_DE_ERROR);
+  }
+
+  @Override
+  public Publisher<T> readPublisher(TigrisFilter filter) {
+    return this.readPublisher(filter, ReadFields.all(), new ReadRequestOptions());
+  }
+
+  @Override
+  public Publisher<T> readAllPublisher() {
+    return this.readPublisher(Filters.nothing(), ReadFields.all(), new ReadRequestOptions());
+  }
+
+  @Override
+  public CompletableFuture<Optional<T>> readOne(TigrisFilter filter) {
+    return this.readOneAsyncInternal(filter, null, null);
+  }
+
+  @Override
+  public CompletableFuture<Optional<T>> readOne(TigrisFilter filter, Duration deadline) {
+    return this.readOneAsyncInternal(filter, deadline, null);
+  }
+
+  @Override
+  public CompletableFuture<ReadByKeysResponse<T>> readByKeys(
+      Collection<?> keys, int maxKeysPerRequest) {
+    KeyLookup<T> keyLookup;
+    List<TigrisFilter> filters;
+    try {
+      keyLookup = new KeyLookup<>(collectionTypeClass, keys, objectMapper);
+      filters = keyLookup.filters(maxKeysPerRequest);
+    } catch (IllegalArgumentException ex) {
+      return Utilities.failedFuture(ex);
+    }
+    List<CompletableFuture<List<T>>> chunks = new ArrayList<>(filters.size());
+    for (TigrisFilter filter : filters) {
+      CompletableFuture<List<T>> chunk = new CompletableFuture<>();
+      this.readAsyncInternal(
+          filter, ReadFields.all(), new ReadRequestOptions(), new CollectingReader<>(chunk), null);
+      chunks.add(chunk);
+    }
+    CompletableFuture<ReadByKeysResponse<T>> result = new CompletableFuture<>();
+    CompletableFuture.allOf(chunks.toArray(new CompletableFuture[0]))
+        .whenComplete(
+            (ignore, throwable) -> {
+              if (throwable != null) {
+                // fail with the cause, as the other read methods do
+                result.completeExceptionally(
+                    throwable instanceof CompletionException ? throwable.getCause() : throwable);
+                return;
+              }
+              List<T> documents = new ArrayList<>();
+              for (CompletableFuture<List<T>> chunk : chunks) {
+                documents.addAll(chunk.join());
+              }
+              result.complete(keyLookup.toResponse(documents));
+            });
+    return result;
+  }
+
+  @Override
+  public CompletableFuture<ReadByKeysResponse<T>> readByKeys(Collection<?> keys) {
+    return this.readByKeys(keys, KeyLookup.DEFAULT_MAX_KEYS_PER_REQUEST);
   }
 
   @Override
@@ -136,9 +250,9 @@ class StandardTigrisAsyncCollection<T extends TigrisCollectionType>
       SearchRequest request, SearchRequestOptions options, TigrisAsyncSearchReader<T> reader) {
     Api.SearchRequest searchRequest =
         toSearchRequest(databaseName, collectionName, request, options, objectMapper);
-    stub.search(
-        searchRequest,
-        new SearchResponseObserverAdapter<>(reader, collectionTypeClass, objectMapper));
+    Function<SearchResponse, SearchResult<T>> converter =
+        response -> toSearchResult(response, options, objectMapper, collectionTypeClass);
+    stub.search(searchRequest, new SearchResponseObserverAdapter<>(reader, converter));
   }
 
   @Override
@@ -146,33 +260,83 @@ class StandardTigrisAsyncCollection<T extends TigrisCollectionType>
     this.search(request, null, reader);
   }
 
+  @Override
+  public Publisher<SearchResult<T>> searchPublisher(
+      SearchRequest request, SearchRequestOptions options) {
+    Api.SearchRequest searchRequest =
+        toSearchRequest(databaseName, collectionName, request, options, objectMapper);
+    return new StreamingCallPublisher<Api.SearchRequest, SearchResponse, SearchResult<T>>(
+        observer -> stub.search(searchRequest, observer),
+        response -> toSearchResult(response, options, objectMapper, collectionTypeClass),
+        SEARCH_FAILED,
+        JSON_SER_DE_ERROR);
+  }
+
+  @Override
+  public Publisher<Hit<T>> searchHitsPublisher(
+      SearchRequest request, SearchRequestOptions options, int maxInFlightPages) {
+    if (maxInFlightPages < 1) {
+      throw new IllegalArgumentException("maxInFlightPages must be at least 1");
+    }
+    SearchRequestOptions pagination = options != null ? options : SearchRequestOptions.getDefault();
+    Api.SearchRequest searchRequest =
+        toSearchRequest(databaseName, collectionName, request, pagination, objectMapper);
+    return new SearchHitsPublisher<>(
+        page -> searchPage(searchRequest.toBuilder().setPage(page).build(), pagination),
+        pagination.getPage(),
+        maxInFlightPages);
+  }
+
+  @Override
+  public Publisher<Hit<T>> searchHitsPublisher(
+      SearchRequest request, SearchRequestOptions options) {
+    return this.searchHitsPublisher(request, options, DEFAULT_MAX_IN_FLIGHT_SEARCH_PAGES);
+  }
+
+  @Override
+  public SearchIterator<T> searchIterator(
+      SearchRequest request, SearchRequestOptions options, int maxInFlightPages) {
+    SearchRequestOptions pagination = options != null ? options : SearchRequestOptions.getDefault();
+    if (pagination.getPerPage() < 1) {
+      throw new IllegalArgumentException("perPage must be at least 1");
+    }
+    if (maxInFlightPages < 1) {
+      throw new IllegalArgumentException("maxInFlightPages must be at least 1");
+    }
+    return new SearchIterator<>(
+        this.searchHitsPublisher(request, pagination, maxInFlightPages),
+        (int) Math.min(Integer.MAX_VALUE, (long) pagination.getPerPage() * maxInFlightPages));
+  }
+
+  @Override
+  public SearchIterator<T> searchIterator(SearchRequest request, SearchRequestOptions options) {
+    return this.searchIterator(request, options, DEFAULT_MAX_IN_FLIGHT_SEARCH_PAGES);
+  }
+
   @Override
   public CompletableFuture<InsertResponse<T>> insert(
       List<T> documents, InsertRequestOptions insertRequestOptions) throws TigrisException {
-    try {
-      Api.InsertRequest insertRequest =
-          toInsertRequest(
-              databaseName, collectionName, documents, insertRequestOptions, objectMapper);
-      ListenableFuture<Api.InsertResponse> insertResponseListenableFuture =
-          futureStub.insert(insertRequest);
-      return Utilities.transformFuture(
-          insertResponseListenableFuture,
-          input ->
-              new InsertResponse<>(
-                  input.getStatus(),
-                  input.getMetadata().getCreatedAt(),
-                  input.getMetadata().getUpdatedAt(),
-                  TypeConverter.toArrayOfMap(input.getKeysList(), objectMapper),
-                  new ArrayList<>(documents)),
-          executor,
-          INSERT_FAILED);
-    } catch (JsonProcessingException jsonProcessingException) {
-      throw new TigrisException(JSON_SER_DE_ERROR, jsonProcessingException);
-    }
+    return this.insertAsyncInternal(documents, insertRequestOptions, null);
   }
 
   @Override
   public CompletableFuture<InsertResponse<T>> insert(List<T> documents) throws TigrisException {
+    if (insertBatcher != null) {
+      List<T> insertedDocuments = new ArrayList<>(documents);
+      return insertBatcher
+          .add(encode(insertedDocuments))
+          .whenComplete(
+              (result, throwable) -> writeCompleted(() -> invalidateCached(insertedDocuments)))
+          .thenApplyAsync(
+              result ->
+                  new InsertResponse<>(
+                      result.getStatus(),
+                      result.getCreatedAt(),
+                      result.getUpdatedAt(),
+                      TypeConverter.toArrayOfMap(result.getKeys(), objectMapper),
+                      insertedDocuments),
+              executor);
+    }
     return this.insert(documents, new InsertRequestOptions());
   }
 
@@ -185,31 +349,28 @@ class StandardTigrisAsyncCollection<T extends TigrisCollectionType>
   public CompletableFuture<InsertOrReplaceResponse<T>> insertOrReplace(
       List<T> documents, InsertOrReplaceRequestOptions insertOrReplaceRequestOptions)
       throws TigrisException {
-    try {
-      Api.ReplaceRequest replaceRequest =
-          toReplaceRequest(
-              databaseName, collectionName, documents, insertOrReplaceRequestOptions, objectMapper);
-      ListenableFuture<Api.ReplaceResponse> replaceResponseListenableFuture =
-          futureStub.replace(replaceRequest);
-      return Utilities.transformFuture(
-          replaceResponseListenableFuture,
-          input ->
-              new InsertOrReplaceResponse<>(
-                  input.getStatus(),
-                  input.getMetadata().getCreatedAt(),
-                  input.getMetadata().getUpdatedAt(),
-                  TypeConverter.toArrayOfMap(input.getKeysList(), objectMapper),
-                  new ArrayList<>(documents)),
-          executor,
-          INSERT_OR_REPLACE_FAILED);
-    } catch (JsonProcessingException jsonProcessingException) {
-      throw new TigrisException(JSON_SER_DE_ERROR, jsonProcessingException);
-    }
+    return this.insertOrReplaceAsyncInternal(documents, insertOrReplaceRequestOptions, null);
   }
 
   @Override
   public CompletableFuture<InsertOrReplaceResponse<T>> insertOrReplace(List<T> documents)
       throws TigrisException {
+    if (insertOrReplaceBatcher != null) {
+      List<T> replacedDocuments = new ArrayList<>(documents);
+      return insertOrReplaceBatcher
+          .add(encode(replacedDocuments))
+          .whenComplete(
+              (result, throwable) -> writeCompleted(() -> invalidateCached(replacedDocuments)))
+          .thenApplyAsync(
+              result ->
+                  new InsertOrReplaceResponse<>(
+                      result.getStatus(),
+                      result.getCreatedAt(),
+                      result.getUpdatedAt(),
+                      TypeConverter.toArrayOfMap(result.getKeys(), objectMapper),
+                      replacedDocuments),
+              executor);
+    }
     return this.insertOrReplace(documents, new InsertOrReplaceRequestOptions());
   }
 
@@ -217,21 +378,7 @@ class StandardTigrisAsyncCollection<T extends TigrisCollectionType>
   public CompletableFuture<UpdateResponse> update(
       TigrisFilter filter, UpdateFields fields, UpdateRequestOptions updateRequestOptions)
       throws TigrisException {
-    Api.UpdateRequest updateRequest =
-        toUpdateRequest(
-            databaseName, collectionName, filter, fields, updateRequestOptions, objectMapper);
-    ListenableFuture<Api.UpdateResponse> updateResponseListenableFuture =
-        futureStub.update(updateRequest);
-    return Utilities.transformFuture(
-        updateResponseListenableFuture,
-        input ->
-            new UpdateResponse(
-                input.getStatus(),
-                input.getMetadata().getCreatedAt(),
-                input.getMetadata().getUpdatedAt(),
-                input.getModifiedCount()),
-        executor,
-        UPDATE_FAILED);
+    return this.updateAsyncInternal(filter, fields, updateRequestOptions, null);
   }
 
   @Override
@@ -243,19 +390,7 @@ class StandardTigrisAsyncCollection<T extends TigrisCollectionType>
   @Override
   public CompletableFuture<DeleteResponse> delete(
       TigrisFilter filter, DeleteRequestOptions deleteRequestOptions) {
-    Api.DeleteRequest deleteRequest =
-        toDeleteRequest(databaseName, collectionName, filter, deleteRequestOptions, objectMapper);
-    ListenableFuture<Api.DeleteResponse> deleteResponseListenableFuture =
-        futureStub.delete(deleteRequest);
-    return Utilities.transformFuture(
-        deleteResponseListenableFuture,
-        response ->
-            new DeleteResponse(
-                response.getStatus(),
-                response.getMetadata().getCreatedAt(),
-                response.getMetadata().getUpdatedAt()),
-        executor,
-        DELETE_FAILED);
+    return this.deleteAsyncInternal(filter, deleteRequestOptions, null);
   }
 
   @Override
@@ -290,6 +425,97 @@ class StandardTigrisAsyncCollection<T extends TigrisCollectionType>
     return collectionName;
   }
 
+  /**
+   * Fetches a single search page. The call runs in its own cancellable context, cancelled once the
+   * page completes, so the rest of the stream is not read, or once the returned future is
+   * cancelled.
+   *
+   * @param searchRequest search request of the page
+   * @param options search options
+   * @return future of the page
+   */
+  private CompletableFuture<SearchResult<T>> searchPage(
+      Api.SearchRequest searchRequest, SearchRequestOptions options) {
+    CompletableFuture<SearchResult<T>> completableFuture = new CompletableFuture<>();
+    Context.CancellableContext context = Context.current().withCancellation();
+    context.run(
+        () ->
+            stub.search(
+                searchRequest,
+                new SearchPageObserverAdapter<>(
+                    completableFuture,
+                    response ->
+                        toSearchResult(response, options, objectMapper, collectionTypeClass))));
+    completableFuture.whenComplete((page, throwable) -> context.cancel(null));
+    return completableFuture;
+  }
+
+  /**
+   * Runs {@link #writeCompleted} once the write completes, and only then completes the returned
+   * future, so continuations of the caller already read the written documents. The writes of a
+   * transaction are only visible once it commits, so they run {@link #writeCompleted} then.
+   *
+   * @param write future of the write
+   * @param tx transaction session of the write, or null
+   * @param invalidation invalidates the written documents
+   * @param <R> type of the write response
+   * @return future completing like the write
+   */
+  private <R> CompletableFuture<R> invalidateCachedOnCompletion(
+      CompletableFuture<R> write, TransactionSession tx, Runnable invalidation) {
+    if (tx != null) {
+      afterWrite(tx, () -> writeCompleted(invalidation));
+      return write;
+    }
+    CompletableFuture<R> result = new CompletableFuture<>();
+    write.whenComplete(
+        (response, throwable) -> {
+          writeCompleted(invalidation);
+          if (throwable != null) {
+            result.completeExceptionally(throwable);
+          } else {
+            result.complete(response);
+          }
+        });
+    return result;
+  }
+
+  private List<ByteString> encode(List<T> documents) throws TigrisException {
+    try {
+      return TypeConverter.toByteStrings(documents, documentCodec);
+    } catch (JsonProcessingException jsonProcessingException) {
+      throw new TigrisException(JSON_SER_DE_ERROR, jsonProcessingException);
+    }
+  }
+
+  private ListenableFuture<WriteBatcher.Result> sendInsertBatch(List<ByteString> documents) {
+    return Futures.transform(
+        futureStub.insert(
+            toInsertRequest(databaseName, collectionName, documents, new InsertRequestOptions())),
+        response ->
+            new WriteBatcher.Result(
+                response.getStatus(),
+                response.getMetadata().getCreatedAt(),
+                response.getMetadata().getUpdatedAt(),
+                response.getKeysList()),
+        MoreExecutors.directExecutor());
+  }
+
+  private ListenableFuture<WriteBatcher.Result> sendInsertOrReplaceBatch(
+      List<ByteString> documents) {
+    return Futures.transform(
+        futureStub.replace(
+            toReplaceRequest(
+                databaseName, collectionName, documents, new InsertOrReplaceRequestOptions())),
+        response ->
+            new WriteBatcher.Result(
+                response.getStatus(),
+                response.getMetadata().getCreatedAt(),
+                response.getMetadata().getUpdatedAt(),
+                response.getKeysList()),
+        MoreExecutors.directExecutor());
+  }
+
   @Override
   public Iterator<T> read(
       TransactionSession session,
@@ -314,19 +540,7 @@ class StandardTigrisAsyncCollection<T extends TigrisCollectionType>
   @Override
   public Optional<T> readOne(TransactionSession session, TigrisFilter filter)
       throws TigrisException {
-    Iterator<T> iterator =
-        this.readInternal(filter, ReadFields.all(), readOneDefaultReadRequestOptions(), session);
-    try {
-      if (iterator.hasNext()) {
-        return Optional.of(iterator.next());
-      }
-    } catch (StatusRuntimeException statusRuntimeException) {
-      throw new TigrisException(
-          READ_FAILED,
-          TypeConverter.extractTigrisError(statusRuntimeException),
-          statusRuntimeException);
-    }
-    return Optional.empty();
+    return this.readOneInternal(filter, null, session);
   }
 
   @Override
@@ -394,31 +608,345 @@ class StandardTigrisAsyncCollection<T extends TigrisCollectionType>
         filter, new DeleteRequestOptions(WriteOptions.DEFAULT_INSTANCE), session);
   }
 
+  @Override
+  public void read(
+      TransactionSession session,
+      TigrisFilter filter,
+      ReadFields fields,
+      ReadRequestOptions readRequestOptions,
+      TigrisAsyncReader<T> reader) {
+    this.readAsyncInternal(filter, fields, readRequestOptions, reader, session);
+  }
+
+  @Override
+  public void read(TransactionSession session, TigrisFilter filter, TigrisAsyncReader<T> reader) {
+    this.readAsyncInternal(filter, ReadFields.all(), new ReadRequestOptions(), reader, session);
+  }
+
+  @Override
+  public CompletableFuture<Optional<T>> readOneAsync(
+      TransactionSession session, TigrisFilter filter) {
+    return this.readOneAsyncInternal(filter, null, session);
+  }
+
+  @Override
+  public CompletableFuture<InsertResponse<T>> insertAsync(
+      TransactionSession session, List<T> documents, InsertRequestOptions insertRequestOptions) {
+    try {
+      return this.insertAsyncInternal(documents, insertRequestOptions, session);
+    } catch (TigrisException tigrisException) {
+      return Utilities.failedFuture(tigrisException);
+    }
+  }
+
+  @Override
+  public CompletableFuture<InsertResponse<T>> insertAsync(
+      TransactionSession session, List<T> documents) {
+    return this.insertAsync(
+        session, documents, new InsertRequestOptions(WriteOptions.DEFAULT_INSTANCE));
+  }
+
+  @Override
+  public CompletableFuture<InsertResponse<T>> insertAsync(TransactionSession session, T document) {
+    return this.insertAsync(session, Collections.singletonList(document));
+  }
+
+  @Override
+  public CompletableFuture<InsertOrReplaceResponse<T>> insertOrReplaceAsync(
+      TransactionSession session,
+      List<T> documents,
+      InsertOrReplaceRequestOptions insertOrReplaceRequestOptions) {
+    try {
+      return this.insertOrReplaceAsyncInternal(documents, insertOrReplaceRequestOptions, session);
+    } catch (TigrisException tigrisException) {
+      return Utilities.failedFuture(tigrisException);
+    }
+  }
+
+  @Override
+  public CompletableFuture<InsertOrReplaceResponse<T>> insertOrReplaceAsync(
+      TransactionSession session, List<T> documents) {
+    return this.insertOrReplaceAsync(session, documents, new InsertOrReplaceRequestOptions());
+  }
+
+  @Override
+  public CompletableFuture<UpdateResponse> updateAsync(
+      TransactionSession session,
+      TigrisFilter filter,
+      UpdateFields updateFields,
+      UpdateRequestOptions updateRequestOptions) {
+    return this.updateAsyncInternal(filter, updateFields, updateRequestOptions, session);
+  }
+
+  @Override
+  public CompletableFuture<UpdateResponse> updateAsync(
+      TransactionSession session, TigrisFilter filter, UpdateFields updateFields) {
+    return this.updateAsyncInternal(filter, updateFields, new UpdateRequestOptions(), session);
+  }
+
+  @Override
+  public CompletableFuture<DeleteResponse> deleteAsync(
+      TransactionSession session, TigrisFilter filter, DeleteRequestOptions deleteRequestOptions) {
+    return this.deleteAsyncInternal(filter, deleteRequestOptions, session);
+  }
+
+  @Override
+  public CompletableFuture<DeleteResponse> deleteAsync(
+      TransactionSession session, TigrisFilter filter) {
+    return this.deleteAsyncInternal(
+        filter, new DeleteRequestOptions(WriteOptions.DEFAULT_INSTANCE), session);
+  }
+
+  /**
+   * Makes a completed local write visible to the reads issued from now on: they no longer join a
+   * read in flight that may have been served before the write, and do not hit the cached documents
+   * the write replaced. The generation is bumped first, so a read that takes its cache stamp after
+   * the invalidation also starts a new flight.
+   *
+   * @param invalidation invalidates the written documents
+   */
+  private void writeCompleted(Runnable invalidation) {
+    writeGeneration.incrementAndGet();
+    invalidation.run();
+  }
+
+  private void readAsyncInternal(
+      TigrisFilter filter,
+      ReadFields fields,
+      ReadRequestOptions readRequestOptions,
+      TigrisAsyncReader<T> reader,
+      TransactionSession tx) {
+    Api.ReadRequest readRequest =
+        toReadRequest(
+            databaseName, collectionName, filter, fields, readRequestOptions, objectMapper);
+    this.readCoalesced(
+        readRequest,
+        readRequestOptions.getDeadline(),
+        false,
+        tx,
+        new ReadManyResponseObserverAdapter<>(reader, documentCodec, READ_FAILED));
+  }
+
+  private CompletableFuture<Optional<T>> readOneAsyncInternal(
+      TigrisFilter filter, Duration deadline, TransactionSession tx) {
+    String cacheKey = cacheKeyOf(filter, tx);
+    Consumer<ByteString> onDocument = document -> {};
+    if (cacheKey != null) {
+      ByteString cached = readCache.get(cacheKey);
+      if (cached != null) {
+        try {
+          return CompletableFuture.completedFuture(Optional.of(documentCodec.decode(cached)));
+        } catch (IOException ioException) {
+          return Utilities.failedFuture(new TigrisException(JSON_SER_DE_ERROR, ioException));
+        }
+      }
+      long stamp = readCache.stamp();
+      onDocument = document -> readCache.put(cacheKey, document, stamp);
+    }
+    Api.ReadRequest readRequest =
+        toReadRequest(
+            databaseName,
+            collectionName,
+            filter,
+            ReadFields.all(),
+            readOneDefaultReadRequestOptions(),
+            objectMapper);
+    CompletableFuture<Optional<T>> completableFuture = new CompletableFuture<>();
+    this.readCoalesced(
+        readRequest,
+        deadline,
+        true,
+        tx,
+        new ReadSingleResponseObserverAdapter<>(
+            completableFuture, documentCodec, READ_FAILED, onDocument));
+    return completableFuture;
+  }
+
+  /**
+   * Issues a read, joining an identical non-transactional read already in flight. Each caller
+   * decodes its own documents from the shared responses. Reads with a deadline are not coalesced,
+   * as they would inherit the deadline of the call they join. A read issued after a write through
+   * this collection completed never joins a read issued before it, so it sees the write. Writes
+   * through other collection instances or clients are not tracked.
+   *
+   * @param readRequest read request
+   * @param deadline deadline of the read, or null
+   * @param pointLookup whether the read is a point lookup, bounded by the default deadline
+   * @param tx transaction session, or null for non-transactional reads
+   * @param observer observer of this caller
+   */
+  private void readCoalesced(
+      Api.ReadRequest readRequest,
+      Duration deadline,
+      boolean pointLookup,
+      TransactionSession tx,
+      StreamObserver<Api.ReadResponse> observer) {
+    TigrisGrpc.TigrisStub readStub = asyncStubFor(tx, deadline);
+    if (pointLookup) {
+      readStub = DeadlineInterceptor.bounded(readStub);
+    }
+    if (tx != null || deadline != null) {
+      readStub.read(readRequest, observer);
+      return;
+    }
+    TigrisGrpc.TigrisStub flightStub = readStub;
+    readFlights.call(
+        new ReadFlightKey(readRequest, pointLookup, writeGeneration.get()),
+        observer,
+        flight -> flightStub.read(readRequest, flight));
+  }
+
+  private CompletableFuture<InsertResponse<T>> insertAsyncInternal(
+      List<T> documents, InsertRequestOptions insertRequestOptions, TransactionSession tx)
+      throws TigrisException {
+    try {
+      Api.InsertRequest insertRequest =
+          toInsertRequest(
+              databaseName, collectionName, documents, insertRequestOptions, documentCodec);
+      ListenableFuture<Api.InsertResponse> insertResponseListenableFuture =
+          futureStubFor(tx, insertRequestOptions.getDeadline()).insert(insertRequest);
+      CompletableFuture<InsertResponse<T>> result =
+          Utilities.transformFuture(
+              insertResponseListenableFuture,
+              input ->
+                  new InsertResponse<>(
+                      input.getStatus(),
+                      input.getMetadata().getCreatedAt(),
+                      input.getMetadata().getUpdatedAt(),
+                      TypeConverter.toArrayOfMap(input.getKeysList(), objectMapper),
+                      new ArrayList<>(documents)),
+              executor,
+              INSERT_FAILED);
+      return invalidateCachedOnCompletion(result, tx, () -> invalidateCached(documents));
+    } catch (JsonProcessingException jsonProcessingException) {
+      throw new TigrisException(JSON_SER_DE_ERROR, jsonProcessingException);
+    }
+  }
+
+  private CompletableFuture<InsertOrReplaceResponse<T>> insertOrReplaceAsyncInternal(
+      List<T> documents,
+      InsertOrReplaceRequestOptions insertOrReplaceRequestOptions,
+      TransactionSession tx)
+      throws TigrisException {
+    try {
+      Api.ReplaceRequest replaceRequest =
+          toReplaceRequest(
+              databaseName,
+              collectionName,
+              documents,
+              insertOrReplaceRequestOptions,
+              documentCodec);
+      ListenableFuture<Api.ReplaceResponse> replaceResponseListenableFuture =
+          futureStubFor(tx, insertOrReplaceRequestOptions.getDeadline()).replace(replaceRequest);
+      CompletableFuture<InsertOrReplaceResponse<T>> result =
+          Utilities.transformFuture(
+              replaceResponseListenableFuture,
+              input ->
+                  new InsertOrReplaceResponse<>(
+                      input.getStatus(),
+                      input.getMetadata().getCreatedAt(),
+                      input.getMetadata().getUpdatedAt(),
+                      TypeConverter.toArrayOfMap(input.getKeysList(), objectMapper),
+                      new ArrayList<>(documents)),
+              executor,
+              INSERT_OR_REPLACE_FAILED);
+      return invalidateCachedOnCompletion(result, tx, () -> invalidateCached(documents));
+    } catch (JsonProcessingException jsonProcessingException) {
+      throw new TigrisException(JSON_SER_DE_ERROR, jsonProcessingException);
+    }
+  }
+
+  private CompletableFuture<UpdateResponse> updateAsyncInternal(
+      TigrisFilter filter,
+      UpdateFields fields,
+      UpdateRequestOptions updateRequestOptions,
+      TransactionSession tx) {
+    Api.UpdateRequest updateRequest =
+        toUpdateRequest(
+            databaseName, collectionName, filter, fields, updateRequestOptions, objectMapper);
+    ListenableFuture<Api.UpdateResponse> updateResponseListenableFuture =
+        futureStubFor(tx, updateRequestOptions.getDeadline()).update(updateRequest);
+    CompletableFuture<UpdateResponse> result =
+        Utilities.transformFuture(
+            updateResponseListenableFuture,
+            input ->
+                new UpdateResponse(
+                    input.getStatus(),
+                    input.getMetadata().getCreatedAt(),
+                    input.getMetadata().getUpdatedAt(),
+                    input.getModifiedCount()),
+            executor,
+            UPDATE_FAILED);
+    return invalidateCachedOnCompletion(result, tx, () -> invalidateCached(filter));
+  }
+
+  private CompletableFuture<DeleteResponse> deleteAsyncInternal(
+      TigrisFilter filter, DeleteRequestOptions deleteRequestOptions, TransactionSession tx) {
+    Api.DeleteRequest deleteRequest =
+        toDeleteRequest(databaseName, collectionName, filter, deleteRequestOptions, objectMapper);
+    ListenableFuture<Api.DeleteResponse> deleteResponseListenableFuture =
+        futureStubFor(tx, deleteRequestOptions.getDeadline()).delete(deleteRequest);
+    CompletableFuture<DeleteResponse> result =
+        Utilities.transformFuture(
+            deleteResponseListenableFuture,
+            response ->
+                new DeleteResponse(
+                    response.getStatus(),
+                    response.getMetadata().getCreatedAt(),
+                    response.getMetadata().getUpdatedAt()),
+            executor,
+            DELETE_FAILED);
+    return invalidateCachedOnCompletion(result, tx, () -> invalidateCached(filter));
+  }
+
+  /**
+   * Returns the async stub to issue an operation with, reusing the transaction-scoped stub of the
+   * session when the operation is part of a transaction
+   *
+   * @param tx transaction session, or null for non-transactional operations
+   * @param deadline deadline of the operation, or null
+   * @return stub to use for the operation
+   */
+  private TigrisGrpc.TigrisStub asyncStubFor(TransactionSession tx, Duration deadline) {
+    TigrisGrpc.TigrisStub asyncStub =
+        tx != null ? ((StandardTransactionSession) tx).getAsyncStub() : stub;
+    return Utilities.withDeadline(asyncStub, deadline);
+  }
+
+  /**
+   * Returns the future stub to issue an operation with, reusing the transaction-scoped stub of the
+   * session when the operation is part of a transaction
+   *
+   * @param tx transaction session, or null for non-transactional operations
+   * @param deadline deadline of the operation, or null
+   * @return stub to use for the operation
+   */
+  private TigrisGrpc.TigrisFutureStub futureStubFor(TransactionSession tx, Duration deadline) {
+    TigrisGrpc.TigrisFutureStub stubToUse =
+        tx != null ? ((StandardTransactionSession) tx).getFutureStub() : futureStub;
+    return Utilities.withDeadline(stubToUse, deadline);
+  }
+
   static class ReadManyResponseObserverAdapter<T extends TigrisCollectionType>
       implements StreamObserver<Api.ReadResponse> {
 
     private final TigrisAsyncReader<T> reader;
-    private final Class<T> collectionTypeClass;
-    private final ObjectMapper objectMapper;
+    private final DocumentCodec<T> documentCodec;
     private final String errorMessage;
 
     public ReadManyResponseObserverAdapter(
-        TigrisAsyncReader<T> reader,
-        Class<T> collectionTypeClass,
-        ObjectMapper objectMapper,
-        String errorMessage) {
+        TigrisAsyncReader<T> reader, DocumentCodec<T> documentCodec, String errorMessage) {
       this.reader = reader;
-      this.collectionTypeClass = collectionTypeClass;
-      this.objectMapper = objectMapper;
+      this.documentCodec = documentCodec;
       this.errorMessage = errorMessage;
     }
 
     @Override
     public void onNext(Api.ReadResponse readResponse) {
       try {
-        T doc = objectMapper.readValue(readResponse.getData().toStringUtf8(), collectionTypeClass);
+        T doc = documentCodec.decode(readResponse.getData());
         reader.onNext(doc);
-      } catch (JsonProcessingException ex) {
+      } catch (IOException ex) {
         reader.onError(new TigrisException(JSON_SER_DE_ERROR, ex));
       }
     }
@@ -440,31 +968,68 @@ class StandardTigrisAsyncCollection<T extends TigrisCollectionType>
     }
   }
 
+  /** Collects the documents of a read into a future */
+  static class CollectingReader<T extends TigrisCollectionType> implements TigrisAsyncReader<T> {
+
+    private final CompletableFuture<List<T>> completableFuture;
+    private final List<T> documents = new ArrayList<>();
+
+    CollectingReader(CompletableFuture<List<T>> completableFuture) {
+      this.completableFuture = completableFuture;
+    }
+
+    @Override
+    public void onNext(T document) {
+      documents.add(document);
+    }
+
+    @Override
+    public void onError(Throwable t) {
+      completableFuture.completeExceptionally(t);
+    }
+
+    @Override
+    public void onCompleted() {
+      completableFuture.complete(documents);
+    }
+  }
+
   static class ReadSingleResponseObserverAdapter<T extends TigrisCollectionType>
       implements StreamObserver<Api.ReadResponse> {
 
     private final CompletableFuture<Optional<T>> completableFuture;
-    private final Class<T> collectionTypeClass;
-    private final ObjectMapper objectMapper;
+    private final DocumentCodec<T> documentCodec;
     private final String errorMessage;
+    private final Consumer<ByteString> onDocument;
 
     public ReadSingleResponseObserverAdapter(
         CompletableFuture<Optional<T>> completableFuture,
-        Class<T> collectionTypeClass,
-        ObjectMapper objectMapper,
+        DocumentCodec<T> documentCodec,
         String errorMessage) {
+      this(completableFuture, documentCodec, errorMessage, document -> {});
+    }
+
+    /**
+     * @param onDocument called with the serialized document before it is decoded
+     */
+    public ReadSingleResponseObserverAdapter(
+        CompletableFuture<Optional<T>> completableFuture,
+        DocumentCodec<T> documentCodec,
+        String errorMessage,
+        Consumer<ByteString> onDocument) {
       this.completableFuture = completableFuture;
-      this.collectionTypeClass = collectionTypeClass;
-      this.objectMapper = objectMapper;
+      this.documentCodec = documentCodec;
       this.errorMessage = errorMessage;
+      this.onDocument = onDocument;
     }
 
     @Override
     public void onNext(Api.ReadResponse readResponse) {
+      onDocument.accept(readResponse.getData());
       try {
-        T doc = objectMapper.readValue(readResponse.getData().toStringUtf8(), collectionTypeClass);
+        T doc = documentCodec.decode(readResponse.getData());
         completableFuture.complete(Optional.of(doc));
-      } catch (JsonProcessingException ex) {
+      } catch (IOException ex) {
         completableFuture.completeExceptionally(new TigrisException(JSON_SER_DE_ERROR, ex));
       }
     }
@@ -482,7 +1047,8 @@ class StandardTigrisAsyncCollection<T extends TigrisCollectionType>
 
     @Override
     public void onCompleted() {
-      // no op
+      // no matching document, no op if a document was already delivered
+      completableFuture.complete(Optional.empty());
     }
   }
 
@@ -490,21 +1056,17 @@ class StandardTigrisAsyncCollection<T extends TigrisCollectionType>
       implements StreamObserver<Api.SearchResponse> {
 
     private final TigrisAsyncSearchReader<T> reader;
-    private final Class<T> collectionTypeClass;
-    private final ObjectMapper objectMapper;
+    private final Function<SearchResponse, SearchResult<T>> converter;
 
     public SearchResponseObserverAdapter(
-        TigrisAsyncSearchReader<T> reader,
-        Class<T> collectionTypeClass,
-        ObjectMapper objectMapper) {
+        TigrisAsyncSearchReader<T> reader, Function<SearchResponse, SearchResult<T>> converter) {
       this.reader = reader;
-      this.collectionTypeClass = collectionTypeClass;
-      this.objectMapper = objectMapper;
+      this.converter = converter;
     }
 
     @Override
     public void onNext(SearchResponse response) {
-      SearchResult<T> result = SearchResult.from(response, objectMapper, collectionTypeClass);
+      SearchResult<T> result = converter.apply(response);
       reader.onNext(result);
     }
 
@@ -524,4 +1086,84 @@ class StandardTigrisAsyncCollection<T extends TigrisCollectionType>
       reader.onCompleted();
     }
   }
+
+  static class SearchPageObserverAdapter<T extends TigrisCollectionType>
+      implements StreamObserver<Api.SearchResponse> {
+
+    private final CompletableFuture<SearchResult<T>> completableFuture;
+    private final Function<SearchResponse, SearchResult<T>> converter;
+
+    public SearchPageObserverAdapter(
+        CompletableFuture<SearchResult<T>> completableFuture,
+        Function<SearchResponse, SearchResult<T>> converter) {
+      this.completableFuture = completableFuture;
+      this.converter = converter;
+    }
+
+    @Override
+    public void onNext(SearchResponse response) {
+      // the requested page is the first response, no op for any that follows
+      if (completableFuture.isDone()) {
+        return;
+      }
+      try {
+        completableFuture.complete(converter.apply(response));
+      } catch (RuntimeException ex) {
+        completableFuture.completeExceptionally(new TigrisException(JSON_SER_DE_ERROR, ex));
+      }
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+      if (throwable instanceof StatusRuntimeException) {
+        completableFuture.completeExceptionally(
+            new TigrisException(
+                SEARCH_FAILED, extractTigrisError((StatusRuntimeException) throwable), throwable));
+      } else {
+        completableFuture.completeExceptionally(new TigrisException(SEARCH_FAILED, throwable));
+      }
+    }
+
+    @Override
+    public void onCompleted() {
+      // no page, the search is past the last page
+      completableFuture.complete(converter.apply(SearchResponse.getDefaultInstance()));
+    }
+  }
+
+  /**
+   * Identifies coalescable reads: the same request, bounded the same way, issued in the same write
+   * generation
+   */
+  private static final class ReadFlightKey {
+    private final Api.ReadRequest readRequest;
+    private final boolean pointLookup;
+    private final long writeGeneration;
+
+    private ReadFlightKey(Api.ReadRequest readRequest, boolean pointLookup, long writeGeneration) {
+      this.readRequest = readRequest;
+      this.pointLookup = pointLookup;
+      this.writeGeneration = writeGeneration;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) return true;
+      if (o == null || getClass() != o.getClass()) return false;
+
+      ReadFlightKey that = (ReadFlightKey) o;
+
+      if (pointLookup != that.pointLookup) return false;
+      if (writeGeneration != that.writeGeneration) return false;
+      return readRequest.equals(that.readRequest);
+    }
+
+    @Override
+    public int hashCode() {
+      int result = readRequest.hashCode();
+      result = 31 * result + (pointLookup ? 1 : 0);
+      result = 31 * result + (int) (writeGeneration ^ (writeGeneration >>> 32));
+      return result;
+    }
+  }
 }
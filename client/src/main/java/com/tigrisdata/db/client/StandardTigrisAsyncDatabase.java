@@ -23,6 +23,7 @@ import static com.tigrisdata.db.client.Constants.DROP_COLLECTION_FAILED;
 import static com.tigrisdata.db.client.Constants.LIST_COLLECTION_FAILED;
 import static com.tigrisdata.db.client.Constants.STREAM_CONVERT_FAILED;
 import static com.tigrisdata.db.client.Constants.STREAM_FAILED;
+import static com.tigrisdata.db.client.Constants.TRANSACTION_FAILED;
 import static com.tigrisdata.db.client.TypeConverter.toBeginTransactionRequest;
 import static com.tigrisdata.db.client.TypeConverter.toDatabaseDescription;
 import static com.tigrisdata.db.client.TypeConverter.toDropCollectionRequest;
@@ -38,9 +39,12 @@ import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.Executor;
+import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
+import org.reactivestreams.Publisher;
 
 /** Async implementation of Tigris database */
 class StandardTigrisAsyncDatabase extends AbstractTigrisDatabase implements TigrisAsyncDatabase {
@@ -50,6 +54,7 @@ class StandardTigrisAsyncDatabase extends AbstractTigrisDatabase implements Tigr
   private final Executor executor;
   private final ObjectMapper objectMapper;
   private final ModelToJsonSchema modelToJsonSchema;
+  private final WriteBatcher.Registry writeBatchers;
 
   StandardTigrisAsyncDatabase(
       String databaseName,
@@ -59,7 +64,8 @@ class StandardTigrisAsyncDatabase extends AbstractTigrisDatabase implements Tigr
       ManagedChannel channel,
       Executor executor,
       ObjectMapper objectMapper,
-      ModelToJsonSchema modelToJsonSchema) {
+      ModelToJsonSchema modelToJsonSchema,
+      WriteBatcher.Registry writeBatchers) {
     super(databaseName, blockingStub);
     this.stub = stub;
     this.futureStub = futureStub;
@@ -67,6 +73,7 @@ class StandardTigrisAsyncDatabase extends AbstractTigrisDatabase implements Tigr
     this.executor = executor;
     this.objectMapper = objectMapper;
     this.modelToJsonSchema = modelToJsonSchema;
+    this.writeBatchers = writeBatchers;
   }
 
   @Override
@@ -148,6 +155,34 @@ class StandardTigrisAsyncDatabase extends AbstractTigrisDatabase implements Tigr
         db, collectionTypeClass, channel, executor, objectMapper);
   }
 
+  @Override
+  public <C extends TigrisCollectionType> TigrisAsyncCollection<C> getCollection(
+      Class<C> collectionTypeClass, WriteBatchingOptions writeBatchingOptions) {
+    return new StandardTigrisAsyncCollection<>(
+        db,
+        collectionTypeClass,
+        channel,
+        executor,
+        objectMapper,
+        Optional.of(writeBatchingOptions),
+        Optional.empty(),
+        writeBatchers);
+  }
+
+  @Override
+  public <C extends TigrisCollectionType> TigrisAsyncCollection<C> getCollection(
+      Class<C> collectionTypeClass, ReadCacheOptions readCacheOptions) {
+    return new StandardTigrisAsyncCollection<>(
+        db,
+        collectionTypeClass,
+        channel,
+        executor,
+        objectMapper,
+        Optional.empty(),
+        Optional.of(readCacheOptions),
+        writeBatchers);
+  }
+
   @Override
   public CompletableFuture<TransactionSession> beginTransaction(
       TransactionOptions transactionOptions) {
@@ -155,11 +190,60 @@ class StandardTigrisAsyncDatabase extends AbstractTigrisDatabase implements Tigr
         futureStub.beginTransaction(toBeginTransactionRequest(db, transactionOptions));
     return Utilities.transformFuture(
         beginTransactionResponseListenableFuture,
-        response -> new StandardTransactionSession(db, response.getTxCtx(), channel),
+        response -> new StandardTransactionSession(db, response.getTxCtx(), channel, executor),
         executor,
         BEGIN_TRANSACTION_FAILED);
   }
 
+  @Override
+  public <R> CompletableFuture<R> transact(
+      TransactionOptions transactionOptions,
+      Function<TransactionSession, CompletableFuture<R>> sessionFunction) {
+    return beginTransaction(transactionOptions)
+        .thenCompose(
+            session -> {
+              CompletableFuture<R> work;
+              try {
+                work = sessionFunction.apply(session);
+                if (work == null) {
+                  work =
+                      Utilities.failedFuture(
+                          new NullPointerException("Transaction function returned null"));
+                }
+              } catch (Throwable ex) {
+                work = Utilities.failedFuture(ex);
+              }
+              CompletableFuture<R> result = new CompletableFuture<>();
+              work.thenCompose(value -> session.commitAsync().thenApply(ignore -> value))
+                  .whenComplete(
+                      (value, throwable) -> {
+                        if (throwable == null) {
+                          result.complete(value);
+                          return;
+                        }
+                        Throwable cause =
+                            throwable instanceof CompletionException
+                                    && throwable.getCause() != null
+                                ? throwable.getCause()
+                                : throwable;
+                        // the rollback outcome doesn't change the failure reported to the caller
+                        session
+                            .rollbackAsync()
+                            .whenComplete(
+                                (rollbackResponse, rollbackError) ->
+                                    result.completeExceptionally(
+                                        new TigrisException(TRANSACTION_FAILED, cause)));
+                      });
+              return result;
+            });
+  }
+
+  @Override
+  public <R> CompletableFuture<R> transact(
+      Function<TransactionSession, CompletableFuture<R>> sessionFunction) {
+    return this.transact(TransactionOptions.DEFAULT_INSTANCE, sessionFunction);
+  }
+
   @Override
   public CompletableFuture<DatabaseDescription> describe() throws TigrisException {
     ListenableFuture<Api.DescribeDatabaseResponse> describeDatabaseResponseListenableFuture =
@@ -213,6 +297,16 @@ class StandardTigrisAsyncDatabase extends AbstractTigrisDatabase implements Tigr
         });
   }
 
+  @Override
+  public Publisher<StreamEvent> streamPublisher() {
+    Api.EventsRequest streamRequest = Api.EventsRequest.newBuilder().setDb(db).build();
+    return new StreamingCallPublisher<Api.EventsRequest, Api.EventsResponse, StreamEvent>(
+        observer -> stub.events(streamRequest, observer),
+        response -> StreamEvent.from(response.getEvent(), objectMapper),
+        STREAM_FAILED,
+        STREAM_CONVERT_FAILED);
+  }
+
   @Override
   public String name() {
     return db;
@@ -29,16 +29,24 @@ import com.tigrisdata.db.client.search.SearchResult;
 import com.tigrisdata.db.type.TigrisCollectionType;
 import io.grpc.StatusRuntimeException;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
 import java.util.function.Function;
+import java.util.function.LongFunction;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /** Tigris collection implementation */
 class StandardTigrisCollection<T extends TigrisCollectionType> extends AbstractTigrisCollection<T>
     implements TigrisCollection<T> {
 
+  private static final long DEFAULT_SCAN_WINDOW_SIZE = 10_000;
+
   StandardTigrisCollection(
       String databaseName,
       Class<T> collectionTypeClass,
@@ -47,6 +55,15 @@ class StandardTigrisCollection<T extends TigrisCollectionType> extends AbstractT
     super(databaseName, collectionTypeClass, stub, objectMapper);
   }
 
+  StandardTigrisCollection(
+      String databaseName,
+      Class<T> collectionTypeClass,
+      TigrisGrpc.TigrisBlockingStub stub,
+      ObjectMapper objectMapper,
+      ReadCacheOptions readCacheOptions) {
+    super(databaseName, collectionTypeClass, stub, objectMapper, Optional.of(readCacheOptions));
+  }
+
   @Override
   public Iterator<T> read(
       TigrisFilter filter, ReadFields fields, ReadRequestOptions readRequestOptions)
@@ -101,26 +118,161 @@ class StandardTigrisCollection<T extends TigrisCollectionType> extends AbstractT
     return this.read(Filters.nothing(), readFields, new ReadRequestOptions());
   }
 
+  @Override
+  public <P> Iterator<P> read(
+      TigrisFilter filter,
+      ReadFields fields,
+      ReadRequestOptions readRequestOptions,
+      Class<P> projectionType)
+      throws TigrisException {
+    try {
+      return this.openRead(filter, fields, readRequestOptions, null, decoderFor(projectionType));
+    } catch (StatusRuntimeException statusRuntimeException) {
+      throw new TigrisException(
+          READ_FAILED,
+          TypeConverter.extractTigrisError(statusRuntimeException),
+          statusRuntimeException);
+    }
+  }
+
+  @Override
+  public <P> Iterator<P> read(TigrisFilter filter, ReadFields fields, Class<P> projectionType)
+      throws TigrisException {
+    return this.read(filter, fields, new ReadRequestOptions(), projectionType);
+  }
+
+  @Override
+  public CloseableIterator<T> readIterator(
+      TigrisFilter filter, ReadFields fields, ReadRequestOptions readRequestOptions)
+      throws TigrisException {
+    return this.startCancellableRead(filter, fields, readRequestOptions);
+  }
+
+  @Override
+  public CloseableIterator<T> readIterator(TigrisFilter filter) throws TigrisException {
+    return this.readIterator(filter, ReadFields.all(), new ReadRequestOptions());
+  }
+
+  @Override
+  public Stream<T> readStream(
+      TigrisFilter filter, ReadFields fields, ReadRequestOptions readRequestOptions)
+      throws TigrisException {
+    return this.startCancellableRead(filter, fields, readRequestOptions)
+        .stream(readRequestOptions.getLimit());
+  }
+
+  @Override
+  public Stream<T> readStream(TigrisFilter filter) throws TigrisException {
+    return this.readStream(filter, ReadFields.all(), new ReadRequestOptions());
+  }
+
+  @Override
+  public Stream<T> parallelScan(
+      TigrisFilter filter, ReadFields fields, int partitions, long windowSize) {
+    if (partitions < 1 || windowSize < 1) {
+      throw new IllegalArgumentException("partitions and windowSize must be at least 1");
+    }
+    LongFunction<CloseableIterator<T>> windowReader =
+        skip ->
+            new CancellableReadIterator<>(
+                () ->
+                    this.openRead(
+                        filter, fields, new ReadRequestOptions(null, skip, windowSize), null));
+    ScanSpliterator<T> spliterator = new ScanSpliterator<>(windowReader, partitions, windowSize);
+    return StreamSupport.stream(spliterator, true).onClose(spliterator::close);
+  }
+
+  @Override
+  public <K> Stream<T> parallelScan(
+      TigrisFilter filter, ReadFields fields, String keyField, List<K> splitKeys) {
+    List<TigrisFilter> partitionFilters = new ArrayList<>(splitKeys.size() + 1);
+    for (int partition = 0; partition <= splitKeys.size(); partition++) {
+      List<TigrisFilter> conditions = new ArrayList<>(3);
+      if (!Filters.nothing().equals(filter)) {
+        conditions.add(filter);
+      }
+      if (partition > 0) {
+        conditions.add(
+            new SelectorFilter<>(
+                ComparisonOperator.GREATER_THAN_OR_EQUAL, keyField, splitKeys.get(partition - 1)));
+      }
+      if (partition < splitKeys.size()) {
+        conditions.add(
+            new SelectorFilter<>(ComparisonOperator.LESS_THAN, keyField, splitKeys.get(partition)));
+      }
+      if (conditions.isEmpty()) {
+        partitionFilters.add(filter);
+      } else if (conditions.size() == 1) {
+        partitionFilters.add(conditions.get(0));
+      } else {
+        partitionFilters.add(Filters.and(conditions.toArray(new TigrisFilter[0])));
+      }
+    }
+    ScanSpliterator<T> spliterator =
+        new ScanSpliterator<>(
+            partition ->
+                new CancellableReadIterator<>(
+                    () ->
+                        this.openRead(
+                            partitionFilters.get(partition),
+                            fields,
+                            new ReadRequestOptions(),
+                            null)),
+            partitionFilters.size());
+    return StreamSupport.stream(spliterator, true).onClose(spliterator::close);
+  }
+
+  @Override
+  public Stream<T> parallelScan(int partitions) {
+    return this.parallelScan(
+        Filters.nothing(), ReadFields.all(), partitions, DEFAULT_SCAN_WINDOW_SIZE);
+  }
+
   @Override
   public Optional<T> readOne(TigrisFilter filter) throws TigrisException {
-    return this.readOne(null, filter);
+    return this.readOneInternal(filter, null, null);
+  }
+
+  @Override
+  public Optional<T> readOne(TigrisFilter filter, Duration deadline) throws TigrisException {
+    return this.readOneInternal(filter, deadline, null);
   }
 
   @Override
   public Optional<T> readOne(TransactionSession session, TigrisFilter filter)
       throws TigrisException {
-    Iterator<T> iterator = this.read(session, filter);
+    return this.readOneInternal(filter, null, session);
+  }
+
+  @Override
+  public ReadByKeysResponse<T> readByKeys(Collection<?> keys, int maxKeysPerRequest)
+      throws TigrisException {
+    KeyLookup<T> keyLookup = new KeyLookup<>(collectionTypeClass, keys, objectMapper);
+    List<CancellableReadIterator<T>> chunks = new ArrayList<>();
+    List<T> documents = new ArrayList<>();
     try {
-      if (iterator.hasNext()) {
-        return Optional.of(iterator.next());
+      // blocking calls start on invocation, so all the chunks are in flight before any is drained
+      for (TigrisFilter filter : keyLookup.filters(maxKeysPerRequest)) {
+        chunks.add(startCancellableRead(filter, ReadFields.all(), new ReadRequestOptions()));
+      }
+      for (Iterator<T> chunk : chunks) {
+        chunk.forEachRemaining(documents::add);
       }
     } catch (StatusRuntimeException statusRuntimeException) {
       throw new TigrisException(
           READ_FAILED,
           TypeConverter.extractTigrisError(statusRuntimeException),
           statusRuntimeException);
+    } finally {
+      // cancels the chunks still in flight when one of them failed
+      chunks.forEach(CancellableReadIterator::close);
     }
-    return Optional.empty();
+    return keyLookup.toResponse(documents);
+  }
+
+  @Override
+  public ReadByKeysResponse<T> readByKeys(Collection<?> keys) throws TigrisException {
+    return this.readByKeys(keys, KeyLookup.DEFAULT_MAX_KEYS_PER_REQUEST);
   }
 
   @Override
@@ -131,7 +283,7 @@ class StandardTigrisCollection<T extends TigrisCollectionType> extends AbstractT
     try {
       Iterator<Api.SearchResponse> resp = blockingStub.search(apiSearchRequest);
       Function<SearchResponse, SearchResult<T>> converter =
-          r -> SearchResult.from(r, objectMapper, collectionTypeClass);
+          r -> TypeConverter.toSearchResult(r, options, objectMapper, collectionTypeClass);
       return Utilities.transformIterator(resp, converter);
     } catch (StatusRuntimeException statusRuntimeException) {
       throw new TigrisException(
@@ -283,4 +435,26 @@ class StandardTigrisCollection<T extends TigrisCollectionType> extends AbstractT
   public String name() {
     return collectionName;
   }
+
+  private CancellableReadIterator<T> startCancellableRead(
+      TigrisFilter filter, ReadFields fields, ReadRequestOptions readRequestOptions)
+      throws TigrisException {
+    int prefetchDepth = readRequestOptions.getPrefetchDepth();
+    try {
+      // prefetching needs a thread, only reads returned as closeable can be prefetched
+      return new CancellableReadIterator<>(
+          () ->
+              prefetchDepth > 0
+                  ? new PrefetchingIterator<>(
+                      () -> this.openRead(filter, fields, readRequestOptions, null),
+                      Function.identity(),
+                      prefetchDepth)
+                  : this.openRead(filter, fields, readRequestOptions, null));
+    } catch (StatusRuntimeException statusRuntimeException) {
+      throw new TigrisException(
+          READ_FAILED,
+          TypeConverter.extractTigrisError(statusRuntimeException),
+          statusRuntimeException);
+    }
+  }
 }
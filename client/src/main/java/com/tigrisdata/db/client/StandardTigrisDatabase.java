@@ -14,6 +14,7 @@
 package com.tigrisdata.db.client;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.util.concurrent.MoreExecutors;
 import com.tigrisdata.db.api.v1.grpc.Api;
 import com.tigrisdata.db.api.v1.grpc.TigrisGrpc;
 import static com.tigrisdata.db.client.Constants.BEGIN_TRANSACTION_FAILED;
@@ -101,6 +102,13 @@ class StandardTigrisDatabase extends AbstractTigrisDatabase implements TigrisDat
     return new StandardTigrisCollection<>(db, collectionTypeClass, blockingStub, objectMapper);
   }
 
+  @Override
+  public <C extends TigrisCollectionType> TigrisCollection<C> getCollection(
+      Class<C> collectionTypeClass, ReadCacheOptions readCacheOptions) {
+    return new StandardTigrisCollection<>(
+        db, collectionTypeClass, blockingStub, objectMapper, readCacheOptions);
+  }
+
   @Override
   public TransactionSession beginTransaction(TransactionOptions transactionOptions)
       throws TigrisException {
@@ -113,7 +121,8 @@ class StandardTigrisDatabase extends AbstractTigrisDatabase implements TigrisDat
       Api.BeginTransactionResponse beginTransactionResponse =
           blockingStub.beginTransaction(beginTransactionRequest);
       Api.TransactionCtx transactionCtx = beginTransactionResponse.getTxCtx();
-      return new StandardTransactionSession(db, transactionCtx, managedChannel);
+      return new StandardTransactionSession(
+          db, transactionCtx, managedChannel, MoreExecutors.directExecutor());
     } catch (StatusRuntimeException statusRuntimeException) {
       throw new TigrisException(
           BEGIN_TRANSACTION_FAILED,
@@ -16,34 +16,60 @@ package com.tigrisdata.db.client;
 import com.tigrisdata.db.api.v1.grpc.Api;
 import com.tigrisdata.db.api.v1.grpc.TigrisGrpc;
 import com.tigrisdata.db.client.error.TigrisException;
+import io.grpc.ClientInterceptor;
 import io.grpc.ManagedChannel;
 import io.grpc.Metadata;
 import io.grpc.StatusRuntimeException;
 import io.grpc.stub.MetadataUtils;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 /** Transactional session implementation */
 class StandardTransactionSession implements TransactionSession {
+  private static final Metadata.Key<String> TRANSACTION_ORIGIN_KEY =
+      Metadata.Key.of(Constants.TRANSACTION_HEADER_ORIGIN_KEY, Metadata.ASCII_STRING_MARSHALLER);
+  private static final Metadata.Key<String> TRANSACTION_ID_KEY =
+      Metadata.Key.of(Constants.TRANSACTION_HEADER_ID_KEY, Metadata.ASCII_STRING_MARSHALLER);
+
   private final Api.TransactionCtx transactionCtx;
   private final String databaseName;
-  private final TigrisGrpc.TigrisBlockingStub stub;
+  // transaction-scoped stubs are built once and shared by every operation of the session
+  private final TigrisGrpc.TigrisBlockingStub blockingStub;
+  private final TigrisGrpc.TigrisFutureStub futureStub;
+  private final TigrisGrpc.TigrisStub asyncStub;
+  // runs the conversion of async commit and rollback responses
+  private final Executor executor;
+  // guarded by this, deferred by the writes of this transaction until it ends
+  private final List<Runnable> commitActions = new ArrayList<>();
+  private final Set<ReadCache<?>> heldCaches = Collections.newSetFromMap(new IdentityHashMap<>());
 
   StandardTransactionSession(
-      String databaseName, Api.TransactionCtx transactionCtx, ManagedChannel managedChannel) {
+      String databaseName,
+      Api.TransactionCtx transactionCtx,
+      ManagedChannel managedChannel,
+      Executor executor) {
     this.databaseName = databaseName;
     this.transactionCtx = transactionCtx;
+    this.executor = executor;
 
     // prepare headers
     Metadata transactionHeaders = new Metadata();
-    transactionHeaders.put(
-        Metadata.Key.of(Constants.TRANSACTION_HEADER_ORIGIN_KEY, Metadata.ASCII_STRING_MARSHALLER),
-        transactionCtx.getOrigin());
-    transactionHeaders.put(
-        Metadata.Key.of(Constants.TRANSACTION_HEADER_ID_KEY, Metadata.ASCII_STRING_MARSHALLER),
-        transactionCtx.getId());
+    transactionHeaders.put(TRANSACTION_ORIGIN_KEY, transactionCtx.getOrigin());
+    transactionHeaders.put(TRANSACTION_ID_KEY, transactionCtx.getId());
+    ClientInterceptor transactionHeadersInterceptor =
+        MetadataUtils.newAttachHeadersInterceptor(transactionHeaders);
     // attach headers
-    this.stub =
-        TigrisGrpc.newBlockingStub(managedChannel)
-            .withInterceptors(MetadataUtils.newAttachHeadersInterceptor(transactionHeaders));
+    this.blockingStub =
+        TigrisGrpc.newBlockingStub(managedChannel).withInterceptors(transactionHeadersInterceptor);
+    this.futureStub =
+        TigrisGrpc.newFutureStub(managedChannel).withInterceptors(transactionHeadersInterceptor);
+    this.asyncStub =
+        TigrisGrpc.newStub(managedChannel).withInterceptors(transactionHeadersInterceptor);
   }
 
   @Override
@@ -52,14 +78,15 @@ class StandardTransactionSession implements TransactionSession {
       Api.CommitTransactionRequest commitTransactionRequest =
           Api.CommitTransactionRequest.newBuilder().setDb(databaseName).build();
       Api.CommitTransactionResponse response =
-          TypeConverter.transactionAwareStub(stub, transactionCtx)
-              .commitTransaction(commitTransactionRequest);
+          blockingStub.commitTransaction(commitTransactionRequest);
       return new CommitTransactionResponse(response.getStatus());
     } catch (StatusRuntimeException statusRuntimeException) {
       throw new TigrisException(
           Constants.COMMIT_TRANSACTION_FAILED,
           TypeConverter.extractTigrisError(statusRuntimeException),
           statusRuntimeException);
+    } finally {
+      end(true);
     }
   }
 
@@ -69,18 +96,117 @@ class StandardTransactionSession implements TransactionSession {
       Api.RollbackTransactionRequest rollbackTransactionRequest =
           Api.RollbackTransactionRequest.newBuilder().setDb(databaseName).build();
       Api.RollbackTransactionResponse response =
-          TypeConverter.transactionAwareStub(stub, transactionCtx)
-              .rollbackTransaction(rollbackTransactionRequest);
+          blockingStub.rollbackTransaction(rollbackTransactionRequest);
       return new RollbackTransactionResponse(response.getStatus());
     } catch (StatusRuntimeException statusRuntimeException) {
       throw new TigrisException(
           Constants.ROLLBACK_TRANSACTION_FAILED,
           TypeConverter.extractTigrisError(statusRuntimeException),
           statusRuntimeException);
+    } finally {
+      end(false);
+    }
+  }
+
+  @Override
+  public CompletableFuture<CommitTransactionResponse> commitAsync() {
+    return endOnCompletion(
+        Utilities.transformFuture(
+            futureStub.commitTransaction(
+                Api.CommitTransactionRequest.newBuilder().setDb(databaseName).build()),
+            response -> new CommitTransactionResponse(response.getStatus()),
+            executor,
+            Constants.COMMIT_TRANSACTION_FAILED),
+        true);
+  }
+
+  @Override
+  public CompletableFuture<RollbackTransactionResponse> rollbackAsync() {
+    return endOnCompletion(
+        Utilities.transformFuture(
+            futureStub.rollbackTransaction(
+                Api.RollbackTransactionRequest.newBuilder().setDb(databaseName).build()),
+            response -> new RollbackTransactionResponse(response.getStatus()),
+            executor,
+            Constants.ROLLBACK_TRANSACTION_FAILED),
+        false);
+  }
+
+  /**
+   * Defers the cache invalidation of a write in this transaction until it commits, other readers
+   * only see the write from then on. The cache is not filled until the transaction ends.
+   *
+   * @param readCache cache of the written collection, or null
+   * @param action invalidates the written documents
+   */
+  synchronized void onCommit(ReadCache<?> readCache, Runnable action) {
+    if (readCache != null && heldCaches.add(readCache)) {
+      readCache.hold();
     }
+    commitActions.add(action);
+  }
+
+  /**
+   * Runs the deferred invalidations and releases the held caches. They also run when the commit
+   * fails, its outcome is unknown and an invalidation is always safe.
+   *
+   * @param commit true if the transaction is being committed, false if rolled back
+   */
+  private void end(boolean commit) {
+    List<Runnable> actions;
+    List<ReadCache<?>> caches;
+    synchronized (this) {
+      actions = new ArrayList<>(commitActions);
+      caches = new ArrayList<>(heldCaches);
+      commitActions.clear();
+      heldCaches.clear();
+    }
+    if (commit) {
+      for (Runnable action : actions) {
+        action.run();
+      }
+    }
+    for (ReadCache<?> cache : caches) {
+      cache.release();
+    }
+  }
+
+  /**
+   * Ends the transaction once the commit or rollback completes, and only then completes the
+   * returned future
+   *
+   * @param future future of the commit or rollback
+   * @param commit true for a commit, false for a rollback
+   * @param <R> type of the response
+   * @return future completing like the given one
+   */
+  private <R> CompletableFuture<R> endOnCompletion(CompletableFuture<R> future, boolean commit) {
+    CompletableFuture<R> result = new CompletableFuture<>();
+    future.whenComplete(
+        (response, throwable) -> {
+          end(commit);
+          if (throwable != null) {
+            result.completeExceptionally(throwable);
+          } else {
+            result.complete(response);
+          }
+        });
+    return result;
   }
 
   Api.TransactionCtx getTransactionCtx() {
     return transactionCtx;
   }
+
+  TigrisGrpc.TigrisBlockingStub getBlockingStub() {
+    return blockingStub;
+  }
+
+  TigrisGrpc.TigrisFutureStub getFutureStub() {
+    return futureStub;
+  }
+
+  TigrisGrpc.TigrisStub getAsyncStub() {
+    return asyncStub;
+  }
 }
@@ -0,0 +1,347 @@
+/*
+ * Copyright 2022 Tigris Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tigrisdata.db.client;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.tigrisdata.db.type.TigrisCollectionType;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Shares a single event stream of a database between per-collection listeners. Events are routed
+ * by collection name before their data is decoded, events of collections nobody listens to are
+ * dropped.
+ *
+ * <p>Every listener has its own bounded queue and is called on the executor, one event at a time
+ * and in stream order. A listener that falls behind fills up its queue and then holds back the
+ * shared stream until it catches up, no event is dropped. The stream is read through a {@link
+ * ChangeStreamConsumer}, so it reconnects after failures and can be checkpointed. The events
+ * committed while it reconnects are missed, reconnect listeners are told so they can resync.
+ *
+ * <p>Usage:
+ *
+ * <pre>{@code
+ * StreamDispatcher dispatcher = StreamDispatcher.newBuilder(db).build();
+ * dispatcher.addListener(User.class, event -> cache.invalidate(event.getKey()));
+ * dispatcher.addListener(Order.class, event -> index.update(event.getDocument()));
+ * dispatcher.start();
+ * }</pre>
+ */
+public class StreamDispatcher implements AutoCloseable {
+
+  private static final Logger log = LoggerFactory.getLogger(StreamDispatcher.class);
+
+  private final Map<String, List<Listener<?>>> listeners = new ConcurrentHashMap<>();
+  private final List<Consumer<Optional<ChangeStreamCheckpoint>>> reconnectListeners =
+      new CopyOnWriteArrayList<>();
+  private final Executor executor;
+  // null if the executor was passed in by the user
+  private final ExecutorService ownedExecutor;
+  private final int queueCapacity;
+  private final ChangeStreamConsumer consumer;
+
+  public static Builder newBuilder(TigrisDatabase database) {
+    return new Builder(database);
+  }
+
+  private StreamDispatcher(Builder builder) {
+    if (builder.executor != null) {
+      this.executor = builder.executor;
+      this.ownedExecutor = null;
+    } else {
+      this.ownedExecutor =
+          Executors.newFixedThreadPool(
+              Runtime.getRuntime().availableProcessors(),
+              new ThreadFactoryBuilder()
+                  .setNameFormat("tigris-stream-dispatcher-%d")
+                  .setDaemon(true)
+                  .build());
+      this.executor = ownedExecutor;
+    }
+    this.queueCapacity = builder.queueCapacity;
+    ChangeStreamConsumer.Builder consumerBuilder =
+        ChangeStreamConsumer.newBuilder(builder.database, this::dispatch)
+            .withReconnectHandler(this::reconnected);
+    if (builder.checkpointStore != null) {
+      consumerBuilder.withCheckpointStore(builder.checkpointStore);
+    }
+    this.consumer = consumerBuilder.build();
+  }
+
+  /**
+   * Registers a listener for the changes of a collection. Listeners can be added before or after
+   * the dispatcher is started.
+   *
+   * @param collectionTypeClass type of the collection
+   * @param listener listener to call with the changes
+   * @param <T> type of the collection
+   * @return registration to remove the listener with
+   */
+  public <T extends TigrisCollectionType> Registration addListener(
+      Class<T> collectionTypeClass, Consumer<ChangeEvent<T>> listener) {
+    Listener<T> entry = new Listener<>(collectionTypeClass, listener);
+    String collectionName = Utilities.getCollectionName(collectionTypeClass);
+    listeners.computeIfAbsent(collectionName, ignore -> new CopyOnWriteArrayList<>()).add(entry);
+    return () -> listeners.get(collectionName).remove(entry);
+  }
+
+  /**
+   * Registers a listener for the changes of the given collection
+   *
+   * @param collection the collection
+   * @param listener listener to call with the changes
+   * @param <T> type of the collection
+   * @return registration to remove the listener with
+   * @see #addListener(Class, Consumer)
+   */
+  public <T extends TigrisCollectionType> Registration addListener(
+      TigrisCollection<T> collection, Consumer<ChangeEvent<T>> listener) {
+    return addListener(((AbstractTigrisCollection<T>) collection).collectionTypeClass, listener);
+  }
+
+  /**
+   * Registers a listener for the changes of the given collection
+   *
+   * @param collection the collection
+   * @param listener listener to call with the changes
+   * @param <T> type of the collection
+   * @return registration to remove the listener with
+   * @see #addListener(Class, Consumer)
+   */
+  public <T extends TigrisCollectionType> Registration addListener(
+      TigrisAsyncCollection<T> collection, Consumer<ChangeEvent<T>> listener) {
+    return addListener(((AbstractTigrisCollection<T>) collection).collectionTypeClass, listener);
+  }
+
+  /**
+   * Registers a listener for the gaps in the event stream. It is called on the stream thread once
+   * a new stream is open after events may have been missed, before any event of the new stream is
+   * dispatched.
+   *
+   * @param listener listener to call with the last event handed to the listeners, or empty if none
+   * @return registration to remove the listener with
+   * @see ChangeStreamConsumer.Builder#withReconnectHandler(Consumer)
+   */
+  public Registration addReconnectListener(Consumer<Optional<ChangeStreamCheckpoint>> listener) {
+    reconnectListeners.add(listener);
+    return () -> reconnectListeners.remove(listener);
+  }
+
+  /**
+   * Invalidates the read cache of the given collection with the changes of its collection, so
+   * writes made by other clients are not served from the cache until the entries expire. The whole
+   * cache is invalidated whenever the stream reconnects, as the changes made meanwhile are missed.
+   *
+   * @param collection collection created with {@link ReadCacheOptions}
+   * @param <T> type of the collection
+   * @return registration to stop the invalidation with
+   * @throws IllegalArgumentException if the collection has no read cache
+   */
+  public <T extends TigrisCollectionType> Registration addCacheInvalidation(
+      TigrisCollection<T> collection) {
+    return addCacheInvalidation((AbstractTigrisCollection<T>) collection);
+  }
+
+  /**
+   * Invalidates the read cache of the given collection with the changes of its collection
+   *
+   * @param collection collection created with {@link ReadCacheOptions}
+   * @param <T> type of the collection
+   * @return registration to stop the invalidation with
+   * @throws IllegalArgumentException if the collection has no read cache
+   * @see #addCacheInvalidation(TigrisCollection)
+   */
+  public <T extends TigrisCollectionType> Registration addCacheInvalidation(
+      TigrisAsyncCollection<T> collection) {
+    return addCacheInvalidation((AbstractTigrisCollection<T>) collection);
+  }
+
+  private <T extends TigrisCollectionType> Registration addCacheInvalidation(
+      AbstractTigrisCollection<T> collection) {
+    ReadCache<T> readCache = collection.readCache;
+    if (readCache == null) {
+      throw new IllegalArgumentException("collection has no read cache");
+    }
+    Registration eventRegistration =
+        addListener(
+            collection.collectionTypeClass, event -> readCache.invalidate(event.getStreamEvent()));
+    Registration reconnectRegistration =
+        addReconnectListener(checkpoint -> readCache.invalidateAll());
+    return () -> {
+      eventRegistration.remove();
+      reconnectRegistration.remove();
+    };
+  }
+
+  /**
+   * Opens the event stream
+   *
+   * @throws IOException if the checkpoint could not be loaded
+   */
+  public void start() throws IOException {
+    consumer.start();
+  }
+
+  /** Closes the event stream, and shuts down the executor unless it was passed in */
+  @Override
+  public void close() {
+    consumer.close();
+    if (ownedExecutor != null) {
+      ownedExecutor.shutdown();
+    }
+  }
+
+  private void dispatch(List<StreamEvent> events) {
+    for (StreamEvent event : events) {
+      List<Listener<?>> collectionListeners = listeners.get(event.getCollection());
+      if (collectionListeners == null) {
+        continue;
+      }
+      for (Listener<?> listener : collectionListeners) {
+        try {
+          listener.enqueue(event);
+        } catch (InterruptedException ex) {
+          // the dispatcher is closing
+          Thread.currentThread().interrupt();
+          return;
+        }
+      }
+    }
+  }
+
+  private void reconnected(Optional<ChangeStreamCheckpoint> checkpoint) {
+    for (Consumer<Optional<ChangeStreamCheckpoint>> listener : reconnectListeners) {
+      try {
+        listener.accept(checkpoint);
+      } catch (RuntimeException ex) {
+        log.warn("reconnect listener failed", ex);
+      }
+    }
+  }
+
+  /** Handle of a registered listener */
+  public interface Registration {
+    /** Removes the listener, events already queued for it are still delivered */
+    void remove();
+  }
+
+  /** Listener with its queue, drained by at most one executor task at a time */
+  private final class Listener<T extends TigrisCollectionType> {
+    private final Class<T> collectionTypeClass;
+    private final Consumer<ChangeEvent<T>> consumer;
+    private final BlockingQueue<StreamEvent> queue;
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+
+    private Listener(Class<T> collectionTypeClass, Consumer<ChangeEvent<T>> consumer) {
+      this.collectionTypeClass = collectionTypeClass;
+      this.consumer = consumer;
+      this.queue = new ArrayBlockingQueue<>(queueCapacity);
+    }
+
+    private void enqueue(StreamEvent event) throws InterruptedException {
+      queue.put(event);
+      schedule();
+    }
+
+    private void schedule() {
+      if (scheduled.compareAndSet(false, true)) {
+        executor.execute(this::drain);
+      }
+    }
+
+    private void drain() {
+      StreamEvent event;
+      while ((event = queue.poll()) != null) {
+        try {
+          consumer.accept(new ChangeEvent<>(event, collectionTypeClass));
+        } catch (RuntimeException ex) {
+          log.warn("change event listener of {} failed", collectionTypeClass.getName(), ex);
+        }
+      }
+      scheduled.set(false);
+      // an event may have been queued after the last poll but before the flag was cleared
+      if (!queue.isEmpty()) {
+        schedule();
+      }
+    }
+  }
+
+  /** Builder class for {@link StreamDispatcher} */
+  public static class Builder {
+
+    public static final int DEFAULT_QUEUE_CAPACITY = 1024;
+
+    private final TigrisDatabase database;
+    private Executor executor;
+    private int queueCapacity;
+    private CheckpointStore checkpointStore;
+
+    private Builder(TigrisDatabase database) {
+      this.database = Objects.requireNonNull(database, "database must not be null");
+      this.queueCapacity = DEFAULT_QUEUE_CAPACITY;
+    }
+
+    /**
+     * @param executor executor to call the listeners on, owned by the caller. By default the
+     *     dispatcher uses a pool of one thread per processor.
+     * @return ongoing builder
+     */
+    public Builder withExecutor(Executor executor) {
+      this.executor = executor;
+      return this;
+    }
+
+    /**
+     * @param queueCapacity maximum number of events queued per listener
+     * @return ongoing builder
+     */
+    public Builder withQueueCapacity(int queueCapacity) {
+      this.queueCapacity = queueCapacity;
+      return this;
+    }
+
+    /**
+     * @param checkpointStore store to checkpoint the shared stream in. Events are checkpointed once
+     *     they are queued for the listeners, events still queued when the process dies are not
+     *     delivered again.
+     * @return ongoing builder
+     * @see ChangeStreamConsumer
+     */
+    public Builder withCheckpointStore(CheckpointStore checkpointStore) {
+      this.checkpointStore = checkpointStore;
+      return this;
+    }
+
+    public StreamDispatcher build() {
+      if (queueCapacity < 1) {
+        throw new IllegalArgumentException("queueCapacity must be at least 1");
+      }
+      return new StreamDispatcher(this);
+    }
+  }
+}
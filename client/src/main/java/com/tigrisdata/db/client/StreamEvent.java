@@ -20,33 +20,80 @@ import java.util.StringJoiner;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.protobuf.ByteString;
 import com.tigrisdata.db.api.v1.grpc.Api;
 
+/**
+ * Database change event. Events received from the server wrap the {@link Api.StreamEvent} and
+ * decode its fields on first access, so consumers that only look at the collection and operation
+ * don't pay for copying the keys or parsing the payload. {@link #toString()} prints the data as
+ * received. {@link #equals(Object)} compares the serialized data first and parses it only when the
+ * bytes differ, so the same data serialized with other whitespace or key order is equal. {@link
+ * #hashCode()} leaves the data out and never parses it.
+ */
 public class StreamEvent {
-  private byte[] txId;
+  // source of the lazily decoded fields, null for events built through the setters
+  private final Api.StreamEvent apiEvent;
+  private final ObjectMapper objectMapper;
+  // serialized data of a server event, null once the data is set through the setter
+  private volatile ByteString rawData;
+
+  private volatile byte[] txId;
   private String collection;
   private String op;
-  private byte[] key;
-  private byte[] lKey;
-  private byte[] rKey;
-  private JsonNode data;
+  private volatile byte[] key;
+  private volatile byte[] lKey;
+  private volatile byte[] rKey;
+  private volatile JsonNode data;
   private boolean last;
 
+  /**
+   * Creates an event to fill through the setters, whose data can't be bound to a type
+   *
+   * @deprecated use {@link #StreamEvent(ObjectMapper)} with the configured object mapper
+   */
+  @Deprecated
+  public StreamEvent() {
+    this(null);
+  }
+
+  /**
+   * Creates an event to fill through the setters
+   *
+   * @param objectMapper JSON deserializer binding the event data, the one the client is configured
+   *     with
+   */
+  public StreamEvent(ObjectMapper objectMapper) {
+    this.apiEvent = null;
+    this.objectMapper = objectMapper;
+  }
+
+  private StreamEvent(Api.StreamEvent apiEvent, ObjectMapper objectMapper) {
+    this.apiEvent = apiEvent;
+    this.objectMapper = objectMapper;
+    this.rawData = apiEvent.getData();
+    this.collection = apiEvent.getCollection();
+    this.op = apiEvent.getOp();
+    this.last = apiEvent.getLast();
+  }
+
+  /**
+   * Wraps the server event. Keys and data are decoded on first access.
+   *
+   * @param apiEvent server event
+   * @param objectMapper JSON deserializer for the event data
+   * @return stream event
+   * @throws IOException never thrown since the data is decoded lazily, kept for compatibility
+   */
   public static StreamEvent from(Api.StreamEvent apiEvent, ObjectMapper objectMapper)
       throws IOException {
-    StreamEvent event = new StreamEvent();
-    event.setTxId(apiEvent.getTxId().toByteArray());
-    event.setCollection(apiEvent.getCollection());
-    event.setOp(apiEvent.getOp());
-    event.setKey(apiEvent.getKey().toByteArray());
-    event.setLKey(apiEvent.getLkey().toByteArray());
-    event.setRKey(apiEvent.getRkey().toByteArray());
-    event.setData(objectMapper.readTree(apiEvent.getData().toByteArray()));
-    event.setLast(apiEvent.getLast());
-    return event;
+    return new StreamEvent(apiEvent, objectMapper);
   }
 
   public byte[] getTxId() {
+    if (txId == null && apiEvent != null) {
+      txId = apiEvent.getTxId().toByteArray();
+    }
     return txId;
   }
 
@@ -71,6 +118,9 @@ public class StreamEvent {
   }
 
   public byte[] getKey() {
+    if (key == null && apiEvent != null) {
+      key = apiEvent.getKey().toByteArray();
+    }
     return key;
   }
 
@@ -79,6 +129,9 @@ public class StreamEvent {
   }
 
   public byte[] getLKey() {
+    if (lKey == null && apiEvent != null) {
+      lKey = apiEvent.getLkey().toByteArray();
+    }
     return lKey;
   }
 
@@ -87,6 +140,9 @@ public class StreamEvent {
   }
 
   public byte[] getRKey() {
+    if (rKey == null && apiEvent != null) {
+      rKey = apiEvent.getRkey().toByteArray();
+    }
     return rKey;
   }
 
@@ -94,12 +150,83 @@ public class StreamEvent {
     this.rKey = rKey;
   }
 
+  /**
+   * @return event data as a JSON tree, parsed on first access
+   * @throws IllegalArgumentException if the data is not valid JSON
+   */
   public JsonNode getData() {
+    ByteString raw = rawData;
+    if (data == null && raw != null) {
+      try {
+        data = objectMapper.readTree(raw.newInput());
+      } catch (IOException ex) {
+        throw new IllegalArgumentException("Failed to convert event data to JSON", ex);
+      }
+    }
     return data;
   }
 
+  /**
+   * Binds the event data to the given type. Data received from the server is read straight from
+   * the protobuf bytes, without building the JSON tree.
+   *
+   * @param type type to bind the data to
+   * @param <T> type of the data
+   * @return event data, or null if the event has no data
+   * @throws IOException if the data can't be bound to the type
+   * @throws IllegalStateException if the event was built without an object mapper
+   */
+  public <T> T getData(Class<T> type) throws IOException {
+    ByteString raw = rawData;
+    if (data == null && raw != null) {
+      if (raw.isEmpty()) {
+        return null;
+      }
+      return DocumentCodec.of(type, objectMapper).decode(raw);
+    }
+    if (data == null) {
+      return null;
+    }
+    if (objectMapper == null) {
+      throw new IllegalStateException("Event built without an object mapper can't bind its data");
+    }
+    return objectMapper.treeToValue(data, type);
+  }
+
   public void setData(JsonNode data) {
     this.data = data;
+    this.rawData = null;
+  }
+
+  /** @return serialized data, as received from the server or written from the tree that was set */
+  private ByteString rawData() {
+    ByteString raw = rawData;
+    if (raw != null) {
+      return raw;
+    }
+    JsonNode tree = data;
+    // JsonNode renders itself as compact JSON, no mapper is needed
+    return tree == null ? ByteString.EMPTY : ByteString.copyFromUtf8(tree.toString());
+  }
+
+  private boolean dataEquals(StreamEvent that) {
+    if (rawData().equals(that.rawData())) {
+      return true;
+    }
+    JsonNode tree = dataTreeOrNull();
+    return tree != null && tree.equals(that.dataTreeOrNull());
+  }
+
+  /** @return the data as a JSON tree, or null if the event has no data or it can't be parsed */
+  private JsonNode dataTreeOrNull() {
+    if (data == null && objectMapper == null) {
+      return null;
+    }
+    try {
+      return getData();
+    } catch (IllegalArgumentException ex) {
+      return null;
+    }
   }
 
   public boolean isLast() {
@@ -113,13 +240,13 @@ public class StreamEvent {
   @Override
   public String toString() {
     return new StringJoiner(", ", StreamEvent.class.getSimpleName() + "[", "]")
-        .add("txId=" + Arrays.toString(txId))
+        .add("txId=" + Arrays.toString(getTxId()))
         .add("collection='" + collection + "'")
         .add("op='" + op + "'")
-        .add("key=" + Arrays.toString(key))
-        .add("lKey=" + Arrays.toString(lKey))
-        .add("rKey=" + Arrays.toString(rKey))
-        .add("data=" + data)
+        .add("key=" + Arrays.toString(getKey()))
+        .add("lKey=" + Arrays.toString(getLKey()))
+        .add("rKey=" + Arrays.toString(getRKey()))
+        .add("data=" + rawData().toStringUtf8())
         .add("last=" + last)
         .toString();
   }
@@ -134,22 +261,23 @@ public class StreamEvent {
     }
     StreamEvent that = (StreamEvent) o;
     return last == that.last
-        && Arrays.equals(txId, that.txId)
+        && Arrays.equals(getTxId(), that.getTxId())
         && Objects.equals(collection, that.collection)
         && Objects.equals(op, that.op)
-        && Arrays.equals(key, that.key)
-        && Arrays.equals(lKey, that.lKey)
-        && Arrays.equals(rKey, that.rKey)
-        && Objects.equals(data, that.data);
+        && Arrays.equals(getKey(), that.getKey())
+        && Arrays.equals(getLKey(), that.getLKey())
+        && Arrays.equals(getRKey(), that.getRKey())
+        && dataEquals(that);
   }
 
   @Override
   public int hashCode() {
-    int result = Objects.hash(collection, op, data, last);
-    result = 31 * result + Arrays.hashCode(txId);
-    result = 31 * result + Arrays.hashCode(key);
-    result = 31 * result + Arrays.hashCode(lKey);
-    result = 31 * result + Arrays.hashCode(rKey);
+    // equal data may be serialized differently, hashing it would mean parsing it
+    int result = Objects.hash(collection, op, last);
+    result = 31 * result + Arrays.hashCode(getTxId());
+    result = 31 * result + Arrays.hashCode(getKey());
+    result = 31 * result + Arrays.hashCode(getLKey());
+    result = 31 * result + Arrays.hashCode(getRKey());
     return result;
   }
 }
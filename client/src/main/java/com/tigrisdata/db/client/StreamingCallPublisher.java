@@ -0,0 +1,246 @@
+/*
+ * Copyright 2022 Tigris Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tigrisdata.db.client;
+
+import com.tigrisdata.db.client.error.TigrisException;
+import io.grpc.StatusRuntimeException;
+import io.grpc.stub.ClientCallStreamObserver;
+import io.grpc.stub.ClientResponseObserver;
+import java.io.IOException;
+import java.util.function.Consumer;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+/**
+ * Cold {@link Publisher} over a server streaming call. Every subscription starts a new call with
+ * automatic inbound flow control disabled, and messages are only requested from the server as the
+ * subscriber signals demand, so a slow subscriber holds back the server instead of buffering the
+ * result in memory.
+ *
+ * @param <ReqT> request type
+ * @param <RespT> response type
+ * @param <T> element type
+ */
+class StreamingCallPublisher<ReqT, RespT, T> implements Publisher<T> {
+
+  private final Consumer<ClientResponseObserver<ReqT, RespT>> callStarter;
+  private final ResponseConverter<RespT, T> converter;
+  private final String errorMessage;
+  private final String conversionErrorMessage;
+
+  /**
+   * @param callStarter starts the call delivering responses to the given observer
+   * @param converter converts a response to the published element
+   * @param errorMessage message of the exception call failures are signalled with
+   * @param conversionErrorMessage message of the exception conversion failures are signalled with
+   */
+  StreamingCallPublisher(
+      Consumer<ClientResponseObserver<ReqT, RespT>> callStarter,
+      ResponseConverter<RespT, T> converter,
+      String errorMessage,
+      String conversionErrorMessage) {
+    this.callStarter = callStarter;
+    this.converter = converter;
+    this.errorMessage = errorMessage;
+    this.conversionErrorMessage = conversionErrorMessage;
+  }
+
+  @Override
+  public void subscribe(Subscriber<? super T> subscriber) {
+    if (subscriber == null) {
+      throw new NullPointerException("subscriber must not be null");
+    }
+    CallSubscription subscription = new CallSubscription(subscriber);
+    subscriber.onSubscribe(subscription);
+    subscription.start();
+  }
+
+  /**
+   * Converts a response to an element
+   *
+   * @param <F> response type
+   * @param <T> element type
+   */
+  @FunctionalInterface
+  interface ResponseConverter<F, T> {
+    T convert(F response) throws IOException;
+  }
+
+  private class CallSubscription implements Subscription, ClientResponseObserver<ReqT, RespT> {
+    private final Subscriber<? super T> subscriber;
+    private final Object lock = new Object();
+
+    private ClientCallStreamObserver<ReqT> requestStream;
+    private boolean started;
+    // demand not yet fulfilled and messages requested from the server but not yet received
+    private long demand;
+    private int inFlight;
+    private boolean cancelled;
+    private boolean terminated;
+    private Throwable failure;
+
+    private CallSubscription(Subscriber<? super T> subscriber) {
+      this.subscriber = subscriber;
+    }
+
+    private void start() {
+      Throwable earlyFailure = null;
+      synchronized (lock) {
+        if (cancelled) {
+          if (failure == null) {
+            return;
+          }
+          terminated = true;
+          earlyFailure = failure;
+        }
+      }
+      if (earlyFailure != null) {
+        subscriber.onError(earlyFailure);
+        return;
+      }
+      try {
+        callStarter.accept(this);
+      } catch (RuntimeException ex) {
+        onError(ex);
+        return;
+      }
+      boolean cancel;
+      synchronized (lock) {
+        started = true;
+        cancel = cancelled;
+        if (!cancel) {
+          requestMore();
+        }
+      }
+      if (cancel) {
+        requestStream.cancel("subscription cancelled", failure);
+      }
+    }
+
+    @Override
+    public void beforeStart(ClientCallStreamObserver<ReqT> requestStream) {
+      this.requestStream = requestStream;
+      requestStream.disableAutoRequestWithInitial(0);
+    }
+
+    @Override
+    public void request(long n) {
+      boolean cancel = false;
+      synchronized (lock) {
+        if (cancelled) {
+          return;
+        }
+        if (n <= 0) {
+          // the call is cancelled and the failure signalled once the call closes
+          failure = new IllegalArgumentException("non-positive subscription request: " + n);
+          cancelled = true;
+          cancel = started;
+        } else {
+          demand = demand + n < 0 ? Long.MAX_VALUE : demand + n;
+          if (started) {
+            requestMore();
+          }
+        }
+      }
+      if (cancel) {
+        requestStream.cancel("invalid subscription request", failure);
+      }
+    }
+
+    @Override
+    public void cancel() {
+      boolean cancel;
+      synchronized (lock) {
+        if (cancelled) {
+          return;
+        }
+        cancelled = true;
+        cancel = started;
+      }
+      if (cancel) {
+        requestStream.cancel("subscription cancelled", null);
+      }
+    }
+
+    // must be called holding the lock
+    private void requestMore() {
+      int toRequest = (int) Math.min(demand, Integer.MAX_VALUE) - inFlight;
+      if (toRequest > 0) {
+        inFlight += toRequest;
+        requestStream.request(toRequest);
+      }
+    }
+
+    @Override
+    public void onNext(RespT response) {
+      synchronized (lock) {
+        if (cancelled) {
+          return;
+        }
+        inFlight--;
+        if (demand != Long.MAX_VALUE) {
+          demand--;
+        }
+      }
+      T element;
+      try {
+        element = converter.convert(response);
+      } catch (IOException | RuntimeException ex) {
+        synchronized (lock) {
+          failure = new TigrisException(conversionErrorMessage, ex);
+          cancelled = true;
+        }
+        requestStream.cancel("conversion failed", failure);
+        return;
+      }
+      subscriber.onNext(element);
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+      Throwable toSignal;
+      synchronized (lock) {
+        if (terminated || (cancelled && failure == null)) {
+          return;
+        }
+        terminated = true;
+        toSignal = failure;
+      }
+      if (toSignal == null) {
+        if (throwable instanceof StatusRuntimeException) {
+          toSignal =
+              new TigrisException(
+                  errorMessage,
+                  TypeConverter.extractTigrisError((StatusRuntimeException) throwable),
+                  throwable);
+        } else {
+          toSignal = new TigrisException(errorMessage, throwable);
+        }
+      }
+      subscriber.onError(toSignal);
+    }
+
+    @Override
+    public void onCompleted() {
+      synchronized (lock) {
+        if (terminated || cancelled) {
+          return;
+        }
+        terminated = true;
+      }
+      subscriber.onComplete();
+    }
+  }
+}
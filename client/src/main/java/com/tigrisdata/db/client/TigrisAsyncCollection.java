@@ -14,12 +14,17 @@
 package com.tigrisdata.db.client;
 
 import com.tigrisdata.db.client.error.TigrisException;
+import com.tigrisdata.db.client.search.Hit;
 import com.tigrisdata.db.client.search.SearchRequest;
 import com.tigrisdata.db.client.search.SearchRequestOptions;
+import com.tigrisdata.db.client.search.SearchResult;
 import com.tigrisdata.db.type.TigrisCollectionType;
+import java.time.Duration;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import org.reactivestreams.Publisher;
 
 /**
  * An async Tigris collection
@@ -27,7 +32,7 @@ import java.util.concurrent.CompletableFuture;
  * @param <T> type of collection
  */
 public interface TigrisAsyncCollection<T extends TigrisCollectionType>
-    extends TransactionalCollectionOperation<T> {
+    extends TransactionalCollectionOperation<T>, AsyncTransactionalCollectionOperation<T> {
 
   /**
    * @param filter filter to narrow down read
@@ -73,15 +78,77 @@ public interface TigrisAsyncCollection<T extends TigrisCollectionType>
    */
   void readAll(ReadFields readFields, TigrisAsyncReader<T> reader);
 
+  /**
+   * Reads matching documents as a {@link Publisher}. Documents are only fetched from the server as
+   * the subscriber requests them, so a slow subscriber doesn't cause the result to pile up in
+   * memory. Every subscription performs a new read.
+   *
+   * @param filter filter to narrow down read
+   * @param fields optionally specify fields you want to be returned from server
+   * @param readRequestOptions read options
+   * @return publisher of the matching documents
+   */
+  Publisher<T> readPublisher(
+      TigrisFilter filter, ReadFields fields, ReadRequestOptions readRequestOptions);
+
+  /**
+   * Reads matching documents as a {@link Publisher}
+   *
+   * @param filter filter to narrow down read
+   * @return publisher of the matching documents
+   * @see #readPublisher(TigrisFilter, ReadFields, ReadRequestOptions)
+   */
+  Publisher<T> readPublisher(TigrisFilter filter);
+
+  /**
+   * Reads all the documents as a {@link Publisher}
+   *
+   * @return publisher of all the documents
+   * @see #readPublisher(TigrisFilter, ReadFields, ReadRequestOptions)
+   */
+  Publisher<T> readAllPublisher();
+
   /**
    * Reads a single document. This method is generally recommended for point lookup, if used for
-   * non-point lookup any arbitrary matching document will be returned.
+   * non-point lookup any arbitrary matching document will be returned. Unlike other reads, it is
+   * bounded by the configured default deadline.
    *
    * @param filter filter to read one document
    * @return a future to the document
    */
   CompletableFuture<Optional<T>> readOne(TigrisFilter filter);
 
+  /**
+   * Reads a single document, bounded by the given deadline instead of the default one
+   *
+   * @param filter filter to read one document
+   * @param deadline deadline of the read
+   * @return a future to the document
+   * @see #readOne(TigrisFilter)
+   */
+  CompletableFuture<Optional<T>> readOne(TigrisFilter filter, Duration deadline);
+
+  /**
+   * Reads the documents with the given primary keys. Keys are split into OR-filters of at most
+   * {@code maxKeysPerRequest} keys, which are read concurrently.
+   *
+   * <p>Only collections with a single primary key field are supported.
+   *
+   * @param keys primary key values to read
+   * @param maxKeysPerRequest max number of keys per read request
+   * @return a future to the documents in the order of the keys, and the keys not found
+   */
+  CompletableFuture<ReadByKeysResponse<T>> readByKeys(Collection<?> keys, int maxKeysPerRequest);
+
+  /**
+   * Reads the documents with the given primary keys, at most 100 keys per read request
+   *
+   * @param keys primary key values to read
+   * @return a future to the documents in the order of the keys, and the keys not found
+   * @see #readByKeys(Collection, int)
+   */
+  CompletableFuture<ReadByKeysResponse<T>> readByKeys(Collection<?> keys);
+
   /**
    * Search for documents in a collection. Easily perform sophisticated queries and refine results
    * using filters with advanced features like faceting and ordering.
@@ -108,6 +175,69 @@ public interface TigrisAsyncCollection<T extends TigrisCollectionType>
    */
   void search(SearchRequest request, TigrisAsyncSearchReader<T> reader);
 
+  /**
+   * Search for documents in a collection as a {@link Publisher} of result pages. Pages are only
+   * fetched from the server as the subscriber requests them. Every subscription performs a new
+   * search.
+   *
+   * @param request search request to execute
+   * @param options search pagination options
+   * @return publisher of the search result pages
+   */
+  Publisher<SearchResult<T>> searchPublisher(SearchRequest request, SearchRequestOptions options);
+
+  /**
+   * Search for documents in a collection as a {@link Publisher} of all the hits, across pages.
+   * Starting at the page of the options, the next pages are fetched while the current one is
+   * consumed, with at most {@code maxInFlightPages} pages fetched ahead of the subscriber. The
+   * publisher completes after the last page, or once all the hits the server found were emitted.
+   *
+   * @param request search request to execute
+   * @param options first page and page size
+   * @param maxInFlightPages maximum number of pages fetched ahead of the subscriber
+   * @return publisher of the hits
+   * @throws IllegalArgumentException if {@code maxInFlightPages} is not positive
+   */
+  Publisher<Hit<T>> searchHitsPublisher(
+      SearchRequest request, SearchRequestOptions options, int maxInFlightPages);
+
+  /**
+   * Search for documents in a collection as a {@link Publisher} of all the hits, fetching one page
+   * ahead of the subscriber
+   *
+   * @param request search request to execute
+   * @param options first page and page size
+   * @return publisher of the hits
+   * @see #searchHitsPublisher(SearchRequest, SearchRequestOptions, int)
+   */
+  Publisher<Hit<T>> searchHitsPublisher(SearchRequest request, SearchRequestOptions options);
+
+  /**
+   * Search for documents in a collection and iterate over all the hits, across pages. The next
+   * pages are fetched in the background while the current one is consumed.
+   *
+   * @param request search request to execute
+   * @param options first page and page size
+   * @param maxInFlightPages maximum number of pages fetched ahead of the consumer
+   * @return iterator over the hits, close it to stop early
+   * @throws IllegalArgumentException if the page size or {@code maxInFlightPages} is not positive
+   * @see #searchHitsPublisher(SearchRequest, SearchRequestOptions, int)
+   */
+  SearchIterator<T> searchIterator(
+      SearchRequest request, SearchRequestOptions options, int maxInFlightPages);
+
+  /**
+   * Search for documents in a collection and iterate over all the hits, fetching one page ahead of
+   * the consumer
+   *
+   * @param request search request to execute
+   * @param options first page and page size
+   * @return iterator over the hits, close it to stop early
+   * @throws IllegalArgumentException if the page size is not positive
+   * @see #searchIterator(SearchRequest, SearchRequestOptions, int)
+   */
+  SearchIterator<T> searchIterator(SearchRequest request, SearchRequestOptions options);
+
   /**
    * Inserts documents into collection
    *
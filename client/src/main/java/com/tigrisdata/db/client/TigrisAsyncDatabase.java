@@ -19,7 +19,9 @@ import com.tigrisdata.db.type.TigrisCollectionType;
 import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
 import java.util.function.Predicate;
+import org.reactivestreams.Publisher;
 
 /** Tigris async database */
 public interface TigrisAsyncDatabase {
@@ -72,9 +74,43 @@ public interface TigrisAsyncDatabase {
   <C extends TigrisCollectionType> TigrisAsyncCollection<C> getCollection(
       Class<C> collectionTypeClass);
 
+  /**
+   * Return an instance of {@link TigrisAsyncCollection} that coalesces concurrent single-document
+   * writes into batch requests
+   *
+   * @param collectionTypeClass Class type of the collection
+   * @param writeBatchingOptions batching options
+   * @param <C> type of the collection that is of type {@link TigrisCollectionType}
+   * @return an instance of {@link TigrisAsyncCollection}
+   * @see WriteBatchingOptions
+   */
+  <C extends TigrisCollectionType> TigrisAsyncCollection<C> getCollection(
+      Class<C> collectionTypeClass, WriteBatchingOptions writeBatchingOptions);
+
+  /**
+   * Return an instance of {@link TigrisAsyncCollection} that caches point lookups by primary
+   * key. Each call creates a new cache, only writes through the returned instance invalidate it.
+   *
+   * @param collectionTypeClass Class type of the collection
+   * @param readCacheOptions cache options
+   * @param <C> type of the collection that is of type {@link TigrisCollectionType}
+   * @return an instance of {@link TigrisAsyncCollection}
+   * @see ReadCacheOptions
+   */
+  <C extends TigrisCollectionType> TigrisAsyncCollection<C> getCollection(
+      Class<C> collectionTypeClass, ReadCacheOptions readCacheOptions);
+
   /** @param streamer streamer callback */
   void stream(TigrisAsyncStreamer streamer);
 
+  /**
+   * Streams the database events as a {@link Publisher}. Events are only fetched from the server as
+   * the subscriber requests them. Every subscription opens a new event stream.
+   *
+   * @return publisher of the database events
+   */
+  Publisher<StreamEvent> streamPublisher();
+
   /**
    * Begins the transaction on current database
    *
@@ -83,6 +119,37 @@ public interface TigrisAsyncDatabase {
    */
   CompletableFuture<TransactionSession> beginTransaction(TransactionOptions transactionOptions);
 
+  /**
+   * Performs batch of operations in a transaction without blocking the calling thread. The function
+   * receives the session to perform the operations with and returns a future that completes when
+   * they are done. The transaction is committed once that future completes successfully, and rolled
+   * back if it completes exceptionally, the function throws or returns null, or the commit fails.
+   * In that case the returned future completes exceptionally with a {@link TigrisException}.
+   *
+   * <p>Usage:
+   *
+   * <pre>{@code
+   * db.transact(session -> collection.insertAsync(session, new User(1, "Name")));
+   * }</pre>
+   *
+   * @param transactionOptions options
+   * @param tx function performing the operations in the transaction
+   * @param <R> result type
+   * @return the future to the result of the function, completed after commit
+   */
+  <R> CompletableFuture<R> transact(
+      TransactionOptions transactionOptions, Function<TransactionSession, CompletableFuture<R>> tx);
+
+  /**
+   * Performs batch of operations in a transaction with default transaction options
+   *
+   * @param tx function performing the operations in the transaction
+   * @param <R> result type
+   * @return the future to the result of the function, completed after commit
+   * @see #transact(TransactionOptions, Function)
+   */
+  <R> CompletableFuture<R> transact(Function<TransactionSession, CompletableFuture<R>> tx);
+
   /**
    * @return the future to the {@link DatabaseDescription} containing description of database.
    * @throws TigrisException in case of an error.
@@ -19,9 +19,12 @@ import com.tigrisdata.db.client.search.SearchRequestOptions;
 import com.tigrisdata.db.client.search.SearchResult;
 import com.tigrisdata.db.type.TigrisCollectionType;
 
+import java.time.Duration;
+import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Tigris collection
@@ -35,7 +38,8 @@ public interface TigrisCollection<T extends TigrisCollectionType>
    * @param filter filter to narrow down read
    * @param fields optionally specify fields you want to be returned from server
    * @param readRequestOptions read options
-   * @return stream of documents
+   * @return stream of documents, never prefetched, see {@link #readIterator(TigrisFilter,
+   *     ReadFields, ReadRequestOptions)}
    * @throws TigrisException in case of an error
    */
   Iterator<T> read(TigrisFilter filter, ReadFields fields, ReadRequestOptions readRequestOptions)
@@ -86,9 +90,154 @@ public interface TigrisCollection<T extends TigrisCollectionType>
    */
   Iterator<T> readAll(ReadFields readFields) throws TigrisException;
 
+  /**
+   * Reads matching documents into a projection type instead of the collection type. The projection
+   * is a class or record with the fields selected by {@code fields}, so the documents are bound to
+   * a fraction of the collection type. Pass {@link com.fasterxml.jackson.databind.JsonNode} to read
+   * JSON trees, or {@code byte[]} to read the raw JSON of every document without any binding.
+   *
+   * @param filter filter to narrow down read
+   * @param fields fields to read, usually the fields of the projection type
+   * @param readRequestOptions read options
+   * @param projectionType type to decode documents into
+   * @param <P> projection type
+   * @return stream of projected documents
+   * @throws TigrisException in case of an error
+   */
+  <P> Iterator<P> read(
+      TigrisFilter filter,
+      ReadFields fields,
+      ReadRequestOptions readRequestOptions,
+      Class<P> projectionType)
+      throws TigrisException;
+
+  /**
+   * Reads matching documents into a projection type instead of the collection type
+   *
+   * @param filter filter to narrow down read
+   * @param fields fields to read, usually the fields of the projection type
+   * @param projectionType type to decode documents into
+   * @param <P> projection type
+   * @return stream of projected documents
+   * @throws TigrisException in case of an error
+   * @see #read(TigrisFilter, ReadFields, ReadRequestOptions, Class)
+   */
+  <P> Iterator<P> read(TigrisFilter filter, ReadFields fields, Class<P> projectionType)
+      throws TigrisException;
+
+  /**
+   * Reads matching documents into an iterator that cancels the read when closed. Documents are
+   * decoded as they are taken, or ahead of the consumer when {@link
+   * ReadRequestOptions#setPrefetchDepth(int) prefetching} is enabled. Close the iterator to stop a
+   * read that is not consumed to the end.
+   *
+   * @param filter filter to narrow down read
+   * @param fields optionally specify fields you want to be returned from server
+   * @param readRequestOptions read options
+   * @return closeable iterator of documents
+   * @throws TigrisException in case of an error
+   */
+  CloseableIterator<T> readIterator(
+      TigrisFilter filter, ReadFields fields, ReadRequestOptions readRequestOptions)
+      throws TigrisException;
+
+  /**
+   * Reads matching documents into an iterator that cancels the read when closed
+   *
+   * @param filter filter to narrow down read
+   * @return closeable iterator of documents
+   * @throws TigrisException in case of an error
+   * @see #readIterator(TigrisFilter, ReadFields, ReadRequestOptions)
+   */
+  CloseableIterator<T> readIterator(TigrisFilter filter) throws TigrisException;
+
+  /**
+   * Reads matching documents as a sequential {@link Stream}. Closing the stream cancels the read,
+   * use try-with-resources when the stream may not be consumed to the end, e.g. with {@code
+   * findFirst()}. Set a limit in {@code readRequestOptions} so the server stops early, the limit
+   * also bounds the size estimate of the stream.
+   *
+   * @param filter filter to narrow down read
+   * @param fields optionally specify fields you want to be returned from server
+   * @param readRequestOptions read options
+   * @return stream of documents
+   * @throws TigrisException in case of an error
+   */
+  Stream<T> readStream(
+      TigrisFilter filter, ReadFields fields, ReadRequestOptions readRequestOptions)
+      throws TigrisException;
+
+  /**
+   * Reads matching documents as a sequential {@link Stream}
+   *
+   * @param filter filter to narrow down read
+   * @return stream of documents
+   * @throws TigrisException in case of an error
+   * @see #readStream(TigrisFilter, ReadFields, ReadRequestOptions)
+   */
+  Stream<T> readStream(TigrisFilter filter) throws TigrisException;
+
+  /**
+   * Scans the documents matching a filter as a parallel {@link Stream}. The scan is split into
+   * {@code partitions} partitions of skip/limit windows of {@code windowSize} documents, every
+   * thread of the stream drains the read streams of its own partitions. The stream is unordered.
+   *
+   * <p>Every window is a separate read, so the windows don't share a common snapshot. Documents
+   * inserted or deleted while the scan runs shift the windows after them: the scan may return a
+   * document twice or skip it. The server walks past the skipped documents of every window, so the
+   * cost of a window grows with its offset and the cost of the scan with the square of its size.
+   * Scan large collections by {@link #parallelScan(TigrisFilter, ReadFields, String, List) key
+   * ranges} instead.
+   *
+   * <p>Read errors are thrown by the stream operations as {@link
+   * io.grpc.StatusRuntimeException}, as they are by the iterators returned from {@code read()}.
+   * Closing the stream cancels the windows still open, use try-with-resources when the stream may
+   * not be consumed to the end.
+   *
+   * @param filter filters documents to read
+   * @param fields fields to read
+   * @param partitions number of partitions, at most as many read streams are open at once
+   * @param windowSize number of documents per read request
+   * @return parallel stream of the documents
+   */
+  Stream<T> parallelScan(TigrisFilter filter, ReadFields fields, int partitions, long windowSize);
+
+  /**
+   * Scans the documents matching a filter as a parallel {@link Stream}, split into ranges of a key
+   * field, typically the primary key. The split keys, in ascending order, bound the ranges: the
+   * first partition reads the documents below the first split key, partition {@code i} the
+   * documents from split key {@code i - 1} up to split key {@code i}, and the last one the
+   * documents from the last split key on. Each partition is a single read stream, the server never
+   * walks past documents of other partitions. The stream is unordered.
+   *
+   * <p>Every partition is a separate read, so the partitions don't share a common snapshot. A
+   * document whose key is changed while the scan runs may be returned twice or skipped. Read errors
+   * are thrown by the stream operations as {@link io.grpc.StatusRuntimeException}. Closing the
+   * stream cancels the reads still open.
+   *
+   * @param filter filters documents to read
+   * @param fields fields to read
+   * @param keyField field the partitions are ranges of
+   * @param splitKeys keys splitting the ranges, in ascending order
+   * @param <K> type of the key field
+   * @return parallel stream of the documents
+   */
+  <K> Stream<T> parallelScan(
+      TigrisFilter filter, ReadFields fields, String keyField, List<K> splitKeys);
+
+  /**
+   * Scans all the documents as a parallel {@link Stream}, 10,000 documents per read request
+   *
+   * @param partitions number of partitions
+   * @return parallel stream of all the documents
+   * @see #parallelScan(TigrisFilter, ReadFields, int, long)
+   */
+  Stream<T> parallelScan(int partitions);
+
   /**
    * Reads a single document. This method is generally recommended for point lookup, if used for
-   * non-point lookup any arbitrary matching document will be returned.
+   * non-point lookup any arbitrary matching document will be returned. Unlike other reads, it is
+   * bounded by the configured default deadline.
    *
    * @param filter filters documents to read
    * @return Optional of document.
@@ -96,6 +245,41 @@ public interface TigrisCollection<T extends TigrisCollectionType>
    */
   Optional<T> readOne(TigrisFilter filter) throws TigrisException;
 
+  /**
+   * Reads a single document, bounded by the given deadline instead of the default one
+   *
+   * @param filter filters documents to read
+   * @param deadline deadline of the read
+   * @return Optional of document.
+   * @throws TigrisException in case of an error
+   * @see #readOne(TigrisFilter)
+   */
+  Optional<T> readOne(TigrisFilter filter, Duration deadline) throws TigrisException;
+
+  /**
+   * Reads the documents with the given primary keys. Keys are split into OR-filters of at most
+   * {@code maxKeysPerRequest} keys, which are read concurrently.
+   *
+   * <p>Only collections with a single primary key field are supported.
+   *
+   * @param keys primary key values to read
+   * @param maxKeysPerRequest max number of keys per read request
+   * @return documents in the order of the keys, and the keys not found
+   * @throws TigrisException in case of an error
+   */
+  ReadByKeysResponse<T> readByKeys(Collection<?> keys, int maxKeysPerRequest)
+      throws TigrisException;
+
+  /**
+   * Reads the documents with the given primary keys, at most 100 keys per read request
+   *
+   * @param keys primary key values to read
+   * @return documents in the order of the keys, and the keys not found
+   * @throws TigrisException in case of an error
+   * @see #readByKeys(Collection, int)
+   */
+  ReadByKeysResponse<T> readByKeys(Collection<?> keys) throws TigrisException;
+
   /**
    * Search for documents in a collection. Easily perform sophisticated queries and refine results
    * using filters with advanced features like faceting and ordering.
@@ -77,6 +77,19 @@ public interface TigrisDatabase {
    */
   <C extends TigrisCollectionType> TigrisCollection<C> getCollection(Class<C> collectionTypeClass);
 
+  /**
+   * Return an instance of {@link TigrisCollection} that caches point lookups by primary key. Each
+   * call creates a new cache, only writes through the returned instance invalidate it.
+   *
+   * @param collectionTypeClass Class type of the collection
+   * @param readCacheOptions cache options
+   * @param <C> type of the collection that is of type {@link TigrisCollectionType}
+   * @return an instance of {@link TigrisCollection}
+   * @see ReadCacheOptions
+   */
+  <C extends TigrisCollectionType> TigrisCollection<C> getCollection(
+      Class<C> collectionTypeClass, ReadCacheOptions readCacheOptions);
+
   /**
    * Begins the transaction on current database
    *
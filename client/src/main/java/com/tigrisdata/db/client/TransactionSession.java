@@ -14,6 +14,7 @@
 package com.tigrisdata.db.client;
 
 import com.tigrisdata.db.client.error.TigrisException;
+import java.util.concurrent.CompletableFuture;
 
 /** Transaction Session */
 public interface TransactionSession {
@@ -32,4 +33,18 @@ public interface TransactionSession {
    * @throws TigrisException in case of an error
    */
   RollbackTransactionResponse rollback() throws TigrisException;
+
+  /**
+   * Commits the current ongoing transaction without blocking the calling thread
+   *
+   * @return the future to the {@link CommitTransactionResponse} from server
+   */
+  CompletableFuture<CommitTransactionResponse> commitAsync();
+
+  /**
+   * Rolls back the current ongoing transaction without blocking the calling thread
+   *
+   * @return the future to the {@link RollbackTransactionResponse} from server
+   */
+  CompletableFuture<RollbackTransactionResponse> rollbackAsync();
 }
@@ -22,14 +22,13 @@ import com.google.protobuf.InvalidProtocolBufferException;
 import com.google.rpc.ErrorInfo;
 import com.google.rpc.RetryInfo;
 import com.tigrisdata.db.api.v1.grpc.Api;
-import com.tigrisdata.db.api.v1.grpc.TigrisGrpc;
 import com.tigrisdata.db.client.error.TigrisError;
 import com.tigrisdata.db.client.error.TigrisException;
 import com.tigrisdata.db.client.search.SearchRequest;
 import com.tigrisdata.db.client.search.SearchRequestOptions;
-import io.grpc.Metadata;
+import com.tigrisdata.db.client.search.SearchResult;
+import com.tigrisdata.db.type.TigrisCollectionType;
 import io.grpc.StatusRuntimeException;
-import io.grpc.stub.MetadataUtils;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Iterator;
@@ -91,21 +90,6 @@ final class TypeConverter {
     }
   }
 
-  public static TigrisGrpc.TigrisBlockingStub transactionAwareStub(
-      TigrisGrpc.TigrisBlockingStub blockingStub, Api.TransactionCtx transactionCtx) {
-    // prepare headers
-    Metadata transactionHeaders = new Metadata();
-    transactionHeaders.put(
-        Metadata.Key.of(Constants.TRANSACTION_HEADER_ORIGIN_KEY, Metadata.ASCII_STRING_MARSHALLER),
-        transactionCtx.getOrigin());
-    transactionHeaders.put(
-        Metadata.Key.of(Constants.TRANSACTION_HEADER_ID_KEY, Metadata.ASCII_STRING_MARSHALLER),
-        transactionCtx.getId());
-    // attach headers
-    return blockingStub.withInterceptors(
-        MetadataUtils.newAttachHeadersInterceptor(transactionHeaders));
-  }
-
   public static ReadRequestOptions readOneDefaultReadRequestOptions() {
     ReadRequestOptions readRequestOptions = new ReadRequestOptions();
     readRequestOptions.setLimit(1L);
@@ -147,7 +131,7 @@ final class TypeConverter {
         Api.ReadRequest.newBuilder()
             .setDb(databaseName)
             .setCollection(collectionName)
-            .setFilter(ByteString.copyFromUtf8(filter.toJSON(objectMapper)))
+            .setFilter(toByteString(filter, objectMapper))
             .setOptions(readRequestOptionsAPI);
     if (!fields.isEmpty()) {
       readRequestBuilder.setFields(ByteString.copyFromUtf8(fields.toJSON(objectMapper)));
@@ -170,7 +154,7 @@ final class TypeConverter {
       builder.addAllSearchFields(req.getSearchFields().getFields());
     }
     if (Objects.nonNull(req.getFilter())) {
-      builder.setFilter(ByteString.copyFromUtf8(req.getFilter().toJSON(objectMapper)));
+      builder.setFilter(toByteString(req.getFilter(), objectMapper));
     }
     if (Objects.nonNull(req.getFacetQuery())) {
       builder.setFacet(ByteString.copyFromUtf8(req.getFacetQuery().toJSON(objectMapper)));
@@ -188,26 +172,54 @@ final class TypeConverter {
     return builder.build();
   }
 
+  public static <T extends TigrisCollectionType> SearchResult<T> toSearchResult(
+      Api.SearchResponse response,
+      SearchRequestOptions options,
+      ObjectMapper objectMapper,
+      Class<T> collectionTypeClass) {
+    if (Objects.nonNull(options) && options.isLazyHits()) {
+      return SearchResult.lazyFrom(response, objectMapper, collectionTypeClass);
+    }
+    return SearchResult.from(response, objectMapper, collectionTypeClass);
+  }
+
   public static <T> Api.InsertRequest toInsertRequest(
       String databaseName,
       String collectionName,
       List<T> documents,
       InsertRequestOptions insertRequestOptions,
-      ObjectMapper objectMapper)
+      DocumentCodec<T> documentCodec)
       throws JsonProcessingException {
-    Api.InsertRequest.Builder insertRequestBuilder =
-        Api.InsertRequest.newBuilder()
-            .setDb(databaseName)
-            .setCollection(collectionName)
-            .setOptions(
-                Api.InsertRequestOptions.newBuilder()
-                    .setWriteOptions(toWriteOptions(insertRequestOptions.getWriteOptions()))
-                    .build());
+    return toInsertRequest(
+        databaseName,
+        collectionName,
+        toByteStrings(documents, documentCodec),
+        insertRequestOptions);
+  }
+
+  static Api.InsertRequest toInsertRequest(
+      String databaseName,
+      String collectionName,
+      List<ByteString> documents,
+      InsertRequestOptions insertRequestOptions) {
+    return Api.InsertRequest.newBuilder()
+        .setDb(databaseName)
+        .setCollection(collectionName)
+        .setOptions(
+            Api.InsertRequestOptions.newBuilder()
+                .setWriteOptions(toWriteOptions(insertRequestOptions.getWriteOptions()))
+                .build())
+        .addAllDocuments(documents)
+        .build();
+  }
+
+  static <T> List<ByteString> toByteStrings(List<T> documents, DocumentCodec<T> documentCodec)
+      throws JsonProcessingException {
+    List<ByteString> result = new ArrayList<>(documents.size());
     for (T document : documents) {
-      insertRequestBuilder.addDocuments(
-          ByteString.copyFromUtf8(objectMapper.writeValueAsString(document)));
+      result.add(documentCodec.encode(document));
     }
-    return insertRequestBuilder.build();
+    return result;
   }
 
   public static Map<String, Object>[] toArrayOfMap(
@@ -246,22 +258,29 @@ final class TypeConverter {
       String collectionName,
       List<T> documents,
       InsertOrReplaceRequestOptions insertOrReplaceRequestOptions,
-      ObjectMapper objectMapper)
+      DocumentCodec<T> documentCodec)
       throws JsonProcessingException {
-    Api.ReplaceRequest.Builder replaceRequestBuilder =
-        Api.ReplaceRequest.newBuilder()
-            .setDb(databaseName)
-            .setCollection(collectionName)
-            .setOptions(
-                Api.ReplaceRequestOptions.newBuilder()
-                    .setWriteOptions(
-                        toWriteOptions(insertOrReplaceRequestOptions.getWriteOptions()))
-                    .build());
-    for (T document : documents) {
-      replaceRequestBuilder.addDocuments(
-          ByteString.copyFromUtf8(objectMapper.writeValueAsString(document)));
-    }
-    return replaceRequestBuilder.build();
+    return toReplaceRequest(
+        databaseName,
+        collectionName,
+        toByteStrings(documents, documentCodec),
+        insertOrReplaceRequestOptions);
+  }
+
+  static Api.ReplaceRequest toReplaceRequest(
+      String databaseName,
+      String collectionName,
+      List<ByteString> documents,
+      InsertOrReplaceRequestOptions insertOrReplaceRequestOptions) {
+    return Api.ReplaceRequest.newBuilder()
+        .setDb(databaseName)
+        .setCollection(collectionName)
+        .setOptions(
+            Api.ReplaceRequestOptions.newBuilder()
+                .setWriteOptions(toWriteOptions(insertOrReplaceRequestOptions.getWriteOptions()))
+                .build())
+        .addAllDocuments(documents)
+        .build();
   }
 
   public static Api.UpdateRequest toUpdateRequest(
@@ -275,8 +294,8 @@ final class TypeConverter {
     return Api.UpdateRequest.newBuilder()
         .setDb(databaseName)
         .setCollection(collectionName)
-        .setFilter(ByteString.copyFromUtf8(filter.toJSON(objectMapper)))
-        .setFields(ByteString.copyFromUtf8(updateFields.toJSON(objectMapper)))
+        .setFilter(toByteString(filter, objectMapper))
+        .setFields(updateFields.toByteString(objectMapper))
         .setOptions(
             Api.UpdateRequestOptions.newBuilder()
                 .setWriteOptions(toWriteOptions(updateRequestOptions.getWriteOptions()))
@@ -293,7 +312,7 @@ final class TypeConverter {
     return Api.DeleteRequest.newBuilder()
         .setDb(databaseName)
         .setCollection(collectionName)
-        .setFilter(ByteString.copyFromUtf8(filter.toJSON(objectMapper)))
+        .setFilter(toByteString(filter, objectMapper))
         .setOptions(
             Api.DeleteRequestOptions.newBuilder()
                 .setWriteOptions(toWriteOptions(deleteRequestOptions.getWriteOptions()))
@@ -350,10 +369,21 @@ final class TypeConverter {
     return extract(statusRuntimeException, RetryInfo.class);
   }
 
+  private static ByteString toByteString(TigrisFilter filter, ObjectMapper objectMapper) {
+    // compiled filters render straight into bytes
+    if (filter instanceof CompiledFilter.BoundFilter) {
+      return ((CompiledFilter.BoundFilter) filter).toByteString(objectMapper);
+    }
+    return ByteString.copyFromUtf8(filter.toJSON(objectMapper));
+  }
+
   private static <T> Optional<T> extract(
       StatusRuntimeException statusRuntimeException, Class clazz) {
     com.google.rpc.Status status =
         io.grpc.protobuf.StatusProto.fromThrowable(statusRuntimeException);
+    if (status == null) {
+      return Optional.empty();
+    }
     for (Any any : status.getDetailsList()) {
       if (any.is(clazz)) {
         try {
@@ -2,6 +2,7 @@ package com.tigrisdata.db.client;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.protobuf.ByteString;
 
 import java.util.LinkedHashMap;
 import java.util.Map;
@@ -14,12 +15,53 @@ import java.util.UUID;
 public final class UpdateFields {
   private final Map<String, Object> internalMap;
   private static final String SET_OPERATOR = "$set";
+  // null unless built with bind parameters
+  private final JsonTemplate template;
+  // null unless bound
+  private final Object[] values;
 
   private UpdateFields(UpdateFieldsBuilder builder) {
     this.internalMap = builder.map;
+    this.template = builder.hasParams ? new JsonTemplate(this::toJSON) : null;
+    this.values = null;
+  }
+
+  private UpdateFields(UpdateFields template, Object[] values) {
+    this.internalMap = template.internalMap;
+    this.template = template.template;
+    this.values = values;
+  }
+
+  /**
+   * Binds values to the parameters of update fields built with {@link Filters#param(int)}. The
+   * template is serialized once, binding only serializes the values.
+   *
+   * @param values one value per parameter, by parameter index
+   * @return the update fields with the values bound
+   * @throws IllegalStateException if these update fields have no parameters
+   */
+  public UpdateFields bind(Object... values) {
+    if (template == null || this.values != null) {
+      throw new IllegalStateException("UpdateFields has no parameters to bind");
+    }
+    return new UpdateFields(this, values.clone());
+  }
+
+  /**
+   * @param objectMapper JSON serializer
+   * @return the JSON of these update fields as request bytes
+   */
+  ByteString toByteString(ObjectMapper objectMapper) {
+    if (values != null) {
+      return template.render(objectMapper, values);
+    }
+    return ByteString.copyFromUtf8(toJSON(objectMapper));
   }
 
   public String toJSON(ObjectMapper objectMapper) {
+    if (values != null) {
+      return template.render(objectMapper, values).toStringUtf8();
+    }
     try {
       return objectMapper.writeValueAsString(internalMap);
     } catch (JsonProcessingException jsonProcessingException) {
@@ -38,6 +80,7 @@ public final class UpdateFields {
   public static class UpdateFieldsBuilder {
     private final Map<String, Object> map;
     private final Map<String, Object> setMap;
+    private boolean hasParams;
 
     private UpdateFieldsBuilder() {
       this.map = new LinkedHashMap<>();
@@ -79,6 +122,19 @@ public final class UpdateFields {
       return this;
     }
 
+    /**
+     * Sets a field to a bind parameter, bound with {@link UpdateFields#bind(Object...)}
+     *
+     * @param fieldName field to set
+     * @param param bind parameter
+     * @return this builder
+     */
+    public UpdateFieldsBuilder set(String fieldName, Param param) {
+      setMap.put(fieldName, param);
+      hasParams = true;
+      return this;
+    }
+
     public UpdateFields build() {
       if (!setMap.isEmpty()) {
         this.map.put(SET_OPERATOR, setMap);
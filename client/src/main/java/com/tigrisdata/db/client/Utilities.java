@@ -18,12 +18,17 @@ import com.google.common.reflect.ClassPath;
 import com.google.common.util.concurrent.FutureCallback;
 import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.google.protobuf.Timestamp;
 import com.tigrisdata.db.annotation.TigrisCollection;
 import com.tigrisdata.db.annotation.TigrisPrimaryKey;
+import com.tigrisdata.db.client.config.TigrisConfiguration;
 import com.tigrisdata.db.client.error.TigrisException;
 import com.tigrisdata.db.type.TigrisCollectionType;
 import io.grpc.StatusRuntimeException;
+import io.grpc.stub.AbstractStub;
+import java.time.Duration;
 import java.time.Instant;
 import java.util.Objects;
 import org.atteo.evo.inflector.English;
@@ -39,7 +44,12 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.function.BiConsumer;
 import java.util.function.Function;
 import java.util.function.Predicate;
@@ -195,6 +205,20 @@ final class Utilities {
     return result;
   }
 
+  /**
+   * Returns a future that is already completed exceptionally, the equivalent of the Java 9 {@code
+   * CompletableFuture.failedFuture}
+   *
+   * @param throwable cause of the failure
+   * @param <T> type of the future
+   * @return failed future
+   */
+  static <T> CompletableFuture<T> failedFuture(Throwable throwable) {
+    CompletableFuture<T> result = new CompletableFuture<>();
+    result.completeExceptionally(throwable);
+    return result;
+  }
+
   /**
    * Converts a {@code protobuf.Timestamp} to {@link Instant}
    *
@@ -207,6 +231,55 @@ final class Utilities {
     return Instant.ofEpochSecond(ts.getSeconds(), ts.getNanos());
   }
 
+  /**
+   * Applies the per operation deadline to the stub, if one is specified
+   *
+   * @param stub stub to use for the operation
+   * @param deadline deadline of the operation, or null to keep the stub as is
+   * @param <S> stub type
+   * @return stub bounded by the deadline
+   */
+  static <S extends AbstractStub<S>> S withDeadline(S stub, Duration deadline) {
+    if (deadline == null) {
+      return stub;
+    }
+    return stub.withDeadlineAfter(deadline.toMillis(), TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Creates the executor async clients run response conversions on
+   *
+   * @param executorConfig executor strategy
+   * @return a new executor, owned by the caller
+   * @throws IllegalStateException if virtual threads are requested on a JDK older than 21
+   */
+  static ExecutorService newCallbackExecutor(TigrisConfiguration.ExecutorConfig executorConfig) {
+    switch (executorConfig.getType()) {
+      case DIRECT:
+        return MoreExecutors.newDirectExecutorService();
+      case VIRTUAL_THREADS:
+        try {
+          // looked up reflectively, the client is compiled for Java 8
+          return (ExecutorService)
+              Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException ex) {
+          throw new IllegalStateException("Virtual threads require JDK 21 or later", ex);
+        }
+      case BOUNDED_POOL:
+      default:
+        return new ThreadPoolExecutor(
+            executorConfig.getThreads(),
+            executorConfig.getThreads(),
+            0L,
+            TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(executorConfig.getQueueCapacity()),
+            new ThreadFactoryBuilder().setNameFormat("tigris-callback-%d").setDaemon(true).build(),
+            // unlike CallerRunsPolicy, also runs the task once the pool is shut down, a dropped
+            // callback would leave its future incomplete forever
+            (task, pool) -> task.run());
+    }
+  }
+
   static class ConvertedIterator<F, T> implements Iterator<T> {
 
     private final Iterator<F> sourceIterator;
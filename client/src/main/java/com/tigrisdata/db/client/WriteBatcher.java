@@ -0,0 +1,323 @@
+/*
+ * Copyright 2022 Tigris Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tigrisdata.db.client;
+
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.protobuf.ByteString;
+import com.google.protobuf.Timestamp;
+import com.tigrisdata.db.client.error.TigrisException;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Coalesces encoded documents of concurrent write calls into batches and hands each caller the
+ * keys of its own documents once the batch request completes. A batch of several calls that the
+ * server rejects for its content is sent again one call per request, so a duplicate key or invalid
+ * document only fails the call it belongs to.
+ */
+class WriteBatcher {
+
+  // shared by all the batchers, it only triggers sends of batches that didn't fill up in time
+  private static final ScheduledExecutorService SCHEDULER =
+      Executors.newSingleThreadScheduledExecutor(
+          new ThreadFactoryBuilder()
+              .setNameFormat("tigris-write-batcher-%d")
+              .setDaemon(true)
+              .build());
+
+  private final WriteBatchingOptions options;
+  private final Function<List<ByteString>, ListenableFuture<Result>> sender;
+  private final String errorMessage;
+  private final Object lock = new Object();
+
+  private Batch pending;
+
+  /**
+   * @param options batching options
+   * @param sender sends a batch of encoded documents as a single request
+   * @param errorMessage message of the exception failed calls complete with
+   */
+  WriteBatcher(
+      WriteBatchingOptions options,
+      Function<List<ByteString>, ListenableFuture<Result>> sender,
+      String errorMessage) {
+    this.options = options;
+    this.sender = sender;
+    this.errorMessage = errorMessage;
+  }
+
+  /**
+   * Adds the documents of one call to the pending batch. The documents of a call always go in the
+   * same request.
+   *
+   * @param documents encoded documents
+   * @return future completing with the result sliced down to the given documents
+   */
+  CompletableFuture<Result> add(List<ByteString> documents) {
+    CompletableFuture<Result> future = new CompletableFuture<>();
+    int bytes = 0;
+    for (ByteString document : documents) {
+      bytes += document.size();
+    }
+    Batch full = null;
+    Batch ready = null;
+    synchronized (lock) {
+      if (pending != null && !pending.fits(documents.size(), bytes)) {
+        full = detach();
+      }
+      if (pending == null) {
+        pending = newBatch();
+      }
+      pending.add(documents, bytes, future);
+      if (pending.isFull() || options.getLinger().isZero()) {
+        ready = detach();
+      }
+    }
+    send(full);
+    send(ready);
+    return future;
+  }
+
+  // must be called holding the lock
+  private Batch newBatch() {
+    Batch batch = new Batch();
+    if (!options.getLinger().isZero()) {
+      batch.lingerTask =
+          SCHEDULER.schedule(
+              () -> {
+                Batch expired;
+                synchronized (lock) {
+                  if (pending != batch) {
+                    return;
+                  }
+                  expired = detach();
+                }
+                send(expired);
+              },
+              options.getLinger().toNanos(),
+              TimeUnit.NANOSECONDS);
+    }
+    return batch;
+  }
+
+  // must be called holding the lock
+  private Batch detach() {
+    Batch batch = pending;
+    pending = null;
+    if (batch.lingerTask != null) {
+      batch.lingerTask.cancel(false);
+    }
+    return batch;
+  }
+
+  /** Sends the pending batch right away, without waiting for it to fill up or linger */
+  void flush() {
+    Batch batch;
+    synchronized (lock) {
+      batch = pending != null ? detach() : null;
+    }
+    send(batch);
+  }
+
+  private void send(Batch batch) {
+    if (batch == null) {
+      return;
+    }
+    send(batch.documents, batch.entries);
+  }
+
+  /**
+   * Sends the documents of the given calls as one request
+   *
+   * @param documents documents of the calls, in call order
+   * @param entries calls, their offsets are relative to the given documents
+   */
+  private void send(List<ByteString> documents, List<Entry> entries) {
+    ListenableFuture<Result> resultFuture;
+    try {
+      resultFuture = sender.apply(documents);
+    } catch (RuntimeException ex) {
+      fail(entries, new TigrisException(errorMessage, ex));
+      return;
+    }
+    Futures.addCallback(
+        resultFuture,
+        new FutureCallback<Result>() {
+          @Override
+          public void onSuccess(Result result) {
+            if (result.getKeys().size() != documents.size()) {
+              fail(
+                  entries,
+                  new TigrisException(
+                      errorMessage,
+                      new IllegalStateException(
+                          "Expected "
+                              + documents.size()
+                              + " keys, received "
+                              + result.getKeys().size())));
+              return;
+            }
+            for (Entry entry : entries) {
+              entry.future.complete(result.slice(entry.offset, entry.count));
+            }
+          }
+
+          @Override
+          public void onFailure(Throwable throwable) {
+            if (entries.size() > 1 && isRejectedForContent(throwable)) {
+              // the request is atomic and wrote nothing, find out which calls fail on their own
+              for (Entry entry : entries) {
+                send(
+                    documents.subList(entry.offset, entry.offset + entry.count),
+                    Collections.singletonList(new Entry(0, entry.count, entry.future)));
+              }
+              return;
+            }
+            if (throwable instanceof StatusRuntimeException) {
+              fail(
+                  entries,
+                  new TigrisException(
+                      errorMessage,
+                      TypeConverter.extractTigrisError((StatusRuntimeException) throwable),
+                      throwable));
+            } else {
+              fail(entries, new TigrisException(errorMessage, throwable));
+            }
+          }
+        },
+        MoreExecutors.directExecutor());
+  }
+
+  private static boolean isRejectedForContent(Throwable throwable) {
+    if (!(throwable instanceof StatusRuntimeException)) {
+      return false;
+    }
+    Status.Code code = ((StatusRuntimeException) throwable).getStatus().getCode();
+    return code == Status.Code.INVALID_ARGUMENT || code == Status.Code.ALREADY_EXISTS;
+  }
+
+  private static void fail(List<Entry> entries, TigrisException exception) {
+    for (Entry entry : entries) {
+      entry.future.completeExceptionally(exception);
+    }
+  }
+
+  /**
+   * Write batchers of a client. The client flushes them before it shuts its channel down, so the
+   * batches still lingering are sent instead of failing on a closed channel. Batchers are held
+   * weakly, a batcher with a lingering batch stays reachable through its linger task.
+   */
+  static final class Registry {
+    private final Set<WriteBatcher> batchers =
+        Collections.synchronizedSet(Collections.newSetFromMap(new WeakHashMap<>()));
+
+    void register(WriteBatcher batcher) {
+      batchers.add(batcher);
+    }
+
+    void flush() {
+      List<WriteBatcher> snapshot;
+      synchronized (batchers) {
+        snapshot = new ArrayList<>(batchers);
+      }
+      for (WriteBatcher batcher : snapshot) {
+        batcher.flush();
+      }
+    }
+  }
+
+  /** Outcome of a batch request, or the part of it that belongs to one call */
+  static final class Result {
+    private final String status;
+    private final Timestamp createdAt;
+    private final Timestamp updatedAt;
+    private final List<ByteString> keys;
+
+    Result(String status, Timestamp createdAt, Timestamp updatedAt, List<ByteString> keys) {
+      this.status = status;
+      this.createdAt = createdAt;
+      this.updatedAt = updatedAt;
+      this.keys = keys;
+    }
+
+    String getStatus() {
+      return status;
+    }
+
+    Timestamp getCreatedAt() {
+      return createdAt;
+    }
+
+    Timestamp getUpdatedAt() {
+      return updatedAt;
+    }
+
+    List<ByteString> getKeys() {
+      return keys;
+    }
+
+    private Result slice(int offset, int count) {
+      return new Result(status, createdAt, updatedAt, keys.subList(offset, offset + count));
+    }
+  }
+
+  private final class Batch {
+    private final List<ByteString> documents = new ArrayList<>();
+    private final List<Entry> entries = new ArrayList<>();
+    private int bytes;
+    private ScheduledFuture<?> lingerTask;
+
+    private boolean fits(int count, int size) {
+      return documents.size() + count <= options.getMaxBatchSize()
+          && bytes + size <= options.getMaxBatchBytes();
+    }
+
+    private boolean isFull() {
+      return documents.size() >= options.getMaxBatchSize() || bytes >= options.getMaxBatchBytes();
+    }
+
+    private void add(List<ByteString> callDocuments, int size, CompletableFuture<Result> future) {
+      entries.add(new Entry(documents.size(), callDocuments.size(), future));
+      documents.addAll(callDocuments);
+      bytes += size;
+    }
+  }
+
+  private static final class Entry {
+    private final int offset;
+    private final int count;
+    private final CompletableFuture<Result> future;
+
+    private Entry(int offset, int count, CompletableFuture<Result> future) {
+      this.offset = offset;
+      this.count = count;
+      this.future = future;
+    }
+  }
+}
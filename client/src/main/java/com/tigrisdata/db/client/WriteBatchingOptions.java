@@ -0,0 +1,133 @@
+/*
+ * Copyright 2022 Tigris Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tigrisdata.db.client;
+
+import java.time.Duration;
+
+/**
+ * Options for coalescing single-document writes of a {@link TigrisAsyncCollection}. {@code
+ * insert(T)}, {@code insert(List)} and {@code insertOrReplace(List)} calls without explicit request
+ * options are buffered and sent as one request once the batch reaches {@code maxBatchSize}
+ * documents or {@code maxBatchBytes} bytes, or the first buffered document waited {@code linger}.
+ * Each caller's future completes with the keys of its own documents. A request the server rejects
+ * for its content, an invalid document or a duplicate key, is sent again one call per request so
+ * only the offending calls fail. Any other failed request fails every call in the batch. Batches
+ * still lingering when the client is closed are sent before its channel shuts down.
+ */
+public class WriteBatchingOptions {
+
+  private final int maxBatchSize;
+  private final int maxBatchBytes;
+  private final Duration linger;
+
+  public static Builder newBuilder() {
+    return new Builder();
+  }
+
+  private WriteBatchingOptions(Builder builder) {
+    this.maxBatchSize = builder.maxBatchSize;
+    this.maxBatchBytes = builder.maxBatchBytes;
+    this.linger = builder.linger;
+  }
+
+  public int getMaxBatchSize() {
+    return maxBatchSize;
+  }
+
+  public int getMaxBatchBytes() {
+    return maxBatchBytes;
+  }
+
+  public Duration getLinger() {
+    return linger;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) return true;
+    if (o == null || getClass() != o.getClass()) return false;
+
+    WriteBatchingOptions that = (WriteBatchingOptions) o;
+
+    if (maxBatchSize != that.maxBatchSize) return false;
+    if (maxBatchBytes != that.maxBatchBytes) return false;
+    return linger.equals(that.linger);
+  }
+
+  @Override
+  public int hashCode() {
+    int result = maxBatchSize;
+    result = 31 * result + maxBatchBytes;
+    result = 31 * result + linger.hashCode();
+    return result;
+  }
+
+  /** Builder class for {@link WriteBatchingOptions} */
+  public static class Builder {
+
+    public static final int DEFAULT_MAX_BATCH_SIZE = 100;
+    public static final int DEFAULT_MAX_BATCH_BYTES = 1024 * 1024;
+    public static final Duration DEFAULT_LINGER = Duration.ofMillis(5);
+
+    private int maxBatchSize;
+    private int maxBatchBytes;
+    private Duration linger;
+
+    private Builder() {
+      this.maxBatchSize = DEFAULT_MAX_BATCH_SIZE;
+      this.maxBatchBytes = DEFAULT_MAX_BATCH_BYTES;
+      this.linger = DEFAULT_LINGER;
+    }
+
+    /**
+     * @param maxBatchSize maximum number of documents per request
+     * @return ongoing builder
+     */
+    public Builder withMaxBatchSize(int maxBatchSize) {
+      this.maxBatchSize = maxBatchSize;
+      return this;
+    }
+
+    /**
+     * @param maxBatchBytes maximum size of the serialized documents per request
+     * @return ongoing builder
+     */
+    public Builder withMaxBatchBytes(int maxBatchBytes) {
+      this.maxBatchBytes = maxBatchBytes;
+      return this;
+    }
+
+    /**
+     * @param linger maximum time a document waits for the batch to fill up
+     * @return ongoing builder
+     */
+    public Builder withLinger(Duration linger) {
+      this.linger = linger;
+      return this;
+    }
+
+    public WriteBatchingOptions build() {
+      if (maxBatchSize < 1) {
+        throw new IllegalArgumentException("maxBatchSize must be at least 1");
+      }
+      if (maxBatchBytes < 1) {
+        throw new IllegalArgumentException("maxBatchBytes must be at least 1");
+      }
+      if (linger == null || linger.isNegative()) {
+        throw new IllegalArgumentException("linger must not be negative");
+      }
+      return new WriteBatchingOptions(this);
+    }
+  }
+}
@@ -17,20 +17,28 @@ import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.module.paramnames.ParameterNamesModule;
+import com.tigrisdata.db.client.metrics.TigrisMetricsRecorder;
 import com.tigrisdata.db.jackson.TigrisAnnotationIntrospector;
 import java.time.Duration;
+import java.util.Optional;
 
 /** Tigris client configuration */
 public class TigrisConfiguration {
 
   private final String serverURL;
   private final TigrisConfiguration.NetworkConfig network;
+  private final TigrisConfiguration.RetryConfig retry;
+  private final TigrisConfiguration.ExecutorConfig executor;
   private final ObjectMapper objectMapper;
+  private final Optional<TigrisMetricsRecorder> metricsRecorder;
 
   private TigrisConfiguration(Builder builder) {
     this.serverURL = builder.baseURL;
     this.network = builder.network;
+    this.retry = builder.retry;
+    this.executor = builder.executor;
     this.objectMapper = builder.objectMapper;
+    this.metricsRecorder = builder.metricsRecorder;
   }
 
   /**
@@ -51,26 +59,47 @@ public class TigrisConfiguration {
     return this.network;
   }
 
+  public TigrisConfiguration.RetryConfig getRetry() {
+    return retry;
+  }
+
+  public TigrisConfiguration.ExecutorConfig getExecutor() {
+    return executor;
+  }
+
   public ObjectMapper getObjectMapper() {
     return objectMapper;
   }
 
+  public Optional<TigrisMetricsRecorder> getMetricsRecorder() {
+    return metricsRecorder;
+  }
+
   /** Builder class for {@link TigrisConfiguration} */
   public static final class Builder {
 
     private final String baseURL;
     private TigrisConfiguration.NetworkConfig network;
+    private TigrisConfiguration.RetryConfig retry;
+    private TigrisConfiguration.ExecutorConfig executor;
     private ObjectMapper objectMapper;
+    private Optional<TigrisMetricsRecorder> metricsRecorder;
 
     private Builder(String baseURL) {
       this.baseURL = baseURL;
       this.network = NetworkConfig.newBuilder().build();
+      this.retry = RetryConfig.newBuilder().build();
+      this.executor =
+          ExecutorConfig.boundedPool(
+              Runtime.getRuntime().availableProcessors(),
+              ExecutorConfig.DEFAULT_QUEUE_CAPACITY);
       // configure ObjectMapper to work with immutable objects
       this.objectMapper =
           new ObjectMapper()
               .setAnnotationIntrospector(new TigrisAnnotationIntrospector())
               .registerModule(new ParameterNamesModule(JsonCreator.Mode.PROPERTIES))
               .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+      this.metricsRecorder = Optional.empty();
     }
 
     /**
@@ -84,6 +113,41 @@ public class TigrisConfiguration {
       return this;
     }
 
+    /**
+     * This will customize {@link RetryConfig}
+     *
+     * @param retry retry config
+     * @return ongoing builder
+     */
+    public Builder withRetry(TigrisConfiguration.RetryConfig retry) {
+      this.retry = retry;
+      return this;
+    }
+
+    /**
+     * This will customize {@link ExecutorConfig}, the executor async clients run the conversion of
+     * server responses and the completion of their futures on
+     *
+     * @param executor executor config
+     * @return ongoing builder
+     */
+    public Builder withExecutor(TigrisConfiguration.ExecutorConfig executor) {
+      this.executor = executor;
+      return this;
+    }
+
+    /**
+     * Enables client side metrics. The recorder receives the latency, status, message sizes and
+     * document count of every call.
+     *
+     * @param metricsRecorder metrics recorder
+     * @return ongoing builder
+     */
+    public Builder withMetricsRecorder(TigrisMetricsRecorder metricsRecorder) {
+      this.metricsRecorder = Optional.of(metricsRecorder);
+      return this;
+    }
+
     /**
      * This will customize {@link ObjectMapper} instance used internally. It is highly recommended
      * to customize this instance with extra care
@@ -164,4 +228,195 @@ public class TigrisConfiguration {
       }
     }
   }
+
+  /**
+   * Retry configuration for idempotent operations (read, readOne, search, describe, list and
+   * insertOrReplace). Calls failing with {@code UNAVAILABLE} or {@code ABORTED} are retried after
+   * the delay the server asks for, or an exponential backoff otherwise, plus jitter. Retries draw
+   * from a token bucket budget that fills on successful calls, so retries stop when most calls are
+   * failing and can't amplify an overload.
+   */
+  public static class RetryConfig {
+
+    private final int maxAttempts;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    private final int budgetMaxTokens;
+    private final double budgetTokenRatio;
+
+    public static Builder newBuilder() {
+      return new Builder();
+    }
+
+    private RetryConfig(Builder builder) {
+      this.maxAttempts = builder.maxAttempts;
+      this.initialBackoff = builder.initialBackoff;
+      this.maxBackoff = builder.maxBackoff;
+      this.budgetMaxTokens = builder.budgetMaxTokens;
+      this.budgetTokenRatio = builder.budgetTokenRatio;
+    }
+
+    public int getMaxAttempts() {
+      return maxAttempts;
+    }
+
+    public Duration getInitialBackoff() {
+      return initialBackoff;
+    }
+
+    public Duration getMaxBackoff() {
+      return maxBackoff;
+    }
+
+    public int getBudgetMaxTokens() {
+      return budgetMaxTokens;
+    }
+
+    public double getBudgetTokenRatio() {
+      return budgetTokenRatio;
+    }
+
+    /** Builder class for {@link RetryConfig} */
+    public static class Builder {
+
+      public static final int DEFAULT_MAX_ATTEMPTS = 3;
+      public static final Duration DEFAULT_INITIAL_BACKOFF = Duration.ofMillis(100);
+      public static final Duration DEFAULT_MAX_BACKOFF = Duration.ofSeconds(5);
+      public static final int DEFAULT_BUDGET_MAX_TOKENS = 10;
+      public static final double DEFAULT_BUDGET_TOKEN_RATIO = 0.1;
+
+      private int maxAttempts;
+      private Duration initialBackoff;
+      private Duration maxBackoff;
+      private int budgetMaxTokens;
+      private double budgetTokenRatio;
+
+      public Builder() {
+        this.maxAttempts = DEFAULT_MAX_ATTEMPTS;
+        this.initialBackoff = DEFAULT_INITIAL_BACKOFF;
+        this.maxBackoff = DEFAULT_MAX_BACKOFF;
+        this.budgetMaxTokens = DEFAULT_BUDGET_MAX_TOKENS;
+        this.budgetTokenRatio = DEFAULT_BUDGET_TOKEN_RATIO;
+      }
+
+      /**
+       * Specifies the maximum number of attempts, including the original call. 1 disables retries.
+       *
+       * @param maxAttempts maximum number of attempts
+       * @return ongoing builder
+       */
+      public Builder withMaxAttempts(int maxAttempts) {
+        this.maxAttempts = maxAttempts;
+        return this;
+      }
+
+      /**
+       * Specifies the backoff used when the server doesn't provide a retry delay. It doubles with
+       * each attempt up to the max backoff.
+       *
+       * @param maxBackoff upper bound of any retry delay, calls the server asks to retry later fail
+       * @param maxBackoff upper bound of any retry delay
+       * @return ongoing builder
+       */
+      public Builder withBackoff(Duration initialBackoff, Duration maxBackoff) {
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+        return this;
+      }
+
+      /**
+       * Specifies the retry budget. Every failed call takes one token, every successful call puts
+       * back {@code tokenRatio} tokens and retries are only made while more than half of {@code
+       * maxTokens} are available.
+       *
+       * @param maxTokens capacity of the budget
+       * @param tokenRatio tokens returned per successful call
+       * @return ongoing builder
+       */
+      public Builder withBudget(int maxTokens, double tokenRatio) {
+        this.budgetMaxTokens = maxTokens;
+        this.budgetTokenRatio = tokenRatio;
+        return this;
+      }
+
+      public RetryConfig build() {
+        if (maxAttempts < 1) {
+          throw new IllegalArgumentException("maxAttempts must be at least 1");
+        }
+        return new RetryConfig(this);
+      }
+    }
+  }
+
+  /**
+   * Executor strategy of the async client. The client creates the executor and shuts it down when
+   * it is closed.
+   */
+  public static class ExecutorConfig {
+
+    public static final int DEFAULT_QUEUE_CAPACITY = 1024;
+
+    /** Executor strategies */
+    public enum Type {
+      /**
+       * Runs conversions inline on the gRPC callback thread. Cheapest when conversions and the
+       * application's future callbacks are non-blocking.
+       */
+      DIRECT,
+      /**
+       * Fixed number of threads with a bounded queue. Once the queue is full the submitting thread
+       * runs the task itself, slowing down the producer instead of spawning threads.
+       */
+      BOUNDED_POOL,
+      /** New virtual thread per task, requires JDK 21 or later */
+      VIRTUAL_THREADS
+    }
+
+    private final Type type;
+    private final int threads;
+    private final int queueCapacity;
+
+    private ExecutorConfig(Type type, int threads, int queueCapacity) {
+      this.type = type;
+      this.threads = threads;
+      this.queueCapacity = queueCapacity;
+    }
+
+    /** @return config running conversions on the gRPC callback thread */
+    public static ExecutorConfig direct() {
+      return new ExecutorConfig(Type.DIRECT, 0, 0);
+    }
+
+    /**
+     * @param threads number of threads
+     * @param queueCapacity maximum number of queued tasks
+     * @return config of a bounded pool
+     */
+    public static ExecutorConfig boundedPool(int threads, int queueCapacity) {
+      if (threads < 1) {
+        throw new IllegalArgumentException("threads must be at least 1");
+      }
+      if (queueCapacity < 1) {
+        throw new IllegalArgumentException("queueCapacity must be at least 1");
+      }
+      return new ExecutorConfig(Type.BOUNDED_POOL, threads, queueCapacity);
+    }
+
+    /** @return config running every conversion on a new virtual thread, requires JDK 21 */
+    public static ExecutorConfig virtualThreads() {
+      return new ExecutorConfig(Type.VIRTUAL_THREADS, 0, 0);
+    }
+
+    public Type getType() {
+      return type;
+    }
+
+    public int getThreads() {
+      return threads;
+    }
+
+    public int getQueueCapacity() {
+      return queueCapacity;
+    }
+  }
 }
@@ -0,0 +1,172 @@
+/*
+ * Copyright 2022 Tigris Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tigrisdata.db.client.metrics;
+
+import com.tigrisdata.db.client.error.TigrisError;
+import io.grpc.Status;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.Optional;
+
+/** Metrics of a single completed call */
+public class CallMetrics {
+  private final String method;
+  private final String database;
+  private final String collection;
+  private final Status.Code statusCode;
+  private final Optional<TigrisError> tigrisError;
+  private final Duration latency;
+  private final int messagesSent;
+  private final int messagesReceived;
+  private final long bytesSent;
+  private final long bytesReceived;
+  private final int documents;
+
+  public CallMetrics(
+      String method,
+      String database,
+      String collection,
+      Status.Code statusCode,
+      Optional<TigrisError> tigrisError,
+      Duration latency,
+      int messagesSent,
+      int messagesReceived,
+      long bytesSent,
+      long bytesReceived,
+      int documents) {
+    this.method = method;
+    this.database = database;
+    this.collection = collection;
+    this.statusCode = statusCode;
+    this.tigrisError = tigrisError;
+    this.latency = latency;
+    this.messagesSent = messagesSent;
+    this.messagesReceived = messagesReceived;
+    this.bytesSent = bytesSent;
+    this.bytesReceived = bytesReceived;
+    this.documents = documents;
+  }
+
+  /** @return gRPC method name, e.g. {@code Insert} */
+  public String getMethod() {
+    return method;
+  }
+
+  /** @return database the call targeted, empty for calls that are not database scoped */
+  public String getDatabase() {
+    return database;
+  }
+
+  /** @return collection the call targeted, empty for calls that are not collection scoped */
+  public String getCollection() {
+    return collection;
+  }
+
+  /** @return gRPC status code the call completed with */
+  public Status.Code getStatusCode() {
+    return statusCode;
+  }
+
+  /** @return Tigris error the server reported, if any */
+  public Optional<TigrisError> getTigrisError() {
+    return tigrisError;
+  }
+
+  /** @return time from the start of the call to its completion */
+  public Duration getLatency() {
+    return latency;
+  }
+
+  public int getMessagesSent() {
+    return messagesSent;
+  }
+
+  public int getMessagesReceived() {
+    return messagesReceived;
+  }
+
+  /** @return serialized size of the messages sent */
+  public long getBytesSent() {
+    return bytesSent;
+  }
+
+  /** @return serialized size of the messages received */
+  public long getBytesReceived() {
+    return bytesReceived;
+  }
+
+  /**
+   * @return documents written by insert and replace calls, or returned by read and search calls
+   */
+  public int getDocuments() {
+    return documents;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) return true;
+    if (o == null || getClass() != o.getClass()) return false;
+
+    CallMetrics that = (CallMetrics) o;
+
+    if (messagesSent != that.messagesSent) return false;
+    if (messagesReceived != that.messagesReceived) return false;
+    if (bytesSent != that.bytesSent) return false;
+    if (bytesReceived != that.bytesReceived) return false;
+    if (documents != that.documents) return false;
+    if (!Objects.equals(method, that.method)) return false;
+    if (!Objects.equals(database, that.database)) return false;
+    if (!Objects.equals(collection, that.collection)) return false;
+    if (statusCode != that.statusCode) return false;
+    if (!Objects.equals(tigrisError, that.tigrisError)) return false;
+    return Objects.equals(latency, that.latency);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(
+        method,
+        database,
+        collection,
+        statusCode,
+        tigrisError,
+        latency,
+        messagesSent,
+        messagesReceived,
+        bytesSent,
+        bytesReceived,
+        documents);
+  }
+
+  @Override
+  public String toString() {
+    return "CallMetrics{"
+        + "method='"
+        + method
+        + '\''
+        + ", database='"
+        + database
+        + '\''
+        + ", collection='"
+        + collection
+        + '\''
+        + ", statusCode="
+        + statusCode
+        + ", latency="
+        + latency
+        + ", documents="
+        + documents
+        + '}';
+  }
+}
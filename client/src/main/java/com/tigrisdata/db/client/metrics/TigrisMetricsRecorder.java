@@ -0,0 +1,39 @@
+/*
+ * Copyright 2022 Tigris Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tigrisdata.db.client.metrics;
+
+/**
+ * Receives metrics of every call the client makes to the server, including streaming reads and
+ * searches. Implementations bridge them to a metrics library, e.g. latency into a timer histogram
+ * and the in-flight count into a gauge tagged by method and collection.
+ *
+ * <p>Callbacks are invoked on the calling and gRPC threads and must not block.
+ */
+public interface TigrisMetricsRecorder {
+
+  /**
+   * Invoked when a call starts. Every invocation is followed by exactly one {@link
+   * #callCompleted(CallMetrics)} for the same call.
+   *
+   * @param method gRPC method name, e.g. {@code Insert}
+   */
+  default void callStarted(String method) {}
+
+  /**
+   * Invoked when a call completes, successfully or not
+   *
+   * @param metrics metrics of the completed call
+   */
+  void callCompleted(CallMetrics metrics);
+}
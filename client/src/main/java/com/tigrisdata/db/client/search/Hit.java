@@ -16,35 +16,66 @@ package com.tigrisdata.db.client.search;
 
 import static java.lang.String.format;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.protobuf.ByteString;
 import com.tigrisdata.db.api.v1.grpc.Api;
 import com.tigrisdata.db.type.TigrisCollectionType;
+import java.io.IOException;
 import java.util.Objects;
 
 /**
  * Representation of {@link Api.SearchHit} that provides collection document and associated metadata
- * from /search result
+ * from /search result. A lazy hit keeps the raw document and deserializes it on the first call to
+ * {@link #getDocument()}.
  *
  * @param <T> {@link TigrisCollectionType} type
  */
 public final class Hit<T extends TigrisCollectionType> {
 
-  private final T document;
+  private final ByteString data;
   private final HitMeta meta;
+  private final ObjectMapper objectMapper;
+  private final Class<T> collectionClass;
+  private volatile T document;
 
-  private Hit(T document, HitMeta meta) {
+  private Hit(T document, ByteString data, HitMeta meta) {
     this.document = document;
+    this.data = data;
     this.meta = meta;
+    this.objectMapper = null;
+    this.collectionClass = null;
+  }
+
+  private Hit(ByteString data, HitMeta meta, ObjectMapper objectMapper, Class<T> collectionClass) {
+    this.data = data;
+    this.meta = meta;
+    this.objectMapper = objectMapper;
+    this.collectionClass = collectionClass;
   }
 
   /**
    * Json deserialized document as its collection class
    *
    * @return {@link TigrisCollectionType}
+   * @throws IllegalArgumentException if a lazy hit fails to deserialize its document
    */
   public T getDocument() {
-    return document;
+    T result = document;
+    if (result == null && objectMapper != null) {
+      // racing threads decode the same bytes into equal documents
+      result = decode(data, objectMapper, collectionClass);
+      document = result;
+    }
+    return result;
+  }
+
+  /**
+   * Raw JSON document as returned by server, without deserializing it
+   *
+   * @return copy of the UTF-8 encoded JSON document
+   */
+  public byte[] getRawDocument() {
+    return data.toByteArray();
   }
 
   /**
@@ -68,11 +99,34 @@ public final class Hit<T extends TigrisCollectionType> {
   static <R extends TigrisCollectionType> Hit<R> from(
       Api.SearchHit resp, ObjectMapper objectMapper, Class<R> collectionClass) {
     Objects.requireNonNull(resp);
+    return new Hit<>(
+        decode(resp.getData(), objectMapper, collectionClass),
+        resp.getData(),
+        HitMeta.from(resp.getMetadata()));
+  }
+
+  /**
+   * Conversion utility for creating a lazy {@link Hit} from server response, the document is
+   * deserialized on first access
+   *
+   * @param resp {@link Api.SearchHit} from server response
+   * @param objectMapper JSON deserializer
+   * @param collectionClass Deserialize document to this schema class
+   * @param <R> Tigris collection class type
+   * @return {@link Hit}
+   */
+  static <R extends TigrisCollectionType> Hit<R> lazyFrom(
+      Api.SearchHit resp, ObjectMapper objectMapper, Class<R> collectionClass) {
+    Objects.requireNonNull(resp);
+    return new Hit<>(
+        resp.getData(), HitMeta.from(resp.getMetadata()), objectMapper, collectionClass);
+  }
+
+  private static <R> R decode(
+      ByteString data, ObjectMapper objectMapper, Class<R> collectionClass) {
     try {
-      return new Hit<>(
-          objectMapper.readValue(resp.getData().toStringUtf8(), collectionClass),
-          HitMeta.from(resp.getMetadata()));
-    } catch (JsonProcessingException e) {
+      return objectMapper.readValue(data.newInput(), collectionClass);
+    } catch (IOException e) {
       throw new IllegalArgumentException(
           format("Failed to convert response to %s.class", collectionClass.getSimpleName()), e);
     }
@@ -89,7 +143,8 @@ public final class Hit<T extends TigrisCollectionType> {
 
     Hit<?> hit = (Hit<?>) o;
 
-    if (!Objects.equals(document, hit.document)) {
+    // the raw document identifies the hit, without deserializing it
+    if (!Objects.equals(data, hit.data)) {
       return false;
     }
     return Objects.equals(meta, hit.meta);
@@ -97,7 +152,7 @@ public final class Hit<T extends TigrisCollectionType> {
 
   @Override
   public int hashCode() {
-    int result = document != null ? document.hashCode() : 0;
+    int result = data != null ? data.hashCode() : 0;
     result = 31 * result + (meta != null ? meta.hashCode() : 0);
     return result;
   }
@@ -0,0 +1,61 @@
+/*
+ * Copyright 2022 Tigris Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tigrisdata.db.client.search;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tigrisdata.db.api.v1.grpc.Api;
+import com.tigrisdata.db.type.TigrisCollectionType;
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Immutable random-access list of {@link Hit} backed by the {@link Api.SearchHit} of a response. A
+ * hit is created on its first access, and its document deserialized on the first call to {@link
+ * Hit#getDocument()}.
+ *
+ * @param <T> type of the Tigris collection
+ */
+final class LazyHitList<T extends TigrisCollectionType> extends AbstractList<Hit<T>>
+    implements RandomAccess {
+
+  private final List<Api.SearchHit> protoHits;
+  private final ObjectMapper objectMapper;
+  private final Class<T> collectionClass;
+  private final AtomicReferenceArray<Hit<T>> hits;
+
+  LazyHitList(List<Api.SearchHit> protoHits, ObjectMapper objectMapper, Class<T> collectionClass) {
+    this.protoHits = protoHits;
+    this.objectMapper = objectMapper;
+    this.collectionClass = collectionClass;
+    this.hits = new AtomicReferenceArray<>(protoHits.size());
+  }
+
+  @Override
+  public Hit<T> get(int index) {
+    Hit<T> hit = hits.get(index);
+    if (hit == null) {
+      hits.compareAndSet(
+          index, null, Hit.lazyFrom(protoHits.get(index), objectMapper, collectionClass));
+      hit = hits.get(index);
+    }
+    return hit;
+  }
+
+  @Override
+  public int size() {
+    return protoHits.size();
+  }
+}
@@ -22,10 +22,12 @@ public final class SearchRequestOptions {
 
   private final int page;
   private final int perPage;
+  private final boolean lazyHits;
 
   private SearchRequestOptions(Builder builder) {
     this.page = builder.page;
     this.perPage = builder.perPage;
+    this.lazyHits = builder.lazyHits;
   }
 
   /**
@@ -46,6 +48,16 @@ public final class SearchRequestOptions {
     return perPage;
   }
 
+  /**
+   * Whether the documents of the hits are deserialized on first access only
+   *
+   * @return true if hits are lazy
+   * @see SearchResult#lazyFrom
+   */
+  public boolean isLazyHits() {
+    return lazyHits;
+  }
+
   /**
    * Gets default pagination options
    *
@@ -73,13 +85,17 @@ public final class SearchRequestOptions {
     if (page != options.page) {
       return false;
     }
-    return perPage == options.perPage;
+    if (perPage != options.perPage) {
+      return false;
+    }
+    return lazyHits == options.lazyHits;
   }
 
   @Override
   public int hashCode() {
     int result = page;
     result = 31 * result + perPage;
+    result = 31 * result + (lazyHits ? 1 : 0);
     return result;
   }
 
@@ -95,6 +111,7 @@ public final class SearchRequestOptions {
   public static final class Builder {
     private int page;
     private int perPage;
+    private boolean lazyHits;
 
     private Builder() {
       this.page = CURRENT_PAGE;
@@ -123,6 +140,18 @@ public final class SearchRequestOptions {
       return this;
     }
 
+    /**
+     * Sets whether the documents of the hits are deserialized on first access only. Useful when
+     * only a few of the hits, their metadata or the raw documents are read.
+     *
+     * @param lazyHits true to defer deserializing the documents
+     * @return {@link SearchRequestOptions.Builder}
+     */
+    public Builder withLazyHits(boolean lazyHits) {
+      this.lazyHits = lazyHits;
+      return this;
+    }
+
     /**
      * Builds {@link SearchRequestOptions}
      *
@@ -17,12 +17,13 @@ package com.tigrisdata.db.client.search;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.tigrisdata.db.api.v1.grpc.Api;
 import com.tigrisdata.db.type.TigrisCollectionType;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
-import java.util.stream.Collectors;
 
 /**
  * Outcome of executing /search query against server. Representation of {@link Api.SearchResponse}
@@ -83,18 +84,41 @@ public final class SearchResult<T extends TigrisCollectionType> {
       Api.SearchResponse resp, ObjectMapper objectMapper, Class<R> collectionClass) {
     Objects.requireNonNull(resp);
 
-    List<Hit<R>> hits =
-        resp.getHitsList().stream()
-            .map(h -> Hit.from(h, objectMapper, collectionClass))
-            .collect(Collectors.toList());
+    List<Hit<R>> hits = new ArrayList<>(resp.getHitsCount());
+    for (Api.SearchHit hit : resp.getHitsList()) {
+      hits.add(Hit.from(hit, objectMapper, collectionClass));
+    }
+    return new SearchResult<>(hits, toFacets(resp), SearchMeta.from(resp.getMeta()));
+  }
 
-    // proto inserts a default entry
-    Map<String, FacetCountDistribution> facets =
-        resp.getFacetsMap().entrySet().stream()
-            .collect(
-                Collectors.toMap(Entry::getKey, e -> FacetCountDistribution.from(e.getValue())));
+  /**
+   * Conversion utility for creating {@link SearchResult} from server response, without
+   * deserializing the documents. The hits are backed by the response and each document is
+   * deserialized on the first call to {@link Hit#getDocument()}, while {@link Hit#getMeta()} and
+   * {@link Hit#getRawDocument()} never deserialize it.
+   *
+   * @param resp SearchResponse from server
+   * @param objectMapper JSON deserializer
+   * @param collectionClass Deserialize document to this schema class
+   * @param <R> Tigris collection class type
+   * @return {@link SearchResult}
+   */
+  public static <R extends TigrisCollectionType> SearchResult<R> lazyFrom(
+      Api.SearchResponse resp, ObjectMapper objectMapper, Class<R> collectionClass) {
+    Objects.requireNonNull(resp);
+    return new SearchResult<>(
+        new LazyHitList<>(resp.getHitsList(), objectMapper, collectionClass),
+        toFacets(resp),
+        SearchMeta.from(resp.getMeta()));
+  }
 
-    return new SearchResult<>(hits, facets, SearchMeta.from(resp.getMeta()));
+  private static Map<String, FacetCountDistribution> toFacets(Api.SearchResponse resp) {
+    // proto inserts a default entry
+    Map<String, FacetCountDistribution> facets = new HashMap<>();
+    for (Entry<String, Api.SearchFacet> entry : resp.getFacetsMap().entrySet()) {
+      facets.put(entry.getKey(), FacetCountDistribution.from(entry.getValue()));
+    }
+    return facets;
   }
 
   @Override
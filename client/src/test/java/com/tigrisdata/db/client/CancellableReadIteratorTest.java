@@ -0,0 +1,73 @@
+/*
+ * Copyright 2022 Tigris Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tigrisdata.db.client;
+
+import io.grpc.Context;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class CancellableReadIteratorTest {
+
+  @Test
+  public void closeCancelsTheRead() {
+    AtomicReference<Context> readContext = new AtomicReference<>();
+    CancellableReadIterator<Integer> iterator = start(readContext, 1, 2, 3);
+    Assert.assertNotSame(Context.current(), readContext.get());
+    Assert.assertEquals(1, (int) iterator.next());
+    Assert.assertFalse(readContext.get().isCancelled());
+
+    iterator.close();
+    Assert.assertTrue(readContext.get().isCancelled());
+    Assert.assertFalse(iterator.hasNext());
+  }
+
+  @Test
+  public void exhaustionReleasesTheRead() {
+    AtomicReference<Context> readContext = new AtomicReference<>();
+    CancellableReadIterator<Integer> iterator = start(readContext, 1);
+    iterator.next();
+    Assert.assertFalse(iterator.hasNext());
+    Assert.assertTrue(readContext.get().isCancelled());
+  }
+
+  @Test
+  public void streamCancelsTheReadOnClose() {
+    AtomicReference<Context> readContext = new AtomicReference<>();
+    Optional<Integer> first;
+    try (Stream<Integer> stream = start(readContext, 1, 2, 3).stream(3)) {
+      Assert.assertEquals(3, stream.spliterator().estimateSize());
+    }
+    Assert.assertTrue(readContext.get().isCancelled());
+
+    try (Stream<Integer> stream = start(readContext, 1, 2, 3).stream(0)) {
+      first = stream.filter(i -> i > 1).findFirst();
+      Assert.assertFalse(readContext.get().isCancelled());
+    }
+    Assert.assertEquals(Optional.of(2), first);
+    Assert.assertTrue(readContext.get().isCancelled());
+  }
+
+  private static CancellableReadIterator<Integer> start(
+      AtomicReference<Context> readContext, Integer... documents) {
+    return new CancellableReadIterator<>(
+        () -> {
+          readContext.set(Context.current());
+          return Arrays.asList(documents).iterator();
+        });
+  }
+}
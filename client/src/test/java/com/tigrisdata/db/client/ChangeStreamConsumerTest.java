@@ -0,0 +1,213 @@
+/*
+ * Copyright 2022 Tigris Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tigrisdata.db.client;
+
+import com.google.protobuf.ByteString;
+import com.tigrisdata.db.api.v1.grpc.Api;
+import com.tigrisdata.db.api.v1.grpc.TigrisGrpc;
+import io.grpc.Status;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.StreamObserver;
+import io.grpc.testing.GrpcCleanupRule;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ChangeStreamConsumerTest {
+
+  private static String SERVER_NAME;
+  private static final FlakyEventsService EVENTS_SERVICE = new FlakyEventsService();
+  @ClassRule public static final GrpcCleanupRule grpcCleanup = new GrpcCleanupRule();
+  @Rule public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  @BeforeClass
+  public static void setup() throws Exception {
+    SERVER_NAME = InProcessServerBuilder.generateName();
+    grpcCleanup
+        .register(
+            InProcessServerBuilder.forName(SERVER_NAME)
+                .directExecutor()
+                .addService(EVENTS_SERVICE)
+                .build())
+        .start();
+  }
+
+  @Test
+  public void reconnectsAndSkipsReplayedEvents() throws Exception {
+    TigrisDatabase db1 = TestUtils.getTestClient(SERVER_NAME, grpcCleanup).getDatabase("db1");
+    Path checkpointFile = temporaryFolder.getRoot().toPath().resolve("consumer.checkpoint");
+    List<List<String>> batches = new CopyOnWriteArrayList<>();
+    List<Optional<ChangeStreamCheckpoint>> reconnects = new CopyOnWriteArrayList<>();
+
+    try (ChangeStreamConsumer consumer =
+        ChangeStreamConsumer.newBuilder(
+                db1,
+                events ->
+                    batches.add(
+                        events.stream()
+                            .map(ChangeStreamConsumerTest::describe)
+                            .collect(Collectors.toList())))
+            .withCheckpointStore(new FileCheckpointStore(checkpointFile))
+            .withReconnectHandler(reconnects::add)
+            .withInitialBackoff(Duration.ofMillis(1))
+            .withMaxBackoff(Duration.ofMillis(10))
+            .build()) {
+      consumer.start();
+      long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+      while ((batches.size() < 3 || reconnects.size() < 2) && System.nanoTime() < deadline) {
+        Thread.sleep(10);
+      }
+
+      Assert.assertEquals(3, batches.size());
+      Assert.assertEquals("tx1/k1", batches.get(0).get(0));
+      Assert.assertEquals("tx1/k2", batches.get(0).get(1));
+      // replayed tx1/k1 and tx1/k2 are skipped
+      Assert.assertEquals(1, batches.get(1).size());
+      Assert.assertEquals("tx1/k3", batches.get(1).get(0));
+      Assert.assertEquals("tx2/k1", batches.get(2).get(0));
+      Assert.assertEquals(Optional.of(checkpoint("tx2", "k1")), consumer.getCheckpoint());
+      // both reconnects are reported with the last handled event, the first stream was not
+      Assert.assertEquals(2, reconnects.size());
+      Assert.assertEquals(Optional.of(checkpoint("tx1", "k2")), reconnects.get(0));
+      Assert.assertEquals(Optional.of(checkpoint("tx2", "k1")), reconnects.get(1));
+    }
+    Assert.assertEquals(
+        Optional.of(checkpoint("tx2", "k1")), new FileCheckpointStore(checkpointFile).load());
+  }
+
+  @Test
+  public void closeCancelsTheStream() throws Exception {
+    String serverName = InProcessServerBuilder.generateName();
+    HeldEventsService eventsService = new HeldEventsService();
+    grpcCleanup
+        .register(
+            InProcessServerBuilder.forName(serverName)
+                .directExecutor()
+                .addService(eventsService)
+                .build())
+        .start();
+    TigrisDatabase db1 = TestUtils.getTestClient(serverName, grpcCleanup).getDatabase("db1");
+    CountDownLatch handling = new CountDownLatch(1);
+    ChangeStreamConsumer consumer =
+        ChangeStreamConsumer.newBuilder(
+                db1,
+                events -> {
+                  handling.countDown();
+                  try {
+                    Thread.sleep(TimeUnit.SECONDS.toMillis(10));
+                  } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                  }
+                })
+            .build();
+    consumer.start();
+    Assert.assertTrue(handling.await(5, TimeUnit.SECONDS));
+
+    // closed while the handler runs, the loop never gets back to the stream
+    consumer.close();
+    Assert.assertTrue(eventsService.cancelled.await(5, TimeUnit.SECONDS));
+    Assert.assertFalse(consumer.isRunning());
+  }
+
+  @Test
+  public void fileCheckpointStore() throws Exception {
+    FileCheckpointStore store =
+        new FileCheckpointStore(temporaryFolder.getRoot().toPath().resolve("store.checkpoint"));
+    Assert.assertEquals(Optional.empty(), store.load());
+
+    store.save(checkpoint("tx1", "k1"));
+    store.save(checkpoint("tx1", "k2"));
+    Assert.assertEquals(Optional.of(checkpoint("tx1", "k2")), store.load());
+  }
+
+  private static ChangeStreamCheckpoint checkpoint(String txId, String key) {
+    return new ChangeStreamCheckpoint(
+        txId.getBytes(StandardCharsets.UTF_8), key.getBytes(StandardCharsets.UTF_8));
+  }
+
+  private static String describe(StreamEvent event) {
+    return new String(event.getTxId(), StandardCharsets.UTF_8)
+        + "/"
+        + new String(event.getKey(), StandardCharsets.UTF_8);
+  }
+
+  /** Sends one transaction, then keeps the stream open until the client cancels it */
+  static class HeldEventsService extends TigrisGrpc.TigrisImplBase {
+    private final CountDownLatch cancelled = new CountDownLatch(1);
+
+    @Override
+    public void events(
+        Api.EventsRequest request, StreamObserver<Api.EventsResponse> responseObserver) {
+      ((ServerCallStreamObserver<Api.EventsResponse>) responseObserver)
+          .setOnCancelHandler(cancelled::countDown);
+      responseObserver.onNext(FlakyEventsService.event("tx1", "k1", true));
+    }
+  }
+
+  /**
+   * The first stream fails in the middle of a transaction, the second one starts over at the
+   * beginning of that transaction. Later streams stay open without events.
+   */
+  static class FlakyEventsService extends TigrisGrpc.TigrisImplBase {
+    private final AtomicInteger calls = new AtomicInteger();
+
+    @Override
+    public void events(
+        Api.EventsRequest request, StreamObserver<Api.EventsResponse> responseObserver) {
+      switch (calls.incrementAndGet()) {
+        case 1:
+          responseObserver.onNext(event("tx1", "k1", false));
+          responseObserver.onNext(event("tx1", "k2", false));
+          responseObserver.onError(Status.UNAVAILABLE.asRuntimeException());
+          break;
+        case 2:
+          responseObserver.onNext(event("tx1", "k1", false));
+          responseObserver.onNext(event("tx1", "k2", false));
+          responseObserver.onNext(event("tx1", "k3", true));
+          responseObserver.onNext(event("tx2", "k1", true));
+          responseObserver.onCompleted();
+          break;
+        default:
+          // keep the stream open
+      }
+    }
+
+    private static Api.EventsResponse event(String txId, String key, boolean last) {
+      return Api.EventsResponse.newBuilder()
+          .setEvent(
+              Api.StreamEvent.newBuilder()
+                  .setTxId(ByteString.copyFromUtf8(txId))
+                  .setCollection("db1_c1")
+                  .setOp("insert")
+                  .setKey(ByteString.copyFromUtf8(key))
+                  .setData(ByteString.copyFromUtf8("{}"))
+                  .setLast(last))
+          .build();
+    }
+  }
+}
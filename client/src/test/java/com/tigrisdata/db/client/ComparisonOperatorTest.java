@@ -21,5 +21,7 @@ public class ComparisonOperatorTest {
   @Test
   public void testOperator() {
     Assert.assertEquals("$eq", ComparisonOperator.EQUALS.getOperator());
+    Assert.assertEquals("$gte", ComparisonOperator.GREATER_THAN_OR_EQUAL.getOperator());
+    Assert.assertEquals("$lt", ComparisonOperator.LESS_THAN.getOperator());
   }
 }
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2022 Tigris Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tigrisdata.db.client;
+
+import com.tigrisdata.db.api.v1.grpc.TigrisGrpc;
+import io.grpc.CallOptions;
+import io.grpc.Channel;
+import io.grpc.Deadline;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+
+public class DeadlineInterceptorTest {
+
+  private final DeadlineInterceptor interceptor = new DeadlineInterceptor(Duration.ofSeconds(5));
+
+  @Test
+  public void appliesDefaultDeadlineToUnaryCalls() {
+    Channel channel = Mockito.mock(Channel.class);
+    interceptor.interceptCall(TigrisGrpc.getListDatabasesMethod(), CallOptions.DEFAULT, channel);
+    Deadline deadline = capturedCallOptions(channel).getDeadline();
+    Assert.assertNotNull(deadline);
+    Assert.assertTrue(deadline.timeRemaining(TimeUnit.MILLISECONDS) <= 5000);
+  }
+
+  @Test
+  public void keepsExplicitDeadline() {
+    Channel channel = Mockito.mock(Channel.class);
+    CallOptions callOptions = CallOptions.DEFAULT.withDeadlineAfter(50, TimeUnit.MILLISECONDS);
+    interceptor.interceptCall(TigrisGrpc.getListDatabasesMethod(), callOptions, channel);
+    Assert.assertSame(callOptions, capturedCallOptions(channel));
+  }
+
+  @Test
+  public void skipsStreamingCalls() {
+    Channel channel = Mockito.mock(Channel.class);
+    interceptor.interceptCall(TigrisGrpc.getReadMethod(), CallOptions.DEFAULT, channel);
+    Assert.assertNull(capturedCallOptions(channel).getDeadline());
+  }
+
+  @Test
+  public void appliesDefaultDeadlineToBoundedStreamingCalls() {
+    Channel channel = Mockito.mock(Channel.class);
+    CallOptions callOptions = CallOptions.DEFAULT.withOption(DeadlineInterceptor.BOUNDED, true);
+    interceptor.interceptCall(TigrisGrpc.getReadMethod(), callOptions, channel);
+    Assert.assertNotNull(capturedCallOptions(channel).getDeadline());
+  }
+
+  private static CallOptions capturedCallOptions(Channel channel) {
+    ArgumentCaptor<CallOptions> captor = ArgumentCaptor.forClass(CallOptions.class);
+    Mockito.verify(channel).newCall(ArgumentMatchers.any(), captor.capture());
+    return captor.getValue();
+  }
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright 2022 Tigris Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tigrisdata.db.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.protobuf.ByteString;
+import com.tigrisdata.db.client.collection.DB1_C1;
+import com.tigrisdata.db.client.config.TigrisConfiguration;
+import java.io.IOException;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class DocumentCodecTest {
+
+  private static final ObjectMapper DEFAULT_OBJECT_MAPPER =
+      TigrisConfiguration.newBuilder("test").build().getObjectMapper();
+
+  @Test
+  public void sharedPerTypeAndObjectMapper() {
+    DocumentCodec<DB1_C1> codec = DocumentCodec.of(DB1_C1.class, DEFAULT_OBJECT_MAPPER);
+    Assert.assertSame(codec, DocumentCodec.of(DB1_C1.class, DEFAULT_OBJECT_MAPPER));
+    Assert.assertNotSame(codec, DocumentCodec.of(DB1_C1.class, new ObjectMapper()));
+  }
+
+  @Test
+  public void decode() throws IOException {
+    ByteString data = ByteString.copyFromUtf8("{\"id\":1,\"name\":\"db1_c1_d1\"}");
+    DB1_C1 document = DocumentCodec.of(DB1_C1.class, DEFAULT_OBJECT_MAPPER).decode(data);
+    Assert.assertEquals(new DB1_C1(1L, "db1_c1_d1"), document);
+  }
+
+  @Test
+  public void decodeFailure() {
+    DocumentCodec<DB1_C1> codec = DocumentCodec.of(DB1_C1.class, DEFAULT_OBJECT_MAPPER);
+    Assert.assertThrows(IOException.class, () -> codec.decode(ByteString.copyFromUtf8("data")));
+  }
+
+  @Test
+  public void encode() throws IOException {
+    DocumentCodec<DB1_C1> codec = DocumentCodec.of(DB1_C1.class, DEFAULT_OBJECT_MAPPER);
+    DB1_C1 document = new DB1_C1(1L, "db1_c1_d1");
+    ByteString encoded = codec.encode(document);
+    Assert.assertEquals(
+        ByteString.copyFromUtf8(DEFAULT_OBJECT_MAPPER.writeValueAsString(document)), encoded);
+    Assert.assertEquals(document, codec.decode(encoded));
+  }
+}
@@ -186,4 +186,45 @@ public class FiltersTest {
   public void testFilterNothing() {
     Assert.assertEquals("{}", Filters.nothing().toJSON(DEFAULT_OBJECT_MAPPER));
   }
+
+  @Test
+  public void compiledFilter() {
+    CompiledFilter compiled =
+        Filters.compile(
+            Filters.or(
+                Filters.eq("id", Filters.param(0)),
+                Filters.and(Filters.eq("name", Filters.param(1)), Filters.eq("active", true)),
+                Filters.eq("other_id", Filters.param(0))));
+    TigrisFilter expected =
+        Filters.or(
+            Filters.eq("id", 7L),
+            Filters.and(Filters.eq("name", "quoted \"name\""), Filters.eq("active", true)),
+            Filters.eq("other_id", 7L));
+    TigrisFilter bound = compiled.bind(7L, "quoted \"name\"");
+    Assert.assertEquals(
+        expected.toJSON(DEFAULT_OBJECT_MAPPER), bound.toJSON(DEFAULT_OBJECT_MAPPER));
+    Assert.assertEquals(
+        expected.toJSON(DEFAULT_OBJECT_MAPPER),
+        ((CompiledFilter.BoundFilter) bound).toByteString(DEFAULT_OBJECT_MAPPER).toStringUtf8());
+    Assert.assertEquals(
+        "{\"$or\":[{\"id\":1},{\"$and\":[{\"name\":null},{\"active\":true}]},{\"other_id\":1}]}",
+        compiled.bind(1, null).toJSON(DEFAULT_OBJECT_MAPPER));
+  }
+
+  @Test
+  public void compiledFilterRequiresEveryValue() {
+    CompiledFilter compiled = Filters.compile(Filters.eq("id", Filters.param(1)));
+    try {
+      compiled.bind(1).toJSON(DEFAULT_OBJECT_MAPPER);
+      Assert.fail("two values are expected");
+    } catch (IllegalArgumentException ex) {
+      Assert.assertEquals("Expected 2 parameter values, got 1", ex.getMessage());
+    }
+    Assert.assertEquals("{\"id\":2}", compiled.bind(1, 2).toJSON(DEFAULT_OBJECT_MAPPER));
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void unboundParamIsNotSerialized() {
+    Filters.eq("id", Filters.param(0)).toJSON(DEFAULT_OBJECT_MAPPER);
+  }
 }
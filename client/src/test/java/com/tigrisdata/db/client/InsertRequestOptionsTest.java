@@ -13,6 +13,7 @@
  */
 package com.tigrisdata.db.client;
 
+import java.time.Duration;
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -31,6 +32,10 @@ public class InsertRequestOptionsTest {
     Assert.assertEquals(op3, op4);
 
     Assert.assertNotEquals(op1, "some-string");
+
+    InsertRequestOptions op5 = new InsertRequestOptions();
+    op5.setDeadline(Duration.ofSeconds(30));
+    Assert.assertNotEquals(op1, op5);
   }
 
   @Test
@@ -51,5 +56,8 @@ public class InsertRequestOptionsTest {
     WriteOptions writeOptions = WriteOptions.DEFAULT_INSTANCE;
     op.setWriteOptions(writeOptions);
     Assert.assertEquals(writeOptions, op.getWriteOptions());
+    Assert.assertNull(op.getDeadline());
+    op.setDeadline(Duration.ofSeconds(30));
+    Assert.assertEquals(Duration.ofSeconds(30), op.getDeadline());
   }
 }
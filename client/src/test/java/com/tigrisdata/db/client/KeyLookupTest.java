@@ -0,0 +1,82 @@
+/*
+ * Copyright 2022 Tigris Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tigrisdata.db.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tigrisdata.db.client.collection.AutoGeneratingPKeysModel;
+import com.tigrisdata.db.client.collection.DB1_C1;
+import com.tigrisdata.db.client.collection.KeyedDB1_C1;
+import com.tigrisdata.db.client.config.TigrisConfiguration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class KeyLookupTest {
+
+  private static final ObjectMapper DEFAULT_OBJECT_MAPPER =
+      TigrisConfiguration.newBuilder("test").build().getObjectMapper();
+
+  @Test
+  public void chunksDistinctKeys() {
+    KeyLookup<KeyedDB1_C1> keyLookup =
+        new KeyLookup<>(KeyedDB1_C1.class, Arrays.asList(1, 2, 1, 3L, 3), DEFAULT_OBJECT_MAPPER);
+    List<TigrisFilter> filters = keyLookup.filters(2);
+    Assert.assertEquals(
+        Arrays.asList(
+            Filters.or(Filters.eq("id", 1), Filters.eq("id", 2)).toJSON(DEFAULT_OBJECT_MAPPER),
+            Filters.eq("id", 3L).toJSON(DEFAULT_OBJECT_MAPPER)),
+        Arrays.asList(
+            filters.get(0).toJSON(DEFAULT_OBJECT_MAPPER),
+            filters.get(1).toJSON(DEFAULT_OBJECT_MAPPER)));
+    Assert.assertEquals(1, keyLookup.filters(100).size());
+  }
+
+  @Test
+  public void matchesDocumentsInRequestOrder() {
+    KeyLookup<KeyedDB1_C1> keyLookup =
+        new KeyLookup<>(KeyedDB1_C1.class, Arrays.asList(2, 7, 1), DEFAULT_OBJECT_MAPPER);
+    KeyedDB1_C1 one = new KeyedDB1_C1(1, "one");
+    KeyedDB1_C1 two = new KeyedDB1_C1(2, "two");
+    ReadByKeysResponse<KeyedDB1_C1> response = keyLookup.toResponse(Arrays.asList(one, two));
+    Assert.assertEquals(Arrays.asList(two, one), response.getDocuments());
+    Assert.assertEquals(Collections.singletonList(7), response.getMissingKeys());
+    Assert.assertSame(two, response.get(2).get());
+    Assert.assertFalse(response.get(7).isPresent());
+  }
+
+  @Test
+  public void rejectsUnsupportedKeys() {
+    assertRejected(() -> new KeyLookup<>(DB1_C1.class, Arrays.asList(1), DEFAULT_OBJECT_MAPPER));
+    assertRejected(
+        () ->
+            new KeyLookup<>(
+                AutoGeneratingPKeysModel.class, Arrays.asList(1), DEFAULT_OBJECT_MAPPER));
+    assertRejected(
+        () -> new KeyLookup<>(KeyedDB1_C1.class, Arrays.asList(1, null), DEFAULT_OBJECT_MAPPER));
+    assertRejected(
+        () ->
+            new KeyLookup<>(KeyedDB1_C1.class, Arrays.asList(1), DEFAULT_OBJECT_MAPPER).filters(0));
+  }
+
+  private static void assertRejected(Runnable runnable) {
+    try {
+      runnable.run();
+      Assert.fail("expected IllegalArgumentException");
+    } catch (IllegalArgumentException ignore) {
+      // expected
+    }
+  }
+}
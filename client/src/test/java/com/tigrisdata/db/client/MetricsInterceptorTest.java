@@ -0,0 +1,127 @@
+/*
+ * Copyright 2022 Tigris Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tigrisdata.db.client;
+
+import com.google.protobuf.ByteString;
+import com.tigrisdata.db.api.v1.grpc.Api;
+import com.tigrisdata.db.client.auth.TigrisAuthorizationToken;
+import com.tigrisdata.db.client.collection.DB1_C1;
+import com.tigrisdata.db.client.config.TigrisConfiguration;
+import com.tigrisdata.db.client.error.TigrisException;
+import com.tigrisdata.db.client.grpc.TestUserService;
+import com.tigrisdata.db.client.metrics.CallMetrics;
+import com.tigrisdata.db.client.metrics.TigrisMetricsRecorder;
+import io.grpc.Status;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.testing.GrpcCleanupRule;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.ClassRule;
+import org.junit.Test;
+
+public class MetricsInterceptorTest {
+
+  private static String SERVER_NAME;
+  private static final TestUserService TEST_USER_SERVICE = new TestUserService();
+  @ClassRule public static final GrpcCleanupRule grpcCleanup = new GrpcCleanupRule();
+
+  @BeforeClass
+  public static void setup() throws Exception {
+    SERVER_NAME = InProcessServerBuilder.generateName();
+
+    grpcCleanup
+        .register(
+            InProcessServerBuilder.forName(SERVER_NAME)
+                .directExecutor()
+                .addService(TEST_USER_SERVICE)
+                .build())
+        .start();
+  }
+
+  @After
+  public void reset() {
+    TEST_USER_SERVICE.reset();
+  }
+
+  @Test
+  public void recordsCalls() throws TigrisException {
+    RecordingMetricsRecorder recorder = new RecordingMetricsRecorder();
+    StandardTigrisClient client =
+        new StandardTigrisClient(
+            new TigrisAuthorizationToken("some.dummy.token"),
+            TigrisConfiguration.newBuilder("some-url").withMetricsRecorder(recorder).build(),
+            InProcessChannelBuilder.forName(SERVER_NAME));
+    grpcCleanup.register(client.getChannel());
+    TigrisCollection<DB1_C1> collection = client.getDatabase("db1").getCollection(DB1_C1.class);
+
+    collection.insert(new DB1_C1(5L, "db1_c1_test-inserted"));
+    Iterator<DB1_C1> iterator = collection.read(Filters.nothing());
+    while (iterator.hasNext()) {
+      iterator.next();
+    }
+
+    Assert.assertEquals(2, recorder.started.size());
+    Assert.assertEquals(2, recorder.completed.size());
+
+    CallMetrics insert = recorder.completed.get(0);
+    Assert.assertEquals("Insert", insert.getMethod());
+    Assert.assertEquals("db1", insert.getDatabase());
+    Assert.assertEquals("db1_c1", insert.getCollection());
+    Assert.assertEquals(Status.Code.OK, insert.getStatusCode());
+    Assert.assertFalse(insert.getTigrisError().isPresent());
+    Assert.assertEquals(1, insert.getDocuments());
+    Assert.assertEquals(1, insert.getMessagesSent());
+    Assert.assertTrue(insert.getBytesSent() > 0);
+
+    CallMetrics read = recorder.completed.get(1);
+    Assert.assertEquals("Read", read.getMethod());
+    Assert.assertEquals("db1_c1", read.getCollection());
+    Assert.assertEquals(6, read.getDocuments());
+    Assert.assertEquals(6, read.getMessagesReceived());
+    Assert.assertTrue(read.getBytesReceived() > 0);
+  }
+
+  @Test
+  public void documentsIn() {
+    Assert.assertEquals(
+        2,
+        MetricsInterceptor.documentsIn(
+            Api.InsertRequest.newBuilder()
+                .addDocuments(ByteString.copyFromUtf8("{}"))
+                .addDocuments(ByteString.copyFromUtf8("{}"))
+                .build()));
+    Assert.assertEquals(1, MetricsInterceptor.documentsIn(Api.ReadResponse.getDefaultInstance()));
+    Assert.assertEquals(0, MetricsInterceptor.documentsIn(Api.DeleteRequest.getDefaultInstance()));
+  }
+
+  private static class RecordingMetricsRecorder implements TigrisMetricsRecorder {
+    private final List<String> started = new CopyOnWriteArrayList<>();
+    private final List<CallMetrics> completed = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void callStarted(String method) {
+      started.add(method);
+    }
+
+    @Override
+    public void callCompleted(CallMetrics metrics) {
+      completed.add(metrics);
+    }
+  }
+}
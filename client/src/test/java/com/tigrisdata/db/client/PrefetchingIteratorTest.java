@@ -0,0 +1,124 @@
+/*
+ * Copyright 2022 Tigris Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tigrisdata.db.client;
+
+import io.grpc.Context;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class PrefetchingIteratorTest {
+
+  @Test
+  public void decodesInOrderOnAnotherThread() {
+    Thread consumer = Thread.currentThread();
+    List<Integer> source = IntStream.range(0, 100).boxed().collect(Collectors.toList());
+    PrefetchingIterator<Integer, String> iterator =
+        new PrefetchingIterator<>(
+            source::iterator,
+            i -> {
+              Assert.assertNotSame(consumer, Thread.currentThread());
+              return String.valueOf(i);
+            },
+            4);
+    List<String> decoded = new ArrayList<>();
+    iterator.forEachRemaining(decoded::add);
+    Assert.assertEquals(source.stream().map(String::valueOf).collect(Collectors.toList()), decoded);
+    Assert.assertFalse(iterator.hasNext());
+  }
+
+  @Test
+  public void rethrowsFailuresAfterPrecedingElements() {
+    PrefetchingIterator<Integer, Integer> iterator =
+        new PrefetchingIterator<>(
+            () -> Arrays.asList(1, 2, 0).iterator(),
+            i -> {
+              if (i == 0) {
+                throw new IllegalArgumentException("bad document");
+              }
+              return i;
+            },
+            1);
+    Assert.assertEquals(1, (int) iterator.next());
+    Assert.assertEquals(2, (int) iterator.next());
+    try {
+      iterator.hasNext();
+      Assert.fail("decoding failure expected");
+    } catch (IllegalArgumentException ex) {
+      Assert.assertEquals("bad document", ex.getMessage());
+    }
+    Assert.assertFalse(iterator.hasNext());
+  }
+
+  @Test
+  public void producerFailureCancelsTheRead() throws InterruptedException {
+    CountDownLatch cancelled = new CountDownLatch(1);
+    PrefetchingIterator<Integer, Integer> iterator =
+        new PrefetchingIterator<>(
+            () -> {
+              Context.current().addListener(context -> cancelled.countDown(), Runnable::run);
+              return Arrays.asList(1, 0, 2).iterator();
+            },
+            i -> {
+              if (i == 0) {
+                throw new IllegalArgumentException("bad document");
+              }
+              return i;
+            },
+            1);
+    // the failure waits for room in the buffer, the read is cancelled meanwhile
+    Assert.assertTrue(cancelled.await(5, TimeUnit.SECONDS));
+    Assert.assertEquals(1, (int) iterator.next());
+    try {
+      iterator.hasNext();
+      Assert.fail("decoding failure expected");
+    } catch (IllegalArgumentException ex) {
+      Assert.assertEquals("bad document", ex.getMessage());
+    }
+  }
+
+  @Test
+  public void closeStopsTheProducer() throws InterruptedException {
+    AtomicInteger produced = new AtomicInteger();
+    Iterator<Integer> endless =
+        new Iterator<Integer>() {
+          @Override
+          public boolean hasNext() {
+            return true;
+          }
+
+          @Override
+          public Integer next() {
+            return produced.incrementAndGet();
+          }
+        };
+    PrefetchingIterator<Integer, Integer> iterator =
+        new PrefetchingIterator<>(() -> endless, i -> i, 2);
+    Assert.assertEquals(1, (int) iterator.next());
+    iterator.close();
+    Assert.assertFalse(iterator.hasNext());
+
+    // one taken, two buffered and one waiting for room, clearing the buffer must not resume it
+    Thread.sleep(100);
+    Assert.assertTrue(produced.get() <= 4);
+  }
+}
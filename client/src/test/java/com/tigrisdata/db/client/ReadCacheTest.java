@@ -0,0 +1,171 @@
+/*
+ * Copyright 2022 Tigris Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tigrisdata.db.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.protobuf.ByteString;
+import com.tigrisdata.db.client.collection.AutoGeneratingPKeysModel;
+import com.tigrisdata.db.client.collection.DB1_C1;
+import com.tigrisdata.db.client.collection.KeyedDB1_C1;
+import com.tigrisdata.db.client.config.TigrisConfiguration;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.UUID;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ReadCacheTest {
+
+  private static final ObjectMapper DEFAULT_OBJECT_MAPPER =
+      TigrisConfiguration.newBuilder("test").build().getObjectMapper();
+
+  @Test
+  public void keyOfPrimaryKeyFilters() {
+    ReadCache<KeyedDB1_C1> cache = newCache(KeyedDB1_C1.class, 100);
+    // int and long values of the same key map to the same entry
+    Assert.assertEquals(cache.keyOf(Filters.eq("id", 1L)), cache.keyOf(Filters.eq("id", 1)));
+    Assert.assertNull(cache.keyOf(Filters.eq("name", "a")));
+    Assert.assertNull(cache.keyOf(Filters.nothing()));
+    Assert.assertNull(cache.keyOf(Filters.or(Filters.eq("id", 1), Filters.eq("id", 2))));
+
+    ReadCache<AutoGeneratingPKeysModel> composite = newCache(AutoGeneratingPKeysModel.class, 100);
+    UUID uuid = UUID.randomUUID();
+    Assert.assertNull(composite.keyOf(Filters.eq("intPKey", 1)));
+    Assert.assertNotNull(
+        composite.keyOf(
+            Filters.and(
+                Filters.eq("strPKey", "a"),
+                Filters.eq("intPKey", 1),
+                Filters.eq("longPKey", 2L),
+                Filters.eq("uuidPKey", uuid))));
+
+    // no primary key, nothing is cacheable
+    Assert.assertNull(newCache(DB1_C1.class, 100).keyOf(Filters.eq("id", 1)));
+  }
+
+  @Test
+  public void keyOfCompiledFilters() {
+    ReadCache<KeyedDB1_C1> cache = newCache(KeyedDB1_C1.class, 100);
+    CompiledFilter byId = Filters.compile(Filters.eq("id", Filters.param(0)));
+    Assert.assertEquals(cache.keyOf(Filters.eq("id", 7L)), cache.keyOf(byId.bind(7L)));
+    Assert.assertNull(cache.keyOf(byId.bind()));
+    Assert.assertNull(cache.keyOf(Filters.compile(Filters.eq("name", Filters.param(0))).bind("a")));
+    Assert.assertNull(
+        cache.keyOf(
+            Filters.compile(Filters.or(Filters.eq("id", Filters.param(0)), Filters.eq("id", 2)))
+                .bind(1)));
+  }
+
+  @Test
+  public void putAndGet() {
+    ReadCache<KeyedDB1_C1> cache = newCache(KeyedDB1_C1.class, 100);
+    String key = cache.keyOf(Filters.eq("id", 1));
+    Assert.assertNull(cache.get(key));
+    cache.put(key, document(1), cache.stamp());
+    Assert.assertEquals(document(1), cache.get(key));
+  }
+
+  @Test
+  public void invalidationDiscardsRacingRead() {
+    ReadCache<KeyedDB1_C1> cache = newCache(KeyedDB1_C1.class, 100);
+    String key = cache.keyOf(Filters.eq("id", 1));
+    long stamp = cache.stamp();
+    cache.invalidate(Filters.eq("id", 1));
+    cache.put(key, document(1), stamp);
+    Assert.assertNull(cache.get(key));
+  }
+
+  @Test
+  public void invalidateWrittenDocuments() {
+    ReadCache<KeyedDB1_C1> cache = newCache(KeyedDB1_C1.class, 100);
+    String key1 = cache.keyOf(Filters.eq("id", 1));
+    String key2 = cache.keyOf(Filters.eq("id", 2));
+    cache.put(key1, document(1), cache.stamp());
+    cache.put(key2, document(2), cache.stamp());
+
+    cache.invalidate(Arrays.asList(new KeyedDB1_C1(1, "new name")));
+    Assert.assertNull(cache.get(key1));
+    Assert.assertEquals(document(2), cache.get(key2));
+
+    // a filter that is not a primary key lookup may match anything
+    cache.invalidate(Filters.eq("name", "b"));
+    Assert.assertEquals(0, cache.size());
+  }
+
+  @Test
+  public void invalidateStreamEvents() throws Exception {
+    ReadCache<KeyedDB1_C1> cache = newCache(KeyedDB1_C1.class, 100);
+    String key1 = cache.keyOf(Filters.eq("id", 1));
+    String key2 = cache.keyOf(Filters.eq("id", 2));
+    cache.put(key1, document(1), cache.stamp());
+    cache.put(key2, document(2), cache.stamp());
+
+    StreamEvent replaced = new StreamEvent(DEFAULT_OBJECT_MAPPER);
+    replaced.setData(DEFAULT_OBJECT_MAPPER.readTree(document(1).toStringUtf8()));
+    cache.invalidate(replaced);
+    Assert.assertNull(cache.get(key1));
+    Assert.assertEquals(document(2), cache.get(key2));
+
+    // a delete carries no document
+    cache.invalidate(new StreamEvent(DEFAULT_OBJECT_MAPPER));
+    Assert.assertEquals(0, cache.size());
+  }
+
+  @Test
+  public void expiry() throws InterruptedException {
+    ReadCache<KeyedDB1_C1> cache =
+        new ReadCache<>(
+            KeyedDB1_C1.class,
+            ReadCacheOptions.newBuilder().withExpireAfterWrite(Duration.ofMillis(50)).build(),
+            DEFAULT_OBJECT_MAPPER);
+    String key = cache.keyOf(Filters.eq("id", 1));
+    cache.put(key, document(1), cache.stamp());
+    Thread.sleep(100);
+    Assert.assertNull(cache.get(key));
+  }
+
+  @Test
+  public void frequentKeysSurviveScan() {
+    ReadCache<KeyedDB1_C1> cache = newCache(KeyedDB1_C1.class, 100);
+    for (int round = 0; round < 5; round++) {
+      for (int id = 0; id < 50; id++) {
+        readThrough(cache, id);
+      }
+    }
+    // a one-off scan of cold keys, larger than the cache
+    for (int id = 1000; id < 1500; id++) {
+      readThrough(cache, id);
+    }
+    Assert.assertTrue(cache.size() <= 100);
+    for (int id = 0; id < 50; id++) {
+      Assert.assertNotNull(cache.get(cache.keyOf(Filters.eq("id", id))));
+    }
+  }
+
+  private static void readThrough(ReadCache<KeyedDB1_C1> cache, int id) {
+    String key = cache.keyOf(Filters.eq("id", id));
+    if (cache.get(key) == null) {
+      cache.put(key, document(id), cache.stamp());
+    }
+  }
+
+  private static <T> ReadCache<T> newCache(Class<T> type, int maxSize) {
+    return new ReadCache<>(
+        type, ReadCacheOptions.newBuilder().withMaxSize(maxSize).build(), DEFAULT_OBJECT_MAPPER);
+  }
+
+  private static ByteString document(long id) {
+    return ByteString.copyFromUtf8("{\"id\":" + id + ",\"name\":\"name " + id + "\"}");
+  }
+}
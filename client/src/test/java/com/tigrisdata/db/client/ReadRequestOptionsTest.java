@@ -13,6 +13,7 @@
  */
 package com.tigrisdata.db.client;
 
+import java.time.Duration;
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -45,6 +46,14 @@ public class ReadRequestOptionsTest {
     ReadRequestOptions readRequestOptions8 =
         new ReadRequestOptions(ReadOptions.DEFAULT_INSTANCE, 2, 2);
     Assert.assertNotEquals(readRequestOptions7, readRequestOptions8);
+
+    ReadRequestOptions readRequestOptions9 = new ReadRequestOptions();
+    readRequestOptions9.setDeadline(Duration.ofMillis(50));
+    Assert.assertNotEquals(readRequestOptions1, readRequestOptions9);
+
+    ReadRequestOptions readRequestOptions10 = new ReadRequestOptions();
+    readRequestOptions10.setPrefetchDepth(16);
+    Assert.assertNotEquals(readRequestOptions1, readRequestOptions10);
   }
 
   @Test
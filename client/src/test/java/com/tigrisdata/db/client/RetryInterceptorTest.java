@@ -0,0 +1,193 @@
+/*
+ * Copyright 2022 Tigris Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tigrisdata.db.client;
+
+import com.google.protobuf.Any;
+import com.google.protobuf.Duration;
+import com.google.rpc.RetryInfo;
+import com.tigrisdata.db.api.v1.grpc.Api;
+import com.tigrisdata.db.api.v1.grpc.TigrisGrpc;
+import com.tigrisdata.db.client.config.TigrisConfiguration;
+import io.grpc.CallOptions;
+import io.grpc.Channel;
+import io.grpc.ClientCall;
+import io.grpc.Metadata;
+import io.grpc.Status;
+import io.grpc.protobuf.StatusProto;
+import java.util.Optional;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+
+public class RetryInterceptorTest {
+
+  private final RetryInterceptor interceptor =
+      new RetryInterceptor(TigrisConfiguration.RetryConfig.newBuilder().build());
+
+  @Test
+  public void backoffIsBounded() {
+    for (int attempt = 1; attempt < 40; attempt++) {
+      long delay = interceptor.delayMillis(attempt, Optional.empty());
+      Assert.assertTrue(delay >= 0);
+      Assert.assertTrue(delay <= Math.min(100L << Math.min(attempt - 1, 30), 5000));
+    }
+  }
+
+  @Test
+  public void honorsServerRetryDelay() {
+    RetryInfo retryInfo =
+        RetryInfo.newBuilder().setRetryDelay(Duration.newBuilder().setSeconds(1)).build();
+    for (int i = 0; i < 100; i++) {
+      long delay = interceptor.delayMillis(1, Optional.of(retryInfo));
+      Assert.assertTrue(delay >= 1000);
+      Assert.assertTrue(delay <= 1200);
+    }
+    RetryInfo longRetryInfo =
+        RetryInfo.newBuilder().setRetryDelay(Duration.newBuilder().setSeconds(60)).build();
+    Assert.assertEquals(-1, interceptor.delayMillis(1, Optional.of(longRetryInfo)));
+  }
+
+  @Test
+  public void budget() {
+    RetryInterceptor.RetryBudget budget = new RetryInterceptor.RetryBudget(4, 0.5);
+    Assert.assertTrue(budget.onFailure());
+    Assert.assertFalse(budget.onFailure());
+    Assert.assertFalse(budget.onFailure());
+    budget.onSuccess();
+    budget.onSuccess();
+    Assert.assertFalse(budget.onFailure());
+    for (int i = 0; i < 5; i++) {
+      budget.onSuccess();
+    }
+    Assert.assertTrue(budget.onFailure());
+  }
+
+  @Test
+  public void skipsNonIdempotentCalls() {
+    Channel channel = Mockito.mock(Channel.class);
+    interceptor.interceptCall(TigrisGrpc.getInsertMethod(), CallOptions.DEFAULT, channel);
+    interceptor.interceptCall(TigrisGrpc.getDeleteMethod(), CallOptions.DEFAULT, channel);
+    Mockito.verify(channel, Mockito.times(2))
+        .newCall(ArgumentMatchers.any(), ArgumentMatchers.any());
+  }
+
+  @Test
+  public void retriesTransientFailure() {
+    Channel channel = Mockito.mock(Channel.class);
+    ClientCall<Api.ReadRequest, Api.ReadResponse> underlying = mockCall(channel);
+    ClientCall.Listener<Api.ReadResponse> listener = Mockito.mock(ClientCall.Listener.class);
+
+    ClientCall<Api.ReadRequest, Api.ReadResponse> call =
+        interceptor.interceptCall(TigrisGrpc.getReadMethod(), CallOptions.DEFAULT, channel);
+    Api.ReadRequest request = Api.ReadRequest.newBuilder().setDb("db1").build();
+    call.start(listener, new Metadata());
+    call.request(1);
+    call.sendMessage(request);
+    call.halfClose();
+
+    capturedListener(underlying, 1).onClose(Status.UNAVAILABLE, new Metadata());
+    Mockito.verify(channel, Mockito.timeout(1000).times(2))
+        .newCall(ArgumentMatchers.any(), ArgumentMatchers.any());
+    Mockito.verify(underlying, Mockito.times(2)).sendMessage(request);
+    Mockito.verify(underlying, Mockito.times(2)).halfClose();
+    Mockito.verify(listener, Mockito.never())
+        .onClose(ArgumentMatchers.any(), ArgumentMatchers.any());
+
+    capturedListener(underlying, 2).onClose(Status.OK, new Metadata());
+    Mockito.verify(listener).onClose(ArgumentMatchers.eq(Status.OK), ArgumentMatchers.any());
+  }
+
+  @Test
+  public void doesNotRetryWithinTransaction() {
+    Channel channel = Mockito.mock(Channel.class);
+    ClientCall<Api.ReadRequest, Api.ReadResponse> underlying = mockCall(channel);
+    ClientCall.Listener<Api.ReadResponse> listener = Mockito.mock(ClientCall.Listener.class);
+
+    Metadata headers = new Metadata();
+    headers.put(
+        Metadata.Key.of(Constants.TRANSACTION_HEADER_ID_KEY, Metadata.ASCII_STRING_MARSHALLER),
+        "tx-id");
+    interceptor
+        .interceptCall(TigrisGrpc.getReadMethod(), CallOptions.DEFAULT, channel)
+        .start(listener, headers);
+
+    capturedListener(underlying, 1).onClose(Status.UNAVAILABLE, new Metadata());
+    Mockito.verify(listener)
+        .onClose(ArgumentMatchers.eq(Status.UNAVAILABLE), ArgumentMatchers.any());
+    Mockito.verify(channel).newCall(ArgumentMatchers.any(), ArgumentMatchers.any());
+  }
+
+  @Test
+  public void doesNotRetryAfterResponse() {
+    Channel channel = Mockito.mock(Channel.class);
+    ClientCall<Api.ReadRequest, Api.ReadResponse> underlying = mockCall(channel);
+    ClientCall.Listener<Api.ReadResponse> listener = Mockito.mock(ClientCall.Listener.class);
+
+    interceptor
+        .interceptCall(TigrisGrpc.getReadMethod(), CallOptions.DEFAULT, channel)
+        .start(listener, new Metadata());
+
+    ClientCall.Listener<Api.ReadResponse> attemptListener = capturedListener(underlying, 1);
+    attemptListener.onMessage(Api.ReadResponse.getDefaultInstance());
+    attemptListener.onClose(Status.UNAVAILABLE, new Metadata());
+    Mockito.verify(listener).onMessage(Api.ReadResponse.getDefaultInstance());
+    Mockito.verify(listener)
+        .onClose(ArgumentMatchers.eq(Status.UNAVAILABLE), ArgumentMatchers.any());
+    Mockito.verify(channel).newCall(ArgumentMatchers.any(), ArgumentMatchers.any());
+  }
+
+  @Test
+  public void doesNotRetryWhenServerDelayExceedsMaxBackoff() {
+    Channel channel = Mockito.mock(Channel.class);
+    ClientCall<Api.ReadRequest, Api.ReadResponse> underlying = mockCall(channel);
+    ClientCall.Listener<Api.ReadResponse> listener = Mockito.mock(ClientCall.Listener.class);
+
+    interceptor
+        .interceptCall(TigrisGrpc.getReadMethod(), CallOptions.DEFAULT, channel)
+        .start(listener, new Metadata());
+
+    RetryInfo retryInfo =
+        RetryInfo.newBuilder().setRetryDelay(Duration.newBuilder().setSeconds(60)).build();
+    Metadata trailers =
+        StatusProto.toStatusRuntimeException(
+                com.google.rpc.Status.newBuilder()
+                    .setCode(Status.Code.UNAVAILABLE.value())
+                    .addDetails(Any.pack(retryInfo))
+                    .build())
+            .getTrailers();
+    capturedListener(underlying, 1).onClose(Status.UNAVAILABLE, trailers);
+    Mockito.verify(listener)
+        .onClose(ArgumentMatchers.eq(Status.UNAVAILABLE), ArgumentMatchers.eq(trailers));
+    Mockito.verify(channel).newCall(ArgumentMatchers.any(), ArgumentMatchers.any());
+  }
+
+  private static ClientCall<Api.ReadRequest, Api.ReadResponse> mockCall(Channel channel) {
+    ClientCall<Api.ReadRequest, Api.ReadResponse> call = Mockito.mock(ClientCall.class);
+    Mockito.when(
+            channel.newCall(
+                ArgumentMatchers.eq(TigrisGrpc.getReadMethod()), ArgumentMatchers.any()))
+        .thenReturn(call);
+    return call;
+  }
+
+  private static ClientCall.Listener<Api.ReadResponse> capturedListener(
+      ClientCall<Api.ReadRequest, Api.ReadResponse> call, int attempts) {
+    ArgumentCaptor<ClientCall.Listener<Api.ReadResponse>> captor =
+        ArgumentCaptor.forClass(ClientCall.Listener.class);
+    Mockito.verify(call, Mockito.times(attempts)).start(captor.capture(), ArgumentMatchers.any());
+    return captor.getValue();
+  }
+}
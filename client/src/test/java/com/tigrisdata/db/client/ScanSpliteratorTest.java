@@ -0,0 +1,148 @@
+/*
+ * Copyright 2022 Tigris Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tigrisdata.db.client;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.function.LongFunction;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ScanSpliteratorTest {
+
+  @Test
+  public void readsEveryDocumentOnce() {
+    for (int size : new int[] {0, 1, 9, 10, 11, 100}) {
+      for (int partitions = 1; partitions <= 4; partitions++) {
+        List<Integer> scanned =
+            StreamSupport.stream(new ScanSpliterator<>(reader(size, 3), partitions, 3), true)
+                .sorted()
+                .collect(Collectors.toList());
+        Assert.assertEquals(range(size), scanned);
+      }
+    }
+  }
+
+  @Test
+  public void readsEachKeyRangeOnce() {
+    List<Integer> reads = new ArrayList<>();
+    ScanSpliterator<Integer> spliterator =
+        new ScanSpliterator<>(
+            partition -> {
+              reads.add(partition);
+              return new Window(range(partition * 10, partition * 10 + 10).iterator());
+            },
+            3);
+    List<Integer> scanned =
+        StreamSupport.stream(spliterator, false).sorted().collect(Collectors.toList());
+    Assert.assertEquals(range(30), scanned);
+    // a partition ends with its read, however many documents it returned
+    Assert.assertEquals(Arrays.asList(0, 1, 2), reads);
+  }
+
+  @Test
+  public void splitsUnstartedPartitions() {
+    List<Long> skips = new ArrayList<>();
+    LongFunction<CloseableIterator<Integer>> reader = reader(20, 5);
+    Spliterator<Integer> spliterator =
+        new ScanSpliterator<>(
+            skip -> {
+              skips.add(skip);
+              return reader.apply(skip);
+            },
+            4,
+            5);
+    Spliterator<Integer> prefix = spliterator.trySplit();
+    Assert.assertNotNull(prefix);
+    Assert.assertNotNull(prefix.trySplit());
+    Assert.assertNull(prefix.trySplit());
+
+    // prefix is left with partition 1, it reads its window and stops at the next empty one
+    List<Integer> documents = new ArrayList<>();
+    prefix.forEachRemaining(documents::add);
+    Assert.assertEquals(range(5, 10), documents);
+    Assert.assertEquals(2, skips.size());
+    Assert.assertEquals(5L, (long) skips.get(0));
+    Assert.assertEquals(25L, (long) skips.get(1));
+  }
+
+  @Test
+  public void closeCancelsOpenWindows() {
+    List<Window> windows = new ArrayList<>();
+    LongFunction<CloseableIterator<Integer>> reader = reader(20, 5);
+    ScanSpliterator<Integer> spliterator =
+        new ScanSpliterator<>(
+            skip -> {
+              Window window = new Window(reader.apply(skip));
+              windows.add(window);
+              return window;
+            },
+            2,
+            5);
+    Spliterator<Integer> prefix = spliterator.trySplit();
+    Assert.assertNotNull(prefix);
+    Assert.assertTrue(prefix.tryAdvance(document -> {}));
+    Assert.assertTrue(spliterator.tryAdvance(document -> {}));
+    Assert.assertEquals(2, windows.size());
+
+    // windows of both splits are open until the scan is closed
+    Assert.assertFalse(windows.get(0).closed || windows.get(1).closed);
+    spliterator.close();
+    Assert.assertTrue(windows.get(0).closed && windows.get(1).closed);
+  }
+
+  private static LongFunction<CloseableIterator<Integer>> reader(int size, int windowSize) {
+    return skip ->
+        new Window(
+            range((int) Math.min(skip, size), (int) Math.min(skip + windowSize, size)).iterator());
+  }
+
+  private static List<Integer> range(int size) {
+    return range(0, size);
+  }
+
+  private static List<Integer> range(int from, int to) {
+    return IntStream.range(from, to).boxed().collect(Collectors.toList());
+  }
+
+  private static final class Window implements CloseableIterator<Integer> {
+    private final Iterator<Integer> documents;
+    private boolean closed;
+
+    private Window(Iterator<Integer> documents) {
+      this.documents = documents;
+    }
+
+    @Override
+    public boolean hasNext() {
+      return !closed && documents.hasNext();
+    }
+
+    @Override
+    public Integer next() {
+      return documents.next();
+    }
+
+    @Override
+    public void close() {
+      closed = true;
+    }
+  }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2022 Tigris Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tigrisdata.db.client;
+
+import com.tigrisdata.db.client.collection.DB1_C1;
+import com.tigrisdata.db.client.search.Hit;
+import com.tigrisdata.db.client.search.SearchResult;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.junit.Assert;
+import org.junit.Test;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+public class SearchHitsPublisherTest {
+
+  @Test
+  public void cancelCancelsPagesInFlight() {
+    List<CompletableFuture<SearchResult<DB1_C1>>> fetched = new CopyOnWriteArrayList<>();
+    SearchHitsPublisher<DB1_C1> publisher =
+        new SearchHitsPublisher<>(
+            page -> {
+              CompletableFuture<SearchResult<DB1_C1>> future = new CompletableFuture<>();
+              fetched.add(future);
+              return future;
+            },
+            1,
+            2);
+    Subscription[] subscription = new Subscription[1];
+    publisher.subscribe(
+        new Subscriber<Hit<DB1_C1>>() {
+          @Override
+          public void onSubscribe(Subscription s) {
+            subscription[0] = s;
+            s.request(1);
+          }
+
+          @Override
+          public void onNext(Hit<DB1_C1> hit) {}
+
+          @Override
+          public void onError(Throwable throwable) {
+            Assert.fail("cancelled subscriptions are not signalled");
+          }
+
+          @Override
+          public void onComplete() {
+            Assert.fail("cancelled subscriptions are not signalled");
+          }
+        });
+    Assert.assertEquals(2, fetched.size());
+
+    subscription[0].cancel();
+    for (CompletableFuture<SearchResult<DB1_C1>> future : fetched) {
+      Assert.assertTrue(future.isCancelled());
+    }
+  }
+
+  @Test
+  public void rejectsNonPositiveMaxInFlightPages() {
+    Assert.assertThrows(
+        IllegalArgumentException.class,
+        () -> new SearchHitsPublisher<DB1_C1>(page -> new CompletableFuture<>(), 1, 0));
+  }
+}
@@ -0,0 +1,158 @@
+/*
+ * Copyright 2022 Tigris Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tigrisdata.db.client;
+
+import io.grpc.Context;
+import io.grpc.stub.StreamObserver;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class SingleFlightTest {
+
+  @Test
+  public void identicalCallsShareOneFlight() {
+    SingleFlight<String, String> singleFlight = new SingleFlight<>();
+    List<StreamObserver<String>> calls = new ArrayList<>();
+    RecordingObserver first = new RecordingObserver();
+    RecordingObserver second = new RecordingObserver();
+    RecordingObserver other = new RecordingObserver();
+
+    singleFlight.call("a", first, calls::add);
+    singleFlight.call("a", second, calls::add);
+    singleFlight.call("b", other, calls::add);
+    Assert.assertEquals(2, calls.size());
+    Assert.assertEquals(2, singleFlight.inFlight());
+
+    calls.get(0).onNext("1");
+    calls.get(0).onNext("2");
+    calls.get(0).onCompleted();
+    Assert.assertEquals(Arrays.asList("1", "2", "completed"), first.signals);
+    Assert.assertEquals(Arrays.asList("1", "2", "completed"), second.signals);
+    Assert.assertTrue(other.signals.isEmpty());
+    Assert.assertEquals(1, singleFlight.inFlight());
+  }
+
+  @Test
+  public void startedFlightIsNotJoined() {
+    SingleFlight<String, String> singleFlight = new SingleFlight<>();
+    List<StreamObserver<String>> calls = new ArrayList<>();
+    RecordingObserver first = new RecordingObserver();
+    RecordingObserver late = new RecordingObserver();
+
+    singleFlight.call("a", first, calls::add);
+    calls.get(0).onNext("1");
+    // the late caller would miss the first response, it gets its own call
+    singleFlight.call("a", late, calls::add);
+    Assert.assertEquals(2, calls.size());
+
+    calls.get(0).onCompleted();
+    calls.get(1).onNext("1");
+    calls.get(1).onCompleted();
+    Assert.assertEquals(Arrays.asList("1", "completed"), first.signals);
+    Assert.assertEquals(Arrays.asList("1", "completed"), late.signals);
+  }
+
+  @Test
+  public void errorsFanOut() {
+    SingleFlight<String, String> singleFlight = new SingleFlight<>();
+    List<StreamObserver<String>> calls = new ArrayList<>();
+    RecordingObserver first = new RecordingObserver();
+    RecordingObserver second = new RecordingObserver();
+
+    singleFlight.call("a", first, calls::add);
+    singleFlight.call("a", second, calls::add);
+    calls.get(0).onError(new IllegalStateException("failed"));
+    Assert.assertEquals(Arrays.asList("error"), first.signals);
+    Assert.assertEquals(Arrays.asList("error"), second.signals);
+    Assert.assertEquals(0, singleFlight.inFlight());
+  }
+
+  @Test
+  public void failingObserverIsDropped() {
+    SingleFlight<String, String> singleFlight = new SingleFlight<>();
+    List<StreamObserver<String>> calls = new ArrayList<>();
+    List<Context> contexts = new ArrayList<>();
+    RecordingObserver failing = new FailingObserver();
+    RecordingObserver healthy = new RecordingObserver();
+
+    singleFlight.call(
+        "a",
+        failing,
+        observer -> {
+          contexts.add(Context.current());
+          calls.add(observer);
+        });
+    singleFlight.call("a", healthy, calls::add);
+    calls.get(0).onNext("1");
+    calls.get(0).onNext("2");
+    Assert.assertEquals(Arrays.asList("1", "error"), failing.signals);
+    Assert.assertEquals(Arrays.asList("1", "2"), healthy.signals);
+    // the call still has a caller
+    Assert.assertFalse(contexts.get(0).isCancelled());
+  }
+
+  @Test
+  public void callIsCancelledOnceNoObserverIsLeft() {
+    SingleFlight<String, String> singleFlight = new SingleFlight<>();
+    List<StreamObserver<String>> calls = new ArrayList<>();
+    List<Context> contexts = new ArrayList<>();
+    RecordingObserver failing = new FailingObserver();
+
+    singleFlight.call(
+        "a",
+        failing,
+        observer -> {
+          contexts.add(Context.current());
+          calls.add(observer);
+        });
+    calls.get(0).onNext("1");
+    Assert.assertTrue(contexts.get(0).isCancelled());
+    Assert.assertEquals(Arrays.asList("1", "error"), failing.signals);
+
+    // responses already on their way are dropped
+    calls.get(0).onNext("2");
+    calls.get(0).onError(new IllegalStateException("cancelled"));
+    Assert.assertEquals(Arrays.asList("1", "error"), failing.signals);
+  }
+
+  private static class RecordingObserver implements StreamObserver<String> {
+    private final List<String> signals = new ArrayList<>();
+
+    @Override
+    public void onNext(String value) {
+      signals.add(value);
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+      signals.add("error");
+    }
+
+    @Override
+    public void onCompleted() {
+      signals.add("completed");
+    }
+  }
+
+  private static class FailingObserver extends RecordingObserver {
+    @Override
+    public void onNext(String value) {
+      super.onNext(value);
+      throw new IllegalArgumentException("broken observer");
+    }
+  }
+}
@@ -13,13 +13,17 @@
  */
 package com.tigrisdata.db.client;
 
+import com.tigrisdata.db.api.v1.grpc.Api;
+import com.tigrisdata.db.api.v1.grpc.TigrisGrpc;
 import com.tigrisdata.db.client.auth.TigrisAuthorizationToken;
 import com.tigrisdata.db.client.config.TigrisConfiguration;
+import com.tigrisdata.db.client.error.TigrisException;
 import com.tigrisdata.db.client.grpc.TestUserService;
 import io.grpc.ClientInterceptor;
 import io.grpc.ManagedChannel;
 import io.grpc.ManagedChannelBuilder;
 import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.stub.StreamObserver;
 import io.grpc.testing.GrpcCleanupRule;
 import org.hamcrest.MatcherAssert;
 import org.hamcrest.Matchers;
@@ -31,9 +35,11 @@ import org.junit.Test;
 import org.mockito.ArgumentMatchers;
 import org.mockito.Mockito;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 
 public class StandardTigrisAsyncClientTest {
 
@@ -78,9 +84,10 @@ public class StandardTigrisAsyncClientTest {
     MatcherAssert.assertThat(
         databases,
         Matchers.containsInAnyOrder(
-            new StandardTigrisAsyncDatabase("db1", null, null, null, null, null, null, null),
-            new StandardTigrisAsyncDatabase("db2", null, null, null, null, null, null, null),
-            new StandardTigrisAsyncDatabase("db3", null, null, null, null, null, null, null)));
+            new StandardTigrisAsyncDatabase("db1", null, null, null, null, null, null, null, null),
+            new StandardTigrisAsyncDatabase("db2", null, null, null, null, null, null, null, null),
+            new StandardTigrisAsyncDatabase(
+                "db3", null, null, null, null, null, null, null, null)));
   }
 
   @Test
@@ -112,8 +119,9 @@ public class StandardTigrisAsyncClientTest {
     MatcherAssert.assertThat(
         asyncClient.listDatabases(DatabaseOptions.DEFAULT_INSTANCE).get(),
         Matchers.containsInAnyOrder(
-            new StandardTigrisAsyncDatabase("db1", null, null, null, null, null, null, null),
-            new StandardTigrisAsyncDatabase("db3", null, null, null, null, null, null, null)));
+            new StandardTigrisAsyncDatabase("db1", null, null, null, null, null, null, null, null),
+            new StandardTigrisAsyncDatabase(
+                "db3", null, null, null, null, null, null, null, null)));
   }
 
   @Test
@@ -139,4 +147,66 @@ public class StandardTigrisAsyncClientTest {
     asyncClient.close();
     Mockito.verify(mockedChannel, Mockito.times(1)).shutdown();
   }
+
+  @Test
+  public void testCloseWithCallInFlight() throws Exception {
+    String serverName = InProcessServerBuilder.generateName();
+    CompletableFuture<StreamObserver<Api.GetInfoResponse>> pendingCall = new CompletableFuture<>();
+    grpcCleanup
+        .register(
+            InProcessServerBuilder.forName(serverName)
+                .directExecutor()
+                .addService(
+                    new TigrisGrpc.TigrisImplBase() {
+                      @Override
+                      public void getInfo(
+                          Api.GetInfoRequest request,
+                          StreamObserver<Api.GetInfoResponse> responseObserver) {
+                        // answered by the test after the client is closed
+                        pendingCall.complete(responseObserver);
+                      }
+                    })
+                .build())
+        .start();
+    TigrisAsyncClient asyncClient = TestUtils.getTestAsyncClient(serverName, grpcCleanup);
+    CompletableFuture<ServerMetadata> serverMetadata = asyncClient.getServerMetadata();
+    StreamObserver<Api.GetInfoResponse> responseObserver = pendingCall.get(5, TimeUnit.SECONDS);
+
+    asyncClient.close();
+    responseObserver.onNext(Api.GetInfoResponse.newBuilder().setServerVersion("1.0.0").build());
+    responseObserver.onCompleted();
+
+    Assert.assertEquals("1.0.0", serverMetadata.get(5, TimeUnit.SECONDS).getServerVersion());
+  }
+
+  @Test
+  public void testCloseCancelsCallsAfterGracePeriod() throws Exception {
+    String serverName = InProcessServerBuilder.generateName();
+    grpcCleanup
+        .register(
+            InProcessServerBuilder.forName(serverName)
+                .directExecutor()
+                .addService(
+                    new TigrisGrpc.TigrisImplBase() {
+                      @Override
+                      public void getInfo(
+                          Api.GetInfoRequest request,
+                          StreamObserver<Api.GetInfoResponse> responseObserver) {
+                        // never answered
+                      }
+                    })
+                .build())
+        .start();
+    StandardTigrisAsyncClient asyncClient = TestUtils.getTestAsyncClient(serverName, grpcCleanup);
+    CompletableFuture<ServerMetadata> serverMetadata = asyncClient.getServerMetadata();
+
+    asyncClient.close(Duration.ofMillis(100));
+    try {
+      serverMetadata.get(5, TimeUnit.SECONDS);
+      Assert.fail("the call is cancelled once the grace period is over");
+    } catch (ExecutionException ex) {
+      Assert.assertTrue(ex.getCause() instanceof TigrisException);
+    }
+    Assert.assertTrue(asyncClient.getChannel().awaitTermination(5, TimeUnit.SECONDS));
+  }
 }
@@ -13,23 +13,37 @@
  */
 package com.tigrisdata.db.client;
 
+import com.google.common.base.Throwables;
+import com.google.protobuf.ByteString;
+import com.tigrisdata.db.api.v1.grpc.Api;
+import com.tigrisdata.db.api.v1.grpc.TigrisGrpc;
+import com.tigrisdata.db.client.auth.TigrisAuthorizationToken;
 import com.tigrisdata.db.client.collection.AutoGeneratingPKeysModel;
 import com.tigrisdata.db.client.collection.DB1_C1;
 import com.tigrisdata.db.client.collection.DB1_C5;
+import com.tigrisdata.db.client.collection.KeyedDB1_C1;
+import com.tigrisdata.db.client.config.TigrisConfiguration;
 import com.tigrisdata.db.client.error.TigrisException;
 import com.tigrisdata.db.client.grpc.TestUserService;
 import com.tigrisdata.db.client.search.FacetCountDistribution;
+import com.tigrisdata.db.client.search.Hit;
 import com.tigrisdata.db.client.search.SearchRequest;
+import com.tigrisdata.db.client.search.SearchRequestOptions;
 import com.tigrisdata.db.client.search.SearchResult;
+import io.grpc.inprocess.InProcessChannelBuilder;
 import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.stub.StreamObserver;
 import io.grpc.testing.GrpcCleanupRule;
 import org.junit.After;
 import org.junit.Assert;
 import org.junit.BeforeClass;
 import org.junit.ClassRule;
 import org.junit.Test;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
 
 import java.io.IOException;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -39,9 +53,13 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 public class StandardTigrisAsyncCollectionTest {
 
@@ -94,6 +112,44 @@ public class StandardTigrisAsyncCollectionTest {
         new DB1_C1(4L, "db1_c1_d4"));
   }
 
+  @Test
+  public void testReaderFailureStopsTheRead() throws InterruptedException {
+    TigrisAsyncClient asyncClient = TestUtils.getTestAsyncClient(SERVER_NAME, grpcCleanup);
+    AtomicInteger received = new AtomicInteger();
+    AtomicInteger completed = new AtomicInteger();
+    AtomicReference<Throwable> error = new AtomicReference<>();
+    CountDownLatch failed = new CountDownLatch(1);
+    asyncClient
+        .getDatabase("db1")
+        .getCollection(DB1_C1.class)
+        .read(
+            Filters.nothing(),
+            new TigrisAsyncReader<DB1_C1>() {
+              @Override
+              public void onNext(DB1_C1 document) {
+                received.incrementAndGet();
+                throw new IllegalStateException("broken reader");
+              }
+
+              @Override
+              public void onError(Throwable t) {
+                error.set(t);
+                failed.countDown();
+              }
+
+              @Override
+              public void onCompleted() {
+                completed.incrementAndGet();
+              }
+            });
+    Assert.assertTrue(failed.await(5, TimeUnit.SECONDS));
+    // the reader is not fed after it failed, and is told why
+    Assert.assertEquals(1, received.get());
+    Assert.assertEquals(0, completed.get());
+    Assert.assertTrue(error.get() instanceof TigrisException);
+    Assert.assertEquals("broken reader", Throwables.getRootCause(error.get()).getMessage());
+  }
+
   @Test
   public void testReadOne() {
     TigrisAsyncClient asyncClient = TestUtils.getTestAsyncClient(SERVER_NAME, grpcCleanup);
@@ -106,6 +162,130 @@ public class StandardTigrisAsyncCollectionTest {
     Assert.assertEquals("db1_c1_d1", db1_c1.get().getName());
   }
 
+  @Test
+  public void testReadOneCached() throws TigrisException {
+    TigrisAsyncClient asyncClient = TestUtils.getTestAsyncClient(SERVER_NAME, grpcCleanup);
+    TigrisAsyncDatabase db1 = asyncClient.getDatabase("db1");
+    TigrisAsyncCollection<KeyedDB1_C1> cached =
+        db1.getCollection(KeyedDB1_C1.class, ReadCacheOptions.newBuilder().build());
+    Assert.assertEquals("db1_c1_d1", cached.readOne(Filters.eq("id", 1L)).join().get().getName());
+
+    // a write through another collection is not seen until the entry is invalidated
+    db1.getCollection(DB1_C1.class)
+        .update(Filters.eq("id", 1), UpdateFields.newBuilder().set("name", "elsewhere").build())
+        .join();
+    Assert.assertEquals("db1_c1_d1", cached.readOne(Filters.eq("id", 1L)).join().get().getName());
+
+    cached
+        .update(Filters.eq("id", 1), UpdateFields.newBuilder().set("name", "local").build())
+        .join();
+    Assert.assertEquals("local", cached.readOne(Filters.eq("id", 1L)).join().get().getName());
+  }
+
+  @Test
+  public void testReadAfterWriteDoesNotJoinOlderRead() throws Exception {
+    String serverName = InProcessServerBuilder.generateName();
+    HeldReadsService heldReadsService = new HeldReadsService();
+    grpcCleanup
+        .register(
+            InProcessServerBuilder.forName(serverName)
+                .directExecutor()
+                .addService(heldReadsService)
+                .build())
+        .start();
+    TigrisAsyncCollection<KeyedDB1_C1> collection =
+        TestUtils.getTestAsyncClient(serverName, grpcCleanup)
+            .getDatabase("db1")
+            .getCollection(KeyedDB1_C1.class, ReadCacheOptions.newBuilder().build());
+
+    CompletableFuture<Optional<KeyedDB1_C1>> before = collection.readOne(Filters.eq("id", 1L));
+    collection
+        .update(Filters.eq("id", 1L), UpdateFields.newBuilder().set("name", "updated").build())
+        .join();
+    CompletableFuture<Optional<KeyedDB1_C1>> after = collection.readOne(Filters.eq("id", 1L));
+    // the read issued after the write does not join the one in flight
+    Assert.assertEquals(2, heldReadsService.heldReads.size());
+
+    heldReadsService.answer(0, "{\"id\":1,\"name\":\"original\"}");
+    heldReadsService.answer(1, "{\"id\":1,\"name\":\"updated\"}");
+    Assert.assertEquals("original", before.get(5, TimeUnit.SECONDS).get().getName());
+    Assert.assertEquals("updated", after.get(5, TimeUnit.SECONDS).get().getName());
+    // served from the cache, the document read before the write was not cached
+    Assert.assertEquals(
+        "updated",
+        collection.readOne(Filters.eq("id", 1L)).get(5, TimeUnit.SECONDS).get().getName());
+    Assert.assertEquals(2, heldReadsService.heldReads.size());
+  }
+
+  @Test
+  public void testReadOneBoundedByDeadline() throws Exception {
+    String serverName = InProcessServerBuilder.generateName();
+    HeldReadsService heldReadsService = new HeldReadsService();
+    grpcCleanup
+        .register(
+            InProcessServerBuilder.forName(serverName)
+                .directExecutor()
+                .addService(heldReadsService)
+                .build())
+        .start();
+    StandardTigrisAsyncClient asyncClient =
+        new StandardTigrisAsyncClient(
+            new TigrisAuthorizationToken("some.dummy.token"),
+            TigrisConfiguration.newBuilder("some-url")
+                .withNetwork(
+                    TigrisConfiguration.NetworkConfig.newBuilder()
+                        .withDeadline(Duration.ofMillis(100))
+                        .build())
+                .build(),
+            InProcessChannelBuilder.forName(serverName));
+    grpcCleanup.register(asyncClient.getChannel());
+    TigrisAsyncCollection<DB1_C1> collection =
+        asyncClient.getDatabase("db1").getCollection(DB1_C1.class);
+
+    // the read is streaming, yet bounded by the default deadline
+    try {
+      collection.readOne(Filters.eq("id", 1L)).get(5, TimeUnit.SECONDS);
+      Assert.fail("read should exceed the default deadline");
+    } catch (ExecutionException ex) {
+      Assert.assertTrue(ex.getCause() instanceof TigrisException);
+    }
+
+    // a per-call deadline replaces the default one
+    CompletableFuture<Optional<DB1_C1>> read =
+        collection.readOne(Filters.eq("id", 1L), Duration.ofSeconds(30));
+    Thread.sleep(300);
+    Assert.assertFalse(read.isDone());
+    heldReadsService.answer(1, "{\"id\":1,\"name\":\"db1_c1_d1\"}");
+    Assert.assertEquals("db1_c1_d1", read.get(5, TimeUnit.SECONDS).get().getName());
+  }
+
+  @Test
+  public void testReadByKeys() {
+    TigrisAsyncClient asyncClient = TestUtils.getTestAsyncClient(SERVER_NAME, grpcCleanup);
+    TigrisAsyncCollection<KeyedDB1_C1> collection =
+        asyncClient.getDatabase("db1").getCollection(KeyedDB1_C1.class);
+    ReadByKeysResponse<KeyedDB1_C1> response =
+        collection.readByKeys(Arrays.asList(3, 1, 42, 3), 2).join();
+    Assert.assertEquals(2, response.getDocuments().size());
+    Assert.assertEquals(3L, response.getDocuments().get(0).getId());
+    Assert.assertEquals(1L, response.getDocuments().get(1).getId());
+    Assert.assertEquals("db1_c1_d1", response.get(1).get().getName());
+    Assert.assertEquals(Collections.singletonList(42), response.getMissingKeys());
+  }
+
+  @Test
+  public void testReadByKeysWithoutPrimaryKey() {
+    TigrisAsyncClient asyncClient = TestUtils.getTestAsyncClient(SERVER_NAME, grpcCleanup);
+    CompletableFuture<ReadByKeysResponse<DB1_C1>> response =
+        asyncClient.getDatabase("db1").getCollection(DB1_C1.class).readByKeys(Arrays.asList(1, 2));
+    try {
+      response.get();
+      Assert.fail("DB1_C1 has no primary key");
+    } catch (InterruptedException | ExecutionException ex) {
+      Assert.assertTrue(ex.getCause() instanceof IllegalArgumentException);
+    }
+  }
+
   @Test
   public void testSearch() {
     TigrisAsyncClient asyncClient = TestUtils.getTestAsyncClient(SERVER_NAME, grpcCleanup);
@@ -120,6 +300,129 @@ public class StandardTigrisAsyncCollectionTest {
             new DB1_C1(4L, "db1_c1_d4")));
   }
 
+  @Test
+  public void testSearchIterator() {
+    TigrisAsyncClient asyncClient = TestUtils.getTestAsyncClient(SERVER_NAME, grpcCleanup);
+    TigrisAsyncDatabase db1 = asyncClient.getDatabase("db1");
+    List<Long> seenIds = new ArrayList<>();
+    try (SearchIterator<DB1_C1> iterator =
+        db1.getCollection(DB1_C1.class)
+            .searchIterator(
+                SearchRequest.newBuilder().build(),
+                SearchRequestOptions.newBuilder().withPage(1).withPerPage(1).build())) {
+      iterator.forEachRemaining(hit -> seenIds.add(hit.getDocument().getId()));
+    }
+    // hits are emitted in page order, and stop at the last one found
+    Assert.assertEquals(Arrays.asList(0L, 1L, 2L, 3L, 4L), seenIds);
+  }
+
+  @Test
+  public void testSearchIteratorRejectsInvalidPagination() {
+    TigrisAsyncClient asyncClient = TestUtils.getTestAsyncClient(SERVER_NAME, grpcCleanup);
+    TigrisAsyncCollection<DB1_C1> collection =
+        asyncClient.getDatabase("db1").getCollection(DB1_C1.class);
+    Assert.assertThrows(
+        IllegalArgumentException.class,
+        () ->
+            collection.searchIterator(
+                SearchRequest.newBuilder().build(),
+                SearchRequestOptions.newBuilder().withPage(1).withPerPage(0).build()));
+    Assert.assertThrows(
+        IllegalArgumentException.class,
+        () ->
+            collection.searchIterator(
+                SearchRequest.newBuilder().build(), SearchRequestOptions.getDefault(), 0));
+  }
+
+  @Test
+  public void testSearchHitsPublisherFromPage() throws InterruptedException {
+    TigrisAsyncClient asyncClient = TestUtils.getTestAsyncClient(SERVER_NAME, grpcCleanup);
+    TigrisAsyncDatabase db1 = asyncClient.getDatabase("db1");
+    List<Long> seenIds = Collections.synchronizedList(new ArrayList<>());
+    AtomicInteger errorCount = new AtomicInteger(0);
+    CountDownLatch completed = new CountDownLatch(1);
+    db1.getCollection(DB1_C1.class)
+        .searchHitsPublisher(
+            SearchRequest.newBuilder().build(),
+            SearchRequestOptions.newBuilder().withPage(3).withPerPage(1).build(),
+            1)
+        .subscribe(
+            new Subscriber<Hit<DB1_C1>>() {
+              private Subscription subscription;
+
+              @Override
+              public void onSubscribe(Subscription subscription) {
+                this.subscription = subscription;
+                subscription.request(1);
+              }
+
+              @Override
+              public void onNext(Hit<DB1_C1> hit) {
+                seenIds.add(hit.getDocument().getId());
+                subscription.request(1);
+              }
+
+              @Override
+              public void onError(Throwable throwable) {
+                errorCount.incrementAndGet();
+                completed.countDown();
+              }
+
+              @Override
+              public void onComplete() {
+                completed.countDown();
+              }
+            });
+    Assert.assertTrue(completed.await(2, TimeUnit.SECONDS));
+    Assert.assertEquals(0, errorCount.get());
+    Assert.assertEquals(Arrays.asList(2L, 3L, 4L), seenIds);
+  }
+
+  @Test
+  public void testReadPublisher() throws InterruptedException {
+    TigrisAsyncClient asyncClient = TestUtils.getTestAsyncClient(SERVER_NAME, grpcCleanup);
+    TigrisAsyncDatabase db1 = asyncClient.getDatabase("db1");
+    List<DB1_C1> received = Collections.synchronizedList(new ArrayList<>());
+    AtomicReference<Subscription> subscription = new AtomicReference<>();
+    CountDownLatch firstTwo = new CountDownLatch(2);
+    CountDownLatch completed = new CountDownLatch(1);
+    db1.getCollection(DB1_C1.class)
+        .readAllPublisher()
+        .subscribe(
+            new Subscriber<DB1_C1>() {
+              @Override
+              public void onSubscribe(Subscription s) {
+                subscription.set(s);
+                s.request(2);
+              }
+
+              @Override
+              public void onNext(DB1_C1 document) {
+                received.add(document);
+                firstTwo.countDown();
+              }
+
+              @Override
+              public void onError(Throwable t) {
+                Assert.fail(t.getMessage());
+              }
+
+              @Override
+              public void onComplete() {
+                completed.countDown();
+              }
+            });
+    Assert.assertTrue(firstTwo.await(5, TimeUnit.SECONDS));
+    // no more documents are delivered than requested
+    Assert.assertFalse(completed.await(100, TimeUnit.MILLISECONDS));
+    Assert.assertEquals(2, received.size());
+
+    subscription.get().request(Long.MAX_VALUE);
+    Assert.assertTrue(completed.await(5, TimeUnit.SECONDS));
+    Assert.assertEquals(5, received.size());
+    Assert.assertEquals(new DB1_C1(0L, "db1_c1_d0"), received.get(0));
+  }
+
   @Test
   public void testInsert1() throws TigrisException, ExecutionException, InterruptedException {
     TigrisAsyncClient asyncClient = TestUtils.getTestAsyncClient(SERVER_NAME, grpcCleanup);
@@ -175,6 +478,35 @@ public class StandardTigrisAsyncCollectionTest {
         new DB1_C1(5L, "db1_c1_test-inserted"));
   }
 
+  @Test
+  public void testBatchedInsert()
+      throws TigrisException, ExecutionException, InterruptedException {
+    TigrisAsyncClient asyncClient = TestUtils.getTestAsyncClient(SERVER_NAME, grpcCleanup);
+    TigrisAsyncDatabase db1 = asyncClient.getDatabase("db1");
+    TigrisAsyncCollection<DB1_C1> collection =
+        db1.getCollection(
+            DB1_C1.class, WriteBatchingOptions.newBuilder().withMaxBatchSize(2).build());
+    CompletableFuture<InsertResponse<DB1_C1>> response1 =
+        collection.insert(new DB1_C1(5L, "db1_c1_test-inserted-5"));
+    CompletableFuture<InsertResponse<DB1_C1>> response2 =
+        collection.insert(new DB1_C1(6L, "db1_c1_test-inserted-6"));
+    CompletableFuture<InsertResponse<DB1_C1>> response3 =
+        collection.insert(new DB1_C1(7L, "db1_c1_test-inserted-7"));
+    Assert.assertEquals(1, response1.get().getKeys().length);
+    Assert.assertEquals(1, response2.get().getKeys().length);
+    Assert.assertEquals(1, response3.get().getKeys().length);
+    inspectDocs(
+        db1,
+        new DB1_C1(0L, "db1_c1_d0"),
+        new DB1_C1(1L, "db1_c1_d1"),
+        new DB1_C1(2L, "db1_c1_d2"),
+        new DB1_C1(3L, "db1_c1_d3"),
+        new DB1_C1(4L, "db1_c1_d4"),
+        new DB1_C1(5L, "db1_c1_test-inserted-5"),
+        new DB1_C1(6L, "db1_c1_test-inserted-6"),
+        new DB1_C1(7L, "db1_c1_test-inserted-7"));
+  }
+
   @Test
   public void testInsertWithAutoGenerateId()
       throws TigrisException, ExecutionException, InterruptedException {
@@ -502,4 +834,28 @@ public class StandardTigrisAsyncCollectionTest {
           Assert.assertEquals(e.getName(), seenDocsMap.get(e.getId()).getName());
         });
   }
+
+  /** Holds every read until the test answers it, updates succeed right away */
+  static class HeldReadsService extends TigrisGrpc.TigrisImplBase {
+    private final List<StreamObserver<Api.ReadResponse>> heldReads = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void read(Api.ReadRequest request, StreamObserver<Api.ReadResponse> responseObserver) {
+      heldReads.add(responseObserver);
+    }
+
+    @Override
+    public void update(
+        Api.UpdateRequest request, StreamObserver<Api.UpdateResponse> responseObserver) {
+      responseObserver.onNext(Api.UpdateResponse.newBuilder().setModifiedCount(1).build());
+      responseObserver.onCompleted();
+    }
+
+    private void answer(int read, String document) {
+      StreamObserver<Api.ReadResponse> responseObserver = heldReads.get(read);
+      responseObserver.onNext(
+          Api.ReadResponse.newBuilder().setData(ByteString.copyFromUtf8(document)).build());
+      responseObserver.onCompleted();
+    }
+  }
 }
@@ -13,24 +13,41 @@
  */
 package com.tigrisdata.db.client;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.google.protobuf.ByteString;
+import com.tigrisdata.db.api.v1.grpc.Api;
+import com.tigrisdata.db.api.v1.grpc.TigrisGrpc;
 import com.tigrisdata.db.client.collection.AutoGeneratingPKeysModel;
 import com.tigrisdata.db.client.collection.DB1_C1;
 import com.tigrisdata.db.client.collection.DB1_C5;
+import com.tigrisdata.db.client.collection.KeyedDB1_C1;
+import com.tigrisdata.db.client.collection.NameProjection;
 import com.tigrisdata.db.client.error.TigrisException;
 import com.tigrisdata.db.client.grpc.TestUserService;
 import com.tigrisdata.db.client.search.FacetCountDistribution;
 import com.tigrisdata.db.client.search.FacetFieldsQuery;
 import com.tigrisdata.db.client.search.SearchRequest;
 import com.tigrisdata.db.client.search.SearchResult;
+import io.grpc.Status;
 import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.StreamObserver;
 import io.grpc.testing.GrpcCleanupRule;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import org.junit.After;
 import org.junit.Assert;
 import org.junit.BeforeClass;
@@ -118,6 +135,192 @@ public class StandardTigrisCollectionTest {
     Assert.assertEquals("db1_c1_d0", result.get().getName());
   }
 
+  @Test
+  public void testReadOneCached() throws TigrisException {
+    TigrisClient client = TestUtils.getTestClient(SERVER_NAME, grpcCleanup);
+    TigrisDatabase db1 = client.getDatabase("db1");
+    TigrisCollection<KeyedDB1_C1> cached =
+        db1.getCollection(KeyedDB1_C1.class, ReadCacheOptions.newBuilder().build());
+    Assert.assertEquals("db1_c1_d1", cached.readOne(Filters.eq("id", 1L)).get().getName());
+
+    // a write through another collection is not seen until the entry is invalidated
+    db1.getCollection(DB1_C1.class)
+        .update(Filters.eq("id", 1), UpdateFields.newBuilder().set("name", "elsewhere").build());
+    Assert.assertEquals("db1_c1_d1", cached.readOne(Filters.eq("id", 1L)).get().getName());
+
+    cached.update(Filters.eq("id", 1), UpdateFields.newBuilder().set("name", "local").build());
+    Assert.assertEquals("local", cached.readOne(Filters.eq("id", 1L)).get().getName());
+  }
+
+  @Test
+  public void testCompiledUpdateInvalidatesOnlyItsKey() throws TigrisException {
+    TigrisClient client = TestUtils.getTestClient(SERVER_NAME, grpcCleanup);
+    TigrisCollection<KeyedDB1_C1> cached =
+        client
+            .getDatabase("db1")
+            .getCollection(KeyedDB1_C1.class, ReadCacheOptions.newBuilder().build());
+    ReadCache<KeyedDB1_C1> readCache = ((AbstractTigrisCollection<KeyedDB1_C1>) cached).readCache;
+    CompiledFilter byId = Filters.compile(Filters.eq("id", Filters.param(0)));
+    cached.readOne(byId.bind(1L));
+    cached.readOne(byId.bind(2L));
+    String key1 = readCache.keyOf(Filters.eq("id", 1L));
+    String key2 = readCache.keyOf(Filters.eq("id", 2L));
+    Assert.assertNotNull(readCache.get(key1));
+    Assert.assertNotNull(readCache.get(key2));
+
+    cached.update(byId.bind(1L), UpdateFields.newBuilder().set("name", "compiled").build());
+    Assert.assertNull(readCache.get(key1));
+    Assert.assertNotNull(readCache.get(key2));
+  }
+
+  @Test
+  public void testReadByKeys() throws TigrisException {
+    TigrisClient client = TestUtils.getTestClient(SERVER_NAME, grpcCleanup);
+    TigrisCollection<KeyedDB1_C1> collection =
+        client.getDatabase("db1").getCollection(KeyedDB1_C1.class);
+    ReadByKeysResponse<KeyedDB1_C1> response = collection.readByKeys(Arrays.asList(3, 1, 42, 3), 2);
+    Assert.assertEquals(2, response.getDocuments().size());
+    Assert.assertEquals(3L, response.getDocuments().get(0).getId());
+    Assert.assertEquals(1L, response.getDocuments().get(1).getId());
+    Assert.assertEquals("db1_c1_d1", response.get(1).get().getName());
+    Assert.assertFalse(response.get(42).isPresent());
+    Assert.assertEquals(Collections.singletonList(42), response.getMissingKeys());
+  }
+
+  @Test
+  public void testReadByKeysCancelsChunksInFlightOnFailure() throws Exception {
+    String serverName = InProcessServerBuilder.generateName();
+    FirstReadFailsService service = new FirstReadFailsService();
+    grpcCleanup
+        .register(
+            InProcessServerBuilder.forName(serverName)
+                .directExecutor()
+                .addService(service)
+                .build())
+        .start();
+    TigrisCollection<KeyedDB1_C1> collection =
+        TestUtils.getTestClient(serverName, grpcCleanup)
+            .getDatabase("db1")
+            .getCollection(KeyedDB1_C1.class);
+    try {
+      collection.readByKeys(Arrays.asList(1, 2, 3), 1);
+      Assert.fail("the first chunk fails");
+    } catch (TigrisException ex) {
+      Assert.assertEquals(
+          Status.Code.INVALID_ARGUMENT, Status.fromThrowable(ex.getCause()).getCode());
+    }
+    // the two chunks still in flight were cancelled
+    Assert.assertTrue(service.cancelled.await(5, TimeUnit.SECONDS));
+  }
+
+  @Test
+  public void testReadProjection() throws TigrisException {
+    TigrisClient client = TestUtils.getTestClient(SERVER_NAME, grpcCleanup);
+    TigrisCollection<DB1_C1> collection = client.getDatabase("db1").getCollection(DB1_C1.class);
+    ReadFields nameOnly = ReadFields.newBuilder().includeField("name").build();
+
+    Iterator<NameProjection> projections =
+        collection.read(Filters.eq("id", 2), nameOnly, NameProjection.class);
+    Assert.assertEquals("db1_c1_d2", projections.next().getName());
+    Assert.assertFalse(projections.hasNext());
+
+    Iterator<JsonNode> trees = collection.read(Filters.eq("id", 2), nameOnly, JsonNode.class);
+    Assert.assertEquals("db1_c1_d2", trees.next().get("name").asText());
+
+    Iterator<byte[]> raw = collection.read(Filters.eq("id", 2), nameOnly, byte[].class);
+    Assert.assertTrue(new String(raw.next(), StandardCharsets.UTF_8).contains("\"db1_c1_d2\""));
+  }
+
+  @Test
+  public void testReadStream() throws TigrisException {
+    TigrisClient client = TestUtils.getTestClient(SERVER_NAME, grpcCleanup);
+    TigrisCollection<DB1_C1> collection = client.getDatabase("db1").getCollection(DB1_C1.class);
+    try (Stream<DB1_C1> stream = collection.readStream(Filters.nothing())) {
+      Assert.assertEquals(
+          "db1_c1_d2", stream.map(DB1_C1::getName).skip(2).findFirst().orElse(null));
+    }
+    try (CloseableIterator<DB1_C1> iterator = collection.readIterator(Filters.nothing())) {
+      Assert.assertEquals("db1_c1_d0", iterator.next().getName());
+      iterator.close();
+      Assert.assertFalse(iterator.hasNext());
+    }
+  }
+
+  @Test
+  public void testReadPrefetching() throws TigrisException {
+    TigrisClient client = TestUtils.getTestClient(SERVER_NAME, grpcCleanup);
+    TigrisCollection<DB1_C1> collection = client.getDatabase("db1").getCollection(DB1_C1.class);
+    ReadRequestOptions readRequestOptions = new ReadRequestOptions();
+    readRequestOptions.setPrefetchDepth(2);
+    List<String> names = new ArrayList<>();
+    try (CloseableIterator<DB1_C1> iterator =
+        collection.readIterator(Filters.nothing(), ReadFields.all(), readRequestOptions)) {
+      iterator.forEachRemaining(document -> names.add(document.getName()));
+    }
+    Assert.assertEquals(
+        Arrays.asList("db1_c1_d0", "db1_c1_d1", "db1_c1_d2", "db1_c1_d3", "db1_c1_d4"), names);
+
+    // a plain iterator can't be closed, so it is not prefetched
+    Iterator<DB1_C1> iterator =
+        collection.read(Filters.nothing(), ReadFields.all(), readRequestOptions);
+    Assert.assertFalse(iterator instanceof CloseableIterator);
+    names.clear();
+    iterator.forEachRemaining(document -> names.add(document.getName()));
+    Assert.assertEquals(5, names.size());
+  }
+
+  @Test
+  public void testParallelScan() {
+    TigrisClient client = TestUtils.getTestClient(SERVER_NAME, grpcCleanup);
+    TigrisCollection<KeyedDB1_C1> collection =
+        client.getDatabase("db1").getCollection(KeyedDB1_C1.class);
+    Assert.assertEquals(
+        Arrays.asList(0L, 1L, 2L, 3L, 4L),
+        collection
+            .parallelScan(Filters.nothing(), ReadFields.all(), 3, 1)
+            .map(KeyedDB1_C1::getId)
+            .sorted()
+            .collect(Collectors.toList()));
+    Assert.assertEquals(5, collection.parallelScan(2).count());
+  }
+
+  @Test
+  public void testParallelScanByKeyRanges() {
+    String serverName = InProcessServerBuilder.generateName();
+    KeyRangeReadService service = new KeyRangeReadService();
+    grpcCleanup
+        .register(
+            InProcessServerBuilder.forName(serverName)
+                .directExecutor()
+                .addService(service)
+                .build())
+        .start();
+    TigrisCollection<KeyedDB1_C1> collection =
+        TestUtils.getTestClient(serverName, grpcCleanup)
+            .getDatabase("db1")
+            .getCollection(KeyedDB1_C1.class);
+
+    Assert.assertEquals(
+        3,
+        collection
+            .parallelScan(Filters.nothing(), ReadFields.all(), "id", Arrays.asList(100L, 200L))
+            .count());
+    // one read per range, none of them skips documents
+    Assert.assertEquals(
+        Arrays.asList(
+            "{\"$and\":[{\"id\":{\"$gte\":100}},{\"id\":{\"$lt\":200}}]}",
+            "{\"id\":{\"$gte\":200}}",
+            "{\"id\":{\"$lt\":100}}"),
+        service.filters.stream().sorted().collect(Collectors.toList()));
+    Assert.assertEquals(0, service.skipped.get());
+
+    service.filters.clear();
+    collection
+        .parallelScan(Filters.eq("name", "a"), ReadFields.all(), "id", Collections.emptyList())
+        .count();
+    Assert.assertEquals(Collections.singletonList("{\"name\":\"a\"}"), service.filters);
+  }
+
   @Test
   public void testReadOneEmpty() throws TigrisException {
     TigrisClient client = TestUtils.getTestClient(SERVER_NAME, grpcCleanup);
@@ -428,4 +631,38 @@ public class StandardTigrisCollectionTest {
       throws TigrisException {
     inspectDocs(false, db1, expectedDocs);
   }
+
+  /** Records the filter of every read and returns a single document for it */
+  static class KeyRangeReadService extends TigrisGrpc.TigrisImplBase {
+    private final List<String> filters = Collections.synchronizedList(new ArrayList<>());
+    private final AtomicLong skipped = new AtomicLong();
+
+    @Override
+    public void read(Api.ReadRequest request, StreamObserver<Api.ReadResponse> responseObserver) {
+      filters.add(request.getFilter().toStringUtf8());
+      skipped.addAndGet(request.getOptions().getSkip());
+      responseObserver.onNext(
+          Api.ReadResponse.newBuilder()
+              .setData(
+                  ByteString.copyFromUtf8(
+                      "{\"id\":" + filters.size() + ",\"name\":\"range\"}"))
+              .build());
+      responseObserver.onCompleted();
+    }
+  }
+
+  static class FirstReadFailsService extends TigrisGrpc.TigrisImplBase {
+    private final AtomicBoolean failed = new AtomicBoolean();
+    private final CountDownLatch cancelled = new CountDownLatch(2);
+
+    @Override
+    public void read(Api.ReadRequest request, StreamObserver<Api.ReadResponse> responseObserver) {
+      if (failed.compareAndSet(false, true)) {
+        responseObserver.onError(Status.INVALID_ARGUMENT.asRuntimeException());
+        return;
+      }
+      ((ServerCallStreamObserver<Api.ReadResponse>) responseObserver)
+          .setOnCancelHandler(cancelled::countDown);
+    }
+  }
 }
@@ -0,0 +1,163 @@
+/*
+ * Copyright 2022 Tigris Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tigrisdata.db.client;
+
+import com.google.protobuf.ByteString;
+import com.tigrisdata.db.api.v1.grpc.Api;
+import com.tigrisdata.db.api.v1.grpc.TigrisGrpc;
+import com.tigrisdata.db.client.collection.DB1_C1;
+import com.tigrisdata.db.client.collection.DB1_C5;
+import io.grpc.Status;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.stub.StreamObserver;
+import io.grpc.testing.GrpcCleanupRule;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.ClassRule;
+import org.junit.Test;
+
+public class StreamDispatcherTest {
+
+  private static String SERVER_NAME;
+  private static final EventsService EVENTS_SERVICE = new EventsService();
+  @ClassRule public static final GrpcCleanupRule grpcCleanup = new GrpcCleanupRule();
+
+  @BeforeClass
+  public static void setup() throws Exception {
+    SERVER_NAME = InProcessServerBuilder.generateName();
+    grpcCleanup
+        .register(
+            InProcessServerBuilder.forName(SERVER_NAME)
+                .directExecutor()
+                .addService(EVENTS_SERVICE)
+                .build())
+        .start();
+  }
+
+  @Test
+  public void routesEventsPerCollection() throws Exception {
+    TigrisDatabase db1 = TestUtils.getTestClient(SERVER_NAME, grpcCleanup).getDatabase("db1");
+    List<DB1_C1> c1Documents = new CopyOnWriteArrayList<>();
+    List<DB1_C5> c5Documents = new CopyOnWriteArrayList<>();
+    CountDownLatch received = new CountDownLatch(3);
+
+    try (StreamDispatcher dispatcher =
+        StreamDispatcher.newBuilder(db1).withQueueCapacity(1).build()) {
+      dispatcher.addListener(
+          db1.getCollection(DB1_C1.class),
+          event -> {
+            try {
+              c1Documents.add(event.getDocument());
+            } catch (Exception ex) {
+              throw new IllegalStateException(ex);
+            }
+            received.countDown();
+          });
+      dispatcher.addListener(
+          DB1_C5.class,
+          event -> {
+            try {
+              c5Documents.add(event.getDocument());
+            } catch (Exception ex) {
+              throw new IllegalStateException(ex);
+            }
+            received.countDown();
+          });
+      dispatcher.start();
+
+      Assert.assertTrue(received.await(10, TimeUnit.SECONDS));
+      Assert.assertEquals(2, c1Documents.size());
+      Assert.assertEquals(new DB1_C1(1L, "first"), c1Documents.get(0));
+      Assert.assertEquals(new DB1_C1(2L, "second"), c1Documents.get(1));
+      Assert.assertEquals(1, c5Documents.size());
+      Assert.assertEquals(new DB1_C5(3L, "third"), c5Documents.get(0));
+    }
+    // a single stream serves every listener
+    Assert.assertEquals(1, EVENTS_SERVICE.calls.get());
+  }
+
+  @Test
+  public void invalidatesCacheOnReconnect() throws Exception {
+    String serverName = InProcessServerBuilder.generateName();
+    grpcCleanup
+        .register(
+            InProcessServerBuilder.forName(serverName)
+                .directExecutor()
+                .addService(new FailingOnceEventsService())
+                .build())
+        .start();
+    TigrisDatabase db1 = TestUtils.getTestClient(serverName, grpcCleanup).getDatabase("db1");
+    TigrisCollection<DB1_C1> collection =
+        db1.getCollection(DB1_C1.class, ReadCacheOptions.newBuilder().build());
+    ReadCache<DB1_C1> readCache = ((AbstractTigrisCollection<DB1_C1>) collection).readCache;
+    readCache.put("cached", ByteString.copyFromUtf8("{\"id\":1}"), readCache.stamp());
+    CountDownLatch reconnected = new CountDownLatch(1);
+
+    try (StreamDispatcher dispatcher = StreamDispatcher.newBuilder(db1).build()) {
+      dispatcher.addCacheInvalidation(collection);
+      dispatcher.addReconnectListener(checkpoint -> reconnected.countDown());
+      dispatcher.start();
+
+      Assert.assertTrue(reconnected.await(10, TimeUnit.SECONDS));
+      // changes made while the stream was down are unknown, nothing cached survives
+      Assert.assertNull(readCache.get("cached"));
+    }
+  }
+
+  /** Fails the first stream without events, later streams stay open */
+  static class FailingOnceEventsService extends TigrisGrpc.TigrisImplBase {
+    private final AtomicInteger calls = new AtomicInteger();
+
+    @Override
+    public void events(
+        Api.EventsRequest request, StreamObserver<Api.EventsResponse> responseObserver) {
+      if (calls.incrementAndGet() == 1) {
+        responseObserver.onError(Status.UNAVAILABLE.asRuntimeException());
+      }
+    }
+  }
+
+  /** Sends changes of three collections, one of them without listeners, and stays open */
+  static class EventsService extends TigrisGrpc.TigrisImplBase {
+    private final AtomicInteger calls = new AtomicInteger();
+
+    @Override
+    public void events(
+        Api.EventsRequest request, StreamObserver<Api.EventsResponse> responseObserver) {
+      calls.incrementAndGet();
+      responseObserver.onNext(event("db1_c1", "{\"id\":1,\"name\":\"first\"}"));
+      responseObserver.onNext(event("db1_c2", "not even json"));
+      responseObserver.onNext(event("db1_c5", "{\"id\":3,\"name\":\"third\"}"));
+      responseObserver.onNext(event("db1_c1", "{\"id\":2,\"name\":\"second\"}"));
+    }
+
+    private static Api.EventsResponse event(String collection, String data) {
+      return Api.EventsResponse.newBuilder()
+          .setEvent(
+              Api.StreamEvent.newBuilder()
+                  .setTxId(ByteString.copyFromUtf8("tx1"))
+                  .setCollection(collection)
+                  .setOp("insert")
+                  .setKey(ByteString.copyFromUtf8(collection))
+                  .setData(ByteString.copyFromUtf8(data))
+                  .setLast(true))
+          .build();
+    }
+  }
+}
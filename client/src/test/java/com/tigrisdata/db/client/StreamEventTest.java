@@ -0,0 +1,112 @@
+/*
+ * Copyright 2022 Tigris Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tigrisdata.db.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.protobuf.ByteString;
+import com.tigrisdata.db.api.v1.grpc.Api;
+import com.tigrisdata.db.client.collection.DB1_C1;
+import com.tigrisdata.db.client.config.TigrisConfiguration;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class StreamEventTest {
+
+  private static final ObjectMapper DEFAULT_OBJECT_MAPPER =
+      TigrisConfiguration.newBuilder("test").build().getObjectMapper();
+
+  @Test
+  public void decodesLazily() throws IOException {
+    StreamEvent event = StreamEvent.from(apiEvent("{\"id\":1,\"name\":\"db1_c1_d1\"}"), null);
+    // the object mapper is only needed once the data is accessed
+    Assert.assertEquals("db1_c1", event.getCollection());
+    Assert.assertEquals("insert", event.getOp());
+    Assert.assertTrue(event.isLast());
+    Assert.assertArrayEquals("tx1".getBytes(StandardCharsets.UTF_8), event.getTxId());
+    Assert.assertArrayEquals("k1".getBytes(StandardCharsets.UTF_8), event.getKey());
+  }
+
+  @Test
+  public void typedData() throws IOException {
+    StreamEvent event =
+        StreamEvent.from(apiEvent("{\"id\":1,\"name\":\"db1_c1_d1\"}"), DEFAULT_OBJECT_MAPPER);
+    Assert.assertEquals(new DB1_C1(1L, "db1_c1_d1"), event.getData(DB1_C1.class));
+    Assert.assertEquals("db1_c1_d1", event.getData().get("name").asText());
+  }
+
+  @Test
+  public void malformedData() throws IOException {
+    StreamEvent event = StreamEvent.from(apiEvent("data"), DEFAULT_OBJECT_MAPPER);
+    Assert.assertEquals("db1_c1", event.getCollection());
+    Assert.assertThrows(IllegalArgumentException.class, event::getData);
+    Assert.assertThrows(IOException.class, () -> event.getData(DB1_C1.class));
+    // the data is compared and printed as received, without parsing it
+    Assert.assertEquals(StreamEvent.from(apiEvent("data"), DEFAULT_OBJECT_MAPPER), event);
+    Assert.assertNotEquals(StreamEvent.from(apiEvent("other"), DEFAULT_OBJECT_MAPPER), event);
+    Assert.assertTrue(event.toString().contains("data=data"));
+    Assert.assertEquals(
+        StreamEvent.from(apiEvent("data"), DEFAULT_OBJECT_MAPPER).hashCode(), event.hashCode());
+  }
+
+  @Test
+  public void equalsEventBuiltThroughSetters() throws IOException {
+    StreamEvent event =
+        StreamEvent.from(apiEvent("{\"id\":1,\"name\":\"db1_c1_d1\"}"), DEFAULT_OBJECT_MAPPER);
+    StreamEvent built = new StreamEvent(DEFAULT_OBJECT_MAPPER);
+    built.setTxId("tx1".getBytes(StandardCharsets.UTF_8));
+    built.setCollection("db1_c1");
+    built.setOp("insert");
+    built.setKey("k1".getBytes(StandardCharsets.UTF_8));
+    built.setLKey(new byte[0]);
+    built.setRKey(new byte[0]);
+    built.setData(DEFAULT_OBJECT_MAPPER.readTree("{\"id\":1,\"name\":\"db1_c1_d1\"}"));
+    built.setLast(true);
+
+    Assert.assertEquals(built, event);
+    Assert.assertEquals(built.hashCode(), event.hashCode());
+    Assert.assertEquals("db1_c1_d1", built.getData(Map.class).get("name"));
+  }
+
+  @Test
+  public void equalsDataSerializedDifferently() throws IOException {
+    StreamEvent event =
+        StreamEvent.from(apiEvent("{ \"name\": \"db1_c1_d1\", \"id\": 1 }"), DEFAULT_OBJECT_MAPPER);
+    StreamEvent compact =
+        StreamEvent.from(apiEvent("{\"id\":1,\"name\":\"db1_c1_d1\"}"), DEFAULT_OBJECT_MAPPER);
+    StreamEvent built = StreamEvent.from(apiEvent(""), DEFAULT_OBJECT_MAPPER);
+    built.setData(DEFAULT_OBJECT_MAPPER.readTree("{\"id\":1,\"name\":\"db1_c1_d1\"}"));
+
+    Assert.assertEquals(compact, event);
+    Assert.assertEquals(compact.hashCode(), event.hashCode());
+    Assert.assertEquals(built, event);
+    Assert.assertEquals(built.hashCode(), event.hashCode());
+    Assert.assertNotEquals(
+        StreamEvent.from(apiEvent("{\"id\":2,\"name\":\"db1_c1_d1\"}"), DEFAULT_OBJECT_MAPPER),
+        event);
+  }
+
+  private static Api.StreamEvent apiEvent(String data) {
+    return Api.StreamEvent.newBuilder()
+        .setTxId(ByteString.copyFromUtf8("tx1"))
+        .setCollection("db1_c1")
+        .setOp("insert")
+        .setKey(ByteString.copyFromUtf8("k1"))
+        .setData(ByteString.copyFromUtf8(data))
+        .setLast(true)
+        .build();
+  }
+}
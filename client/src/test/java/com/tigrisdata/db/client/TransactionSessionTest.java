@@ -13,10 +13,16 @@
  */
 package com.tigrisdata.db.client;
 
+import com.google.protobuf.ByteString;
 import com.tigrisdata.db.client.collection.DB1_C1;
+import com.tigrisdata.db.client.collection.KeyedDB1_C1;
 import com.tigrisdata.db.client.error.TigrisException;
 import com.tigrisdata.db.client.grpc.ContextSettingServerInterceptor;
 import com.tigrisdata.db.client.grpc.TransactionTestUserService;
+import io.grpc.Metadata;
+import io.grpc.ServerCall;
+import io.grpc.ServerCallHandler;
+import io.grpc.ServerInterceptor;
 import io.grpc.inprocess.InProcessServerBuilder;
 import io.grpc.testing.GrpcCleanupRule;
 import org.junit.Assert;
@@ -24,7 +30,14 @@ import org.junit.BeforeClass;
 import org.junit.ClassRule;
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicReference;
 
 public class TransactionSessionTest {
   private static String SERVER_NAME;
@@ -103,4 +116,213 @@ public class TransactionSessionTest {
 
     transactionSession.commit();
   }
+
+  @Test
+  public void testOperationsCarryTransactionHeaders() throws Exception {
+    String serverName = InProcessServerBuilder.generateName();
+    HeaderRecordingInterceptor headers = new HeaderRecordingInterceptor();
+    grpcCleanup
+        .register(
+            InProcessServerBuilder.forName(serverName)
+                .directExecutor()
+                .intercept(new ContextSettingServerInterceptor())
+                .intercept(headers)
+                .addService(new TransactionTestUserService())
+                .build())
+        .start();
+    TigrisClient client = TestUtils.getTestClient(serverName, grpcCleanup);
+    TigrisDatabase db1 = client.getDatabase("db1");
+    TransactionSession transactionSession = db1.beginTransaction(new TransactionOptions());
+    TigrisCollection<DB1_C1> c1TigrisCollection = db1.getCollection(DB1_C1.class);
+
+    c1TigrisCollection.insert(
+        transactionSession, Collections.singletonList(new DB1_C1(1, "hello")));
+    c1TigrisCollection.readOne(transactionSession, Filters.eq("id", 1L));
+    c1TigrisCollection.update(
+        transactionSession,
+        Filters.eq("id", 1L),
+        UpdateFields.newBuilder().set("name", "new name").build());
+    c1TigrisCollection.delete(transactionSession, Filters.eq("id", 1L));
+    transactionSession.commit();
+
+    // every call after the begin carries the id and origin the server handed out
+    Assert.assertEquals(
+        Arrays.asList(
+            "BeginTransaction", "Insert", "Read", "Update", "Delete", "CommitTransaction"),
+        headers.methods);
+    Assert.assertNull(headers.txIds.get(0));
+    Assert.assertNotNull(headers.txIds.get(1));
+    Assert.assertEquals(Collections.nCopies(5, headers.txIds.get(1)), headers.txIds.subList(1, 6));
+    Assert.assertEquals(
+        Collections.nCopies(5, headers.txIds.get(1) + "_origin"), headers.txOrigins.subList(1, 6));
+  }
+
+  @Test
+  public void testCacheInvalidatedOnCommit() throws TigrisException {
+    TigrisClient client = TestUtils.getTestClient(SERVER_NAME, grpcCleanup);
+    TigrisDatabase db1 = client.getDatabase("db1");
+    TigrisCollection<KeyedDB1_C1> cached =
+        db1.getCollection(KeyedDB1_C1.class, ReadCacheOptions.newBuilder().build());
+    ReadCache<KeyedDB1_C1> readCache = ((AbstractTigrisCollection<KeyedDB1_C1>) cached).readCache;
+    String key = readCache.keyOf(Filters.eq("id", 1L));
+    readCache.put(key, document("before"), readCache.stamp());
+
+    TransactionSession transactionSession = db1.beginTransaction(new TransactionOptions());
+    cached.update(
+        transactionSession,
+        Filters.eq("id", 1L),
+        UpdateFields.newBuilder().set("name", "in tx").build());
+    // other readers don't see the write before the commit, and nothing new is cached meanwhile
+    Assert.assertEquals(document("before"), readCache.get(key));
+    readCache.put("other", document("other"), readCache.stamp());
+    Assert.assertNull(readCache.get("other"));
+
+    transactionSession.commit();
+    Assert.assertNull(readCache.get(key));
+    readCache.put(key, document("after"), readCache.stamp());
+    Assert.assertEquals(document("after"), readCache.get(key));
+  }
+
+  @Test
+  public void testAsyncCacheInvalidatedOnCommit() throws Exception {
+    TigrisAsyncClient client = TestUtils.getTestAsyncClient(SERVER_NAME, grpcCleanup);
+    TigrisAsyncDatabase db1 = client.getDatabase("db1");
+    TigrisAsyncCollection<KeyedDB1_C1> cached =
+        db1.getCollection(KeyedDB1_C1.class, ReadCacheOptions.newBuilder().build());
+    ReadCache<KeyedDB1_C1> readCache = ((AbstractTigrisCollection<KeyedDB1_C1>) cached).readCache;
+    String key = readCache.keyOf(Filters.eq("id", 1L));
+    readCache.put(key, document("before"), readCache.stamp());
+
+    TransactionSession transactionSession = db1.beginTransaction(new TransactionOptions()).get();
+    cached.deleteAsync(transactionSession, Filters.eq("id", 1L)).get();
+    Assert.assertEquals(document("before"), readCache.get(key));
+
+    transactionSession.commitAsync().get();
+    Assert.assertNull(readCache.get(key));
+  }
+
+  @Test
+  public void testAsyncOperations() throws Exception {
+    TigrisAsyncClient client = TestUtils.getTestAsyncClient(SERVER_NAME, grpcCleanup);
+    TigrisAsyncDatabase db1 = client.getDatabase("db1");
+    TransactionSession transactionSession = db1.beginTransaction(new TransactionOptions()).get();
+    TigrisAsyncCollection<DB1_C1> c1TigrisCollection = db1.getCollection(DB1_C1.class);
+
+    c1TigrisCollection.insertAsync(transactionSession, new DB1_C1(11, "hello")).get();
+    Optional<DB1_C1> read =
+        c1TigrisCollection.readOneAsync(transactionSession, Filters.eq("id", 11L)).get();
+    Assert.assertTrue(read.isPresent());
+    Assert.assertEquals("hello", read.get().getName());
+
+    c1TigrisCollection
+        .updateAsync(
+            transactionSession,
+            Filters.eq("id", 11L),
+            UpdateFields.newBuilder().set("name", "new name").build())
+        .get();
+    c1TigrisCollection.deleteAsync(transactionSession, Filters.eq("id", 11L)).get();
+    transactionSession.commitAsync().get();
+
+    transactionSession = db1.beginTransaction(new TransactionOptions()).get();
+    transactionSession.rollbackAsync().get();
+    try {
+      transactionSession.rollbackAsync().get();
+      Assert.fail("above is expected to fail");
+    } catch (ExecutionException ex) {
+      Assert.assertTrue(ex.getCause() instanceof TigrisException);
+    }
+  }
+
+  @Test
+  public void testAsyncTransact() throws Exception {
+    TigrisAsyncClient client = TestUtils.getTestAsyncClient(SERVER_NAME, grpcCleanup);
+    TigrisAsyncDatabase db1 = client.getDatabase("db1");
+    TigrisAsyncCollection<DB1_C1> c1TigrisCollection = db1.getCollection(DB1_C1.class);
+
+    String status =
+        db1.transact(
+                session ->
+                    c1TigrisCollection
+                        .insertAsync(session, new DB1_C1(12, "foo"))
+                        .thenCompose(
+                            ignore ->
+                                c1TigrisCollection.deleteAsync(session, Filters.eq("id", 12L)))
+                        .thenApply(ignore -> "done"))
+            .get();
+    Assert.assertEquals("done", status);
+  }
+
+  @Test
+  public void testAsyncTransactRollsBackOnFailure() throws Exception {
+    TigrisAsyncClient client = TestUtils.getTestAsyncClient(SERVER_NAME, grpcCleanup);
+    TigrisAsyncDatabase db1 = client.getDatabase("db1");
+
+    CompletableFuture<Object> result =
+        db1.transact(
+            session -> {
+              throw new IllegalStateException("boom");
+            });
+    try {
+      result.get();
+      Assert.fail("above is expected to fail");
+    } catch (ExecutionException ex) {
+      Assert.assertTrue(ex.getCause() instanceof TigrisException);
+      Assert.assertTrue(ex.getCause().getCause() instanceof IllegalStateException);
+    }
+  }
+
+  @Test
+  public void testAsyncTransactRollsBackOnNullResult() throws Exception {
+    TigrisAsyncClient client = TestUtils.getTestAsyncClient(SERVER_NAME, grpcCleanup);
+    TigrisAsyncDatabase db1 = client.getDatabase("db1");
+
+    AtomicReference<TransactionSession> transactionSession = new AtomicReference<>();
+    CompletableFuture<Object> result =
+        db1.transact(
+            session -> {
+              transactionSession.set(session);
+              return null;
+            });
+    try {
+      result.get();
+      Assert.fail("above is expected to fail");
+    } catch (ExecutionException ex) {
+      Assert.assertTrue(ex.getCause() instanceof TigrisException);
+      Assert.assertTrue(ex.getCause().getCause() instanceof NullPointerException);
+    }
+    // the transaction was rolled back, so it can't be committed anymore
+    try {
+      transactionSession.get().commitAsync().get();
+      Assert.fail("above is expected to fail");
+    } catch (ExecutionException ex) {
+      Assert.assertTrue(ex.getCause() instanceof TigrisException);
+    }
+  }
+
+  /** Records the method and the transaction headers of every call */
+  static class HeaderRecordingInterceptor implements ServerInterceptor {
+    private static final Metadata.Key<String> TX_ID =
+        Metadata.Key.of("Tigris-Tx-Id", Metadata.ASCII_STRING_MARSHALLER);
+    private static final Metadata.Key<String> TX_ORIGIN =
+        Metadata.Key.of("Tigris-Tx-Origin", Metadata.ASCII_STRING_MARSHALLER);
+
+    private final List<String> methods = Collections.synchronizedList(new ArrayList<>());
+    private final List<String> txIds = Collections.synchronizedList(new ArrayList<>());
+    private final List<String> txOrigins = Collections.synchronizedList(new ArrayList<>());
+
+    @Override
+    public <ReqT, RespT> ServerCall.Listener<ReqT> interceptCall(
+        ServerCall<ReqT, RespT> serverCall,
+        Metadata metadata,
+        ServerCallHandler<ReqT, RespT> serverCallHandler) {
+      methods.add(serverCall.getMethodDescriptor().getBareMethodName());
+      txIds.add(metadata.get(TX_ID));
+      txOrigins.add(metadata.get(TX_ORIGIN));
+      return serverCallHandler.startCall(serverCall, metadata);
+    }
+  }
+
+  private static ByteString document(String name) {
+    return ByteString.copyFromUtf8("{\"id\":1,\"name\":\"" + name + "\"}");
+  }
 }
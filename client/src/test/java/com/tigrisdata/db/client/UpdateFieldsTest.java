@@ -59,4 +59,34 @@ public class UpdateFieldsTest {
           "This is raised because the JSON serialization of UpdateFields failed", ex.getMessage());
     }
   }
+
+  @Test
+  public void bindParams() {
+    UpdateFields template =
+        UpdateFields.newBuilder()
+            .set("name", Filters.param(0))
+            .set("active", true)
+            .set("total_int_score", Filters.param(1))
+            .build();
+    UpdateFields bound = template.bind("new_name", 100);
+    Assert.assertEquals(
+        "{\"$set\":{\"name\":\"new_name\",\"active\":true,\"total_int_score\":100}}",
+        bound.toJSON(DEFAULT_OBJECT_MAPPER));
+    Assert.assertEquals(
+        bound.toJSON(DEFAULT_OBJECT_MAPPER),
+        template.bind("new_name", 100).toByteString(DEFAULT_OBJECT_MAPPER).toStringUtf8());
+
+    try {
+      bound.bind("other", 1);
+      Assert.fail("bound update fields have no parameters");
+    } catch (IllegalStateException ignore) {
+      // expected
+    }
+    try {
+      UpdateFields.newBuilder().set("name", "new_name").build().bind("other");
+      Assert.fail("update fields have no parameters");
+    } catch (IllegalStateException ignore) {
+      // expected
+    }
+  }
 }
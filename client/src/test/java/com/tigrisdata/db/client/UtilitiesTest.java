@@ -16,12 +16,17 @@ package com.tigrisdata.db.client;
 import com.google.common.util.concurrent.MoreExecutors;
 import com.google.common.util.concurrent.SettableFuture;
 import com.google.protobuf.Timestamp;
+import com.tigrisdata.db.client.config.TigrisConfiguration;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -120,4 +125,53 @@ public class UtilitiesTest {
   public void testTimestampConversionThrowsException() {
     Assert.assertThrows(NullPointerException.class, () -> Utilities.protoTimestampToInstant(null));
   }
+
+  @Test
+  public void testBoundedCallbackExecutor() throws InterruptedException {
+    ExecutorService executor =
+        Utilities.newCallbackExecutor(TigrisConfiguration.ExecutorConfig.boundedPool(1, 1));
+    try {
+      CountDownLatch blocked = new CountDownLatch(1);
+      CountDownLatch release = new CountDownLatch(1);
+      executor.execute(
+          () -> {
+            blocked.countDown();
+            try {
+              release.await();
+            } catch (InterruptedException ignore) {
+            }
+          });
+      Assert.assertTrue(blocked.await(5, TimeUnit.SECONDS));
+      // fills the queue
+      executor.execute(() -> {});
+      // the pool and its queue are full, the caller runs the task
+      AtomicReference<Thread> runner = new AtomicReference<>();
+      executor.execute(() -> runner.set(Thread.currentThread()));
+      Assert.assertSame(Thread.currentThread(), runner.get());
+      release.countDown();
+    } finally {
+      executor.shutdown();
+    }
+    Assert.assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+  }
+
+  @Test
+  public void testBoundedCallbackExecutorRunsTasksAfterShutdown() {
+    ExecutorService executor =
+        Utilities.newCallbackExecutor(TigrisConfiguration.ExecutorConfig.boundedPool(1, 1));
+    executor.shutdown();
+    AtomicReference<Thread> runner = new AtomicReference<>();
+    executor.execute(() -> runner.set(Thread.currentThread()));
+    Assert.assertSame(Thread.currentThread(), runner.get());
+  }
+
+  @Test
+  public void testDirectCallbackExecutor() {
+    ExecutorService executor =
+        Utilities.newCallbackExecutor(TigrisConfiguration.ExecutorConfig.direct());
+    AtomicReference<Thread> runner = new AtomicReference<>();
+    executor.execute(() -> runner.set(Thread.currentThread()));
+    Assert.assertSame(Thread.currentThread(), runner.get());
+    executor.shutdown();
+  }
 }
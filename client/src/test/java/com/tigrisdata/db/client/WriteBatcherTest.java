@@ -0,0 +1,183 @@
+/*
+ * Copyright 2022 Tigris Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tigrisdata.db.client;
+
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.SettableFuture;
+import com.google.protobuf.ByteString;
+import com.google.protobuf.Timestamp;
+import com.tigrisdata.db.client.error.TigrisException;
+import io.grpc.Status;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class WriteBatcherTest {
+
+  @Test
+  public void flushesFullBatch() throws Exception {
+    List<List<ByteString>> sent = new CopyOnWriteArrayList<>();
+    WriteBatcher batcher =
+        new WriteBatcher(
+            WriteBatchingOptions.newBuilder()
+                .withMaxBatchSize(3)
+                .withLinger(Duration.ofMinutes(1))
+                .build(),
+            documents -> {
+              sent.add(documents);
+              return keysOf(documents);
+            },
+            Constants.INSERT_FAILED);
+
+    CompletableFuture<WriteBatcher.Result> first = batcher.add(docs("a"));
+    CompletableFuture<WriteBatcher.Result> second = batcher.add(docs("b", "c"));
+    Assert.assertEquals(1, sent.size());
+    Assert.assertEquals(docs("a", "b", "c"), sent.get(0));
+    Assert.assertEquals(docs("a"), first.get().getKeys());
+    Assert.assertEquals(docs("b", "c"), second.get().getKeys());
+  }
+
+  @Test
+  public void keepsCallDocumentsTogether() throws Exception {
+    List<List<ByteString>> sent = new CopyOnWriteArrayList<>();
+    WriteBatcher batcher =
+        new WriteBatcher(
+            WriteBatchingOptions.newBuilder()
+                .withMaxBatchSize(2)
+                .withLinger(Duration.ofMinutes(1))
+                .build(),
+            documents -> {
+              sent.add(documents);
+              return keysOf(documents);
+            },
+            Constants.INSERT_FAILED);
+
+    CompletableFuture<WriteBatcher.Result> first = batcher.add(docs("a"));
+    CompletableFuture<WriteBatcher.Result> second = batcher.add(docs("b", "c"));
+    Assert.assertEquals(Arrays.asList(docs("a"), docs("b", "c")), sent);
+    Assert.assertEquals(docs("a"), first.get().getKeys());
+    Assert.assertEquals(docs("b", "c"), second.get().getKeys());
+  }
+
+  @Test
+  public void flushesAfterLinger() throws Exception {
+    WriteBatcher batcher =
+        new WriteBatcher(
+            WriteBatchingOptions.newBuilder().withLinger(Duration.ofMillis(10)).build(),
+            WriteBatcherTest::keysOf,
+            Constants.INSERT_FAILED);
+
+    CompletableFuture<WriteBatcher.Result> first = batcher.add(docs("a"));
+    Assert.assertEquals(docs("a"), first.get(5, TimeUnit.SECONDS).getKeys());
+  }
+
+  @Test
+  public void failsEveryCallOfBatch() throws InterruptedException {
+    SettableFuture<WriteBatcher.Result> response = SettableFuture.create();
+    WriteBatcher batcher =
+        new WriteBatcher(
+            WriteBatchingOptions.newBuilder()
+                .withMaxBatchSize(2)
+                .withLinger(Duration.ofMinutes(1))
+                .build(),
+            documents -> response,
+            Constants.INSERT_FAILED);
+
+    CompletableFuture<WriteBatcher.Result> first = batcher.add(docs("a"));
+    CompletableFuture<WriteBatcher.Result> second = batcher.add(docs("b"));
+    response.setException(Status.UNAVAILABLE.asRuntimeException());
+    for (CompletableFuture<WriteBatcher.Result> future : Arrays.asList(first, second)) {
+      try {
+        future.get();
+        Assert.fail("expected failure");
+      } catch (ExecutionException ex) {
+        Assert.assertTrue(ex.getCause() instanceof TigrisException);
+        Assert.assertTrue(ex.getCause().getMessage().startsWith(Constants.INSERT_FAILED));
+      }
+    }
+  }
+
+  @Test
+  public void retriesCallsOfRejectedBatchSeparately() throws InterruptedException {
+    List<List<ByteString>> sent = new CopyOnWriteArrayList<>();
+    WriteBatcher batcher =
+        new WriteBatcher(
+            WriteBatchingOptions.newBuilder()
+                .withMaxBatchSize(3)
+                .withLinger(Duration.ofMinutes(1))
+                .build(),
+            documents -> {
+              sent.add(new ArrayList<>(documents));
+              if (documents.contains(ByteString.copyFromUtf8("duplicate"))) {
+                return Futures.immediateFailedFuture(Status.ALREADY_EXISTS.asRuntimeException());
+              }
+              return keysOf(documents);
+            },
+            Constants.INSERT_FAILED);
+
+    CompletableFuture<WriteBatcher.Result> first = batcher.add(docs("a"));
+    CompletableFuture<WriteBatcher.Result> second = batcher.add(docs("duplicate", "b"));
+    Assert.assertEquals(
+        Arrays.asList(docs("a", "duplicate", "b"), docs("a"), docs("duplicate", "b")), sent);
+    Assert.assertEquals(docs("a"), first.join().getKeys());
+    try {
+      second.get();
+      Assert.fail("expected failure");
+    } catch (ExecutionException ex) {
+      Assert.assertTrue(ex.getCause() instanceof TigrisException);
+    }
+  }
+
+  @Test
+  public void registryFlushesLingeringBatch() throws Exception {
+    WriteBatcher batcher =
+        new WriteBatcher(
+            WriteBatchingOptions.newBuilder().withLinger(Duration.ofMinutes(1)).build(),
+            WriteBatcherTest::keysOf,
+            Constants.INSERT_FAILED);
+    WriteBatcher.Registry registry = new WriteBatcher.Registry();
+    registry.register(batcher);
+
+    CompletableFuture<WriteBatcher.Result> first = batcher.add(docs("a"));
+    Assert.assertFalse(first.isDone());
+    registry.flush();
+    Assert.assertEquals(docs("a"), first.get(5, TimeUnit.SECONDS).getKeys());
+  }
+
+  private static List<ByteString> docs(String... documents) {
+    List<ByteString> result = new ArrayList<>();
+    for (String document : documents) {
+      result.add(ByteString.copyFromUtf8(document));
+    }
+    return result;
+  }
+
+  private static ListenableFuture<WriteBatcher.Result> keysOf(List<ByteString> documents) {
+    return Futures.immediateFuture(
+        new WriteBatcher.Result(
+            "inserted",
+            Timestamp.getDefaultInstance(),
+            Timestamp.getDefaultInstance(),
+            Collections.unmodifiableList(documents)));
+  }
+}
@@ -0,0 +1,40 @@
+/*
+ * Copyright 2022 Tigris Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tigrisdata.db.client.collection;
+
+import com.tigrisdata.db.annotation.TigrisCollection;
+import com.tigrisdata.db.annotation.TigrisPrimaryKey;
+import com.tigrisdata.db.type.TigrisCollectionType;
+
+/** Test collection type of db1_c1 with its primary key declared */
+@TigrisCollection("db1_c1")
+public class KeyedDB1_C1 implements TigrisCollectionType {
+  @TigrisPrimaryKey(order = 1)
+  private final long id;
+
+  private final String name;
+
+  public KeyedDB1_C1(long id, String name) {
+    this.id = id;
+    this.name = name;
+  }
+
+  public long getId() {
+    return id;
+  }
+
+  public String getName() {
+    return name;
+  }
+}
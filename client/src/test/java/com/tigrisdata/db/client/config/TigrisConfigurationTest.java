@@ -30,6 +30,17 @@ public class TigrisConfigurationTest {
     assertNotNull(defaultConfiguration.getObjectMapper());
 
     assertEquals(Duration.ofSeconds(5), defaultConfiguration.getNetwork().getDeadline());
+
+    assertEquals(3, defaultConfiguration.getRetry().getMaxAttempts());
+    assertEquals(Duration.ofMillis(100), defaultConfiguration.getRetry().getInitialBackoff());
+    assertEquals(Duration.ofSeconds(5), defaultConfiguration.getRetry().getMaxBackoff());
+
+    assertEquals(
+        TigrisConfiguration.ExecutorConfig.Type.BOUNDED_POOL,
+        defaultConfiguration.getExecutor().getType());
+    assertEquals(
+        Runtime.getRuntime().availableProcessors(),
+        defaultConfiguration.getExecutor().getThreads());
   }
 
   @Test
@@ -43,6 +54,13 @@ public class TigrisConfigurationTest {
                     .withDeadline(Duration.ofSeconds(50))
                     .build())
             .withObjectMapper(objectMapper)
+            .withExecutor(TigrisConfiguration.ExecutorConfig.direct())
+            .withRetry(
+                TigrisConfiguration.RetryConfig.newBuilder()
+                    .withMaxAttempts(5)
+                    .withBackoff(Duration.ofMillis(10), Duration.ofSeconds(1))
+                    .withBudget(20, 0.5)
+                    .build())
             .build();
 
     assertEquals("some-host:443", customConfiguration.getServerURL());
@@ -51,5 +69,15 @@ public class TigrisConfigurationTest {
     assertTrue(customConfiguration.getNetwork().isUsePlainText());
 
     assertEquals(Duration.ofSeconds(50), customConfiguration.getNetwork().getDeadline());
+
+    assertEquals(5, customConfiguration.getRetry().getMaxAttempts());
+    assertEquals(Duration.ofMillis(10), customConfiguration.getRetry().getInitialBackoff());
+    assertEquals(Duration.ofSeconds(1), customConfiguration.getRetry().getMaxBackoff());
+    assertEquals(20, customConfiguration.getRetry().getBudgetMaxTokens());
+    assertEquals(0.5, customConfiguration.getRetry().getBudgetTokenRatio(), 0.0);
+
+    assertEquals(
+        TigrisConfiguration.ExecutorConfig.Type.DIRECT,
+        customConfiguration.getExecutor().getType());
   }
 }
@@ -295,7 +295,12 @@ public class TestUserService extends TigrisGrpc.TigrisImplBase {
     boolean filterNothing = filterJsonObject.toString().equals("{}");
     if (filterNothing) {
       if (dbToCollectionsMap.get(request.getDb()).contains(request.getCollection())) {
-        for (JsonObject jsonObject : collectionToDocumentsMap.get(request.getCollection())) {
+        List<JsonObject> documents = collectionToDocumentsMap.get(request.getCollection());
+        long skip = request.getOptions().getSkip();
+        long limit = request.getOptions().getLimit();
+        // a limit of 0 reads everything
+        long end = limit > 0 ? Math.min(documents.size(), skip + limit) : documents.size();
+        for (JsonObject jsonObject : documents.subList((int) Math.min(skip, end), (int) end)) {
           responseObserver.onNext(
               Api.ReadResponse.newBuilder()
                   .setData(ByteString.copyFromUtf8(jsonObject.toString()))
@@ -304,24 +309,28 @@ public class TestUserService extends TigrisGrpc.TigrisImplBase {
       }
       responseObserver.onCompleted();
     } else {
-      @SuppressWarnings("OptionalGetWithoutIsPresent")
-      String filterKey = filterJsonObject.keySet().stream().findAny().get();
+      // single key filters, optionally combined with $or
+      List<JsonObject> filters = new ArrayList<>();
+      if (filterJsonObject.has("$or")) {
+        filterJsonObject.getAsJsonArray("$or").forEach(f -> filters.add(f.getAsJsonObject()));
+      } else {
+        filters.add(filterJsonObject);
+      }
       if (dbToCollectionsMap.get(request.getDb()).contains(request.getCollection())) {
         for (JsonObject jsonObject : collectionToDocumentsMap.get(request.getCollection())) {
-          // if field exists in the doc, then filter
-          if (jsonObject.keySet().contains(filterKey)) {
-            if (filterJsonObject.get(filterKey).equals(jsonObject.get(filterKey))) {
+          for (JsonObject filter : filters) {
+            @SuppressWarnings("OptionalGetWithoutIsPresent")
+            String filterKey = filter.keySet().stream().findAny().get();
+            // if field exists in the doc, then filter
+            // if the key is not present then allow for "test" purpose.
+            if (!jsonObject.keySet().contains(filterKey)
+                || filter.get(filterKey).equals(jsonObject.get(filterKey))) {
               responseObserver.onNext(
                   Api.ReadResponse.newBuilder()
                       .setData(ByteString.copyFromUtf8(jsonObject.toString()))
                       .build());
+              break;
             }
-          } else {
-            // if the key is not present then allow for "test" purpose.
-            responseObserver.onNext(
-                Api.ReadResponse.newBuilder()
-                    .setData(ByteString.copyFromUtf8(jsonObject.toString()))
-                    .build());
           }
         }
       }
@@ -353,6 +362,10 @@ public class TestUserService extends TigrisGrpc.TigrisImplBase {
               .setStats(FacetStats.newBuilder().setCount(nameCounts.size()).build())
               .build();
       for (int i = 0; i < documents.size(); i++) {
+        // a requested page is served alone
+        if (request.getPage() > 0 && request.getPage() != i + 1) {
+          continue;
+        }
         Api.SearchMetadata searchMeta =
             SearchMetadata.newBuilder()
                 .setFound(documents.size())
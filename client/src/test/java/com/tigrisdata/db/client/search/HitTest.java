@@ -57,8 +57,31 @@ public class HitTest {
     Assert.assertEquals("Failed to convert response to DB1_C1.class", thrown.getMessage());
   }
 
+  @Test
+  public void lazyDeserialization() {
+    String data = "{\"id\":0,\"name\":\"db1_c1_d0\"}";
+    Api.SearchHit input = Api.SearchHit.newBuilder().setData(ByteString.copyFromUtf8(data)).build();
+    Hit<DB1_C1> hit = Hit.lazyFrom(input, DEFAULT_OBJECT_MAPPER, DB1_C1.class);
+    Assert.assertEquals(data, new String(hit.getRawDocument()));
+    Assert.assertNotNull(hit.getMeta());
+    Assert.assertEquals(0, hit.getDocument().getId());
+    Assert.assertSame(hit.getDocument(), hit.getDocument());
+    Assert.assertEquals(Hit.from(input, DEFAULT_OBJECT_MAPPER, DB1_C1.class), hit);
+  }
+
+  @Test
+  public void lazyDeserializationFailure() {
+    Api.SearchHit input =
+        Api.SearchHit.newBuilder().setData(ByteString.copyFromUtf8("data")).build();
+    Hit<DB1_C1> hit = Hit.lazyFrom(input, DEFAULT_OBJECT_MAPPER, DB1_C1.class);
+    Exception thrown = Assert.assertThrows(IllegalArgumentException.class, hit::getDocument);
+    Assert.assertEquals("Failed to convert response to DB1_C1.class", thrown.getMessage());
+  }
+
   @Test
   public void equalsContract() {
-    EqualsVerifier.forClass(Hit.class).verify();
+    EqualsVerifier.forClass(Hit.class)
+        .withIgnoredFields("document", "objectMapper", "collectionClass")
+        .verify();
   }
 }
@@ -23,9 +23,10 @@ public class SearchRequestOptionsTest {
   @Test
   public void build() {
     SearchRequestOptions options =
-        SearchRequestOptions.newBuilder().withPage(5).withPerPage(32).build();
+        SearchRequestOptions.newBuilder().withPage(5).withPerPage(32).withLazyHits(true).build();
     Assert.assertEquals(5, options.getPage());
     Assert.assertEquals(32, options.getPerPage());
+    Assert.assertTrue(options.isLazyHits());
   }
 
   @Test
@@ -33,6 +34,7 @@ public class SearchRequestOptionsTest {
     SearchRequestOptions options = SearchRequestOptions.getDefault();
     Assert.assertEquals(1, options.getPage());
     Assert.assertEquals(20, options.getPerPage());
+    Assert.assertFalse(options.isLazyHits());
   }
 
   @Test
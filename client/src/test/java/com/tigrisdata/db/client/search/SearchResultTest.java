@@ -52,6 +52,30 @@ public class SearchResultTest {
     Assert.assertEquals(actualMeta.getFound(), result.getMeta().getFound());
   }
 
+  @Test
+  public void convertLazy() {
+    String data = "{\"id\":0,\"name\":\"db1_c1_d0\"}";
+    Api.SearchResponse resp =
+        Api.SearchResponse.newBuilder()
+            .addHits(Api.SearchHit.newBuilder().setData(ByteString.copyFromUtf8(data)))
+            .addHits(Api.SearchHit.newBuilder().setData(ByteString.copyFromUtf8("not json")))
+            .build();
+
+    SearchResult<DB1_C1> result =
+        SearchResult.lazyFrom(resp, DEFAULT_OBJECT_MAPPER, DB1_C1.class);
+
+    Assert.assertEquals(2, result.getHits().size());
+    // an undecodable hit fails only once its document is accessed
+    Assert.assertEquals("db1_c1_d0", result.getHits().get(0).getDocument().getName());
+    Assert.assertSame(result.getHits().get(0), result.getHits().get(0));
+    Assert.assertEquals("not json", new String(result.getHits().get(1).getRawDocument()));
+    Assert.assertThrows(
+        IllegalArgumentException.class, () -> result.getHits().get(1).getDocument());
+    Api.SearchResponse decodable = resp.toBuilder().removeHits(1).build();
+    SearchResult<DB1_C1> eager = SearchResult.from(decodable, DEFAULT_OBJECT_MAPPER, DB1_C1.class);
+    Assert.assertEquals(eager.getHits().get(0), result.getHits().get(0));
+  }
+
   @Test
   public void convertFromDefault() {
     Api.SearchResponse resp = Api.SearchResponse.newBuilder().build();